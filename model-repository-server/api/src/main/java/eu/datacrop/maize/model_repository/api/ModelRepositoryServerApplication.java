@@ -29,11 +29,16 @@ import org.springframework.context.annotation.ComponentScan;
         "eu.datacrop.maize.model_repository.mongodb.converters",
         "eu.datacrop.maize.model_repository.mongodb.converters.auxiliary",
         "eu.datacrop.maize.model_repository.mongodb.daos",
+        "eu.datacrop.maize.model_repository.mongodb.indexes",
+        "eu.datacrop.maize.model_repository.mongodb.jobs",
         "eu.datacrop.maize.model_repository.mongodb.listeners",
         "eu.datacrop.maize.model_repository.mongodb.model",
         "eu.datacrop.maize.model_repository.mongodb.model.auxiliary",
+        "eu.datacrop.maize.model_repository.mongodb.outbox",
         "eu.datacrop.maize.model_repository.mongodb.repositories",
+        "eu.datacrop.maize.model_repository.mongodb.repositories.reactive",
         "eu.datacrop.maize.model_repository.mongodb.services",
+        "eu.datacrop.maize.model_repository.mongodb.storage",
         "eu.datacrop.maize.model_repository.persistence.daos",
         "eu.datacrop.maize.model_repository.persistence.mongo_implementation",
         "eu.datacrop.maize.model_repository.persistence.mysql_implementation",
@@ -43,6 +48,8 @@ import org.springframework.context.annotation.ComponentScan;
         "eu.datacrop.maize.model_repository.api.config",
         "eu.datacrop.maize.model_repository.api.controllers",
         "eu.datacrop.maize.model_repository.api.error",
+        "eu.datacrop.maize.model_repository.api.executors",
+        "eu.datacrop.maize.model_repository.api.limits",
         "eu.datacrop.maize.model_repository.api.services",
         "org.springframework.data.annotation"
 })
@@ -0,0 +1,18 @@
+package eu.datacrop.maize.model_repository.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+/**********************************************************************************************************************
+ * This is a configuration class (concerns the reactive profile, which complements the Mongo profile with non-blocking
+ * repositories on the same database).
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Profile("reactive")
+@Configuration
+@EnableReactiveMongoRepositories(basePackages = {"eu.datacrop.maize.model_repository.mongodb.repositories.reactive"})
+public class CustomReactiveMongoConfiguration {
+}
@@ -0,0 +1,31 @@
+package eu.datacrop.maize.model_repository.api.config;
+
+import eu.datacrop.maize.model_repository.api.limits.RateLimitInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**********************************************************************************************************************
+ * This is a configuration class (concerns the rate limiting of the requests of each client, which applies to the
+ * endpoints pertaining to IoT Systems).
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Configuration
+public class RateLimitConfiguration implements WebMvcConfigurer {
+
+    @Autowired
+    RateLimitInterceptor rateLimitInterceptor;
+
+    /******************************************************************************************************************
+     * Method that registers the rate limiting of the requests on the endpoints pertaining to IoT Systems.
+     *
+     * @param registry The registry of the interceptors of the requests.
+     *****************************************************************************************************************/
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/model_repository/v1/asset_management/system/**");
+    }
+}
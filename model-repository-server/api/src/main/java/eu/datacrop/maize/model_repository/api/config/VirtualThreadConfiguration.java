@@ -0,0 +1,40 @@
+package eu.datacrop.maize.model_repository.api.config;
+
+import eu.datacrop.maize.model_repository.commons.util.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**********************************************************************************************************************
+ * This is a configuration class (concerns the execution of requests on virtual threads, which is opt-in through the
+ * "model-repository.threads.virtual" property and requires a Java 21 runtime). Tomcat then serves each request on a
+ * new virtual thread instead of its pool of worker threads; its limit on connections still applies.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "model-repository.threads.virtual", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    /******************************************************************************************************************
+     * Method that replaces the worker threads of Tomcat with virtual threads, if supported by the runtime.
+     *
+     * @return The customizer of the embedded Tomcat server.
+     *****************************************************************************************************************/
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadTomcatCustomizer() {
+        return factory -> {
+            if (VirtualThreads.isSupported().equals(Boolean.FALSE)) {
+                log.warn("Virtual threads are not supported by Java {}. Tomcat keeps its pool of worker threads.", Runtime.version().feature());
+                return;
+            }
+            factory.addProtocolHandlerCustomizers(handler -> handler.setExecutor(VirtualThreads.newVirtualThreadPerTaskExecutor("http-")));
+            log.info("Tomcat serves requests on virtual threads.");
+        };
+    }
+}
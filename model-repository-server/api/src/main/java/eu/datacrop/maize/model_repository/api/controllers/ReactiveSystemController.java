@@ -0,0 +1,109 @@
+package eu.datacrop.maize.model_repository.api.controllers;
+
+import eu.datacrop.maize.model_repository.api.error.ErrorMessage;
+import eu.datacrop.maize.model_repository.api.services.ReactiveSystemApiServices;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+/**********************************************************************************************************************
+ * This class intercepts API HTTP Requests for the retrieval of IoT Systems that are served without blocking. The
+ * request thread is released as soon as the query has been issued, and the response is written once the database
+ * has responded. Available only with the "reactive" profile.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@RestController
+@Profile("reactive")
+@RequestMapping("model_repository/v1/asset_management/reactive/system")
+@Tag(name = "System (non-blocking)", description = "Non-blocking retrieval of Internet-Of-Things Systems.")
+public class ReactiveSystemController {
+
+    @Autowired
+    ReactiveSystemApiServices services;
+
+
+    /******************************************************************************************************************
+     * Method to intercept a GET Request that aims to retrieve an existing System using its databaseID as
+     * unique identifier.
+     *
+     * @param  systemID A UUID that uniquely identifies an existing System in the persistence layer, not null.
+     * @return A data structure to be transmitted from server to client as response, once available.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Retrieve System by UUID", description = "Retrieves an existing System using its UUID as unique identifier.")
+    @GetMapping(path = "/{systemID}/id/")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ System has been successfully retrieved.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SystemResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Bad_Request ~ Erroneous request operation on System to be aborted.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "Not_Found ~ No System with the specified identifier has been found available to retrieve.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+    })
+    public Mono<ResponseEntity> retrieveSystemByID(@PathVariable String systemID) {
+        log.info("Received non-blocking GET request for System with SystemID: {}.", systemID);
+        return services.retrieveSystemByDatabaseID(systemID);
+    }
+
+    /******************************************************************************************************************
+     * Method to intercept a GET Request that aims to retrieve all existing Systems.
+     *
+     * @return A data structure to be transmitted from server to client as response, once available.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Retrieve all Systems", description = "Retrieves all Systems ever persisted.")
+    @GetMapping(path = "/")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ Systems have been successfully retrieved.",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SystemResponseDto.class)))),
+            @ApiResponse(responseCode = "404", description = "Not_Found ~ No Systems have been found available to retrieve.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+    })
+    public Mono<ResponseEntity> retrieveAllSystems(@Parameter(description = "Page number, default is 0") @RequestParam(value = "page", defaultValue = "0") int page,
+                                                   @Parameter(description = "Size of page, default is 10") @RequestParam(value = "size", defaultValue = "10") int size) {
+        log.info("Received non-blocking GET request for all Systems with {}/{} pagination.", page, size);
+        return services.retrieveAllSystems(page, size);
+    }
+
+    /******************************************************************************************************************
+     * Method to intercept a GET Request that aims to export all existing Systems, as newline-delimited JSON. The
+     * Systems are written as they are fetched, and no more are fetched than the client is able to receive.
+     *
+     * @return The Systems, streamed from server to client.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Export all Systems", description = "Streams all Systems in the order of their identifiers, one JSON object per line. " +
+            "An interrupted stream indicates an error.")
+    @GetMapping(path = "/export/", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ Systems are being streamed.",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = SystemResponseDto.class))),
+    })
+    public Flux<SystemResponseDto> exportAllSystems() {
+        log.info("Received GET request for the export of all Systems.");
+        return services.streamAllSystems();
+    }
+}
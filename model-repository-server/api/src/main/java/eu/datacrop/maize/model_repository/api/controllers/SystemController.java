@@ -1,8 +1,15 @@
 package eu.datacrop.maize.model_repository.api.controllers;
 
 import eu.datacrop.maize.model_repository.api.error.ErrorMessage;
+import eu.datacrop.maize.model_repository.api.executors.PersistenceExecutor;
 import eu.datacrop.maize.model_repository.api.services.SystemApiServices;
+import eu.datacrop.maize.model_repository.commons.dtos.requests.PolygonRequestDto;
 import eu.datacrop.maize.model_repository.commons.dtos.requests.SystemRequestDto;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.ClusterResponseDto;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.GeohashCountResponseDto;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemFacetsResponseDto;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemJobResponseDto;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemNameResponseDto;
 import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,13 +21,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 
 /**********************************************************************************************************************
- * This class intercepts API HTTP Requests pertaining to IoT Systems.
+ * This class intercepts API HTTP Requests pertaining to IoT Systems. The requests are served asynchronously: their
+ * calls to the persistence layer are handed over to the PersistenceExecutor, which releases the request threads.
  *
  * @author Angela-Maria Despotopoulou [Athens, Greece]
  * @since version 0.3.0
@@ -34,16 +47,21 @@ public class SystemController {
     @Autowired
     SystemApiServices services;
 
+    @Autowired
+    PersistenceExecutor executor;
+
 
     /******************************************************************************************************************
      * Method to intercept a GET Request that aims to retrieve an existing System using its databaseID as
      * unique identifier.
      *
      * @param  systemID A UUID that uniquely identifies an existing System in the persistence layer, not null.
+     * @param  asOf A past date at which the state of the System is requested, or null for its current state.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
     @ResponseStatus(HttpStatus.OK)
-    @Operation(summary = "Retrieve System by UUID", description = "Retrieves an existing System using its UUID as unique identifier.")
+    @Operation(summary = "Retrieve System by UUID", description = "Retrieves an existing System using its UUID as unique identifier. " +
+            "If a date is specified, the System is reconstructed from its revision history as it was at that date.")
     @GetMapping(path = "/{systemID}/id/")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "OK ~ System has been successfully retrieved.",
@@ -55,9 +73,12 @@ public class SystemController {
             @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
     })
-    public ResponseEntity retrieveSystemByID(@PathVariable String systemID) {
+    public CompletableFuture<ResponseEntity> retrieveSystemByID(@PathVariable String systemID,
+                                                                @Parameter(description = "A past date (ISO-8601, e.g. 2023-01-31T12:00:00) at which the state of the System is requested.")
+                                                                @RequestParam(value = "asOf", required = false)
+                                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
         log.info("Received GET request for System with SystemID: {}.", systemID);
-        return services.retrieveSystemByDatabaseID(systemID);
+        return executor.submit("retrieve System by ID", () -> services.retrieveSystemByDatabaseID(systemID, asOf));
     }
 
     /******************************************************************************************************************
@@ -80,9 +101,9 @@ public class SystemController {
             @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
     })
-    public ResponseEntity retrieveSystemByName(@PathVariable String name) {
+    public CompletableFuture<ResponseEntity> retrieveSystemByName(@PathVariable String name) {
         log.info("Received GET request for System with Name: {}.", name);
-        return services.retrieveSystemByName(name);
+        return executor.submit("retrieve System by Name", () -> services.retrieveSystemByName(name));
     }
 
     /******************************************************************************************************************
@@ -101,16 +122,328 @@ public class SystemController {
             @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
     })
-    public ResponseEntity retrieveAllSystems(@Parameter(description = "Page number, default is 0") @RequestParam(value = "page", defaultValue = "0") int page,
-                                             @Parameter(description = "Size of page, default is 10") @RequestParam(value = "size", defaultValue = "10") int size) {
+    public CompletableFuture<ResponseEntity> retrieveAllSystems(@Parameter(description = "Page number, default is 0") @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                @Parameter(description = "Size of page, default is 10") @RequestParam(value = "size", defaultValue = "10") int size) {
         log.info("Received GET request for all Systems with {}/{} pagination.", page, size);
-        return services.retrieveAllSystems(page, size);
+        return executor.submit("retrieve all Systems", () -> services.retrieveAllSystems(page, size));
+    }
+
+    /******************************************************************************************************************
+     * Method to intercept a GET Request that aims to retrieve the Systems located within a maximum distance from a
+     * point, sorted from the nearest to the farthest. Systems with a Virtual Location only are never returned.
+     *
+     * @param latitude The latitude of the reference point, in decimal degrees.
+     * @param longitude The longitude of the reference point, in decimal degrees.
+     * @param maxDistance The maximum distance from the reference point in meters.
+     * @param limit The maximum number of Systems to retrieve.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Retrieve Systems near a point", description = "Retrieves the Systems located within a maximum " +
+            "distance from a point, sorted by distance.")
+    @GetMapping(path = "/near/")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ Systems have been successfully retrieved.",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SystemResponseDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Bad_Request ~ Erroneous geospatial query to be aborted.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "Not_Found ~ No Systems have been found within the specified distance.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+    })
+    public CompletableFuture<ResponseEntity> retrieveSystemsNear(@Parameter(description = "Latitude of the reference point") @RequestParam(value = "latitude") double latitude,
+                                                                 @Parameter(description = "Longitude of the reference point") @RequestParam(value = "longitude") double longitude,
+                                                                 @Parameter(description = "Maximum distance in meters") @RequestParam(value = "maxDistance") double maxDistance,
+                                                                 @Parameter(description = "Maximum number of results, default is 10") @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        log.info("Received GET request for Systems within {} meters from ({}, {}).", maxDistance, latitude, longitude);
+        return executor.submit("retrieve Systems near a point", () -> services.retrieveSystemsNear(latitude, longitude, maxDistance, limit));
+    }
+
+    /******************************************************************************************************************
+     * Method to intercept a GET Request that aims to retrieve the Systems located within a bounding box, paginated.
+     * Systems with a Virtual Location only are never returned.
+     *
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Retrieve Systems within a bounding box", description = "Retrieves the Systems located within " +
+            "a bounding box (antimeridian crossing not supported), paginated.")
+    @GetMapping(path = "/within/box/")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ Systems have been successfully retrieved.",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SystemResponseDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Bad_Request ~ Erroneous geospatial query to be aborted.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "Not_Found ~ No Systems have been found within the specified area.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+    })
+    public CompletableFuture<ResponseEntity> retrieveSystemsWithinBox(@Parameter(description = "Latitude of the south-west corner") @RequestParam(value = "minLatitude") double minLatitude,
+                                                                      @Parameter(description = "Longitude of the south-west corner") @RequestParam(value = "minLongitude") double minLongitude,
+                                                                      @Parameter(description = "Latitude of the north-east corner") @RequestParam(value = "maxLatitude") double maxLatitude,
+                                                                      @Parameter(description = "Longitude of the north-east corner") @RequestParam(value = "maxLongitude") double maxLongitude,
+                                                                      @Parameter(description = "Page number, default is 0") @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                      @Parameter(description = "Size of page, default is 10") @RequestParam(value = "size", defaultValue = "10") int size) {
+        log.info("Received GET request for Systems within box ({}, {}) - ({}, {}) with {}/{} pagination.",
+                minLatitude, minLongitude, maxLatitude, maxLongitude, page, size);
+        return executor.submit("retrieve Systems within a box", () -> services.retrieveSystemsWithinBox(minLatitude, minLongitude, maxLatitude, maxLongitude, page, size));
+    }
+
+    /******************************************************************************************************************
+     * Method to intercept a POST Request that aims to retrieve the Systems located within a Polygon, paginated.
+     * Systems with a Virtual Location only are never returned.
+     *
+     * @param polygon A data transfer object with the vertices of the Polygon, not null.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Retrieve Systems within a Polygon", description = "Retrieves the Systems located within " +
+            "a Polygon (given as an ordered list of vertices), paginated.")
+    @PostMapping(path = "/within/polygon/")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ Systems have been successfully retrieved.",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SystemResponseDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Bad_Request ~ Erroneous geospatial query to be aborted.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "Not_Found ~ No Systems have been found within the specified area.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+    })
+    public CompletableFuture<ResponseEntity> retrieveSystemsWithinPolygon(@RequestBody PolygonRequestDto polygon,
+                                                                          @Parameter(description = "Page number, default is 0") @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                          @Parameter(description = "Size of page, default is 10") @RequestParam(value = "size", defaultValue = "10") int size) {
+        log.info("Received POST request for Systems within Polygon with {}/{} pagination.", page, size);
+        return executor.submit("retrieve Systems within a polygon", () -> services.retrieveSystemsWithinPolygon(polygon, page, size));
+    }
+
+    /******************************************************************************************************************
+     * Method to intercept a GET Request that aims to retrieve the clusters of Systems displayed on a map viewport at
+     * a given zoom level. Systems with a Virtual Location only are never clustered.
+     *
+     * @param zoom The zoom level of the map, within [0, 16].
+     * @param minLatitude The latitude of the south-west corner of the viewport, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner of the viewport, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner of the viewport, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner of the viewport, in decimal degrees.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Retrieve clusters of Systems", description = "Retrieves the clusters of Systems (centroid and " +
+            "number of Systems) displayed on a map viewport at a given zoom level (antimeridian crossing not supported).")
+    @GetMapping(path = "/clusters/")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ Clusters have been successfully retrieved.",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ClusterResponseDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Bad_Request ~ Erroneous geospatial query to be aborted.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "Not_Found ~ No Systems have been found within the specified area.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+    })
+    public CompletableFuture<ResponseEntity> retrieveSystemClusters(@Parameter(description = "Zoom level of the map, within [0, 16]") @RequestParam(value = "zoom") int zoom,
+                                                                    @Parameter(description = "Latitude of the south-west corner") @RequestParam(value = "minLatitude") double minLatitude,
+                                                                    @Parameter(description = "Longitude of the south-west corner") @RequestParam(value = "minLongitude") double minLongitude,
+                                                                    @Parameter(description = "Latitude of the north-east corner") @RequestParam(value = "maxLatitude") double maxLatitude,
+                                                                    @Parameter(description = "Longitude of the north-east corner") @RequestParam(value = "maxLongitude") double maxLongitude) {
+        log.info("Received GET request for clusters of Systems within box ({}, {}) - ({}, {}) at zoom level {}.",
+                minLatitude, minLongitude, maxLatitude, maxLongitude, zoom);
+        return executor.submit("retrieve clusters of Systems", () -> services.retrieveSystemClusters(zoom, minLatitude, minLongitude, maxLatitude, maxLongitude));
+    }
+
+    /******************************************************************************************************************
+     * Method to intercept a GET Request that aims to retrieve the number of Systems per geohash cell within a
+     * bounding box (by default the whole globe), e.g. for density maps. Systems with a Virtual Location only are
+     * never counted.
+     *
+     * @param precision The geohash precision (i.e. length of the geohashes), within [1, 8].
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Count Systems per geohash cell", description = "Retrieves the number of Systems per geohash " +
+            "cell of a given precision within a bounding box (antimeridian crossing not supported).")
+    @GetMapping(path = "/density/geohash/")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ Counts have been successfully retrieved.",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = GeohashCountResponseDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Bad_Request ~ Erroneous geospatial query to be aborted.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "Not_Found ~ No Systems have been found within the specified area.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+    })
+    public CompletableFuture<ResponseEntity> retrieveSystemCountsByGeohash(@Parameter(description = "Geohash precision, within [1, 8]") @RequestParam(value = "precision") int precision,
+                                                                           @Parameter(description = "Latitude of the south-west corner, default is -90") @RequestParam(value = "minLatitude", defaultValue = "-90") double minLatitude,
+                                                                           @Parameter(description = "Longitude of the south-west corner, default is -180") @RequestParam(value = "minLongitude", defaultValue = "-180") double minLongitude,
+                                                                           @Parameter(description = "Latitude of the north-east corner, default is 90") @RequestParam(value = "maxLatitude", defaultValue = "90") double maxLatitude,
+                                                                           @Parameter(description = "Longitude of the north-east corner, default is 180") @RequestParam(value = "maxLongitude", defaultValue = "180") double maxLongitude) {
+        log.info("Received GET request for geohash counts of Systems within box ({}, {}) - ({}, {}) at precision {}.",
+                minLatitude, minLongitude, maxLatitude, maxLongitude, precision);
+        return executor.submit("count Systems per geohash", () -> services.retrieveSystemCountsByGeohash(precision, minLatitude, minLongitude, maxLatitude, maxLongitude));
+    }
+
+    /******************************************************************************************************************
+     * Method to intercept a GET Request that aims to search Systems by keywords in their name and description,
+     * optionally restricted to an organization. Results are ordered by relevance and paginated.
+     *
+     * @param text The search terms (any of which may match), not null.
+     * @param organization The organization owning the Systems, optional.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Search Systems", description = "Retrieves the Systems whose name or description match any " +
+            "of the search terms, ordered by relevance and paginated.")
+    @GetMapping(path = "/search/")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ Systems have been successfully retrieved.",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SystemResponseDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Bad_Request ~ Erroneous search to be aborted.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "Not_Found ~ No Systems have been found matching the search terms.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+    })
+    public CompletableFuture<ResponseEntity> searchSystems(@Parameter(description = "Search terms") @RequestParam(value = "text") String text,
+                                                           @Parameter(description = "Organization owning the Systems, optional") @RequestParam(value = "organization", required = false) String organization,
+                                                           @Parameter(description = "Page number, default is 0") @RequestParam(value = "page", defaultValue = "0") int page,
+                                                           @Parameter(description = "Size of page, default is 10") @RequestParam(value = "size", defaultValue = "10") int size) {
+        log.info("Received GET request for full-text search of Systems with {}/{} pagination.", page, size);
+        return executor.submit("search Systems", () -> services.searchSystems(text, organization, page, size));
+    }
+
+    /******************************************************************************************************************
+     * Method to intercept a GET Request that aims to autocomplete the name of a System, i.e. to retrieve the names
+     * and databaseIDs of the Systems whose name starts with a prefix (ignoring case), in alphabetical order.
+     *
+     * @param prefix The prefix of the names, not null.
+     * @param limit The maximum number of names to retrieve.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Autocomplete System names", description = "Retrieves the names and IDs of the Systems " +
+            "whose name starts with a prefix (ignoring case), in alphabetical order.")
+    @GetMapping(path = "/autocomplete/")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ System names have been successfully retrieved.",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SystemNameResponseDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Bad_Request ~ Erroneous autocomplete request to be aborted.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "Not_Found ~ No Systems have been found whose name starts with the prefix.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+    })
+    public CompletableFuture<ResponseEntity> retrieveSystemNamesByPrefix(@Parameter(description = "Prefix of the names") @RequestParam(value = "prefix") String prefix,
+                                                                         @Parameter(description = "Maximum number of names, default is 10") @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        log.info("Received GET request for autocompletion of System names with limit {}.", limit);
+        return executor.submit("retrieve System names by prefix", () -> services.retrieveSystemNamesByPrefix(prefix, limit));
+    }
+
+    /******************************************************************************************************************
+     * Method to intercept a GET Request that aims to count the Systems per organization and per type of location
+     * (Geographical or Virtual).
+     *
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Count Systems per facet", description = "Retrieves the number of Systems owned by each " +
+            "organization and the number of Systems with a Geographical or a Virtual Location.")
+    @GetMapping(path = "/facets/")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ Counts have been successfully retrieved.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SystemFacetsResponseDto.class))),
+            @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+    })
+    public CompletableFuture<ResponseEntity> retrieveSystemFacets() {
+        log.info("Received GET request for facet counts of Systems.");
+        return executor.submit("retrieve System facets", () -> services.retrieveSystemFacets());
+    }
+
+    /******************************************************************************************************************
+     * Method to intercept a GET Request that aims to retrieve the Systems whose additional information contains all
+     * of the given key/value pairs (i.e. an entry with each key holding the respective value), paginated.
+     *
+     * @param filters The key/value pairs to match, each in the form "key:value", not null.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Filter Systems by additional information", description = "Retrieves the Systems whose " +
+            "additional information contains all of the given key/value pairs, paginated. Values match as strings or, " +
+            "where they can be parsed as such, as numbers or booleans.")
+    @GetMapping(path = "/additional_information/")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ Systems have been successfully retrieved.",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = SystemResponseDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Bad_Request ~ Erroneous filter to be aborted.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "Not_Found ~ No Systems have been found matching the filters.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+    })
+    public CompletableFuture<ResponseEntity> retrieveSystemsByAdditionalInformation(@Parameter(description = "Key/value pairs in the form key:value, repeatable") @RequestParam(value = "filter") List<String> filters,
+                                                                                    @Parameter(description = "Page number, default is 0") @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                                    @Parameter(description = "Size of page, default is 10") @RequestParam(value = "size", defaultValue = "10") int size) {
+        log.info("Received GET request for Systems matching {} additional information filters with {}/{} pagination.",
+                filters.size(), page, size);
+        return executor.submit("retrieve Systems by additional information", () -> services.retrieveSystemsByAdditionalInformation(filters, page, size));
+    }
+
+    /******************************************************************************************************************
+     * Method to intercept a GET Request that aims to retrieve an existing System along with all of its additional
+     * information, using its databaseID as unique identifier.
+     *
+     * @param  systemID A UUID that uniquely identifies an existing System in the persistence layer, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Retrieve System with all additional information by UUID", description = "Retrieves an existing " +
+            "System using its UUID as unique identifier, including additional information too large to be included in " +
+            "the rest of the responses (these carry the \"additionalInformationDetached\" flag instead).")
+    @GetMapping(path = "/{systemID}/id/additional_information/")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ System has been successfully retrieved.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SystemResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Bad_Request ~ Erroneous request operation on System to be aborted.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "Not_Found ~ No System with the specified identifier has been found available to retrieve.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+    })
+    public CompletableFuture<ResponseEntity> retrieveSystemAdditionalInformation(@PathVariable String systemID) {
+        log.info("Received GET request for additional information of System with SystemID: {}.", systemID);
+        return executor.submit("retrieve additional information of System", () -> services.retrieveSystemAdditionalInformation(systemID));
     }
 
     /******************************************************************************************************************
      * Method to intercept a POST Request that aims to persist a new System.
      *
      * @param requestDto A data transfer object with values for the attributes of the System, not null.
+     * @param writeConcern The write concern requested for the operation (optional header), may be null.
+     * @param idempotencyKey A key that identifies the request among its retries (optional header), may be null.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
     @ResponseStatus(HttpStatus.CREATED)
@@ -126,9 +459,11 @@ public class SystemController {
             @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
     })
-    public ResponseEntity createSystem(@RequestBody SystemRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity> createSystem(@RequestBody SystemRequestDto requestDto,
+                                                          @Parameter(description = "Write concern overriding the configured one (acknowledged, unacknowledged, w1, w2, w3, journaled, majority)") @RequestHeader(value = "X-Write-Concern", required = false) String writeConcern,
+                                                          @Parameter(description = "Key identifying the request among its retries, so that it is processed once") @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         log.info("Received POST request for new System with Name: '{}'.", requestDto.getName());
-        return services.createSystem(requestDto);
+        return executor.submit("create System", () -> services.createSystem(requestDto, writeConcern, idempotencyKey));
     }
 
     /******************************************************************************************************************
@@ -137,6 +472,8 @@ public class SystemController {
      *
      * @param requestDto A data transfer object with values for the attributes of the System, not null.
      * @param systemID A UUID that uniquely identifies an existing System in the persistence layer, not null.
+     * @param writeConcern The write concern requested for the operation (optional header), may be null.
+     * @param ifMatch The entity tag of the version of the System that the update is based upon (optional header), may be null.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
     @ResponseStatus(HttpStatus.OK)
@@ -152,12 +489,16 @@ public class SystemController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
             @ApiResponse(responseCode = "409", description = "Conflict ~ System update aborted due to Name conflict.",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "412", description = "Precondition_Failed ~ System has been modified since the version in If-Match.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
             @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
     })
-    public ResponseEntity updateSystem(@RequestBody SystemRequestDto requestDto, @PathVariable String systemID) {
+    public CompletableFuture<ResponseEntity> updateSystem(@RequestBody SystemRequestDto requestDto, @PathVariable String systemID,
+                                                          @Parameter(description = "Write concern overriding the configured one (acknowledged, unacknowledged, w1, w2, w3, journaled, majority)") @RequestHeader(value = "X-Write-Concern", required = false) String writeConcern,
+                                                          @Parameter(description = "Entity tag (version) of the System that the request is based upon, to prevent lost updates") @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         log.info("Received PUT request to update System with ID: '{}'.", systemID);
-        return services.updateSystem(requestDto, systemID);
+        return executor.submit("update System", () -> services.updateSystem(requestDto, systemID, writeConcern, ifMatch));
     }
 
     /******************************************************************************************************************
@@ -165,6 +506,8 @@ public class SystemController {
      * unique identifier.
      *
      * @param  systemID A UUID that uniquely identifies an existing System in the persistence layer, not null.
+     * @param writeConcern The write concern requested for the operation (optional header), may be null.
+     * @param ifMatch The entity tag of the version of the System that the deletion is based upon (optional header), may be null.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
     @ResponseStatus(HttpStatus.OK)
@@ -177,32 +520,88 @@ public class SystemController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
             @ApiResponse(responseCode = "404", description = "Not_Found ~ No System with the specified identifier has been found available to delete.",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "412", description = "Precondition_Failed ~ System has been modified since the version in If-Match.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
             @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
     })
-    public ResponseEntity deleteSystem(@PathVariable String systemID) {
+    public CompletableFuture<ResponseEntity> deleteSystem(@PathVariable String systemID,
+                                                          @Parameter(description = "Write concern overriding the configured one (acknowledged, unacknowledged, w1, w2, w3, journaled, majority)") @RequestHeader(value = "X-Write-Concern", required = false) String writeConcern,
+                                                          @Parameter(description = "Entity tag (version) of the System that the request is based upon, to prevent lost updates") @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         log.info("Received DELETE request for System with SystemID: {}.", systemID);
-        return services.deleteSystem(systemID);
+        return executor.submit("delete System", () -> services.deleteSystem(systemID, writeConcern, ifMatch));
     }
 
     /******************************************************************************************************************
-     * Method to intercept a GET Request that aims to delete all existing System entities.
+     * Method to intercept a GET Request that aims to delete all existing System entities. The deletion is executed in
+     * the background as a Job, whose status may be retrieved at the returned location.
      *
+     * @param writeConcern The write concern requested for the operation (optional header), may be null.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    @Operation(summary = "Delete All Systems", description = "Deletes all Systems that have been ever persisted.")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Delete All Systems", description = "Submits a Job that deletes all Systems that have been ever persisted, in the background.")
     @DeleteMapping(path = "/")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "OK ~ All Systems have been successfully deleted.",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "202", description = "Accepted ~ The deletion of all Systems has been submitted as a Job.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SystemJobResponseDto.class))),
             @ApiResponse(responseCode = "404", description = "Not_Found ~ No System has been found available to delete.",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
             @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
     })
-    public ResponseEntity deleteAllSystems() {
+    public CompletableFuture<ResponseEntity> deleteAllSystems(@Parameter(description = "Write concern overriding the configured one (acknowledged, unacknowledged, w1, w2, w3, journaled, majority)") @RequestHeader(value = "X-Write-Concern", required = false) String writeConcern) {
         log.info("Received DELETE request for all System entities.");
-        return services.deleteAllSystems();
+        return executor.submit("delete all Systems", () -> services.deleteAllSystems(writeConcern));
+    }
+
+    /******************************************************************************************************************
+     * Method to intercept a GET Request that aims to retrieve the status and progress of a Job.
+     *
+     * @param  jobID A UUID that uniquely identifies an existing Job in the persistence layer, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get Job by UUID", description = "Retrieves the status and progress of a Job using its UUID as unique identifier.")
+    @GetMapping(path = "/jobs/{jobID}/")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ Job has been successfully retrieved.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SystemJobResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Bad_Request ~ Erroneous request operation on Job to be aborted.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "Not_Found ~ No Job with the specified identifier has been found.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+    })
+    public CompletableFuture<ResponseEntity> retrieveSystemJob(@PathVariable String jobID) {
+        log.info("Received GET request for Job with JobID: {}.", jobID);
+        return executor.submit("retrieve Job", () -> services.retrieveSystemJob(jobID));
+    }
+
+    /******************************************************************************************************************
+     * Method to intercept a GET Request that aims to cancel a Job that has not finished yet.
+     *
+     * @param  jobID A UUID that uniquely identifies an existing Job in the persistence layer, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Cancel Job by UUID", description = "Cancels a Job that has not finished yet. A running Job stops before its next chunk.")
+    @DeleteMapping(path = "/jobs/{jobID}/")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK ~ The cancellation of the Job has been successfully requested.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SystemJobResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Bad_Request ~ Erroneous request operation on Job to be aborted.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "404", description = "Not_Found ~ No Job with the specified identifier has been found.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "409", description = "Conflict ~ The Job has already finished.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal_Server_Error ~ Internal Server Error occurred.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+    })
+    public CompletableFuture<ResponseEntity> cancelSystemJob(@PathVariable String jobID) {
+        log.info("Received DELETE request for Job with JobID: {}.", jobID);
+        return executor.submit("cancel Job", () -> services.cancelSystemJob(jobID));
     }
 }
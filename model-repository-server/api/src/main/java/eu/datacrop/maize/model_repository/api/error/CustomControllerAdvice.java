@@ -1,11 +1,14 @@
 package eu.datacrop.maize.model_repository.api.error;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 /**********************************************************************************************************************
@@ -54,4 +57,36 @@ public class CustomControllerAdvice {
                 ErrorMessages.ERRONEOUS_PARAMETER_TYPE.name() + "-> " + ex.getName(), null);
 
     }
+
+    /******************************************************************************************************************
+     * This exception handler intercepts exceptions occurring when an asynchronous request has not been served in
+     * time, e.g. because its call to the persistence layer waited too long for a thread.
+     *
+     * @param ex The AsyncRequestTimeoutException that is intercepted.
+     * @return A structure representing a detailed error message.
+     *****************************************************************************************************************/
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    ErrorMessage handleException(AsyncRequestTimeoutException ex) {
+        return new ErrorMessage(503, HttpStatus.SERVICE_UNAVAILABLE.toString(),
+                ErrorMessages.SERVICE_UNAVAILABLE.getErrorMessage(),
+                ErrorMessages.SERVICE_UNAVAILABLE.name(), null);
+    }
+
+    /******************************************************************************************************************
+     * This exception handler intercepts exceptions occurring when the client of a request has exceeded its quota of
+     * requests, advising the client when to retry.
+     *
+     * @param ex The RateLimitExceededException that is intercepted.
+     * @return A structure representing a detailed error message, along with the time after which to retry.
+     *****************************************************************************************************************/
+    @ExceptionHandler
+    ResponseEntity<ErrorMessage> handleException(RateLimitExceededException ex) {
+        ErrorMessage errorMessage = new ErrorMessage(429, HttpStatus.TOO_MANY_REQUESTS.toString(),
+                ErrorMessages.TOO_MANY_REQUESTS.getErrorMessage(),
+                ErrorMessages.TOO_MANY_REQUESTS.name(), null);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds())).body(errorMessage);
+    }
 }
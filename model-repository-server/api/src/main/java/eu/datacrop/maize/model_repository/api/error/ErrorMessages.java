@@ -33,6 +33,47 @@ public enum ErrorMessages {
      *****************************************************************************************************************/
     MISSING_DATA_INPUT("Missing data transfer object detected."),
 
+    /******************************************************************************************************************
+     * Indicates that an incoming geospatial query has coordinates, distances or limits out of their valid ranges.
+     *****************************************************************************************************************/
+    INVALID_GEO_PARAMETERS("Coordinates, distances and limits of geospatial queries must lie within their valid ranges."),
+
+    /******************************************************************************************************************
+     * Indicates that an incoming full-text search has no search terms or pagination limits out of their valid ranges.
+     *****************************************************************************************************************/
+    INVALID_SEARCH_PARAMETERS("Full-text searches require search terms and pagination limits within their valid ranges."),
+
+    /******************************************************************************************************************
+     * Indicates that an incoming filter on additional information has no (or malformed) key:value pairs or
+     * pagination limits out of their valid ranges.
+     *****************************************************************************************************************/
+    INVALID_FILTER_PARAMETERS("Filters on additional information require key:value pairs and pagination limits within their valid ranges."),
+
+    /******************************************************************************************************************
+     * Indicates that an incoming message requests an unknown write concern.
+     *****************************************************************************************************************/
+    INVALID_WRITE_CONCERN("The requested write concern must be one of: acknowledged, unacknowledged, w1, w2, w3, journaled, majority."),
+
+    /******************************************************************************************************************
+     * Indicates that an incoming message carries a blank or overly long idempotency key.
+     *****************************************************************************************************************/
+    INVALID_IDEMPOTENCY_KEY("The Idempotency-Key must be non-blank and at most 255 characters long."),
+
+    /******************************************************************************************************************
+     * Indicates that an incoming message carries an If-Match header that is not a single version of a System.
+     *****************************************************************************************************************/
+    INVALID_IF_MATCH("The If-Match header must be either * or a single entity tag carrying the version of the System."),
+
+    /******************************************************************************************************************
+     * Indicates that the back-end server is too busy to accept (or to complete in time) the incoming request.
+     *****************************************************************************************************************/
+    SERVICE_UNAVAILABLE("The server is temporarily unable to handle the request due to overload. Retry later."),
+
+    /******************************************************************************************************************
+     * Indicates that the client of an incoming request has exceeded its quota of requests.
+     *****************************************************************************************************************/
+    TOO_MANY_REQUESTS("The client has exceeded its quota of requests. Retry later."),
+
     /******************************************************************************************************************
      * Indicates that the back-end server malfunctioned.
      *****************************************************************************************************************/
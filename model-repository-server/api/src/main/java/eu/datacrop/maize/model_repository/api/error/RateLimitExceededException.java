@@ -0,0 +1,35 @@
+package eu.datacrop.maize.model_repository.api.error;
+
+/**********************************************************************************************************************
+ * This class defines an Exception to denote that a client has exceeded its quota of requests.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public class RateLimitExceededException extends RuntimeException {
+
+    /******************************************************************************************************************
+     * The time (in seconds) after which the client may retry.
+     *****************************************************************************************************************/
+    private final long retryAfterSeconds;
+
+    /*****************************************************************************************************************
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message The detail message of the Exception.
+     * @param retryAfterSeconds The time (in seconds) after which the client may retry.
+     *****************************************************************************************************************/
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for the time after which the client may retry.
+     *
+     * @return The time (in seconds) after which the client may retry.
+     *****************************************************************************************************************/
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,206 @@
+package eu.datacrop.maize.model_repository.api.executors;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**********************************************************************************************************************
+ * This class limits the number of concurrent calls to the persistence layer to the concurrency that the database is
+ * currently able to sustain, which it discovers from the latency of the calls (gradient algorithm). It compares the
+ * latency of each call with the long-term average latency: as long as they are alike, the limit grows by a small
+ * allowance for queueing; once calls get slower than usual, i.e. requests queue up in front of the database, the
+ * limit shrinks in proportion. Calls beyond the limit are to be rejected at once, rather than queue up until they all
+ * time out. The long-term average drifts down whenever the database recovers, so that the limit grows again.
+ *
+ * The current limit, the calls in flight and the rejections are exported as metrics.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    /******************************************************************************************************************
+     * Whether the concurrency of the calls is limited.
+     *****************************************************************************************************************/
+    @Value("${model-repository.concurrency-limit.enabled:true}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * The limit upon start, before any latency has been observed.
+     *****************************************************************************************************************/
+    @Value("${model-repository.concurrency-limit.initial:20}")
+    private int initialLimit;
+
+    /******************************************************************************************************************
+     * The lowest limit, below which the limit never shrinks however slow the database gets.
+     *****************************************************************************************************************/
+    @Value("${model-repository.concurrency-limit.min:4}")
+    private int minLimit;
+
+    /******************************************************************************************************************
+     * The highest limit, beyond which the limit never grows however fast the database responds.
+     *****************************************************************************************************************/
+    @Value("${model-repository.concurrency-limit.max:500}")
+    private int maxLimit;
+
+    /******************************************************************************************************************
+     * The ratio by which calls may be slower than the long-term average before the limit shrinks.
+     *****************************************************************************************************************/
+    @Value("${model-repository.concurrency-limit.tolerance:1.5}")
+    private double tolerance;
+
+    /******************************************************************************************************************
+     * The weight of each new estimate in the limit, which smooths its variations (in (0, 1]).
+     *****************************************************************************************************************/
+    @Value("${model-repository.concurrency-limit.smoothing:0.2}")
+    private double smoothing;
+
+    /******************************************************************************************************************
+     * The number of calls over which the long-term average latency is taken.
+     *****************************************************************************************************************/
+    @Value("${model-repository.concurrency-limit.window:600}")
+    private int window;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double limit;
+
+    /******************************************************************************************************************
+     * The limit as last computed (rounded down), read by every admission without taking the lock of the updates.
+     *****************************************************************************************************************/
+    private volatile int publishedLimit;
+
+    private double longLatency;
+
+    private long samples;
+
+    private Counter rejections;
+
+    /******************************************************************************************************************
+     * Method that initializes the limit and registers the metrics.
+     *****************************************************************************************************************/
+    @PostConstruct
+    public void start() {
+        limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        publishedLimit = (int) limit;
+        Gauge.builder("model_repository.persistence.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("The current limit on the concurrent calls to the persistence layer").register(meterRegistry);
+        Gauge.builder("model_repository.persistence.concurrency.in_flight", inFlight, AtomicInteger::get)
+                .description("The calls to the persistence layer in flight").register(meterRegistry);
+        rejections = Counter.builder("model_repository.persistence.concurrency.rejected")
+                .description("The calls to the persistence layer rejected because of the concurrency limit")
+                .register(meterRegistry);
+        if (enabled) {
+            log.info("Concurrency of the persistence layer is limited adaptively within ['{}', '{}'], starting at '{}'.", minLimit, maxLimit, getLimit());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that admits a call, unless the calls in flight have reached the limit.
+     *
+     * @return The permit of the admitted call, to be released once the call has completed, or null if rejected.
+     *****************************************************************************************************************/
+    public Permit tryAcquire() {
+        if (!enabled) {
+            return new Permit(0);
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejections.increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1);
+            }
+        }
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for the current limit on the calls in flight.
+     *
+     * @return The current limit.
+     *****************************************************************************************************************/
+    public int getLimit() {
+        return publishedLimit;
+    }
+
+    /******************************************************************************************************************
+     * Method that adapts the limit to the latency of a completed call.
+     *
+     * @param latencyNanos The latency of the call, in nanoseconds, positive.
+     * @param callsInFlight The calls in flight when the call was admitted (itself included).
+     *****************************************************************************************************************/
+    synchronized void onSample(long latencyNanos, int callsInFlight) {
+        double latency = Math.max(1L, latencyNanos);
+
+        // Updating the long-term average latency (a plain average until the window fills up).
+        samples++;
+        longLatency = (samples <= window) ? longLatency + (latency - longLatency) / samples
+                : longLatency + (latency - longLatency) * 2.0 / (window + 1);
+
+        // Letting the average follow a database that has recovered, instead of waiting for the window to elapse.
+        if (longLatency / latency > 2.0) {
+            longLatency *= 0.95;
+        }
+
+        // The limit is not to be raised by calls that did not use it (nor lowered, since they reveal no congestion).
+        if (callsInFlight < limit / 2) {
+            return;
+        }
+
+        // Shrinking in proportion to the slowdown (at most by half), or growing by a queueing allowance.
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longLatency / latency));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + estimate * smoothing));
+        publishedLimit = (int) limit;
+    }
+
+    /******************************************************************************************************************
+     * This class represents the admission of a call by the limiter, which is to be released exactly once.
+     *****************************************************************************************************************/
+    public class Permit {
+
+        private final long startNanos = System.nanoTime();
+
+        private final int callsInFlight;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int callsInFlight) {
+            this.callsInFlight = callsInFlight;
+        }
+
+        /**************************************************************************************************************
+         * Method that releases the permit of a completed call, whose latency then adapts the limit.
+         *************************************************************************************************************/
+        public void release() {
+            if (callsInFlight > 0 && released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                onSample(System.nanoTime() - startNanos, callsInFlight);
+            }
+        }
+
+        /**************************************************************************************************************
+         * Method that releases the permit of a call that has not been performed, leaving the limit unchanged.
+         *************************************************************************************************************/
+        public void cancel() {
+            if (callsInFlight > 0 && released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package eu.datacrop.maize.model_repository.api.executors;
+
+import eu.datacrop.maize.model_repository.api.error.ErrorMessage;
+import eu.datacrop.maize.model_repository.api.error.ErrorMessages;
+import eu.datacrop.maize.model_repository.commons.util.VirtualThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.core.instrument.internal.TimedExecutorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**********************************************************************************************************************
+ * This class executes the calls of the API layer to the persistence layer on a bounded pool of threads, separate from
+ * the worker threads of the servlet container. A request thread merely hands the call over and is released, so that
+ * slow database calls occupy the (limited) persistence threads instead of starving the container. Once both the
+ * threads and the queue of the pool are exhausted, further calls are rejected with 503 (Service Unavailable) at once,
+ * rather than piling up.
+ *
+ * With virtual threads enabled (on Java 21 or newer), each call runs on a new virtual thread instead, which releases
+ * its carrier while waiting on the database. The pool is then replaced by a limit on the calls in flight, equal to
+ * the threads and the queue of the pool together, so that the database is not flooded with more concurrent calls.
+ *
+ * Ahead of either, the AdaptiveConcurrencyLimiter admits only as many calls as the database currently sustains, and
+ * calls beyond its limit are rejected with 503 as well.
+ *
+ * The size of the queue, the time calls wait in it, the duration of the calls and the rejections are exported as
+ * metrics, under the "executor" meters tagged with name "persistence".
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+public class PersistenceExecutor {
+
+    /******************************************************************************************************************
+     * The name with which the meters of the executor are tagged.
+     *****************************************************************************************************************/
+    static final String NAME = "persistence";
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    AdaptiveConcurrencyLimiter limiter;
+
+    /******************************************************************************************************************
+     * Whether the calls are executed on the dedicated pool; otherwise, they are executed by the request threads.
+     *****************************************************************************************************************/
+    @Value("${model-repository.async.enabled:true}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * Whether the calls are executed on virtual threads (if supported by the runtime) rather than on the pool.
+     *****************************************************************************************************************/
+    @Value("${model-repository.threads.virtual:false}")
+    private boolean virtual;
+
+    /******************************************************************************************************************
+     * The number of threads of the pool, i.e. the maximum number of concurrent calls to the persistence layer.
+     *****************************************************************************************************************/
+    @Value("${model-repository.async.pool-size:32}")
+    private int poolSize;
+
+    /******************************************************************************************************************
+     * The maximum number of calls waiting for a thread, beyond which calls are rejected.
+     *****************************************************************************************************************/
+    @Value("${model-repository.async.queue-capacity:500}")
+    private int queueCapacity;
+
+    /******************************************************************************************************************
+     * The time (in seconds) after which clients are advised to retry a rejected call.
+     *****************************************************************************************************************/
+    @Value("${model-repository.async.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    /******************************************************************************************************************
+     * The time (in milliseconds) given to the calls in progress to complete upon shutdown.
+     *****************************************************************************************************************/
+    @Value("${model-repository.async.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMillis;
+
+    private ThreadPoolExecutor pool;
+
+    private Semaphore permits;
+
+    private ExecutorService executor;
+
+    private Counter rejections;
+
+    /******************************************************************************************************************
+     * Method that creates the pool of threads (if enabled) and registers its meters.
+     *****************************************************************************************************************/
+    @PostConstruct
+    public void start() {
+        rejections = Counter.builder("executor.rejected").tag("name", NAME)
+                .description("The number of calls rejected because the executor was saturated")
+                .register(meterRegistry);
+        if (!enabled) {
+            return;
+        }
+
+        // The monitored executor times the wait of each call in the queue ("executor.idle") and its execution.
+        if (virtual && VirtualThreads.isSupported()) {
+            permits = new Semaphore(poolSize + queueCapacity);
+            Gauge.builder("executor.active", permits, semaphore -> poolSize + queueCapacity - semaphore.availablePermits())
+                    .tag("name", NAME).description("The approximate number of calls in flight on virtual threads")
+                    .register(meterRegistry);
+            // Only the timings apply to virtual threads (the gauges of ExecutorServiceMetrics concern pools).
+            executor = new TimedExecutorService(meterRegistry, VirtualThreads.newVirtualThreadPerTaskExecutor("persistence-"), NAME, "", Tags.empty());
+            log.info("Persistence executor started on virtual threads with at most '{}' calls in flight.", poolSize + queueCapacity);
+            return;
+        } else if (virtual) {
+            log.warn("Virtual threads are not supported by Java {}. Persistence executor falls back to platform threads.", Runtime.version().feature());
+        }
+
+        pool = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("persistence-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, NAME, Tags.empty());
+        log.info("Persistence executor started with '{}' threads and a queue of '{}' calls.", poolSize, queueCapacity);
+    }
+
+    /******************************************************************************************************************
+     * Method that stops accepting calls, giving the calls in progress (or queued) a last chance to complete.
+     *
+     * @throws InterruptedException if interrupted while waiting for the calls to complete.
+     *****************************************************************************************************************/
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            log.warn("Persistence executor did not complete '{}' queued calls before shutdown.", executor.shutdownNow().size());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that submits a call to the persistence layer for execution on the pool. A call that cannot be accepted
+     * yields a 503 response immediately, while a call that fails yields the failure, to be handled as if the call
+     * had been performed by the request thread.
+     *
+     * @param operation A short description of the call, used for logging, not null.
+     * @param call The call to execute, producing the response to the client, not null.
+     * @return The response to the client, once the call has completed.
+     *****************************************************************************************************************/
+    public CompletableFuture<ResponseEntity> submit(String operation, Supplier<ResponseEntity> call) {
+
+        // A call is accepted only within the concurrency that the database currently sustains.
+        AdaptiveConcurrencyLimiter.Permit admission = limiter.tryAcquire();
+        if (admission == null) {
+            log.warn("Concurrency limit ('{}') of the persistence layer reached. Rejected attempt to {}.", limiter.getLimit(), operation);
+            return reject();
+        }
+
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(call.get());
+            } finally {
+                admission.release();
+            }
+        }
+
+        // On virtual threads, a call is accepted only if it does not exceed the limit of calls in flight.
+        if (permits != null && !permits.tryAcquire()) {
+            admission.cancel();
+            return rejectSaturated(operation);
+        }
+        try {
+            return CompletableFuture.supplyAsync(call, executor).whenComplete((response, e) -> {
+                admission.release();
+                if (permits != null) {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admission.cancel();
+            if (permits != null) {
+                permits.release();
+            }
+            return rejectSaturated(operation);
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that rejects a call because the executor is saturated.
+     *
+     * @param operation A short description of the call, used for logging, not null.
+     * @return The response (503) to the client.
+     *****************************************************************************************************************/
+    private CompletableFuture<ResponseEntity> rejectSaturated(String operation) {
+        rejections.increment();
+        log.warn("Persistence executor is saturated. Rejected attempt to {}.", operation);
+        return reject();
+    }
+
+    /******************************************************************************************************************
+     * Method that rejects a call, advising the client to retry later.
+     *
+     * @return The response (503) to the client.
+     *****************************************************************************************************************/
+    private CompletableFuture<ResponseEntity> reject() {
+        ErrorMessage errorMessage = new ErrorMessage(503, HttpStatus.SERVICE_UNAVAILABLE.toString(),
+                ErrorMessages.SERVICE_UNAVAILABLE.getErrorMessage(),
+                ErrorMessages.SERVICE_UNAVAILABLE.name(), null);
+        return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds)).body(errorMessage));
+    }
+}
@@ -0,0 +1,176 @@
+package eu.datacrop.maize.model_repository.api.limits;
+
+import eu.datacrop.maize.model_repository.api.error.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**********************************************************************************************************************
+ * This class limits the rate of the requests of each client, so that a single client flooding the server does not
+ * degrade the service for everyone else. Clients are identified by their API key (a request header), provided that it
+ * is one of the configured API keys, or else by their IP address: keys are not authenticated otherwise, so a client
+ * sending ever new keys must not obtain a fresh quota with each of them. Reads (GET, HEAD) and writes (any other
+ * method) are subject to separate quotas, each enforced through a token bucket per client. A request beyond the quota
+ * of its client is rejected with 429 (Too Many Requests) before it reaches the controller, advising the client when to
+ * retry.
+ *
+ * The rejections (tagged by quota) and the number of clients tracked are exported as metrics.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    /******************************************************************************************************************
+     * Whether the rate of the requests of each client is limited.
+     *****************************************************************************************************************/
+    @Value("${model-repository.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * The request header carrying the API key of the client.
+     *****************************************************************************************************************/
+    @Value("${model-repository.rate-limit.client-header:X-API-Key}")
+    private String clientHeader;
+
+    /******************************************************************************************************************
+     * The API keys by which clients are identified (comma-separated); any other key is ignored.
+     *****************************************************************************************************************/
+    @Value("${model-repository.rate-limit.api-keys:}")
+    private Set<String> apiKeys;
+
+    /******************************************************************************************************************
+     * The sustained rate of reads per client (per second).
+     *****************************************************************************************************************/
+    @Value("${model-repository.rate-limit.read.permits-per-second:100}")
+    private double readRate;
+
+    /******************************************************************************************************************
+     * The reads per client admitted at once, beyond the sustained rate.
+     *****************************************************************************************************************/
+    @Value("${model-repository.rate-limit.read.burst:200}")
+    private int readBurst;
+
+    /******************************************************************************************************************
+     * The sustained rate of writes per client (per second).
+     *****************************************************************************************************************/
+    @Value("${model-repository.rate-limit.write.permits-per-second:20}")
+    private double writeRate;
+
+    /******************************************************************************************************************
+     * The writes per client admitted at once, beyond the sustained rate.
+     *****************************************************************************************************************/
+    @Value("${model-repository.rate-limit.write.burst:40}")
+    private int writeBurst;
+
+    /******************************************************************************************************************
+     * The time (in milliseconds) after which the quotas of an idle client are forgotten.
+     *****************************************************************************************************************/
+    @Value("${model-repository.rate-limit.idle-ms:600000}")
+    private long idleMillis;
+
+    /******************************************************************************************************************
+     * The maximum number of IP addresses tracked individually, beyond which new addresses share their quotas.
+     *****************************************************************************************************************/
+    @Value("${model-repository.rate-limit.max-clients:100000}")
+    private int maxClients;
+
+    private TokenBuckets reads;
+
+    private TokenBuckets writes;
+
+    private TokenBuckets keyedReads;
+
+    private TokenBuckets keyedWrites;
+
+    private Counter readRejections;
+
+    private Counter writeRejections;
+
+    /******************************************************************************************************************
+     * Method that creates the buckets of the quotas and registers the metrics.
+     *****************************************************************************************************************/
+    @PostConstruct
+    public void start() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+        reads = new TokenBuckets(readRate, readBurst, idleNanos, maxClients, now);
+        writes = new TokenBuckets(writeRate, writeBurst, idleNanos, maxClients, now);
+        keyedReads = new TokenBuckets(readRate, readBurst, idleNanos, Math.max(1, apiKeys.size()), now);
+        keyedWrites = new TokenBuckets(writeRate, writeBurst, idleNanos, Math.max(1, apiKeys.size()), now);
+        readRejections = Counter.builder("model_repository.rate_limit.rejected").tag("quota", "read")
+                .description("The requests rejected because their client exceeded its quota").register(meterRegistry);
+        writeRejections = Counter.builder("model_repository.rate_limit.rejected").tag("quota", "write")
+                .description("The requests rejected because their client exceeded its quota").register(meterRegistry);
+        Gauge.builder("model_repository.rate_limit.clients", this, interceptor -> interceptor.reads.size() + interceptor.writes.size()
+                        + interceptor.keyedReads.size() + interceptor.keyedWrites.size())
+                .description("The number of quotas of clients tracked").register(meterRegistry);
+        if (enabled) {
+            log.info("Requests are limited per client to {} reads/s (burst {}) and {} writes/s (burst {}).", readRate, readBurst, writeRate, writeBurst);
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that admits a request if its client has not exceeded its quota.
+     *
+     * @param request The incoming request, not null.
+     * @param response The response to the request, not null.
+     * @param handler The handler of the request, not null.
+     * @return TRUE, if the request is admitted.
+     *
+     * @throws RateLimitExceededException if the client has exceeded its quota.
+     *****************************************************************************************************************/
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws RateLimitExceededException {
+
+        // Asynchronous requests are dispatched again once served, which must not count twice.
+        if (!enabled || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        String client = identify(request);
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        boolean keyed = client.startsWith("key:");
+        long waitNanos = (read ? (keyed ? keyedReads : reads) : (keyed ? keyedWrites : writes)).tryAcquire(client, System.nanoTime());
+        if (waitNanos == 0L) {
+            return true;
+        }
+
+        (read ? readRejections : writeRejections).increment();
+        log.debug("Client '{}' exceeded its quota of {}. Rejected {} {}.", client, read ? "reads" : "writes", request.getMethod(), request.getRequestURI());
+        throw new RateLimitExceededException("Client exceeded its quota of " + (read ? "reads." : "writes."),
+                Math.max(1L, (waitNanos + 999_999_999L) / 1_000_000_000L));
+    }
+
+    /******************************************************************************************************************
+     * Method that identifies the client of a request, by its API key if it is a configured one, or else by its IP
+     * address.
+     *
+     * @param request The incoming request, not null.
+     * @return The identifier of the client.
+     *****************************************************************************************************************/
+    private String identify(HttpServletRequest request) {
+        String key = request.getHeader(clientHeader);
+        if (key != null && !key.isBlank() && apiKeys.contains(key)) {
+            return "key:" + key;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,108 @@
+package eu.datacrop.maize.model_repository.api.limits;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**********************************************************************************************************************
+ * This class holds a token bucket per client, all sharing the same rate and burst. Each bucket is a single atomic
+ * number, the time at which it will be full again (theoretical arrival time): a request consumes a token by pushing
+ * that time forward by the interval between tokens, with a compare-and-set, and is admitted as long as that time does
+ * not exceed the current time by more than the burst. Admissions thus take no lock, and the buckets of the clients
+ * are found in a map that does not lock for reads either.
+ *
+ * A bucket idle for long is full and equivalent to no bucket at all, hence it is evicted; the buckets are swept as
+ * requests arrive, at most once per idle period. Beyond a maximum number of clients, new clients are charged to one of
+ * a fixed number of overflow buckets, chosen by their identifier, so that memory stays bounded even when requests
+ * carry ever new client identifiers, while a flood of such clients only exhausts the overflow buckets it hashes to.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public class TokenBuckets {
+
+    private static final int OVERFLOW_BUCKETS = 4096;
+
+    private final long intervalNanos;
+
+    private final long burstNanos;
+
+    private final long idleNanos;
+
+    private final int maxClients;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicLongArray overflow = new AtomicLongArray(OVERFLOW_BUCKETS);
+
+    private final AtomicLong nextSweep;
+
+    /******************************************************************************************************************
+     * Constructor of the TokenBuckets class.
+     *
+     * @param tokensPerSecond The rate at which the bucket of each client is refilled, positive.
+     * @param burst The capacity of the bucket of each client, i.e. the requests admitted at once, positive.
+     * @param idleNanos The time (in nanoseconds) after which a full bucket is evicted, positive.
+     * @param maxClients The maximum number of clients having a bucket of their own, positive.
+     * @param nowNanos The current time (in nanoseconds).
+     *****************************************************************************************************************/
+    public TokenBuckets(double tokensPerSecond, int burst, long idleNanos, int maxClients, long nowNanos) {
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.idleNanos = idleNanos;
+        this.maxClients = maxClients;
+        this.nextSweep = new AtomicLong(nowNanos + idleNanos);
+        for (int i = 0; i < OVERFLOW_BUCKETS; i++) {
+            overflow.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that consumes a token from the bucket of a client, if available.
+     *
+     * @param client The identifier of the client, not null.
+     * @param nowNanos The current time (in nanoseconds).
+     * @return Zero if the request is admitted, otherwise the time (in nanoseconds) until a token becomes available.
+     *****************************************************************************************************************/
+    public long tryAcquire(String client, long nowNanos) {
+        sweepIfDue(nowNanos);
+        AtomicLong bucket = buckets.get(client);
+        if (bucket == null && buckets.size() < maxClients) {
+            bucket = buckets.computeIfAbsent(client, key -> new AtomicLong(nowNanos));
+        }
+        int index = (bucket == null) ? Math.floorMod(client.hashCode(), OVERFLOW_BUCKETS) : -1;
+        while (true) {
+            long full = (bucket == null) ? overflow.get(index) : bucket.get();
+            long next = Math.max(full, nowNanos) + intervalNanos;
+            if (next - nowNanos > burstNanos) {
+                return next - nowNanos - burstNanos;
+            }
+            if ((bucket == null) ? overflow.compareAndSet(index, full, next) : bucket.compareAndSet(full, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that reports the number of clients having a bucket of their own.
+     *
+     * @return The number of buckets.
+     *****************************************************************************************************************/
+    public int size() {
+        return buckets.size();
+    }
+
+    /******************************************************************************************************************
+     * Method that evicts the buckets that have been full for longer than the idle time, once per idle period. A single
+     * caller performs the sweep; a request racing with the eviction of its bucket may get a token for free.
+     *
+     * @param nowNanos The current time (in nanoseconds).
+     *****************************************************************************************************************/
+    private void sweepIfDue(long nowNanos) {
+        long due = nextSweep.get();
+        if (nowNanos - due < 0 || !nextSweep.compareAndSet(due, nowNanos + idleNanos)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> nowNanos - bucket.get() >= idleNanos);
+    }
+}
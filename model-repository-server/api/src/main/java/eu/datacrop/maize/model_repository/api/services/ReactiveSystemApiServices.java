@@ -0,0 +1,40 @@
+package eu.datacrop.maize.model_repository.api.services;
+
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**********************************************************************************************************************
+ * This interface defines the non-blocking services offered by the API layer pertaining to IoT Systems.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public interface ReactiveSystemApiServices {
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve an existing IoT System using its databaseID
+     * as unique identifier.
+     *
+     * @param systemID A UUID that uniquely identifies an existing System in the database, not null.
+     * @return A data structure to be transmitted from server to client as response, once available.
+     *****************************************************************************************************************/
+    Mono<ResponseEntity> retrieveSystemByDatabaseID(String systemID);
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve all Systems paginated.
+     *
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A data structure to be transmitted from server to client as response, once available.
+     *****************************************************************************************************************/
+    Mono<ResponseEntity> retrieveAllSystems(int page, int size);
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to stream all Systems in the order of their identifiers.
+     *
+     * @return The Systems, emitted as they are requested by the client.
+     *****************************************************************************************************************/
+    Flux<SystemResponseDto> streamAllSystems();
+}
@@ -0,0 +1,172 @@
+package eu.datacrop.maize.model_repository.api.services;
+
+import eu.datacrop.maize.model_repository.api.error.ErrorMessage;
+import eu.datacrop.maize.model_repository.api.error.ErrorMessages;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
+import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
+import eu.datacrop.maize.model_repository.commons.error.messages.SystemErrorMessages;
+import eu.datacrop.maize.model_repository.commons.util.ValidatorUUID;
+import eu.datacrop.maize.model_repository.commons.wrappers.ResponseWrapper;
+import eu.datacrop.maize.model_repository.services.persistence.ReactiveSystemPersistenceServicesDao;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**********************************************************************************************************************
+ * This class implements the non-blocking services offered by the API layer pertaining to IoT Systems. The outcomes
+ * of the persistence layer are translated to responses in the same manner as by the SystemApiServicesImpl.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactiveSystemApiServicesImpl implements ReactiveSystemApiServices {
+
+    @Autowired
+    ReactiveSystemPersistenceServicesDao services;
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve an existing IoT System using its databaseID
+     * as unique identifier.
+     *
+     * @param systemID A UUID that uniquely identifies an existing System in the database, not null.
+     * @return A data structure to be transmitted from server to client as response, once available.
+     *****************************************************************************************************************/
+    @Override
+    public Mono<ResponseEntity> retrieveSystemByDatabaseID(String systemID) {
+
+        // Checking that the mandatory system identifier has a value.
+        if (systemID == null || systemID.isBlank()) {
+            log.info("Attempt to retrieve System without specifying a unique UUID detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.IDENTIFIER_MISSING.getErrorMessage(),
+                    ErrorMessages.IDENTIFIER_MISSING.name(), null);
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage));
+        }
+
+        // An identifier that can be parsed to a UUID is mandatory.
+        if (ValidatorUUID.isValidUUIDFormat(systemID) == Boolean.FALSE) {
+            log.info("Attempt to retrieve System with non-UUID identifier detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.IDENTIFIER_NOT_UUID.getErrorMessage(),
+                    ErrorMessages.IDENTIFIER_NOT_UUID.name(), null);
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage));
+        }
+
+        // Querying the persistence layer, whose failures (at assembly or at subscription) are reported alike.
+        String operation = "to retrieve System with ID: '" + systemID + "'";
+        return Mono.defer(() -> services.retrieveSystemByDatabaseID(systemID))
+                .map(wrapper -> synthesizeResponse(wrapper, wrapper.getErrorCode(), wrapper.getResponse(), operation))
+                .onErrorResume(e -> Mono.just(synthesizeResponseForException(e, operation)));
+    }
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve all Systems paginated.
+     *
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A data structure to be transmitted from server to client as response, once available.
+     *****************************************************************************************************************/
+    @Override
+    public Mono<ResponseEntity> retrieveAllSystems(int page, int size) {
+
+        // Querying the persistence layer, whose failures (at assembly or at subscription) are reported alike.
+        String operation = "to retrieve all Systems";
+        return Mono.defer(() -> services.retrieveAllSystems(page, size))
+                .map(wrapper -> synthesizeResponse(wrapper, wrapper.getErrorCode(), wrapper.getListOfResponses(), operation))
+                .onErrorResume(e -> Mono.just(synthesizeResponseForException(e, operation)));
+    }
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to stream all Systems in the order of their identifiers. Since
+     * the status of the response has already been sent once the first System is emitted, a failure midway can only
+     * be reported by interrupting the stream.
+     *
+     * @return The Systems, emitted as they are requested by the client.
+     *****************************************************************************************************************/
+    @Override
+    public Flux<SystemResponseDto> streamAllSystems() {
+        return Flux.defer(() -> services.streamAllSystems())
+                .doOnError(e -> log.error("Internal error occurred while streaming all Systems. Message: '{}'", e.getMessage()));
+    }
+
+    /******************************************************************************************************************
+     * Method that translates the outcome of a query to a response. Server errors are reported as 500, problematic
+     * client requests as 400, fruitless queries as 404 and successful ones as 200.
+     *
+     * @param wrapper The wrapped outcome of the query as returned by the persistence layer, not null.
+     * @param errorCode The error code of the outcome, if any.
+     * @param body The retrieved content, if any.
+     * @param operation A short description of the attempted operation, used for logging, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    private ResponseEntity synthesizeResponse(ResponseWrapper wrapper, SystemErrorMessages errorCode, Object body, String operation) {
+
+        // Reporting server errors.
+        if (wrapper.getCode().equals(ResponseCode.ERROR)
+                || wrapper.getCode().equals(ResponseCode.UNDEFINED)
+                || wrapper.getCode().equals(ResponseCode.CONFLICT)) {
+            log.error("Internal error occurred after attempt {}. Message: '{}'", operation, wrapper.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        // Reporting problematic client requests.
+        if (wrapper.getCode().equals(ResponseCode.BAD_REQUEST)) {
+            log.info("Bad request diagnosed after attempt {}. Message: '{}'", operation, wrapper.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    wrapper.getMessage(),
+                    errorCode.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // Reporting failure to locate the requested System(s).
+        if (wrapper.getCode().equals(ResponseCode.NOT_FOUND)) {
+            log.info("Observed fruitless attempt {}. Message: '{}'", operation, wrapper.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(404, HttpStatus.NOT_FOUND.toString(),
+                    wrapper.getMessage(),
+                    errorCode.name(), null);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorMessage);
+        }
+
+        // Last type of error: SUCCESS indicator but no content.
+        if (body == null) {
+            log.error("Internal error occurred after attempt {}. Message: '{}'", operation, wrapper.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        // Logging success and returning the retrieved content.
+        log.info("Successful attempt {}.", operation);
+        if (body instanceof SystemResponseDto responseDto && responseDto.getVersion() != null) {
+            return ResponseEntity.ok().eTag(String.valueOf(responseDto.getVersion())).body(responseDto);
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    /******************************************************************************************************************
+     * Method that translates an unexpected failure of the persistence layer to a response (500).
+     *
+     * @param e The failure, not null.
+     * @param operation A short description of the attempted operation, used for logging, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    private ResponseEntity synthesizeResponseForException(Throwable e, String operation) {
+        log.error("Internal error occurred after attempt {}. Message: '{}'", operation, e.getMessage());
+        ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+    }
+}
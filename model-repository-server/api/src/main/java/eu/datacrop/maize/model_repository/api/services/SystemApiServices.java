@@ -1,8 +1,12 @@
 package eu.datacrop.maize.model_repository.api.services;
 
+import eu.datacrop.maize.model_repository.commons.dtos.requests.PolygonRequestDto;
 import eu.datacrop.maize.model_repository.commons.dtos.requests.SystemRequestDto;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**********************************************************************************************************************
  * This interface defines the services offered by the API layer pertaining to IoT Systems.
  *
@@ -16,9 +20,10 @@ public interface SystemApiServices {
      * as unique identifier.
      *
      * @param systemID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param asOf A past date at which the state of the System is requested, or null for its current state.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
-    ResponseEntity retrieveSystemByDatabaseID(String systemID);
+    ResponseEntity retrieveSystemByDatabaseID(String systemID, LocalDateTime asOf);
 
     /******************************************************************************************************************
      * Method that connects to the persistence layer to retrieve an existing IoT System using its name
@@ -38,13 +43,129 @@ public interface SystemApiServices {
      *****************************************************************************************************************/
     ResponseEntity retrieveAllSystems(int page, int size);
 
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the Systems located within a maximum distance from
+     * a point, sorted by distance.
+     *
+     * @param latitude The latitude of the reference point, in decimal degrees.
+     * @param longitude The longitude of the reference point, in decimal degrees.
+     * @param maxDistance The maximum distance from the reference point in meters.
+     * @param limit The maximum number of Systems to retrieve.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    ResponseEntity retrieveSystemsNear(double latitude, double longitude, double maxDistance, int limit);
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the Systems located within a bounding box, paginated.
+     *
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    ResponseEntity retrieveSystemsWithinBox(double minLatitude, double minLongitude, double maxLatitude,
+                                            double maxLongitude, int page, int size);
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the Systems located within a Polygon, paginated.
+     *
+     * @param polygon A data transfer object with the vertices of the Polygon, not null.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    ResponseEntity retrieveSystemsWithinPolygon(PolygonRequestDto polygon, int page, int size);
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the clusters of Systems displayed on a map viewport
+     * at a given zoom level.
+     *
+     * @param zoom The zoom level of the map.
+     * @param minLatitude The latitude of the south-west corner of the viewport, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner of the viewport, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner of the viewport, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner of the viewport, in decimal degrees.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    ResponseEntity retrieveSystemClusters(int zoom, double minLatitude, double minLongitude, double maxLatitude,
+                                          double maxLongitude);
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the number of Systems per geohash cell within a
+     * bounding box.
+     *
+     * @param precision The geohash precision (i.e. length of the geohashes).
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    ResponseEntity retrieveSystemCountsByGeohash(int precision, double minLatitude, double minLongitude,
+                                                 double maxLatitude, double maxLongitude);
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to search Systems by keywords in their name and description,
+     * ordered by relevance and paginated.
+     *
+     * @param text The search terms (any of which may match), not null.
+     * @param organization The organization owning the Systems, null for all organizations.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    ResponseEntity searchSystems(String text, String organization, int page, int size);
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the names of the Systems starting with a prefix
+     * (ignoring case), for autocompletion.
+     *
+     * @param prefix The prefix of the names, not null.
+     * @param limit The maximum number of names to retrieve.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    ResponseEntity retrieveSystemNamesByPrefix(String prefix, int limit);
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to count the IoT Systems per organization and per type of
+     * location (Geographical or Virtual).
+     *
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    ResponseEntity retrieveSystemFacets();
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the Systems whose additional information contains
+     * all of the given key/value pairs, paginated.
+     *
+     * @param filters The key/value pairs to match, each in the form "key:value", not null.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    ResponseEntity retrieveSystemsByAdditionalInformation(List<String> filters, int page, int size);
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve an existing IoT System along with all of its
+     * additional information (including oversized additional information, omitted by the rest of the retrievals).
+     *
+     * @param systemID A UUID that uniquely identifies an existing System in the database, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    ResponseEntity retrieveSystemAdditionalInformation(String systemID);
+
     /******************************************************************************************************************
      * Method that connects to the persistence layer to record information on a new IoT System using.
      *
      * @param requestDto A data transfer object with values for the attributes of the System, not null.
+     * @param writeConcern The write concern requested for the operation, overriding the configured one, may be null.
+     * @param idempotencyKey A key that identifies the request among its retries, so that it is processed once, may be null.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
-    ResponseEntity createSystem(SystemRequestDto requestDto);
+    ResponseEntity createSystem(SystemRequestDto requestDto, String writeConcern, String idempotencyKey);
 
     /******************************************************************************************************************
      * Method that connects to the persistence layer to update information of an existing IoT System using its databaseID
@@ -52,23 +173,45 @@ public interface SystemApiServices {
      *
      * @param requestDto A data transfer object with values for the attributes of the System, not null.
      * @param systemID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param writeConcern The write concern requested for the operation, overriding the configured one, may be null.
+     * @param ifMatch The entity tag of the version of the System that the update is based upon, may be null.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
-    ResponseEntity updateSystem(SystemRequestDto requestDto, String systemID);
+    ResponseEntity updateSystem(SystemRequestDto requestDto, String systemID, String writeConcern, String ifMatch);
 
     /******************************************************************************************************************
      * Method that connects to the persistence layer to delete an existing IoT System using its databaseID
      * as unique identifier.
      *
      * @param systemID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param writeConcern The write concern requested for the operation, overriding the configured one, may be null.
+     * @param ifMatch The entity tag of the version of the System that the deletion is based upon, may be null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    ResponseEntity deleteSystem(String systemID, String writeConcern, String ifMatch);
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to delete all existing IoT Systems. The deletion is submitted as
+     * a Job executed in the background, whose status and progress may be followed at the returned location.
+     *
+     * @param writeConcern The write concern requested for the operation, overriding the configured one, may be null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    ResponseEntity deleteAllSystems(String writeConcern);
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the status and progress of a Job.
+     *
+     * @param jobID A UUID that uniquely identifies an existing Job in the persistence layer, not null.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
-    ResponseEntity deleteSystem(String systemID);
+    ResponseEntity retrieveSystemJob(String jobID);
 
     /******************************************************************************************************************
-     * Method that connects to the persistence layer to delete all existing IoT Systems.
+     * Method that connects to the persistence layer to cancel a Job that has not finished yet.
      *
+     * @param jobID A UUID that uniquely identifies an existing Job in the persistence layer, not null.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
-    ResponseEntity deleteAllSystems();
+    ResponseEntity cancelSystemJob(String jobID);
 }
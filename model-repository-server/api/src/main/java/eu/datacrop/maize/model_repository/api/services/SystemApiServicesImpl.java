@@ -2,10 +2,22 @@ package eu.datacrop.maize.model_repository.api.services;
 
 import eu.datacrop.maize.model_repository.api.error.ErrorMessage;
 import eu.datacrop.maize.model_repository.api.error.ErrorMessages;
+import eu.datacrop.maize.model_repository.commons.dtos.requests.PolygonRequestDto;
 import eu.datacrop.maize.model_repository.commons.dtos.requests.SystemRequestDto;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
 import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
+import eu.datacrop.maize.model_repository.commons.error.messages.SystemErrorMessages;
+import eu.datacrop.maize.model_repository.commons.util.ValidatorCoordinates;
+import eu.datacrop.maize.model_repository.commons.util.ValidatorFieldKey;
 import eu.datacrop.maize.model_repository.commons.util.ValidatorUUID;
+import eu.datacrop.maize.model_repository.commons.util.WriteConcernOverride;
+import eu.datacrop.maize.model_repository.commons.wrappers.ResponseWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.ClusterResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.GeohashCountResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemNameResponsesWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemFacetsResponseWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemJobResponseWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
 import eu.datacrop.maize.model_repository.services.persistence.SystemPersistenceServicesDao;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +26,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 
 /**********************************************************************************************************************
  * This class implements the services offered by the API layer pertaining to IoT Systems.
@@ -25,6 +45,56 @@ import org.springframework.stereotype.Service;
 @Service
 public class SystemApiServicesImpl implements SystemApiServices {
 
+    /******************************************************************************************************************
+     * The maximum number of Systems that a single geospatial query may return.
+     *****************************************************************************************************************/
+    private static final int MAX_GEO_QUERY_LIMIT = 1000;
+
+    /******************************************************************************************************************
+     * The maximum zoom level for which clusters of Systems are maintained.
+     *****************************************************************************************************************/
+    private static final int MAX_CLUSTER_ZOOM = 16;
+
+    /******************************************************************************************************************
+     * The maximum geohash precision for which Systems are counted.
+     *****************************************************************************************************************/
+    private static final int MAX_GEOHASH_PRECISION = 8;
+
+    /******************************************************************************************************************
+     * The maximum number of Systems that a single page of full-text search results may contain.
+     *****************************************************************************************************************/
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    /******************************************************************************************************************
+     * The maximum length of the search terms of a full-text search.
+     *****************************************************************************************************************/
+    private static final int MAX_SEARCH_TEXT_LENGTH = 256;
+
+    /******************************************************************************************************************
+     * The maximum number of names that a single autocomplete query may return.
+     *****************************************************************************************************************/
+    private static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+
+    /******************************************************************************************************************
+     * The maximum number of key/value pairs that a single filter on additional information may contain.
+     *****************************************************************************************************************/
+    private static final int MAX_FILTERS = 10;
+
+    /******************************************************************************************************************
+     * The maximum length of an idempotency key.
+     *****************************************************************************************************************/
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    /******************************************************************************************************************
+     * The accepted form of an If-Match header: a single (possibly weak) entity tag carrying the version of a System.
+     *****************************************************************************************************************/
+    private static final Pattern IF_MATCH = Pattern.compile("^(?:W/)?\"(\\d{1,18})\"$");
+
+    /******************************************************************************************************************
+     * The path under which the status of a Job is exposed, followed by the identifier of the Job.
+     *****************************************************************************************************************/
+    private static final String JOBS_PATH = "/model_repository/v1/asset_management/system/jobs/";
+
     @Autowired
     SystemPersistenceServicesDao services;
 
@@ -33,10 +103,11 @@ public class SystemApiServicesImpl implements SystemApiServices {
      * as unique identifier.
      *
      * @param systemID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param asOf A past date at which the state of the System is requested, or null for its current state.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
     @Override
-    public ResponseEntity retrieveSystemByDatabaseID(String systemID) {
+    public ResponseEntity retrieveSystemByDatabaseID(String systemID, LocalDateTime asOf) {
 
         // Checking that the mandatory system identifier has a value.
         if (systemID == null || systemID.isBlank()) {
@@ -60,7 +131,7 @@ public class SystemApiServicesImpl implements SystemApiServices {
         // Querying the persistence layer.
         SystemResponseWrapper wrapper;
         try {
-            wrapper = services.retrieveSystemByDatabaseID(systemID);
+            wrapper = (asOf == null) ? services.retrieveSystemByDatabaseID(systemID) : services.retrieveSystemAsOf(systemID, asOf);
         } catch (Exception e) {
             log.error("Internal error occurred after attempt to retrieve System with ID: '{}'. Message: '{}'", systemID, e.getMessage());
             ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
@@ -111,8 +182,12 @@ public class SystemApiServicesImpl implements SystemApiServices {
 
         // Logging success and returning the retrieved System.
         log.info("Successfully retrieved System from persistence layer with ID: '{}'.", systemID);
-        log.info("Successfully retrieved System from persistence layer with ID: '{}'.", systemID);
-        return ResponseEntity.ok(wrapper.getResponse());
+
+        // Past states are not to be used as preconditions of writes, hence they carry no entity tag.
+        if (asOf != null) {
+            return ResponseEntity.status(HttpStatus.OK).body(wrapper.getResponse());
+        }
+        return respondWithVersion(HttpStatus.OK, wrapper.getResponse());
     }
 
     /******************************************************************************************************************
@@ -188,7 +263,7 @@ public class SystemApiServicesImpl implements SystemApiServices {
 
         // Logging success and returning the retrieved System.
         log.info("Successfully retrieved System from persistence layer with Name: '{}'.", name);
-        return ResponseEntity.ok(wrapper.getResponse());
+        return respondWithVersion(HttpStatus.OK, wrapper.getResponse());
     }
 
     /******************************************************************************************************************
@@ -248,14 +323,459 @@ public class SystemApiServicesImpl implements SystemApiServices {
         return ResponseEntity.ok(wrapper.getListOfResponses());
     }
 
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the Systems located within a maximum distance from
+     * a point, sorted by distance.
+     *
+     * @param latitude The latitude of the reference point, in decimal degrees.
+     * @param longitude The longitude of the reference point, in decimal degrees.
+     * @param maxDistance The maximum distance from the reference point in meters.
+     * @param limit The maximum number of Systems to retrieve.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @Override
+    public ResponseEntity retrieveSystemsNear(double latitude, double longitude, double maxDistance, int limit) {
+
+        // Checking that the coordinates, the distance and the limit are within their valid ranges.
+        if (ValidatorCoordinates.isValidLatitude(latitude) == Boolean.FALSE
+                || ValidatorCoordinates.isValidLongitude(longitude) == Boolean.FALSE
+                || !(maxDistance > 0.0) || limit <= 0 || limit > MAX_GEO_QUERY_LIMIT) {
+            log.info("Attempt to retrieve Systems near a point with invalid parameters detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_GEO_PARAMETERS.getErrorMessage(),
+                    ErrorMessages.INVALID_GEO_PARAMETERS.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // Querying the persistence layer.
+        SystemResponsesWrapper wrapper;
+        try {
+            wrapper = services.retrieveSystemsNear(latitude, longitude, maxDistance, limit);
+        } catch (Exception e) {
+            log.error("Internal error occurred after attempt to retrieve Systems near a point. Message: '{}'", e.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        return synthesizeResponseForCollection(wrapper, "retrieve Systems near a point");
+    }
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the Systems located within a bounding box, paginated.
+     *
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @Override
+    public ResponseEntity retrieveSystemsWithinBox(double minLatitude, double minLongitude, double maxLatitude,
+                                                   double maxLongitude, int page, int size) {
+
+        // Checking that the bounding box is well-formed and that the pagination instructions are within limits.
+        if (ValidatorCoordinates.isValidBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude) == Boolean.FALSE
+                || page < 0 || size <= 0 || size > MAX_GEO_QUERY_LIMIT) {
+            log.info("Attempt to retrieve Systems within a bounding box with invalid parameters detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_GEO_PARAMETERS.getErrorMessage(),
+                    ErrorMessages.INVALID_GEO_PARAMETERS.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // Querying the persistence layer.
+        SystemResponsesWrapper wrapper;
+        try {
+            wrapper = services.retrieveSystemsWithinBox(minLatitude, minLongitude, maxLatitude, maxLongitude, page, size);
+        } catch (Exception e) {
+            log.error("Internal error occurred after attempt to retrieve Systems within a bounding box. Message: '{}'", e.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        return synthesizeResponseForCollection(wrapper, "retrieve Systems within a bounding box");
+    }
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the Systems located within a Polygon, paginated.
+     *
+     * @param polygon A data transfer object with the vertices of the Polygon, not null.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @Override
+    public ResponseEntity retrieveSystemsWithinPolygon(PolygonRequestDto polygon, int page, int size) {
+
+        // Checking that the Polygon is well-formed and that the pagination instructions are within limits.
+        if (polygon == null || ValidatorCoordinates.isValidPolygon(polygon.getVertices()) == Boolean.FALSE
+                || page < 0 || size <= 0 || size > MAX_GEO_QUERY_LIMIT) {
+            log.info("Attempt to retrieve Systems within a Polygon with invalid parameters detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_GEO_PARAMETERS.getErrorMessage(),
+                    ErrorMessages.INVALID_GEO_PARAMETERS.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // Querying the persistence layer.
+        SystemResponsesWrapper wrapper;
+        try {
+            wrapper = services.retrieveSystemsWithinPolygon(polygon, page, size);
+        } catch (Exception e) {
+            log.error("Internal error occurred after attempt to retrieve Systems within a Polygon. Message: '{}'", e.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        return synthesizeResponseForCollection(wrapper, "retrieve Systems within a Polygon");
+    }
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the clusters of Systems displayed on a map viewport
+     * at a given zoom level.
+     *
+     * @param zoom The zoom level of the map.
+     * @param minLatitude The latitude of the south-west corner of the viewport, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner of the viewport, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner of the viewport, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner of the viewport, in decimal degrees.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @Override
+    public ResponseEntity retrieveSystemClusters(int zoom, double minLatitude, double minLongitude, double maxLatitude,
+                                                 double maxLongitude) {
+
+        // Checking that the zoom level is supported and that the viewport is well-formed.
+        if (zoom < 0 || zoom > MAX_CLUSTER_ZOOM
+                || ValidatorCoordinates.isValidBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude) == Boolean.FALSE) {
+            log.info("Attempt to retrieve clusters of Systems with invalid parameters detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_GEO_PARAMETERS.getErrorMessage(),
+                    ErrorMessages.INVALID_GEO_PARAMETERS.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // Querying the persistence layer.
+        ClusterResponsesWrapper wrapper;
+        try {
+            wrapper = services.retrieveSystemClusters(zoom, minLatitude, minLongitude, maxLatitude, maxLongitude);
+        } catch (Exception e) {
+            log.error("Internal error occurred after attempt to retrieve clusters of Systems. Message: '{}'", e.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        return synthesizeResponseForCollection(wrapper, "retrieve clusters of Systems");
+    }
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the number of Systems per geohash cell within a
+     * bounding box.
+     *
+     * @param precision The geohash precision (i.e. length of the geohashes).
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @Override
+    public ResponseEntity retrieveSystemCountsByGeohash(int precision, double minLatitude, double minLongitude,
+                                                        double maxLatitude, double maxLongitude) {
+
+        // Checking that the precision is supported and that the bounding box is well-formed.
+        if (precision < 1 || precision > MAX_GEOHASH_PRECISION
+                || ValidatorCoordinates.isValidBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude) == Boolean.FALSE) {
+            log.info("Attempt to count Systems per geohash cell with invalid parameters detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_GEO_PARAMETERS.getErrorMessage(),
+                    ErrorMessages.INVALID_GEO_PARAMETERS.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // Querying the persistence layer.
+        GeohashCountResponsesWrapper wrapper;
+        try {
+            wrapper = services.retrieveSystemCountsByGeohash(precision, minLatitude, minLongitude, maxLatitude, maxLongitude);
+        } catch (Exception e) {
+            log.error("Internal error occurred after attempt to count Systems per geohash cell. Message: '{}'", e.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        return synthesizeResponseForCollection(wrapper, "count Systems per geohash cell");
+    }
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to search Systems by keywords in their name and description,
+     * ordered by relevance and paginated.
+     *
+     * @param text The search terms (any of which may match), not null.
+     * @param organization The organization owning the Systems, null for all organizations.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @Override
+    public ResponseEntity searchSystems(String text, String organization, int page, int size) {
+
+        // Checking that search terms are present and that the pagination instructions are within limits.
+        if (text == null || text.isBlank() || text.length() > MAX_SEARCH_TEXT_LENGTH
+                || page < 0 || size <= 0 || size > MAX_SEARCH_PAGE_SIZE) {
+            log.info("Attempt to search Systems with invalid parameters detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_SEARCH_PARAMETERS.getErrorMessage(),
+                    ErrorMessages.INVALID_SEARCH_PARAMETERS.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // Querying the persistence layer.
+        SystemResponsesWrapper wrapper;
+        try {
+            wrapper = services.searchSystems(text, organization, page, size);
+        } catch (Exception e) {
+            log.error("Internal error occurred after attempt to search Systems. Message: '{}'", e.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        return synthesizeResponseForCollection(wrapper, "search Systems");
+    }
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the names of the Systems starting with a prefix
+     * (ignoring case), for autocompletion.
+     *
+     * @param prefix The prefix of the names, not null.
+     * @param limit The maximum number of names to retrieve.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @Override
+    public ResponseEntity retrieveSystemNamesByPrefix(String prefix, int limit) {
+
+        // Checking that a prefix is present and that the number of names is within limits.
+        if (prefix == null || prefix.isBlank() || prefix.length() > MAX_SEARCH_TEXT_LENGTH
+                || limit <= 0 || limit > MAX_AUTOCOMPLETE_LIMIT) {
+            log.info("Attempt to autocomplete System names with invalid parameters detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_SEARCH_PARAMETERS.getErrorMessage(),
+                    ErrorMessages.INVALID_SEARCH_PARAMETERS.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // Querying the persistence layer.
+        SystemNameResponsesWrapper wrapper;
+        try {
+            wrapper = services.retrieveSystemNamesByPrefix(prefix, limit);
+        } catch (Exception e) {
+            log.error("Internal error occurred after attempt to autocomplete System names. Message: '{}'", e.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        return synthesizeResponseForCollection(wrapper, "autocomplete System names");
+    }
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to count the IoT Systems per organization and per type of
+     * location (Geographical or Virtual).
+     *
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @Override
+    public ResponseEntity retrieveSystemFacets() {
+
+        // Querying the persistence layer.
+        SystemFacetsResponseWrapper wrapper;
+        try {
+            wrapper = services.retrieveSystemFacets();
+        } catch (Exception e) {
+            log.error("Internal error occurred after attempt to count Systems per facet. Message: '{}'", e.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        // Reporting server errors (a summary is always available, even for an empty collection).
+        if (wrapper == null
+                || !wrapper.getCode().equals(ResponseCode.SUCCESS)
+                || wrapper.getResponse() == null) {
+            log.error("Internal error occurred after attempt to count Systems per facet. Message: '{}'",
+                    wrapper != null ? wrapper.getMessage() : "Details unknown.");
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        // Logging success and returning the summary.
+        log.info("Successfully counted '{}' Systems per facet.", wrapper.getResponse().getTotal());
+        return ResponseEntity.status(HttpStatus.OK).body(wrapper.getResponse());
+    }
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the Systems whose additional information contains
+     * all of the given key/value pairs, paginated.
+     *
+     * @param filters The key/value pairs to match, each in the form "key:value", not null.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @Override
+    public ResponseEntity retrieveSystemsByAdditionalInformation(List<String> filters, int page, int size) {
+
+        // Parsing the "key:value" pairs, requiring distinct valid keys, and checking the pagination instructions.
+        Map<String, String> pairs = new LinkedHashMap<>();
+        boolean valid = filters != null && !filters.isEmpty() && filters.size() <= MAX_FILTERS
+                && page >= 0 && size > 0 && size <= MAX_SEARCH_PAGE_SIZE;
+        if (valid) {
+            for (String filter : filters) {
+                int separator = (filter == null) ? -1 : filter.indexOf(':');
+                if (separator < 0 || filter.length() > MAX_SEARCH_TEXT_LENGTH
+                        || ValidatorFieldKey.isValidFieldKey(filter.substring(0, separator)).equals(Boolean.FALSE)
+                        || pairs.put(filter.substring(0, separator), filter.substring(separator + 1)) != null) {
+                    valid = false;
+                    break;
+                }
+            }
+        }
+        if (!valid) {
+            log.info("Attempt to filter Systems by additional information with invalid parameters detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_FILTER_PARAMETERS.getErrorMessage(),
+                    ErrorMessages.INVALID_FILTER_PARAMETERS.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // Querying the persistence layer.
+        SystemResponsesWrapper wrapper;
+        try {
+            wrapper = services.retrieveSystemsByAdditionalInformation(pairs, page, size);
+        } catch (Exception e) {
+            log.error("Internal error occurred after attempt to filter Systems by additional information. Message: '{}'", e.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        return synthesizeResponseForCollection(wrapper, "filter Systems by additional information");
+    }
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve an existing IoT System along with all of its
+     * additional information (including oversized additional information, omitted by the rest of the retrievals).
+     *
+     * @param systemID A UUID that uniquely identifies an existing System in the database, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @Override
+    public ResponseEntity retrieveSystemAdditionalInformation(String systemID) {
+
+        // Checking that the mandatory system identifier has a value.
+        if (systemID == null || systemID.isBlank()) {
+            log.info("Attempt to retrieve additional information of System without specifying a unique UUID detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.IDENTIFIER_MISSING.getErrorMessage(),
+                    ErrorMessages.IDENTIFIER_MISSING.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // An identifier that can be parsed to a UUID is mandatory.
+        Boolean testResult = ValidatorUUID.isValidUUIDFormat(systemID);
+        if (testResult == Boolean.FALSE) {
+            log.info("Attempt to retrieve additional information of System with non-UUID identifier detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.IDENTIFIER_NOT_UUID.getErrorMessage(),
+                    ErrorMessages.IDENTIFIER_NOT_UUID.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // Querying the persistence layer.
+        SystemResponseWrapper wrapper;
+        try {
+            wrapper = services.retrieveSystemAdditionalInformation(systemID);
+        } catch (Exception e) {
+            log.error("Internal error occurred after attempt to retrieve additional information of System with ID: '{}'. Message: '{}'", systemID, e.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.toString(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        // Reporting server errors.
+        if (wrapper == null
+                || wrapper.getCode().equals(ResponseCode.ERROR)
+                || wrapper.getCode().equals(ResponseCode.UNDEFINED)
+                || wrapper.getCode().equals(ResponseCode.CONFLICT)) {
+            log.error("Internal error occurred after attempt  to retrieve additional information of System with ID: '{}'. Message: '{}'",
+                    systemID, wrapper != null ? wrapper.getMessage() : "Details unknown.");
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        // Reporting problematic client requests.
+        if (wrapper.getCode().equals(ResponseCode.BAD_REQUEST)) {
+            log.info("Bad request diagnosed after attempt  to retrieve additional information of System with ID: '{}'. Message: '{}'", systemID, wrapper.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    wrapper.getMessage(),
+                    wrapper.getErrorCode().name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // Reporting failure to locate the requested System.
+        if (wrapper.getCode().equals(ResponseCode.NOT_FOUND)) {
+            log.info("Observed fruitless attempt to retrieve additional information of System with ID: '{}'. Message: '{}'", systemID, wrapper.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(404, HttpStatus.NOT_FOUND.toString(),
+                    wrapper.getMessage(),
+                    wrapper.getErrorCode().name(), null);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorMessage);
+        }
+
+        // Last type of error: SUCCESS indicator but no content.
+        if (wrapper.getResponse() == null) {
+            log.error("Internal error occurred after attempt  to retrieve additional information of System with ID: '{}'. Message: '{}'", systemID, wrapper.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        // Logging success and returning the retrieved System along with its additional information.
+        log.info("Successfully retrieved additional information of System from persistence layer with ID: '{}'.", systemID);
+        return ResponseEntity.ok(wrapper.getResponse());
+    }
+
     /******************************************************************************************************************
      * Method that connects to the persistence layer to record information on a new IoT System.
      *
      * @param requestDto A data transfer object with values for the attributes of the System, not null.
+     * @param writeConcern The write concern requested for the operation, overriding the configured one, may be null.
+     * @param idempotencyKey A key that identifies the request among its retries, so that it is processed once, may be null.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
     @Override
-    public ResponseEntity createSystem(SystemRequestDto requestDto) {
+    public ResponseEntity createSystem(SystemRequestDto requestDto, String writeConcern, String idempotencyKey) {
 
         // Checking that the mandatory system requestDto has a value.
         if (requestDto == null) {
@@ -266,10 +786,30 @@ public class SystemApiServicesImpl implements SystemApiServices {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
         }
 
+        // A requested write concern, if any, must be one of the known ones.
+        if (writeConcern != null && WriteConcernOverride.isValidWriteConcern(writeConcern) == Boolean.FALSE) {
+            log.info("Attempt to create System with unknown write concern detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_WRITE_CONCERN.getErrorMessage(),
+                    ErrorMessages.INVALID_WRITE_CONCERN.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // A provided idempotency key must be non-blank and of bounded length.
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            log.info("Attempt to create System with invalid idempotency key detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_IDEMPOTENCY_KEY.getErrorMessage(),
+                    ErrorMessages.INVALID_IDEMPOTENCY_KEY.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
         // Querying the persistence layer.
         SystemResponseWrapper wrapper;
         try {
-            wrapper = services.createSystem(requestDto);
+            WriteConcernOverride.set(writeConcern);
+            wrapper = (idempotencyKey == null) ? services.createSystem(requestDto)
+                    : services.createSystemIdempotently(requestDto, idempotencyKey);
         } catch (Exception e) {
             log.error("Internal error occurred after attempt to create new System with Name: '{}'. Message: '{}'",
                     requestDto.getName(), e.getMessage());
@@ -277,6 +817,8 @@ public class SystemApiServicesImpl implements SystemApiServices {
                     ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
                     ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        } finally {
+            WriteConcernOverride.clear();
         }
 
         // Reporting server errors.
@@ -325,7 +867,7 @@ public class SystemApiServicesImpl implements SystemApiServices {
         // Logging success and returning the created System.
         log.info("Successfully created new System at persistence layer with ID '{}' and Name: '{}'.",
                 wrapper.getResponse().getId(), wrapper.getResponse().getName());
-        return ResponseEntity.status(HttpStatus.CREATED).body(wrapper.getResponse());
+        return respondWithVersion(HttpStatus.CREATED, wrapper.getResponse());
     }
 
     /******************************************************************************************************************
@@ -334,10 +876,12 @@ public class SystemApiServicesImpl implements SystemApiServices {
      *
      * @param requestDto A data transfer object with values for the attributes of the System, not null.
      * @param systemID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param writeConcern The write concern requested for the operation, overriding the configured one, may be null.
+     * @param ifMatch The entity tag of the version of the System that the update is based upon, may be null.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
     @Override
-    public ResponseEntity updateSystem(SystemRequestDto requestDto, String systemID) {
+    public ResponseEntity updateSystem(SystemRequestDto requestDto, String systemID, String writeConcern, String ifMatch) {
 
         // Checking that the mandatory system requestDto has a value.
         if (requestDto == null) {
@@ -367,10 +911,29 @@ public class SystemApiServicesImpl implements SystemApiServices {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
         }
 
+        // A requested write concern, if any, must be one of the known ones.
+        if (writeConcern != null && WriteConcernOverride.isValidWriteConcern(writeConcern) == Boolean.FALSE) {
+            log.info("Attempt to update System with unknown write concern detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_WRITE_CONCERN.getErrorMessage(),
+                    ErrorMessages.INVALID_WRITE_CONCERN.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // A provided If-Match header must carry a single version of the System (or match any version).
+        if (ifMatch != null && !ifMatch.isBlank() && !ifMatch.trim().equals("*") && !IF_MATCH.matcher(ifMatch.trim()).matches()) {
+            log.info("Attempt to update System with malformed If-Match header detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_IF_MATCH.getErrorMessage(),
+                    ErrorMessages.INVALID_IF_MATCH.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
         // Querying the persistence layer.
         SystemResponseWrapper wrapper;
         try {
-            wrapper = services.updateSystem(requestDto, systemID);
+            WriteConcernOverride.set(writeConcern);
+            wrapper = services.updateSystem(requestDto, systemID, parseExpectedVersion(ifMatch));
         } catch (Exception e) {
             log.error("Internal error occurred after attempt to update System with ID: '{}'. Message: '{}'",
                     systemID, e.getMessage());
@@ -378,6 +941,8 @@ public class SystemApiServicesImpl implements SystemApiServices {
                     ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
                     ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        } finally {
+            WriteConcernOverride.clear();
         }
 
         // Reporting server errors.
@@ -392,6 +957,15 @@ public class SystemApiServicesImpl implements SystemApiServices {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
         }
 
+        // Reporting failure due to a modification of the System since the version expected by the client.
+        if (wrapper.getCode().equals(ResponseCode.PRECONDITION_FAILED)) {
+            log.info("Observed lost update prevented for System with ID: '{}'. Message: '{}'", systemID, wrapper.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(412, HttpStatus.PRECONDITION_FAILED.toString(),
+                    wrapper.getMessage(),
+                    wrapper.getErrorCode().name(), null);
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorMessage);
+        }
+
         // Reporting failure to locate the requested System.
         if (wrapper.getCode().equals(ResponseCode.NOT_FOUND)) {
             log.info("Observed fruitless attempt to update System with ID: '{}'. Message: '{}'", systemID, wrapper.getMessage());
@@ -434,7 +1008,7 @@ public class SystemApiServicesImpl implements SystemApiServices {
         // Logging success and returning the updated System.
         log.info("Successfully updated System at persistence layer with ID '{}' and Name: '{}'.",
                 wrapper.getResponse().getId(), wrapper.getResponse().getName());
-        return ResponseEntity.status(HttpStatus.OK).body(wrapper.getResponse());
+        return respondWithVersion(HttpStatus.OK, wrapper.getResponse());
     }
 
     /******************************************************************************************************************
@@ -442,10 +1016,12 @@ public class SystemApiServicesImpl implements SystemApiServices {
      * as unique identifier.
      *
      * @param systemID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param writeConcern The write concern requested for the operation, overriding the configured one, may be null.
+     * @param ifMatch The entity tag of the version of the System that the deletion is based upon, may be null.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
     @Override
-    public ResponseEntity deleteSystem(String systemID) {
+    public ResponseEntity deleteSystem(String systemID, String writeConcern, String ifMatch) {
 
         // Checking that the mandatory system identifier has a value.
         if (systemID == null || systemID.isBlank()) {
@@ -466,16 +1042,37 @@ public class SystemApiServicesImpl implements SystemApiServices {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
         }
 
+        // A requested write concern, if any, must be one of the known ones.
+        if (writeConcern != null && WriteConcernOverride.isValidWriteConcern(writeConcern) == Boolean.FALSE) {
+            log.info("Attempt to delete System with unknown write concern detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_WRITE_CONCERN.getErrorMessage(),
+                    ErrorMessages.INVALID_WRITE_CONCERN.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // A provided If-Match header must carry a single version of the System (or match any version).
+        if (ifMatch != null && !ifMatch.isBlank() && !ifMatch.trim().equals("*") && !IF_MATCH.matcher(ifMatch.trim()).matches()) {
+            log.info("Attempt to delete System with malformed If-Match header detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_IF_MATCH.getErrorMessage(),
+                    ErrorMessages.INVALID_IF_MATCH.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
         // Querying the persistence layer.
         SystemResponseWrapper wrapper;
         try {
-            wrapper = services.deleteSystem(systemID);
+            WriteConcernOverride.set(writeConcern);
+            wrapper = services.deleteSystem(systemID, parseExpectedVersion(ifMatch));
         } catch (Exception e) {
             log.error("Internal error occurred after attempt to delete System with ID: '{}'. Message: '{}'", systemID, e.getMessage());
             ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
                     ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
                     ErrorMessages.INTERNAL_SERVER_ERROR.toString(), null);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        } finally {
+            WriteConcernOverride.clear();
         }
 
         // Reporting server errors.
@@ -500,6 +1097,15 @@ public class SystemApiServicesImpl implements SystemApiServices {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
         }
 
+        // Reporting failure due to a modification of the System since the version expected by the client.
+        if (wrapper.getCode().equals(ResponseCode.PRECONDITION_FAILED)) {
+            log.info("Observed lost deletion prevented for System with ID: '{}'. Message: '{}'", systemID, wrapper.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(412, HttpStatus.PRECONDITION_FAILED.toString(),
+                    wrapper.getMessage(),
+                    wrapper.getErrorCode().name(), null);
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorMessage);
+        }
+
         // Reporting failure to locate the requested System.
         if (wrapper.getCode().equals(ResponseCode.NOT_FOUND)) {
             log.info("Observed fruitless attempt to delete System with ID: '{}'. Message: '{}'", systemID, wrapper.getMessage());
@@ -524,31 +1130,237 @@ public class SystemApiServicesImpl implements SystemApiServices {
     }
 
     /******************************************************************************************************************
-     * Method that connects to the persistence layer to delete all existing IoT Systems.
+     * Method that connects to the persistence layer to delete all existing IoT Systems. The deletion is submitted as
+     * a Job executed in the background, whose status and progress may be followed at the returned location.
      *
+     * @param writeConcern The write concern requested for the operation, overriding the configured one, may be null.
      * @return A data structure to be transmitted from server to client as response.
      *****************************************************************************************************************/
     @Override
-    public ResponseEntity deleteAllSystems() {
+    public ResponseEntity deleteAllSystems(String writeConcern) {
+
+        // A requested write concern, if any, must be one of the known ones.
+        if (writeConcern != null && WriteConcernOverride.isValidWriteConcern(writeConcern) == Boolean.FALSE) {
+            log.info("Attempt to delete all System entities with unknown write concern detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.INVALID_WRITE_CONCERN.getErrorMessage(),
+                    ErrorMessages.INVALID_WRITE_CONCERN.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
 
         // Querying the persistence layer.
-        SystemResponseWrapper wrapper;
+        SystemJobResponseWrapper wrapper;
         try {
-            wrapper = services.deleteAllSystems();
+            WriteConcernOverride.set(writeConcern);
+            wrapper = services.submitDeleteAllSystemsJob();
         } catch (Exception e) {
             log.error("Internal error occurred after attempt to delete all System entities. Message: '{}'", e.getMessage());
             ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
                     ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
                     ErrorMessages.INTERNAL_SERVER_ERROR.toString(), null);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        } finally {
+            WriteConcernOverride.clear();
+        }
+
+        // Reporting server errors and failure to locate any System.
+        if (wrapper == null || !wrapper.getCode().equals(ResponseCode.SUCCESS)) {
+            return synthesizeResponseForJob(wrapper, "to delete all System entities");
+        }
+
+        // Logging success and returning the submitted Job, along with its location.
+        log.info("Successfully submitted the deletion of all System entities as Job with ID: '{}'.", wrapper.getResponse().getId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create(JOBS_PATH + wrapper.getResponse().getId() + "/"))
+                .body(wrapper.getResponse());
+    }
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to retrieve the status and progress of a Job.
+     *
+     * @param jobID A UUID that uniquely identifies an existing Job in the persistence layer, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @Override
+    public ResponseEntity retrieveSystemJob(String jobID) {
+
+        // An identifier that can be parsed to a UUID is mandatory.
+        if (jobID == null || jobID.isBlank() || ValidatorUUID.isValidUUIDFormat(jobID) == Boolean.FALSE) {
+            log.info("Attempt to retrieve Job with non-UUID identifier detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.IDENTIFIER_NOT_UUID.getErrorMessage(),
+                    ErrorMessages.IDENTIFIER_NOT_UUID.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // Querying the persistence layer.
+        SystemJobResponseWrapper wrapper;
+        try {
+            wrapper = services.retrieveSystemJob(jobID);
+        } catch (Exception e) {
+            log.error("Internal error occurred after attempt to retrieve Job with ID: '{}'. Message: '{}'", jobID, e.getMessage());
+            wrapper = null;
+        }
+
+        return synthesizeResponseForJob(wrapper, "to retrieve Job with ID: '" + jobID + "'");
+    }
+
+    /******************************************************************************************************************
+     * Method that connects to the persistence layer to cancel a Job that has not finished yet.
+     *
+     * @param jobID A UUID that uniquely identifies an existing Job in the persistence layer, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    @Override
+    public ResponseEntity cancelSystemJob(String jobID) {
+
+        // An identifier that can be parsed to a UUID is mandatory.
+        if (jobID == null || jobID.isBlank() || ValidatorUUID.isValidUUIDFormat(jobID) == Boolean.FALSE) {
+            log.info("Attempt to cancel Job with non-UUID identifier detected. Operation aborted.");
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    ErrorMessages.IDENTIFIER_NOT_UUID.getErrorMessage(),
+                    ErrorMessages.IDENTIFIER_NOT_UUID.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // Querying the persistence layer.
+        SystemJobResponseWrapper wrapper;
+        try {
+            wrapper = services.cancelSystemJob(jobID);
+        } catch (Exception e) {
+            log.error("Internal error occurred after attempt to cancel Job with ID: '{}'. Message: '{}'", jobID, e.getMessage());
+            wrapper = null;
+        }
+
+        return synthesizeResponseForJob(wrapper, "to cancel Job with ID: '" + jobID + "'");
+    }
+
+    /******************************************************************************************************************
+     * Method that translates the outcome of an operation on a Job to a response. Server errors are reported as 500,
+     * missing Jobs (or Systems) as 404, Jobs that have already finished as 409 and successful operations as 200.
+     *
+     * @param wrapper The wrapped outcome of the operation as returned by the persistence layer, may be null.
+     * @param operation A short description of the attempted operation, used for logging, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    private ResponseEntity synthesizeResponseForJob(SystemJobResponseWrapper wrapper, String operation) {
+
+        // Reporting server errors.
+        if (wrapper == null
+                || wrapper.getCode().equals(ResponseCode.ERROR)
+                || wrapper.getCode().equals(ResponseCode.UNDEFINED)
+                || wrapper.getCode().equals(ResponseCode.BAD_REQUEST)
+                || wrapper.getCode().equals(ResponseCode.PRECONDITION_FAILED)) {
+            log.error("Internal error occurred after attempt {}. Message: '{}'",
+                    operation, wrapper != null ? wrapper.getMessage() : "Details unknown.");
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
         }
 
+        // Reporting failure to locate the Job (or any System).
+        if (wrapper.getCode().equals(ResponseCode.NOT_FOUND)) {
+            log.info("Observed fruitless attempt {}. Message: '{}'", operation, wrapper.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(404, HttpStatus.NOT_FOUND.toString(),
+                    wrapper.getMessage(),
+                    wrapper.getErrorCode().name(), null);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorMessage);
+        }
+
+        // Reporting Jobs that have already finished.
+        if (wrapper.getCode().equals(ResponseCode.CONFLICT)) {
+            log.info("Conflict diagnosed after attempt {}. Message: '{}'", operation, wrapper.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(409, HttpStatus.CONFLICT.toString(),
+                    wrapper.getMessage(),
+                    wrapper.getErrorCode().name(), null);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorMessage);
+        }
+
+        // Logging success and returning the Job.
+        log.info("Successful attempt {}.", operation);
+        return ResponseEntity.ok(wrapper.getResponse());
+    }
+
+    /******************************************************************************************************************
+     * Method that translates the outcome of a query for a collection of Systems to a response. Server errors are
+     * reported as 500, problematic client requests as 400, fruitless queries as 404 and successful ones as 200.
+     *
+     * @param wrapper The wrapped outcome of the query as returned by the persistence layer, may be null.
+     * @param operation A short description of the attempted operation, used for logging, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    private ResponseEntity synthesizeResponseForCollection(SystemResponsesWrapper wrapper, String operation) {
+        if (wrapper == null) {
+            return synthesizeResponseForCollection(null, null, null, operation);
+        }
+        return synthesizeResponseForCollection(wrapper, wrapper.getErrorCode(), wrapper.getListOfResponses(), operation);
+    }
+
+    /******************************************************************************************************************
+     * Method that translates the outcome of a query for a collection of clusters of Systems to a response, in the
+     * same manner as for collections of Systems.
+     *
+     * @param wrapper The wrapped outcome of the query as returned by the persistence layer, may be null.
+     * @param operation A short description of the attempted operation, used for logging, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    private ResponseEntity synthesizeResponseForCollection(ClusterResponsesWrapper wrapper, String operation) {
+        if (wrapper == null) {
+            return synthesizeResponseForCollection(null, null, null, operation);
+        }
+        return synthesizeResponseForCollection(wrapper, wrapper.getErrorCode(), wrapper.getListOfResponses(), operation);
+    }
+
+    /******************************************************************************************************************
+     * Method that translates the outcome of a query for the number of Systems per geohash cell to a response, in
+     * the same manner as for collections of Systems.
+     *
+     * @param wrapper The wrapped outcome of the query as returned by the persistence layer, may be null.
+     * @param operation A short description of the attempted operation, used for logging, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    private ResponseEntity synthesizeResponseForCollection(GeohashCountResponsesWrapper wrapper, String operation) {
+        if (wrapper == null) {
+            return synthesizeResponseForCollection(null, null, null, operation);
+        }
+        return synthesizeResponseForCollection(wrapper, wrapper.getErrorCode(), wrapper.getListOfResponses(), operation);
+    }
+
+    /******************************************************************************************************************
+     * Method that translates the outcome of a query for the names of Systems to a response, in the same manner as
+     * for collections of Systems.
+     *
+     * @param wrapper The wrapped outcome of the query as returned by the persistence layer, may be null.
+     * @param operation A short description of the attempted operation, used for logging, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    private ResponseEntity synthesizeResponseForCollection(SystemNameResponsesWrapper wrapper, String operation) {
+        if (wrapper == null) {
+            return synthesizeResponseForCollection(null, null, null, operation);
+        }
+        return synthesizeResponseForCollection(wrapper, wrapper.getErrorCode(), wrapper.getListOfResponses(), operation);
+    }
+
+    /******************************************************************************************************************
+     * Method that translates the outcome of a query for a collection of items to a response. Server errors are
+     * reported as 500, problematic client requests as 400, fruitless queries as 404 and successful ones as 200.
+     *
+     * @param wrapper The wrapped outcome of the query as returned by the persistence layer, may be null.
+     * @param errorCode The error code of the outcome, if any.
+     * @param responses The retrieved items, if any.
+     * @param operation A short description of the attempted operation, used for logging, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    private ResponseEntity synthesizeResponseForCollection(ResponseWrapper wrapper, SystemErrorMessages errorCode,
+                                                           List<?> responses, String operation) {
+
         // Reporting server errors.
         if (wrapper == null
                 || wrapper.getCode().equals(ResponseCode.ERROR)
                 || wrapper.getCode().equals(ResponseCode.UNDEFINED)
                 || wrapper.getCode().equals(ResponseCode.CONFLICT)) {
-            log.error("Internal error occurred after attempt  to delete all System entities. Message: '{}'",
+            log.error("Internal error occurred after attempt to {}. Message: '{}'", operation,
                     wrapper != null ? wrapper.getMessage() : "Details unknown.");
             ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
                     ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
@@ -556,18 +1368,64 @@ public class SystemApiServicesImpl implements SystemApiServices {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
         }
 
-        // Reporting failure to locate any System.
+        // Reporting problematic client requests.
+        if (wrapper.getCode().equals(ResponseCode.BAD_REQUEST)) {
+            log.info("Bad request diagnosed after attempt to {}. Message: '{}'", operation, wrapper.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(400, HttpStatus.BAD_REQUEST.toString(),
+                    wrapper.getMessage(),
+                    errorCode.name(), null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage);
+        }
+
+        // Reporting failure to locate any Systems.
         if (wrapper.getCode().equals(ResponseCode.NOT_FOUND)) {
-            log.info("Observed fruitless attempt to all System entities. Message: '{}'", wrapper.getMessage());
+            log.info("Observed fruitless attempt to {}. Message: '{}'", operation, wrapper.getMessage());
             ErrorMessage errorMessage = new ErrorMessage(404, HttpStatus.NOT_FOUND.toString(),
                     wrapper.getMessage(),
-                    wrapper.getErrorCode().name(), null);
+                    errorCode.name(), null);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorMessage);
         }
 
-        // Logging success and returning the deleted System.
-        log.info("Successfully deleted all System entities from persistence layer.");
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).body("Successfully deleted all Systems from the persistence layer.");
+        // Last type of error: SUCCESS indicator but no content.
+        if (responses == null) {
+            log.error("Internal error occurred after attempt to {}. Message: '{}'", operation, wrapper.getMessage());
+            ErrorMessage errorMessage = new ErrorMessage(500, HttpStatus.INTERNAL_SERVER_ERROR.toString(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.getErrorMessage(),
+                    ErrorMessages.INTERNAL_SERVER_ERROR.name(), null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorMessage);
+        }
+
+        // Logging success and returning the retrieved items.
+        log.info("Successfully managed to {} ('{}' entries).", operation, responses.size());
+        return ResponseEntity.ok(responses);
     }
 
+    /******************************************************************************************************************
+     * Method that extracts the version expected by a client from an If-Match header (already validated).
+     *
+     * @param ifMatch The If-Match header, may be null.
+     * @return The expected version, or null if any version is acceptable.
+     *****************************************************************************************************************/
+    private static Long parseExpectedVersion(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        Matcher matcher = IF_MATCH.matcher(ifMatch.trim());
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    /******************************************************************************************************************
+     * Method that builds a successful response carrying a System, along with its version as entity tag (ETag), so that
+     * clients may send it back in If-Match to detect concurrent modifications.
+     *
+     * @param status The status of the response, not null.
+     * @param responseDto The System to respond with, not null.
+     * @return A data structure to be transmitted from server to client as response.
+     *****************************************************************************************************************/
+    private static ResponseEntity respondWithVersion(HttpStatus status, SystemResponseDto responseDto) {
+        if (responseDto.getVersion() == null) {
+            return ResponseEntity.status(status).body(responseDto);
+        }
+        return ResponseEntity.status(status).eTag(String.valueOf(responseDto.getVersion())).body(responseDto);
+    }
 }
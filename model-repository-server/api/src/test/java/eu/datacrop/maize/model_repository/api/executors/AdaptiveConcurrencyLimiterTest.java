@@ -0,0 +1,95 @@
+package eu.datacrop.maize.model_repository.api.executors;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    AdaptiveConcurrencyLimiter limiter;
+
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "initialLimit", 20);
+        ReflectionTestUtils.setField(limiter, "minLimit", 4);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 200);
+        ReflectionTestUtils.setField(limiter, "tolerance", 1.5);
+        ReflectionTestUtils.setField(limiter, "smoothing", 0.2);
+        ReflectionTestUtils.setField(limiter, "window", 100);
+        limiter.start();
+    }
+
+    @Test
+    void growWhileLatencyIsSteady() {
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(FAST, limiter.getLimit());
+        }
+
+        Assertions.assertTrue(limiter.getLimit() > 20);
+        Assertions.assertEquals(limiter.getLimit(), meterRegistry.get("model_repository.persistence.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void shrinkWhenLatencyGrowsAndRecover() {
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(FAST, limiter.getLimit());
+        }
+        int sustained = limiter.getLimit();
+
+        // Once the database slows down tenfold, the limit must shrink well below what it sustained.
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(SLOW, limiter.getLimit());
+        }
+        int congested = limiter.getLimit();
+        Assertions.assertTrue(congested < sustained / 4, congested + " vs " + sustained);
+
+        // Once it recovers, the limit must grow again.
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(FAST, limiter.getLimit());
+        }
+        Assertions.assertTrue(limiter.getLimit() > congested);
+    }
+
+    @Test
+    void keepLimitWhenUnused() {
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(FAST, 1);
+        }
+
+        Assertions.assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void rejectBeyondLimit() {
+        List<AdaptiveConcurrencyLimiter.Permit> admitted = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            admitted.add(limiter.tryAcquire());
+        }
+        Assertions.assertTrue(admitted.stream().allMatch(permit -> permit != null));
+        Assertions.assertNull(limiter.tryAcquire());
+        Assertions.assertEquals(1.0, meterRegistry.get("model_repository.persistence.concurrency.rejected").counter().count());
+
+        // A cancelled call must free its place, and a permit released twice must not free two.
+        admitted.get(0).cancel();
+        admitted.get(0).cancel();
+        Assertions.assertNotNull(limiter.tryAcquire());
+        Assertions.assertNull(limiter.tryAcquire());
+        Assertions.assertEquals(20.0, meterRegistry.get("model_repository.persistence.concurrency.in_flight").gauge().value());
+    }
+}
@@ -0,0 +1,135 @@
+package eu.datacrop.maize.model_repository.api.executors;
+
+import eu.datacrop.maize.model_repository.commons.util.VirtualThreads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Compares the throughput and latency of the PersistenceExecutor on platform threads and on virtual threads, for calls
+// that spend their time waiting on I/O (simulated by sleeping, like a call waiting on Mongo). A closed loop of clients
+// submits calls back to back. The "virtual-pinned" mode waits within a synchronized block, which pins each virtual
+// thread to its carrier (on Java 21) and shows what a blocking path must avoid.
+//
+// Not executed by the tests. Run with a Java 21 runtime (Java 17 runs the platform mode only):
+//   mvn -B -q -P java21 test-compile exec:java -pl api -Dexec.classpathScope=test \
+//       -Dexec.mainClass=eu.datacrop.maize.model_repository.api.executors.PersistenceExecutorBenchmark \
+//       -Dexec.args="<clients> <latency-ms> <seconds> <pool-size> <queue-capacity>"
+public class PersistenceExecutorBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        long latencyMillis = args.length > 1 ? Long.parseLong(args[1]) : 20L;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int poolSize = args.length > 3 ? Integer.parseInt(args[3]) : 32;
+        int queueCapacity = args.length > 4 ? Integer.parseInt(args[4]) : 500;
+
+        System.out.printf("Java %d, %d clients, %d ms per call, %d s per mode, pool of %d threads, queue of %d calls.%n",
+                Runtime.version().feature(), clients, latencyMillis, seconds, poolSize, queueCapacity);
+        System.out.printf("%-16s %12s %10s %10s %10s %10s%n", "mode", "calls/s", "p50 ms", "p99 ms", "max ms", "rejected");
+
+        List<String> modes = new ArrayList<>(List.of("platform"));
+        if (VirtualThreads.isSupported()) {
+            modes.addAll(List.of("virtual", "virtual-pinned"));
+        }
+        for (String mode : modes) {
+            run(mode, clients, latencyMillis, seconds, poolSize, queueCapacity);
+        }
+    }
+
+    private static void run(String mode, int clients, long latencyMillis, int seconds, int poolSize, int queueCapacity) throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(limiter, "enabled", false);
+        limiter.start();
+        PersistenceExecutor executor = new PersistenceExecutor();
+        ReflectionTestUtils.setField(executor, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(executor, "limiter", limiter);
+        ReflectionTestUtils.setField(executor, "enabled", true);
+        ReflectionTestUtils.setField(executor, "virtual", !mode.equals("platform"));
+        ReflectionTestUtils.setField(executor, "poolSize", poolSize);
+        ReflectionTestUtils.setField(executor, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(executor, "retryAfterSeconds", 1L);
+        ReflectionTestUtils.setField(executor, "shutdownTimeoutMillis", 10000L);
+        executor.start();
+
+        boolean pinned = mode.equals("virtual-pinned");
+        AtomicLong rejected = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(clients);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        // Each client submits a call, waits for its response and submits the next one, until the deadline.
+        for (int i = 0; i < clients; i++) {
+            long[] samples = new long[(int) (TimeUnit.SECONDS.toMillis(seconds) / Math.max(1L, latencyMillis)) + 1];
+            latencies.add(samples);
+            Object monitor = pinned ? new Object() : null;
+            Thread client = new Thread(() -> {
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    ResponseEntity response = executor.submit("benchmark", () -> call(latencyMillis, monitor)).join();
+                    if (response.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE) {
+                        rejected.incrementAndGet();
+                        sleep(latencyMillis);
+                    } else if (count < samples.length - 1) {
+                        samples[++count] = System.nanoTime() - start;
+                    }
+                }
+                samples[0] = count;
+                done.countDown();
+            });
+            client.setDaemon(true);
+            client.start();
+        }
+        done.await();
+        executor.stop();
+
+        // Merging the latencies of the clients.
+        long total = latencies.stream().mapToLong(samples -> samples[0]).sum();
+        long[] merged = new long[(int) total];
+        int position = 0;
+        for (long[] samples : latencies) {
+            System.arraycopy(samples, 1, merged, position, (int) samples[0]);
+            position += (int) samples[0];
+        }
+        Arrays.sort(merged);
+
+        System.out.printf("%-16s %12.0f %10.1f %10.1f %10.1f %10d%n", mode, (double) total / seconds,
+                percentile(merged, 0.50), percentile(merged, 0.99), percentile(merged, 1.0), rejected.get());
+    }
+
+    private static ResponseEntity call(long latencyMillis, Object monitor) {
+        if (monitor != null) {
+            synchronized (monitor) {
+                sleep(latencyMillis);
+            }
+        } else {
+            sleep(latencyMillis);
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package eu.datacrop.maize.model_repository.api.executors;
+
+import eu.datacrop.maize.model_repository.commons.util.VirtualThreads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class PersistenceExecutorTest {
+
+    PersistenceExecutor executor;
+
+    AdaptiveConcurrencyLimiter limiter;
+
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter();
+        ReflectionTestUtils.setField(limiter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(limiter, "enabled", false);
+        executor = new PersistenceExecutor();
+        ReflectionTestUtils.setField(executor, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(executor, "limiter", limiter);
+        ReflectionTestUtils.setField(executor, "enabled", true);
+        ReflectionTestUtils.setField(executor, "poolSize", 1);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(executor, "retryAfterSeconds", 2L);
+        ReflectionTestUtils.setField(executor, "shutdownTimeoutMillis", 1000L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.stop();
+    }
+
+    @Test
+    void submitOffRequestThread() throws Exception {
+        executor.start();
+        Thread requestThread = Thread.currentThread();
+
+        ResponseEntity response = executor.submit("test", () -> ResponseEntity.ok(Thread.currentThread())).get(5, TimeUnit.SECONDS);
+
+        // The call must have been executed by a persistence thread, and its wait must have been measured.
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertNotSame(requestThread, response.getBody());
+        Assertions.assertTrue(((Thread) response.getBody()).getName().startsWith("persistence-"));
+        // The execution is timed once the task returns, which may follow the completion of the response.
+        executor.stop();
+        Assertions.assertEquals(1L, meterRegistry.get("executor.idle").tag("name", "persistence").timer().count());
+        Assertions.assertEquals(1L, meterRegistry.get("executor").tag("name", "persistence").timer().count());
+    }
+
+    @Test
+    void rejectWhenSaturated() throws Exception {
+        executor.start();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // Occupying the single thread and the single place of the queue.
+        CompletableFuture<ResponseEntity> running = executor.submit("test", () -> {
+            started.countDown();
+            await(release);
+            return ResponseEntity.ok().build();
+        });
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ResponseEntity> queued = executor.submit("test", () -> ResponseEntity.ok().build());
+        Assertions.assertEquals(1.0, meterRegistry.get("executor.queued").tag("name", "persistence").gauge().value());
+
+        // A further call must be rejected at once, advising the client when to retry.
+        ResponseEntity rejected = executor.submit("test", () -> ResponseEntity.ok().build()).getNow(null);
+        Assertions.assertNotNull(rejected);
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        Assertions.assertEquals("2", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        Assertions.assertEquals(1.0, meterRegistry.get("executor.rejected").tag("name", "persistence").counter().count());
+
+        // Once the thread is released, the accepted calls must complete.
+        release.countDown();
+        Assertions.assertEquals(HttpStatus.OK, running.get(5, TimeUnit.SECONDS).getStatusCode());
+        Assertions.assertEquals(HttpStatus.OK, queued.get(5, TimeUnit.SECONDS).getStatusCode());
+    }
+
+    @Test
+    void rejectBeyondConcurrencyLimit() throws Exception {
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "initialLimit", 1);
+        ReflectionTestUtils.setField(limiter, "minLimit", 1);
+        ReflectionTestUtils.setField(limiter, "maxLimit", 1);
+        limiter.start();
+        executor.start();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // The pool could queue a second call, but the limiter must reject it at once.
+        CompletableFuture<ResponseEntity> running = executor.submit("test", () -> {
+            await(release);
+            return ResponseEntity.ok().build();
+        });
+        ResponseEntity rejected = executor.submit("test", () -> ResponseEntity.ok().build()).getNow(null);
+        Assertions.assertNotNull(rejected);
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        Assertions.assertEquals("2", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        Assertions.assertEquals(1.0, meterRegistry.get("model_repository.persistence.concurrency.rejected").counter().count());
+        Assertions.assertEquals(0.0, meterRegistry.get("executor.rejected").tag("name", "persistence").counter().count());
+
+        // Once the call has completed, its place must be given to further calls.
+        release.countDown();
+        Assertions.assertEquals(HttpStatus.OK, running.get(5, TimeUnit.SECONDS).getStatusCode());
+        Assertions.assertEquals(HttpStatus.OK, executor.submit("test", () -> ResponseEntity.ok().build()).get(5, TimeUnit.SECONDS).getStatusCode());
+        Assertions.assertEquals(0.0, meterRegistry.get("model_repository.persistence.concurrency.in_flight").gauge().value());
+    }
+
+    @Test
+    void limitCallsInFlightOnVirtualThreads() throws Exception {
+        Assumptions.assumeTrue(VirtualThreads.isSupported(), "Virtual threads require Java 21.");
+        ReflectionTestUtils.setField(executor, "virtual", true);
+        executor.start();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Each call must run on a virtual thread of its own, up to the threads and the queue of the pool together.
+        List<CompletableFuture<ResponseEntity>> accepted = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            accepted.add(executor.submit("test", () -> {
+                await(release);
+                return ResponseEntity.ok(Thread.currentThread());
+            }));
+        }
+        ResponseEntity rejected = executor.submit("test", () -> ResponseEntity.ok().build()).getNow(null);
+        Assertions.assertNotNull(rejected);
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+
+        release.countDown();
+        for (CompletableFuture<ResponseEntity> future : accepted) {
+            Thread thread = (Thread) future.get(5, TimeUnit.SECONDS).getBody();
+            Assertions.assertEquals(Boolean.TRUE, Thread.class.getMethod("isVirtual").invoke(thread));
+            Assertions.assertTrue(thread.getName().startsWith("persistence-"));
+        }
+
+        // Completed calls must give their place to further calls.
+        Assertions.assertEquals(HttpStatus.OK, executor.submit("test", () -> ResponseEntity.ok().build()).get(5, TimeUnit.SECONDS).getStatusCode());
+        Assertions.assertEquals(3L, meterRegistry.get("executor.idle").tag("name", "persistence").timer().count());
+    }
+
+    @Test
+    void submitInlineWhenDisabled() {
+        ReflectionTestUtils.setField(executor, "enabled", false);
+        executor.start();
+        Thread requestThread = Thread.currentThread();
+
+        CompletableFuture<ResponseEntity> future = executor.submit("test", () -> ResponseEntity.ok(Thread.currentThread()));
+
+        Assertions.assertTrue(future.isDone());
+        Assertions.assertSame(requestThread, future.join().getBody());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package eu.datacrop.maize.model_repository.api.limits;
+
+import eu.datacrop.maize.model_repository.api.error.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.DispatcherType;
+import java.util.Set;
+
+class RateLimitInterceptorTest {
+
+    RateLimitInterceptor interceptor;
+
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new RateLimitInterceptor();
+        ReflectionTestUtils.setField(interceptor, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(interceptor, "enabled", true);
+        ReflectionTestUtils.setField(interceptor, "clientHeader", "X-API-Key");
+        ReflectionTestUtils.setField(interceptor, "apiKeys", Set.of("key", "other"));
+        ReflectionTestUtils.setField(interceptor, "readRate", 0.1);
+        ReflectionTestUtils.setField(interceptor, "readBurst", 2);
+        ReflectionTestUtils.setField(interceptor, "writeRate", 0.1);
+        ReflectionTestUtils.setField(interceptor, "writeBurst", 1);
+        ReflectionTestUtils.setField(interceptor, "idleMillis", 600000L);
+        ReflectionTestUtils.setField(interceptor, "maxClients", 100);
+        interceptor.start();
+    }
+
+    @Test
+    void rejectReadsBeyondQuota() {
+        Assertions.assertTrue(admit("GET", "key"));
+        Assertions.assertTrue(admit("GET", "key"));
+
+        RateLimitExceededException e = Assertions.assertThrows(RateLimitExceededException.class, () -> admit("GET", "key"));
+        Assertions.assertEquals(10L, e.getRetryAfterSeconds());
+        Assertions.assertEquals(1.0, meterRegistry.get("model_repository.rate_limit.rejected").tag("quota", "read").counter().count());
+
+        // Writes and other clients must be subject to quotas of their own.
+        Assertions.assertTrue(admit("POST", "key"));
+        Assertions.assertTrue(admit("GET", "other"));
+        Assertions.assertTrue(admit("GET", null));
+        Assertions.assertThrows(RateLimitExceededException.class, () -> admit("DELETE", "key"));
+        Assertions.assertEquals(1.0, meterRegistry.get("model_repository.rate_limit.rejected").tag("quota", "write").counter().count());
+    }
+
+    @Test
+    void chargeUnknownKeysToAddress() {
+        Assertions.assertTrue(admit("GET", "rotated-1"));
+        Assertions.assertTrue(admit("GET", "rotated-2"));
+
+        // Keys that are not configured must not obtain a quota of their own.
+        Assertions.assertThrows(RateLimitExceededException.class, () -> admit("GET", "rotated-3"));
+        Assertions.assertThrows(RateLimitExceededException.class, () -> admit("GET", null));
+        Assertions.assertTrue(admit("GET", "key"));
+    }
+
+    @Test
+    void overflowPerAddress() {
+        ReflectionTestUtils.setField(interceptor, "maxClients", 1);
+        interceptor.start();
+        Assertions.assertTrue(admit("GET", null, "10.0.0.1"));
+
+        // Beyond the addresses tracked, an address exhausting its quota must not exhaust those of other addresses.
+        Assertions.assertTrue(admit("GET", "rotated-1", "10.0.0.2"));
+        Assertions.assertTrue(admit("GET", "rotated-2", "10.0.0.2"));
+        Assertions.assertThrows(RateLimitExceededException.class, () -> admit("GET", "rotated-3", "10.0.0.2"));
+        Assertions.assertTrue(admit("GET", null, "10.0.0.3"));
+    }
+
+    @Test
+    void ignoreAsyncDispatch() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/model_repository/v1/asset_management/system/");
+        request.setDispatcherType(DispatcherType.ASYNC);
+
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), new Object()));
+        }
+        Assertions.assertEquals(0.0, meterRegistry.get("model_repository.rate_limit.clients").gauge().value());
+    }
+
+    private boolean admit(String method, String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/model_repository/v1/asset_management/system/");
+        if (key != null) {
+            request.addHeader("X-API-Key", key);
+        }
+        return interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+    }
+
+    private boolean admit(String method, String key, String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/model_repository/v1/asset_management/system/");
+        request.setRemoteAddr(address);
+        if (key != null) {
+            request.addHeader("X-API-Key", key);
+        }
+        return interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+    }
+}
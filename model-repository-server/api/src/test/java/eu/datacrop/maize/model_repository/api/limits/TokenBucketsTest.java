@@ -0,0 +1,56 @@
+package eu.datacrop.maize.model_repository.api.limits;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class TokenBucketsTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void admitBurstThenRate() {
+        TokenBuckets buckets = new TokenBuckets(10, 5, 60 * SECOND, 100, 0L);
+
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals(0L, buckets.tryAcquire("client", 0L));
+        }
+        long wait = buckets.tryAcquire("client", 0L);
+        Assertions.assertEquals(SECOND / 10, wait);
+
+        // Other clients must keep their own tokens, and a token must be refilled after its interval.
+        Assertions.assertEquals(0L, buckets.tryAcquire("other", 0L));
+        Assertions.assertEquals(0L, buckets.tryAcquire("client", wait));
+        Assertions.assertTrue(buckets.tryAcquire("client", wait) > 0L);
+    }
+
+    @Test
+    void evictIdleClients() {
+        TokenBuckets buckets = new TokenBuckets(10, 5, 60 * SECOND, 100, 0L);
+        buckets.tryAcquire("idle", 0L);
+        buckets.tryAcquire("active", 0L);
+
+        buckets.tryAcquire("active", 59 * SECOND);
+        Assertions.assertEquals(2, buckets.size());
+        buckets.tryAcquire("active", 61 * SECOND);
+        Assertions.assertEquals(1, buckets.size());
+    }
+
+    @Test
+    void overflowPerClientBeyondMaxClients() {
+        TokenBuckets buckets = new TokenBuckets(10, 2, 60 * SECOND, 2, 0L);
+        buckets.tryAcquire("first", 0L);
+        buckets.tryAcquire("second", 0L);
+
+        // Further clients must not be tracked individually, but charged to the overflow bucket they hash to.
+        Assertions.assertEquals(0L, buckets.tryAcquire("third", 0L));
+        Assertions.assertEquals(0L, buckets.tryAcquire("third", 0L));
+        Assertions.assertTrue(buckets.tryAcquire("third", 0L) > 0L);
+        Assertions.assertEquals(2, buckets.size());
+
+        // A client exhausting its overflow bucket must not exhaust those of the others.
+        Assertions.assertEquals(0L, buckets.tryAcquire("fourth", 0L));
+        Assertions.assertEquals(0L, buckets.tryAcquire("fifth", 0L));
+    }
+}
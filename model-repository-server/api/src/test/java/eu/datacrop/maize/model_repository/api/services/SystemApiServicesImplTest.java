@@ -5,7 +5,9 @@ import eu.datacrop.maize.model_repository.api.error.ErrorMessages;
 import eu.datacrop.maize.model_repository.commons.dtos.requests.LocationRequestDto;
 import eu.datacrop.maize.model_repository.commons.dtos.requests.SystemRequestDto;
 import eu.datacrop.maize.model_repository.commons.dtos.responses.LocationResponseDto;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemJobResponseDto;
 import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
+import eu.datacrop.maize.model_repository.commons.enums.JobStatus;
 import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
 import eu.datacrop.maize.model_repository.commons.error.messages.SystemErrorMessages;
 import eu.datacrop.maize.model_repository.commons.util.DateFormatter;
@@ -49,11 +51,15 @@ import java.util.concurrent.TimeUnit;
         "eu.datacrop.maize.model_repository.mongodb.converters",
         "eu.datacrop.maize.model_repository.mongodb.converters.auxiliary",
         "eu.datacrop.maize.model_repository.mongodb.daos",
+        "eu.datacrop.maize.model_repository.mongodb.indexes",
+        "eu.datacrop.maize.model_repository.mongodb.jobs",
         "eu.datacrop.maize.model_repository.mongodb.listeners",
         "eu.datacrop.maize.model_repository.mongodb.model",
         "eu.datacrop.maize.model_repository.mongodb.model.auxiliary",
+        "eu.datacrop.maize.model_repository.mongodb.outbox",
         "eu.datacrop.maize.model_repository.mongodb.repositories",
         "eu.datacrop.maize.model_repository.mongodb.services",
+        "eu.datacrop.maize.model_repository.mongodb.storage",
         "eu.datacrop.maize.model_repository.persistence.daos",
         "eu.datacrop.maize.model_repository.persistence.mongo_implementation",
         "eu.datacrop.maize.model_repository.persistence.mysql_implementation",
@@ -63,6 +69,8 @@ import java.util.concurrent.TimeUnit;
         "eu.datacrop.maize.model_repository.api.config",
         "eu.datacrop.maize.model_repository.api.controllers",
         "eu.datacrop.maize.model_repository.api.error",
+        "eu.datacrop.maize.model_repository.api.executors",
+        "eu.datacrop.maize.model_repository.api.limits",
         "eu.datacrop.maize.model_repository.api.services",
         "org.springframework.data.annotation"
 })
@@ -147,7 +155,7 @@ class SystemApiServicesImplTest {
         SystemResponseDto firstSystem = system1.getResponse();
 
         // Attempting to retrieve the first System.
-        ResponseEntity foundByID = apiServices.retrieveSystemByDatabaseID(firstSystem.getId());
+        ResponseEntity foundByID = apiServices.retrieveSystemByDatabaseID(firstSystem.getId(), null);
         Assertions.assertNotNull(foundByID, "System not retrieved successfully by ID (null test 1):");
         Assertions.assertSame(HttpStatus.OK, foundByID.getStatusCode(), "System has not been retrieved with HTTP Request Code 200:");
         SystemResponseDto retrievedSystem = (SystemResponseDto) foundByID.getBody();
@@ -173,7 +181,7 @@ class SystemApiServicesImplTest {
                 "The retrieved System has incorrect latest update date:");
 
         // Checking "unhappy path": null identifier.
-        foundByID = apiServices.retrieveSystemByDatabaseID(null);
+        foundByID = apiServices.retrieveSystemByDatabaseID(null, null);
         Assertions.assertNotNull(foundByID, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, foundByID.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         ErrorMessage errorMessage = (ErrorMessage) foundByID.getBody();
@@ -185,7 +193,7 @@ class SystemApiServicesImplTest {
         Assertions.assertNotNull(errorMessage.getTimestamp(), "The error message did not receive timestamp:");
 
         // Checking "unhappy path": empty string identifier.
-        foundByID = apiServices.retrieveSystemByDatabaseID("");
+        foundByID = apiServices.retrieveSystemByDatabaseID("", null);
         Assertions.assertNotNull(foundByID, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, foundByID.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) foundByID.getBody();
@@ -197,7 +205,7 @@ class SystemApiServicesImplTest {
         Assertions.assertNotNull(errorMessage.getTimestamp(), "The error message did not receive timestamp:");
 
         // Checking "unhappy path": empty space string identifier.
-        foundByID = apiServices.retrieveSystemByDatabaseID(" ");
+        foundByID = apiServices.retrieveSystemByDatabaseID(" ", null);
         Assertions.assertNotNull(foundByID, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, foundByID.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) foundByID.getBody();
@@ -209,7 +217,7 @@ class SystemApiServicesImplTest {
         Assertions.assertNotNull(errorMessage.getTimestamp(), "The error message did not receive timestamp:");
 
         // Checking "unhappy path": non-UUID identifier.
-        foundByID = apiServices.retrieveSystemByDatabaseID(RandomStringUtils.randomAlphabetic(10));
+        foundByID = apiServices.retrieveSystemByDatabaseID(RandomStringUtils.randomAlphabetic(10), null);
         Assertions.assertNotNull(foundByID, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, foundByID.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) foundByID.getBody();
@@ -221,7 +229,7 @@ class SystemApiServicesImplTest {
         Assertions.assertNotNull(errorMessage.getTimestamp(), "The error message did not receive timestamp:");
 
         // Checking "unhappy path": UUID identifier but non-existent object.
-        foundByID = apiServices.retrieveSystemByDatabaseID(UUID.randomUUID().toString());
+        foundByID = apiServices.retrieveSystemByDatabaseID(UUID.randomUUID().toString(), null);
         Assertions.assertNotNull(foundByID, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.NOT_FOUND, foundByID.getStatusCode(), "Error message has not been formulated with HTTP Request Code 404:");
         errorMessage = (ErrorMessage) foundByID.getBody();
@@ -373,7 +381,7 @@ class SystemApiServicesImplTest {
 
         // Attempting to create a third System.
         resetSystem3();
-        ResponseEntity created = apiServices.createSystem(system3Request);
+        ResponseEntity created = apiServices.createSystem(system3Request, null, null);
         Assertions.assertNotNull(created, "System not created successfully (null test 1):");
         Assertions.assertSame(HttpStatus.CREATED, created.getStatusCode(), "System has not been created with HTTP Request Code 201:");
         SystemResponseDto createdSystem = (SystemResponseDto) created.getBody();
@@ -391,7 +399,7 @@ class SystemApiServicesImplTest {
         Assertions.assertNotNull(createdSystem.getLatestUpdateDate(), "The created System did not obtain a latest update date:");
 
         // Checking "unhappy path": null incoming data transfer object.
-        created = apiServices.createSystem(null);
+        created = apiServices.createSystem(null, null, null);
         Assertions.assertNotNull(created, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, created.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         ErrorMessage errorMessage = (ErrorMessage) created.getBody();
@@ -402,9 +410,18 @@ class SystemApiServicesImplTest {
         Assertions.assertEquals(ErrorMessages.MISSING_DATA_INPUT.name(), errorMessage.getMessageKey(), "The error message has incorrect message key:");
         Assertions.assertNotNull(errorMessage.getTimestamp(), "The error message did not receive timestamp:");
 
+        // Checking "unhappy path": unknown write concern requested.
+        resetSystem3();
+        created = apiServices.createSystem(system3Request, "w9", null);
+        Assertions.assertNotNull(created, "Error message has not been formulated:");
+        Assertions.assertSame(HttpStatus.BAD_REQUEST, created.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
+        errorMessage = (ErrorMessage) created.getBody();
+        Assertions.assertNotNull(errorMessage, "Error message has not been returned:");
+        Assertions.assertEquals(ErrorMessages.INVALID_WRITE_CONCERN.name(), errorMessage.getMessageKey(), "The error message has incorrect message key:");
+
         // Checking "unhappy path": attempting to recreate System with the same name.
         resetSystem3();
-        created = apiServices.createSystem(system3Request);
+        created = apiServices.createSystem(system3Request, null, null);
         Assertions.assertNotNull(created, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.CONFLICT, created.getStatusCode(), "Error message has not been formulated with HTTP Request Code 409:");
         errorMessage = (ErrorMessage) created.getBody();
@@ -418,7 +435,7 @@ class SystemApiServicesImplTest {
         // Checking "unhappy path": attempting to create System without name.
         resetSystem3();
         system3Request.setName(" ");
-        created = apiServices.createSystem(system3Request);
+        created = apiServices.createSystem(system3Request, null, null);
         Assertions.assertNotNull(created, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, created.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) created.getBody();
@@ -432,7 +449,7 @@ class SystemApiServicesImplTest {
         // Checking "unhappy path": attempting to create System without description.
         resetSystem3();
         system3Request.setDescription("");
-        created = apiServices.createSystem(system3Request);
+        created = apiServices.createSystem(system3Request, null, null);
         Assertions.assertNotNull(created, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, created.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) created.getBody();
@@ -447,7 +464,7 @@ class SystemApiServicesImplTest {
         resetSystem3();
         system3Request.setName("System4");
         system3Request.setLocation(new LocationRequestDto(37.568180, 22.808661, "127.0.0.1:8080"));
-        created = apiServices.createSystem(system3Request);
+        created = apiServices.createSystem(system3Request, null, null);
         Assertions.assertNotNull(created, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, created.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) created.getBody();
@@ -462,7 +479,7 @@ class SystemApiServicesImplTest {
         resetSystem3();
         system3Request.setName("System4");
         system3Request.setLocation(new LocationRequestDto(37.568180, 0, "127.0.0.1:8080"));
-        created = apiServices.createSystem(system3Request);
+        created = apiServices.createSystem(system3Request, null, null);
         Assertions.assertNotNull(created, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, created.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) created.getBody();
@@ -477,7 +494,7 @@ class SystemApiServicesImplTest {
         resetSystem3();
         system3Request.setName("System4");
         system3Request.setLocation(new LocationRequestDto(37.568180, 0, ""));
-        created = apiServices.createSystem(system3Request);
+        created = apiServices.createSystem(system3Request, null, null);
         Assertions.assertNotNull(created, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, created.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) created.getBody();
@@ -492,7 +509,7 @@ class SystemApiServicesImplTest {
         resetSystem3();
         system3Request.setName("System4");
         system3Request.setLocation(new LocationRequestDto(0, 22.808661, "127.0.0.1:8080"));
-        created = apiServices.createSystem(system3Request);
+        created = apiServices.createSystem(system3Request, null, null);
         Assertions.assertNotNull(created, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, created.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) created.getBody();
@@ -507,7 +524,7 @@ class SystemApiServicesImplTest {
         resetSystem3();
         system3Request.setName("System4");
         system3Request.setLocation(new LocationRequestDto(0, 22.808661, ""));
-        created = apiServices.createSystem(system3Request);
+        created = apiServices.createSystem(system3Request, null, null);
         Assertions.assertNotNull(created, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, created.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) created.getBody();
@@ -550,7 +567,7 @@ class SystemApiServicesImplTest {
         }
 
         // Attempting to update the second System.
-        ResponseEntity updated = apiServices.updateSystem(request, originalId);
+        ResponseEntity updated = apiServices.updateSystem(request, originalId, null, null);
         Assertions.assertNotNull(updated, "System not updated successfully (null test 1):");
         Assertions.assertSame(HttpStatus.OK, updated.getStatusCode(), "System has not been updated with HTTP Request Code 200:");
         SystemResponseDto updatedSystem = (SystemResponseDto) updated.getBody();
@@ -574,12 +591,29 @@ class SystemApiServicesImplTest {
                 originalUpdateDate.truncatedTo(ChronoUnit.SECONDS),
                 updatedSystem.getLatestUpdateDate().truncatedTo(ChronoUnit.SECONDS),
                 "The updated System has incorrect latest update date:");
+        Assertions.assertEquals("\"" + updatedSystem.getVersion() + "\"", updated.getHeaders().getETag(), "The updated System has incorrect ETag:");
+
+        // Checking "unhappy path": update based upon a stale version of the System.
+        updated = apiServices.updateSystem(request, originalId, null, "\"" + (updatedSystem.getVersion() - 1) + "\"");
+        Assertions.assertNotNull(updated, "Error message has not been formulated:");
+        Assertions.assertSame(HttpStatus.PRECONDITION_FAILED, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 412:");
+        ErrorMessage errorMessage = (ErrorMessage) updated.getBody();
+        Assertions.assertNotNull(errorMessage, "Error message has not been returned:");
+        Assertions.assertEquals(SystemErrorMessages.VERSION_MISMATCH.name(), errorMessage.getMessageKey(), "The error message has incorrect message key:");
+
+        // Checking "unhappy path": malformed If-Match header.
+        updated = apiServices.updateSystem(request, originalId, null, "\"1\", \"2\"");
+        Assertions.assertNotNull(updated, "Error message has not been formulated:");
+        Assertions.assertSame(HttpStatus.BAD_REQUEST, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
+        errorMessage = (ErrorMessage) updated.getBody();
+        Assertions.assertNotNull(errorMessage, "Error message has not been returned:");
+        Assertions.assertEquals(ErrorMessages.INVALID_IF_MATCH.name(), errorMessage.getMessageKey(), "The error message has incorrect message key:");
 
         // Checking "unhappy path": null incoming data transfer object.
-        updated = apiServices.updateSystem(null, originalId);
+        updated = apiServices.updateSystem(null, originalId, null, null);
         Assertions.assertNotNull(updated, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
-        ErrorMessage errorMessage = (ErrorMessage) updated.getBody();
+        errorMessage = (ErrorMessage) updated.getBody();
         Assertions.assertNotNull(errorMessage, "Error message has not been returned:");
         Assertions.assertEquals(400, errorMessage.getHttpCode(), "The error message has incorrect http code:");
         Assertions.assertEquals(HttpStatus.BAD_REQUEST.toString(), errorMessage.getHttpText(), "The error message has incorrect http status:");
@@ -588,7 +622,7 @@ class SystemApiServicesImplTest {
         Assertions.assertNotNull(errorMessage.getTimestamp(), "The error message did not receive timestamp:");
 
         // Checking "unhappy path": empty string identifier.
-        updated = apiServices.updateSystem(request, "");
+        updated = apiServices.updateSystem(request, "", null, null);
         Assertions.assertNotNull(updated, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) updated.getBody();
@@ -600,7 +634,7 @@ class SystemApiServicesImplTest {
         Assertions.assertNotNull(errorMessage.getTimestamp(), "The error message did not receive timestamp:");
 
         // Checking "unhappy path": empty space string identifier.
-        updated = apiServices.updateSystem(request, " ");
+        updated = apiServices.updateSystem(request, " ", null, null);
         Assertions.assertNotNull(updated, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) updated.getBody();
@@ -612,7 +646,7 @@ class SystemApiServicesImplTest {
         Assertions.assertNotNull(errorMessage.getTimestamp(), "The error message did not receive timestamp:");
 
         // Checking "unhappy path": non-UUID identifier.
-        updated = apiServices.updateSystem(request, RandomStringUtils.randomAlphabetic(10));
+        updated = apiServices.updateSystem(request, RandomStringUtils.randomAlphabetic(10), null, null);
         Assertions.assertNotNull(updated, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) updated.getBody();
@@ -624,7 +658,7 @@ class SystemApiServicesImplTest {
         Assertions.assertNotNull(errorMessage.getTimestamp(), "The error message did not receive timestamp:");
 
         // Checking "unhappy path": UUID identifier but non-existent object.
-        updated = apiServices.updateSystem(request, UUID.randomUUID().toString());
+        updated = apiServices.updateSystem(request, UUID.randomUUID().toString(), null, null);
         Assertions.assertNotNull(updated, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.NOT_FOUND, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 404:");
         errorMessage = (ErrorMessage) updated.getBody();
@@ -637,7 +671,7 @@ class SystemApiServicesImplTest {
 
         // Checking "unhappy path": attempt to update with name that belongs to another entity.
         request.setName("System1");
-        updated = apiServices.updateSystem(request, originalId);
+        updated = apiServices.updateSystem(request, originalId, null, null);
         Assertions.assertNotNull(updated, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.CONFLICT, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 404:");
         errorMessage = (ErrorMessage) updated.getBody();
@@ -652,7 +686,7 @@ class SystemApiServicesImplTest {
         //-----------------------------------
         // Checking "unhappy path": attempting to update System without name.
         request.setName(" ");
-        updated = apiServices.updateSystem(request, originalId);
+        updated = apiServices.updateSystem(request, originalId, null, null);
         Assertions.assertNotNull(updated, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) updated.getBody();
@@ -666,7 +700,7 @@ class SystemApiServicesImplTest {
 
         // Checking "unhappy path": attempting to update System without description.
         request.setDescription("");
-        updated = apiServices.updateSystem(request, originalId);
+        updated = apiServices.updateSystem(request, originalId, null, null);
         Assertions.assertNotNull(updated, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) updated.getBody();
@@ -680,7 +714,7 @@ class SystemApiServicesImplTest {
 
         // Checking "unhappy path": attempting to update System with invalid location (1 of 5).
         request.setLocation(new LocationRequestDto(37.568180, 22.808661, "127.0.0.1:8080"));
-        updated = apiServices.updateSystem(request, originalId);
+        updated = apiServices.updateSystem(request, originalId, null, null);
         Assertions.assertNotNull(updated, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) updated.getBody();
@@ -693,7 +727,7 @@ class SystemApiServicesImplTest {
 
         // Checking "unhappy path": attempting to update System with invalid location (2 of 5).
         request.setLocation(new LocationRequestDto(37.568180, 0, "127.0.0.1:8080"));
-        updated = apiServices.updateSystem(request, originalId);
+        updated = apiServices.updateSystem(request, originalId, null, null);
         Assertions.assertNotNull(updated, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) updated.getBody();
@@ -706,7 +740,7 @@ class SystemApiServicesImplTest {
 
         // Checking "unhappy path": attempting to update System with invalid location (3 of 5).
         request.setLocation(new LocationRequestDto(37.568180, 0, ""));
-        updated = apiServices.updateSystem(request, originalId);
+        updated = apiServices.updateSystem(request, originalId, null, null);
         Assertions.assertNotNull(updated, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) updated.getBody();
@@ -719,7 +753,7 @@ class SystemApiServicesImplTest {
 
         // Checking "unhappy path": attempting to update System with invalid location (4 of 5).
         request.setLocation(new LocationRequestDto(0, 22.808661, "127.0.0.1:8080"));
-        updated = apiServices.updateSystem(request, originalId);
+        updated = apiServices.updateSystem(request, originalId, null, null);
         Assertions.assertNotNull(updated, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) updated.getBody();
@@ -732,7 +766,7 @@ class SystemApiServicesImplTest {
 
         // Checking "unhappy path": attempting to update System with invalid location (5 of 5).
         request.setLocation(new LocationRequestDto(0, 22.808661, ""));
-        updated = apiServices.updateSystem(request, originalId);
+        updated = apiServices.updateSystem(request, originalId, null, null);
         Assertions.assertNotNull(updated, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, updated.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) updated.getBody();
@@ -751,7 +785,7 @@ class SystemApiServicesImplTest {
         SystemResponseDto firstSystem = system1.getResponse();
 
         // Attempting to delete the first System.
-        ResponseEntity deletedById = apiServices.deleteSystem(firstSystem.getId());
+        ResponseEntity deletedById = apiServices.deleteSystem(firstSystem.getId(), null, null);
         Assertions.assertNotNull(deletedById, "System not deleted successfully by ID (null test 1):");
         Assertions.assertSame(HttpStatus.OK, deletedById.getStatusCode(), "System has not been deleted with HTTP Request Code 200:");
         SystemResponseDto deletedSystem = (SystemResponseDto) deletedById.getBody();
@@ -782,7 +816,7 @@ class SystemApiServicesImplTest {
         Assertions.assertSame(ResponseCode.NOT_FOUND, foundByID.getCode(), "Error message has not been formulated with HTTP Request Code 404:");
 
         // Checking "unhappy path": null identifier.
-        deletedById = apiServices.deleteSystem(null);
+        deletedById = apiServices.deleteSystem(null, null, null);
         Assertions.assertNotNull(deletedById, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, deletedById.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         ErrorMessage errorMessage = (ErrorMessage) deletedById.getBody();
@@ -794,7 +828,7 @@ class SystemApiServicesImplTest {
         Assertions.assertNotNull(errorMessage.getTimestamp(), "The error message did not receive timestamp:");
 
         // Checking "unhappy path": empty string identifier.
-        deletedById = apiServices.deleteSystem("");
+        deletedById = apiServices.deleteSystem("", null, null);
         Assertions.assertNotNull(deletedById, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, deletedById.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) deletedById.getBody();
@@ -806,7 +840,7 @@ class SystemApiServicesImplTest {
         Assertions.assertNotNull(errorMessage.getTimestamp(), "The error message did not receive timestamp:");
 
         // Checking "unhappy path": empty space string identifier.
-        deletedById = apiServices.deleteSystem(" ");
+        deletedById = apiServices.deleteSystem(" ", null, null);
         Assertions.assertNotNull(deletedById, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, deletedById.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) deletedById.getBody();
@@ -818,7 +852,7 @@ class SystemApiServicesImplTest {
         Assertions.assertNotNull(errorMessage.getTimestamp(), "The error message did not receive timestamp:");
 
         // Checking "unhappy path": non-UUID identifier.
-        deletedById = apiServices.deleteSystem(RandomStringUtils.randomAlphabetic(10));
+        deletedById = apiServices.deleteSystem(RandomStringUtils.randomAlphabetic(10), null, null);
         Assertions.assertNotNull(deletedById, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.BAD_REQUEST, deletedById.getStatusCode(), "Error message has not been formulated with HTTP Request Code 400:");
         errorMessage = (ErrorMessage) deletedById.getBody();
@@ -830,7 +864,7 @@ class SystemApiServicesImplTest {
         Assertions.assertNotNull(errorMessage.getTimestamp(), "The error message did not receive timestamp:");
 
         // Checking "unhappy path": UUID identifier but non-existent object.
-        deletedById = apiServices.deleteSystem(UUID.randomUUID().toString());
+        deletedById = apiServices.deleteSystem(UUID.randomUUID().toString(), null, null);
         Assertions.assertNotNull(deletedById, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.NOT_FOUND, deletedById.getStatusCode(), "Error message has not been formulated with HTTP Request Code 404:");
         errorMessage = (ErrorMessage) deletedById.getBody();
@@ -843,15 +877,38 @@ class SystemApiServicesImplTest {
     }
 
     @Test
-    void deleteAllSystems() {
+    void deleteAllSystems() throws InterruptedException {
 
-        // Attempting to delete both Systems.
-        ResponseEntity deleteAll = apiServices.deleteAllSystems();
+        // Attempting to delete both Systems, as a Job executed in the background.
+        ResponseEntity deleteAll = apiServices.deleteAllSystems(null);
         Assertions.assertNotNull(deleteAll, "Systems have not been deleted successfully (null test 1):");
-        Assertions.assertSame(HttpStatus.NO_CONTENT, deleteAll.getStatusCode(), "Systems have not been deleted with HTTP Request Code 204:");
-        String body = (String) deleteAll.getBody();
-        Assertions.assertNotNull(body, "Systems have not been deleted successfully (null test 2):");
-        Assertions.assertEquals(body, "Successfully deleted all Systems from the persistence layer.", "Deletion success message not received:");
+        Assertions.assertSame(HttpStatus.ACCEPTED, deleteAll.getStatusCode(), "Deletion has not been submitted with HTTP Request Code 202:");
+        SystemJobResponseDto job = (SystemJobResponseDto) deleteAll.getBody();
+        Assertions.assertNotNull(job, "Systems have not been deleted successfully (null test 2):");
+        Assertions.assertNotNull(deleteAll.getHeaders().getLocation(), "Location of the Job has not been returned:");
+        Assertions.assertTrue(deleteAll.getHeaders().getLocation().toString().endsWith("/jobs/" + job.getId() + "/"), "Location of the Job is incorrect:");
+
+        // Waiting for the Job to conclude, while following its progress.
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (!job.getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+            ResponseEntity status = apiServices.retrieveSystemJob(job.getId());
+            Assertions.assertSame(HttpStatus.OK, status.getStatusCode(), "Job has not been retrieved with HTTP Request Code 200:");
+            job = (SystemJobResponseDto) status.getBody();
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        Assertions.assertEquals(JobStatus.SUCCEEDED, job.getStatus(), "Job has not succeeded:");
+        Assertions.assertEquals(2L, job.getProcessed(), "Job has not deleted both Systems:");
+        Assertions.assertNotNull(job.getEndDate(), "Job did not receive end date:");
+
+        // Checking "unhappy path": Attempting to cancel the finished Job.
+        ResponseEntity cancelled = apiServices.cancelSystemJob(job.getId());
+        Assertions.assertSame(HttpStatus.CONFLICT, cancelled.getStatusCode(), "Error message has not been formulated with HTTP Request Code 409:");
+        Assertions.assertEquals(SystemErrorMessages.JOB_ALREADY_FINISHED.name(), ((ErrorMessage) cancelled.getBody()).getMessageKey(), "The error message has incorrect message key:");
+
+        // Checking "unhappy path": Attempting to retrieve a Job that does not exist.
+        ResponseEntity missing = apiServices.retrieveSystemJob(UUID.randomUUID().toString());
+        Assertions.assertSame(HttpStatus.NOT_FOUND, missing.getStatusCode(), "Error message has not been formulated with HTTP Request Code 404:");
+        Assertions.assertEquals(SystemErrorMessages.JOB_NOT_FOUND.name(), ((ErrorMessage) missing.getBody()).getMessageKey(), "The error message has incorrect message key:");
 
         // Attempting to retrieve anything expecting to find nothing.
         ResponseEntity foundAll = apiServices.retrieveAllSystems(0, 5);
@@ -866,7 +923,7 @@ class SystemApiServicesImplTest {
         Assertions.assertNotNull(errorMessage.getTimestamp(), "The error message did not receive timestamp:");
 
         // Checking "unhappy path": Attempting to re-delete expecting to find nothing.
-        deleteAll = apiServices.deleteAllSystems();
+        deleteAll = apiServices.deleteAllSystems(null);
         Assertions.assertNotNull(foundAll, "Error message has not been formulated:");
         Assertions.assertSame(HttpStatus.NOT_FOUND, deleteAll.getStatusCode(), "Error message has not been formulated with HTTP Request Code 404:");
         errorMessage = (ErrorMessage) deleteAll.getBody();
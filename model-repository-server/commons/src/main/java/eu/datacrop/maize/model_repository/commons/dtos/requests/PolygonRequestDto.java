@@ -0,0 +1,237 @@
+package eu.datacrop.maize.model_repository.commons.dtos.requests;
+
+import lombok.Builder;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**********************************************************************************************************************
+ * This class is a data transfer object representing a geographical Polygon (a ring of coordinate pairs), to be used
+ * as the search area of geospatial containment queries. Used in HTTP requests.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public class PolygonRequestDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 4415978300218364871L;
+
+    /******************************************************************************************************************
+     * The vertices of the Polygon in order. The ring is closed implicitly if the last vertex differs from the first.
+     *****************************************************************************************************************/
+    private List<VertexRequestDto> vertices;
+
+    /******************************************************************************************************************
+     * Constructor of the PolygonRequestDto class.
+     *
+     * @param vertices The vertices of the Polygon in order, not null.
+     *****************************************************************************************************************/
+    public PolygonRequestDto(List<VertexRequestDto> vertices) {
+        this.vertices = (vertices == null) ? new ArrayList<>() : vertices;
+    }
+
+    /******************************************************************************************************************
+     * Empty constructor of the PolygonRequestDto class.
+     *****************************************************************************************************************/
+    public PolygonRequestDto() {
+        this.vertices = new ArrayList<>();
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "vertices" attribute.
+     *
+     * @return The current value of the object's "vertices" attribute.
+     *****************************************************************************************************************/
+    public List<VertexRequestDto> getVertices() {
+        if (this.vertices == null) {
+            this.vertices = new ArrayList<>();
+        }
+        return vertices;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" method for "vertices" attribute.
+     *
+     * @param vertices A value to assign to the object's "vertices" attribute, not null.
+     *****************************************************************************************************************/
+    public void setVertices(List<VertexRequestDto> vertices) {
+        this.vertices = (vertices == null) ? new ArrayList<>() : vertices;
+    }
+
+    /******************************************************************************************************************
+     * Method that checks whether two PolygonRequestDto objects are equal.
+     *
+     * @param o The second Object to compare with the current Object, not null.
+     *****************************************************************************************************************/
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PolygonRequestDto that = (PolygonRequestDto) o;
+        return Objects.equals(vertices, that.vertices);
+    }
+
+    /******************************************************************************************************************
+     * Method that returns the integer hash code value of the PolygonRequestDto object.
+     *****************************************************************************************************************/
+    @Override
+    public int hashCode() {
+        return Objects.hash(vertices);
+    }
+
+    /******************************************************************************************************************
+     * Transforms a PolygonRequestDto object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return "{" +
+                "vertices=" + vertices +
+                '}';
+    }
+
+    /******************************************************************************************************************
+     * Transforms a PolygonRequestDto object to JSONObject.
+     *
+     * @return A JSON representation of the Object.
+     *****************************************************************************************************************/
+    public JSONObject toJSON() {
+        JSONArray ja = new JSONArray();
+        for (VertexRequestDto vertex : getVertices()) {
+            ja.put(vertex.toJSON());
+        }
+        JSONObject jo = new JSONObject();
+        jo.put("vertices", ja);
+        return jo;
+    }
+
+    /******************************************************************************************************************
+     * This inner class is a data transfer object representing a single vertex (a pair of coordinates) of a Polygon.
+     *
+     * @author Angela-Maria Despotopoulou [Athens, Greece]
+     * @since version 0.3.0
+     *****************************************************************************************************************/
+    @Builder
+    public static class VertexRequestDto implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = -3185533478702871390L;
+
+        /**************************************************************************************************************
+         * The latitude of the vertex, in decimal degrees.
+         *************************************************************************************************************/
+        private double latitude;
+
+        /**************************************************************************************************************
+         * The longitude of the vertex, in decimal degrees.
+         *************************************************************************************************************/
+        private double longitude;
+
+        /**************************************************************************************************************
+         * Constructor of the VertexRequestDto class, both for Builder pattern and instantiation with "new".
+         *
+         * @param latitude  The latitude of the vertex, not null.
+         * @param longitude The longitude of the vertex, not null.
+         *************************************************************************************************************/
+        public VertexRequestDto(double latitude, double longitude) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        /**************************************************************************************************************
+         * Empty constructor of the VertexRequestDto class.
+         *************************************************************************************************************/
+        public VertexRequestDto() {
+            this(0.0, 0.0);
+        }
+
+        /**************************************************************************************************************
+         * "Getter" function for "latitude" attribute.
+         *
+         * @return The current value of the object's "latitude" attribute.
+         *************************************************************************************************************/
+        public double getLatitude() {
+            return latitude;
+        }
+
+        /**************************************************************************************************************
+         * "Setter" function for "latitude" attribute.
+         *
+         * @param latitude A value to assign to the object's "latitude" attribute, not null.
+         *************************************************************************************************************/
+        public void setLatitude(double latitude) {
+            this.latitude = latitude;
+        }
+
+        /**************************************************************************************************************
+         * "Getter" function for "longitude" attribute.
+         *
+         * @return The current value of the object's "longitude" attribute.
+         *************************************************************************************************************/
+        public double getLongitude() {
+            return longitude;
+        }
+
+        /**************************************************************************************************************
+         * "Setter" function for "longitude" attribute.
+         *
+         * @param longitude A value to assign to the object's "longitude" attribute, not null.
+         *************************************************************************************************************/
+        public void setLongitude(double longitude) {
+            this.longitude = longitude;
+        }
+
+        /**************************************************************************************************************
+         * Method that checks whether two VertexRequestDto objects are equal.
+         *
+         * @param o The second Object to compare with the current Object, not null.
+         *************************************************************************************************************/
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            VertexRequestDto that = (VertexRequestDto) o;
+            return Double.compare(that.latitude, latitude) == 0 && Double.compare(that.longitude, longitude) == 0;
+        }
+
+        /**************************************************************************************************************
+         * Method that returns the integer hash code value of the VertexRequestDto object.
+         *************************************************************************************************************/
+        @Override
+        public int hashCode() {
+            return Objects.hash(latitude, longitude);
+        }
+
+        /**************************************************************************************************************
+         * Transforms a VertexRequestDto object to String.
+         *
+         * @return A string representation of the Object.
+         *************************************************************************************************************/
+        @Override
+        public String toString() {
+            return "{" +
+                    "latitude=" + latitude +
+                    ", longitude=" + longitude +
+                    '}';
+        }
+
+        /**************************************************************************************************************
+         * Transforms a VertexRequestDto object to JSONObject.
+         *
+         * @return A JSON representation of the Object.
+         *************************************************************************************************************/
+        public JSONObject toJSON() {
+            JSONObject jo = new JSONObject();
+            jo.put("latitude", latitude);
+            jo.put("longitude", longitude);
+            return jo;
+        }
+    }
+}
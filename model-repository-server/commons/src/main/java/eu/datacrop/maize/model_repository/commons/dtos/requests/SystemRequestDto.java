@@ -49,7 +49,7 @@ public class SystemRequestDto extends RequestDto implements Serializable {
     /******************************************************************************************************************
      * A collection of versatile variables hosting additional information on the IoT System. Optional field.
      *****************************************************************************************************************/
-    private transient Set<Object> additionalInformation;
+    private Set<Object> additionalInformation;
 
     /******************************************************************************************************************
      * Constructor of the SystemRequestDto class, used for the Builder pattern.
@@ -0,0 +1,182 @@
+package eu.datacrop.maize.model_repository.commons.dtos.responses;
+
+import lombok.Builder;
+import org.json.JSONObject;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**********************************************************************************************************************
+ * This class is a data transfer object representing a cluster of IoT Systems on a map, at a given zoom level. Used in
+ * HTTP responses.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Builder
+public class ClusterResponseDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2861427703395874012L;
+
+    /******************************************************************************************************************
+     * The latitude of the centroid of the cluster, in decimal degrees.
+     *****************************************************************************************************************/
+    private double latitude;
+
+    /******************************************************************************************************************
+     * The longitude of the centroid of the cluster, in decimal degrees.
+     *****************************************************************************************************************/
+    private double longitude;
+
+    /******************************************************************************************************************
+     * The number of IoT Systems in the cluster.
+     *****************************************************************************************************************/
+    private int count;
+
+    /******************************************************************************************************************
+     * The UUID of the IoT System, if the cluster consists of a single one. Null otherwise.
+     *****************************************************************************************************************/
+    private String systemId;
+
+    /******************************************************************************************************************
+     * Constructor of the ClusterResponseDto class, both for Builder pattern and instantiation with "new".
+     *****************************************************************************************************************/
+    public ClusterResponseDto(double latitude, double longitude, int count, String systemId) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.count = count;
+        this.systemId = systemId;
+    }
+
+    /******************************************************************************************************************
+     * Empty constructor of the ClusterResponseDto class.
+     *****************************************************************************************************************/
+    public ClusterResponseDto() {
+        this(0.0, 0.0, 0, null);
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "latitude" attribute.
+     *
+     * @return The current value of the object's "latitude" attribute.
+     *****************************************************************************************************************/
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "latitude" attribute.
+     *
+     * @param latitude A value to assign to the object's "latitude" attribute, not null.
+     *****************************************************************************************************************/
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "longitude" attribute.
+     *
+     * @return The current value of the object's "longitude" attribute.
+     *****************************************************************************************************************/
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "longitude" attribute.
+     *
+     * @param longitude A value to assign to the object's "longitude" attribute, not null.
+     *****************************************************************************************************************/
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "count" attribute.
+     *
+     * @return The current value of the object's "count" attribute.
+     *****************************************************************************************************************/
+    public int getCount() {
+        return count;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "count" attribute.
+     *
+     * @param count A value to assign to the object's "count" attribute, not null.
+     *****************************************************************************************************************/
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "systemId" attribute.
+     *
+     * @return The current value of the object's "systemId" attribute.
+     *****************************************************************************************************************/
+    public String getSystemId() {
+        return systemId;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "systemId" attribute.
+     *
+     * @param systemId A value to assign to the object's "systemId" attribute.
+     *****************************************************************************************************************/
+    public void setSystemId(String systemId) {
+        this.systemId = systemId;
+    }
+
+    /******************************************************************************************************************
+     * Method that checks whether two ClusterResponseDto objects are equal.
+     *
+     * @param o The second Object to compare with the current Object, not null.
+     *****************************************************************************************************************/
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ClusterResponseDto that = (ClusterResponseDto) o;
+        return Double.compare(that.latitude, latitude) == 0 && Double.compare(that.longitude, longitude) == 0
+                && count == that.count && Objects.equals(systemId, that.systemId);
+    }
+
+    /******************************************************************************************************************
+     * Method that returns the integer hash code value of the ClusterResponseDto object.
+     *****************************************************************************************************************/
+    @Override
+    public int hashCode() {
+        return Objects.hash(latitude, longitude, count, systemId);
+    }
+
+    /******************************************************************************************************************
+     * Transforms a ClusterResponseDto object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return "{" +
+                "latitude=" + latitude +
+                ", longitude=" + longitude +
+                ", count=" + count +
+                ", systemId='" + systemId + '\'' +
+                '}';
+    }
+
+    /******************************************************************************************************************
+     * Transforms a ClusterResponseDto object to JSONObject.
+     *
+     * @return A JSON representation of the Object.
+     *****************************************************************************************************************/
+    public JSONObject toJSON() {
+        JSONObject jo = new JSONObject();
+        jo.put("latitude", latitude);
+        jo.put("longitude", longitude);
+        jo.put("count", count);
+        jo.put("systemId", systemId);
+        return jo;
+    }
+}
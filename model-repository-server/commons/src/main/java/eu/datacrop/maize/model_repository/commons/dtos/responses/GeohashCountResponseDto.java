@@ -0,0 +1,182 @@
+package eu.datacrop.maize.model_repository.commons.dtos.responses;
+
+import lombok.Builder;
+import org.json.JSONObject;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**********************************************************************************************************************
+ * This class is a data transfer object representing the number of IoT Systems within a geohash cell. Used in
+ * HTTP responses.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Builder
+public class GeohashCountResponseDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -7352049186640719135L;
+
+    /******************************************************************************************************************
+     * The latitude of the center of the cell, in decimal degrees.
+     *****************************************************************************************************************/
+    private double latitude;
+
+    /******************************************************************************************************************
+     * The longitude of the center of the cell, in decimal degrees.
+     *****************************************************************************************************************/
+    private double longitude;
+
+    /******************************************************************************************************************
+     * The number of IoT Systems within the cell.
+     *****************************************************************************************************************/
+    private int count;
+
+    /******************************************************************************************************************
+     * The geohash of the cell.
+     *****************************************************************************************************************/
+    private String geohash;
+
+    /******************************************************************************************************************
+     * Constructor of the GeohashCountResponseDto class, both for Builder pattern and instantiation with "new".
+     *****************************************************************************************************************/
+    public GeohashCountResponseDto(double latitude, double longitude, int count, String geohash) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.count = count;
+        this.geohash = geohash;
+    }
+
+    /******************************************************************************************************************
+     * Empty constructor of the GeohashCountResponseDto class.
+     *****************************************************************************************************************/
+    public GeohashCountResponseDto() {
+        this(0.0, 0.0, 0, null);
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "latitude" attribute.
+     *
+     * @return The current value of the object's "latitude" attribute.
+     *****************************************************************************************************************/
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "latitude" attribute.
+     *
+     * @param latitude A value to assign to the object's "latitude" attribute, not null.
+     *****************************************************************************************************************/
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "longitude" attribute.
+     *
+     * @return The current value of the object's "longitude" attribute.
+     *****************************************************************************************************************/
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "longitude" attribute.
+     *
+     * @param longitude A value to assign to the object's "longitude" attribute, not null.
+     *****************************************************************************************************************/
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "count" attribute.
+     *
+     * @return The current value of the object's "count" attribute.
+     *****************************************************************************************************************/
+    public int getCount() {
+        return count;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "count" attribute.
+     *
+     * @param count A value to assign to the object's "count" attribute, not null.
+     *****************************************************************************************************************/
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "geohash" attribute.
+     *
+     * @return The current value of the object's "geohash" attribute.
+     *****************************************************************************************************************/
+    public String getGeohash() {
+        return geohash;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "geohash" attribute.
+     *
+     * @param geohash A value to assign to the object's "geohash" attribute.
+     *****************************************************************************************************************/
+    public void setGeohash(String geohash) {
+        this.geohash = geohash;
+    }
+
+    /******************************************************************************************************************
+     * Method that checks whether two GeohashCountResponseDto objects are equal.
+     *
+     * @param o The second Object to compare with the current Object, not null.
+     *****************************************************************************************************************/
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GeohashCountResponseDto that = (GeohashCountResponseDto) o;
+        return Double.compare(that.latitude, latitude) == 0 && Double.compare(that.longitude, longitude) == 0
+                && count == that.count && Objects.equals(geohash, that.geohash);
+    }
+
+    /******************************************************************************************************************
+     * Method that returns the integer hash code value of the GeohashCountResponseDto object.
+     *****************************************************************************************************************/
+    @Override
+    public int hashCode() {
+        return Objects.hash(latitude, longitude, count, geohash);
+    }
+
+    /******************************************************************************************************************
+     * Transforms a GeohashCountResponseDto object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return "{" +
+                "latitude=" + latitude +
+                ", longitude=" + longitude +
+                ", count=" + count +
+                ", geohash='" + geohash + '\'' +
+                '}';
+    }
+
+    /******************************************************************************************************************
+     * Transforms a GeohashCountResponseDto object to JSONObject.
+     *
+     * @return A JSON representation of the Object.
+     *****************************************************************************************************************/
+    public JSONObject toJSON() {
+        JSONObject jo = new JSONObject();
+        jo.put("latitude", latitude);
+        jo.put("longitude", longitude);
+        jo.put("count", count);
+        jo.put("geohash", geohash);
+        return jo;
+    }
+}
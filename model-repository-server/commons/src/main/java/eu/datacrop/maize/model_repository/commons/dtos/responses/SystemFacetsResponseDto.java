@@ -0,0 +1,211 @@
+package eu.datacrop.maize.model_repository.commons.dtos.responses;
+
+import lombok.Builder;
+import org.json.JSONObject;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/*********************************************************************************************************************
+ * This class is a data transfer object representing a summary of the IoT Systems: their number per organization and
+ * per type of location. Used in HTTP responses.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ ********************************************************************************************************************/
+@Builder
+public class SystemFacetsResponseDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 5820133640976212618L;
+
+    /******************************************************************************************************************
+     * The total number of IoT Systems.
+     *****************************************************************************************************************/
+    private long total;
+
+    /******************************************************************************************************************
+     * The number of IoT Systems with a Geographical Location.
+     *****************************************************************************************************************/
+    private long geoLocated;
+
+    /******************************************************************************************************************
+     * The number of IoT Systems with a Virtual Location.
+     *****************************************************************************************************************/
+    private long virtualLocated;
+
+    /******************************************************************************************************************
+     * The number of IoT Systems not assigned to any organization.
+     *****************************************************************************************************************/
+    private long withoutOrganization;
+
+    /******************************************************************************************************************
+     * The number of IoT Systems owned by each organization, sorted by organization.
+     *****************************************************************************************************************/
+    private Map<String, Long> organizations;
+
+    /******************************************************************************************************************
+     * Constructor of the SystemFacetsResponseDto class, both for Builder pattern and instantiation with "new".
+     *****************************************************************************************************************/
+    public SystemFacetsResponseDto(long total, long geoLocated, long virtualLocated, long withoutOrganization,
+                                   Map<String, Long> organizations) {
+        this.total = total;
+        this.geoLocated = geoLocated;
+        this.virtualLocated = virtualLocated;
+        this.withoutOrganization = withoutOrganization;
+        this.organizations = (organizations == null) ? new LinkedHashMap<>() : organizations;
+    }
+
+    /******************************************************************************************************************
+     * Empty constructor of the SystemFacetsResponseDto class.
+     *****************************************************************************************************************/
+    public SystemFacetsResponseDto() {
+        this(0L, 0L, 0L, 0L, null);
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "total" attribute.
+     *
+     * @return The current value of the object's "total" attribute.
+     *****************************************************************************************************************/
+    public long getTotal() {
+        return total;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "total" attribute.
+     *
+     * @param total A value to assign to the object's "total" attribute, not null.
+     *****************************************************************************************************************/
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "geoLocated" attribute.
+     *
+     * @return The current value of the object's "geoLocated" attribute.
+     *****************************************************************************************************************/
+    public long getGeoLocated() {
+        return geoLocated;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "geoLocated" attribute.
+     *
+     * @param geoLocated A value to assign to the object's "geoLocated" attribute, not null.
+     *****************************************************************************************************************/
+    public void setGeoLocated(long geoLocated) {
+        this.geoLocated = geoLocated;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "virtualLocated" attribute.
+     *
+     * @return The current value of the object's "virtualLocated" attribute.
+     *****************************************************************************************************************/
+    public long getVirtualLocated() {
+        return virtualLocated;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "virtualLocated" attribute.
+     *
+     * @param virtualLocated A value to assign to the object's "virtualLocated" attribute, not null.
+     *****************************************************************************************************************/
+    public void setVirtualLocated(long virtualLocated) {
+        this.virtualLocated = virtualLocated;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "withoutOrganization" attribute.
+     *
+     * @return The current value of the object's "withoutOrganization" attribute.
+     *****************************************************************************************************************/
+    public long getWithoutOrganization() {
+        return withoutOrganization;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "withoutOrganization" attribute.
+     *
+     * @param withoutOrganization A value to assign to the object's "withoutOrganization" attribute, not null.
+     *****************************************************************************************************************/
+    public void setWithoutOrganization(long withoutOrganization) {
+        this.withoutOrganization = withoutOrganization;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "organizations" attribute.
+     *
+     * @return The current value of the object's "organizations" attribute.
+     *****************************************************************************************************************/
+    public Map<String, Long> getOrganizations() {
+        return organizations;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "organizations" attribute.
+     *
+     * @param organizations A value to assign to the object's "organizations" attribute, not null.
+     *****************************************************************************************************************/
+    public void setOrganizations(Map<String, Long> organizations) {
+        this.organizations = organizations;
+    }
+
+    /******************************************************************************************************************
+     * Method that checks whether two SystemFacetsResponseDto objects are equal.
+     *
+     * @param o The second Object to compare with the current Object, not null.
+     *****************************************************************************************************************/
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SystemFacetsResponseDto that = (SystemFacetsResponseDto) o;
+        return total == that.total && geoLocated == that.geoLocated && virtualLocated == that.virtualLocated
+                && withoutOrganization == that.withoutOrganization && Objects.equals(organizations, that.organizations);
+    }
+
+    /******************************************************************************************************************
+     * Method that returns the integer hash code value of the SystemFacetsResponseDto object.
+     *****************************************************************************************************************/
+    @Override
+    public int hashCode() {
+        return Objects.hash(total, geoLocated, virtualLocated, withoutOrganization, organizations);
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemFacetsResponseDto object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return "{" +
+                "total=" + total +
+                ", geoLocated=" + geoLocated +
+                ", virtualLocated=" + virtualLocated +
+                ", withoutOrganization=" + withoutOrganization +
+                ", organizations=" + organizations +
+                '}';
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemFacetsResponseDto object to JSONObject.
+     *
+     * @return A JSON representation of the Object.
+     *****************************************************************************************************************/
+    public JSONObject toJSON() {
+        JSONObject jo = new JSONObject();
+        jo.put("total", total);
+        jo.put("geoLocated", geoLocated);
+        jo.put("virtualLocated", virtualLocated);
+        jo.put("withoutOrganization", withoutOrganization);
+        jo.put("organizations", organizations);
+        return jo;
+    }
+}
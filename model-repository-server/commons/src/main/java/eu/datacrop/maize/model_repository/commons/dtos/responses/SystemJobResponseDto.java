@@ -0,0 +1,377 @@
+package eu.datacrop.maize.model_repository.commons.dtos.responses;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import eu.datacrop.maize.model_repository.commons.enums.JobStatus;
+import lombok.Builder;
+import org.json.JSONObject;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/*********************************************************************************************************************
+ * This class is a data transfer object representing a Job: a long-running operation on the IoT Systems (e.g. the
+ * deletion of all Systems) executed in the background, along with its progress. Used in HTTP responses.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ ********************************************************************************************************************/
+@Builder
+public class SystemJobResponseDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 3317251860447062915L;
+
+    /******************************************************************************************************************
+     * A UUID representing a unique identifier for the Job.
+     *****************************************************************************************************************/
+    private String id;
+
+    /******************************************************************************************************************
+     * The long-running operation executed by the Job (e.g. DELETE_ALL_SYSTEMS).
+     *****************************************************************************************************************/
+    private String operation;
+
+    /******************************************************************************************************************
+     * The current stage in the lifecycle of the Job.
+     *****************************************************************************************************************/
+    private JobStatus status;
+
+    /******************************************************************************************************************
+     * The number of items (e.g. Systems) processed so far.
+     *****************************************************************************************************************/
+    private long processed;
+
+    /******************************************************************************************************************
+     * The estimated number of items to process, as counted upon the start of the Job (zero until then).
+     *****************************************************************************************************************/
+    private long total;
+
+    /******************************************************************************************************************
+     * Whether the cancellation of the Job has been requested.
+     *****************************************************************************************************************/
+    private boolean cancellationRequested;
+
+    /******************************************************************************************************************
+     * A comment on the outcome of the Job (e.g. the reason of its failure), null while not finished.
+     *****************************************************************************************************************/
+    private String message;
+
+    /******************************************************************************************************************
+     * Timestamp of the submission of the Job.
+     *****************************************************************************************************************/
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime creationDate;
+
+    /******************************************************************************************************************
+     * Timestamp of the start of the execution of the Job, null while pending.
+     *****************************************************************************************************************/
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime startDate;
+
+    /******************************************************************************************************************
+     * Timestamp of the latest progress (checkpoint) of the Job.
+     *****************************************************************************************************************/
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime latestUpdateDate;
+
+    /******************************************************************************************************************
+     * Timestamp of the conclusion of the Job, null while not finished.
+     *****************************************************************************************************************/
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime endDate;
+
+    /******************************************************************************************************************
+     * Constructor of the SystemJobResponseDto class, both for Builder pattern and instantiation with "new".
+     *****************************************************************************************************************/
+    public SystemJobResponseDto(String id, String operation, JobStatus status, long processed, long total, boolean
+                                cancellationRequested, String message, LocalDateTime creationDate, LocalDateTime
+                                startDate, LocalDateTime latestUpdateDate, LocalDateTime endDate) {
+        this.id = id;
+        this.operation = operation;
+        this.status = status;
+        this.processed = processed;
+        this.total = total;
+        this.cancellationRequested = cancellationRequested;
+        this.message = message;
+        this.creationDate = creationDate;
+        this.startDate = startDate;
+        this.latestUpdateDate = latestUpdateDate;
+        this.endDate = endDate;
+    }
+
+    /******************************************************************************************************************
+     * Empty constructor of the SystemJobResponseDto class.
+     *****************************************************************************************************************/
+    public SystemJobResponseDto() {
+        this(null, null, JobStatus.PENDING, 0L, 0L, false, null, null, null, null, null);
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "id" attribute.
+     *
+     * @return The current value of the object's "id" attribute.
+     *****************************************************************************************************************/
+    public String getId() {
+        return id;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "id" attribute.
+     *
+     * @param id A value to assign to the object's "id" attribute.
+     *****************************************************************************************************************/
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "operation" attribute.
+     *
+     * @return The current value of the object's "operation" attribute.
+     *****************************************************************************************************************/
+    public String getOperation() {
+        return operation;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "operation" attribute.
+     *
+     * @param operation A value to assign to the object's "operation" attribute.
+     *****************************************************************************************************************/
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "status" attribute.
+     *
+     * @return The current value of the object's "status" attribute.
+     *****************************************************************************************************************/
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "status" attribute.
+     *
+     * @param status A value to assign to the object's "status" attribute.
+     *****************************************************************************************************************/
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "processed" attribute.
+     *
+     * @return The current value of the object's "processed" attribute.
+     *****************************************************************************************************************/
+    public long getProcessed() {
+        return processed;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "processed" attribute.
+     *
+     * @param processed A value to assign to the object's "processed" attribute.
+     *****************************************************************************************************************/
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "total" attribute.
+     *
+     * @return The current value of the object's "total" attribute.
+     *****************************************************************************************************************/
+    public long getTotal() {
+        return total;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "total" attribute.
+     *
+     * @param total A value to assign to the object's "total" attribute.
+     *****************************************************************************************************************/
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "cancellationRequested" attribute.
+     *
+     * @return The current value of the object's "cancellationRequested" attribute.
+     *****************************************************************************************************************/
+    public boolean isCancellationRequested() {
+        return cancellationRequested;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "cancellationRequested" attribute.
+     *
+     * @param cancellationRequested A value to assign to the object's "cancellationRequested" attribute.
+     *****************************************************************************************************************/
+    public void setCancellationRequested(boolean cancellationRequested) {
+        this.cancellationRequested = cancellationRequested;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "message" attribute.
+     *
+     * @return The current value of the object's "message" attribute.
+     *****************************************************************************************************************/
+    public String getMessage() {
+        return message;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "message" attribute.
+     *
+     * @param message A value to assign to the object's "message" attribute.
+     *****************************************************************************************************************/
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "creationDate" attribute.
+     *
+     * @return The current value of the object's "creationDate" attribute.
+     *****************************************************************************************************************/
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "creationDate" attribute.
+     *
+     * @param creationDate A value to assign to the object's "creationDate" attribute.
+     *****************************************************************************************************************/
+    public void setCreationDate(LocalDateTime creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "startDate" attribute.
+     *
+     * @return The current value of the object's "startDate" attribute.
+     *****************************************************************************************************************/
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "startDate" attribute.
+     *
+     * @param startDate A value to assign to the object's "startDate" attribute.
+     *****************************************************************************************************************/
+    public void setStartDate(LocalDateTime startDate) {
+        this.startDate = startDate;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "latestUpdateDate" attribute.
+     *
+     * @return The current value of the object's "latestUpdateDate" attribute.
+     *****************************************************************************************************************/
+    public LocalDateTime getLatestUpdateDate() {
+        return latestUpdateDate;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "latestUpdateDate" attribute.
+     *
+     * @param latestUpdateDate A value to assign to the object's "latestUpdateDate" attribute.
+     *****************************************************************************************************************/
+    public void setLatestUpdateDate(LocalDateTime latestUpdateDate) {
+        this.latestUpdateDate = latestUpdateDate;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "endDate" attribute.
+     *
+     * @return The current value of the object's "endDate" attribute.
+     *****************************************************************************************************************/
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "endDate" attribute.
+     *
+     * @param endDate A value to assign to the object's "endDate" attribute.
+     *****************************************************************************************************************/
+    public void setEndDate(LocalDateTime endDate) {
+        this.endDate = endDate;
+    }
+
+    /******************************************************************************************************************
+     * Method that checks whether two SystemJobResponseDto objects are equal.
+     *
+     * @param o The second Object to compare with the current Object, not null.
+     *****************************************************************************************************************/
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SystemJobResponseDto that = (SystemJobResponseDto) o;
+        return processed == that.processed && total == that.total && cancellationRequested == that.cancellationRequested
+                && Objects.equals(id, that.id) && Objects.equals(operation, that.operation) && status == that.status
+                && Objects.equals(message, that.message) && Objects.equals(creationDate, that.creationDate)
+                && Objects.equals(startDate, that.startDate) && Objects.equals(latestUpdateDate, that.latestUpdateDate)
+                && Objects.equals(endDate, that.endDate);
+    }
+
+    /******************************************************************************************************************
+     * Method that returns the integer hash code value of the SystemJobResponseDto object.
+     *****************************************************************************************************************/
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, operation, status, processed, total, cancellationRequested, message, creationDate,
+                startDate, latestUpdateDate, endDate);
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemJobResponseDto object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return "{" +
+                "id='" + id + '\'' +
+                ", operation='" + operation + '\'' +
+                ", status=" + status +
+                ", processed=" + processed +
+                ", total=" + total +
+                ", cancellationRequested=" + cancellationRequested +
+                ", message='" + message + '\'' +
+                ", creationDate=" + creationDate +
+                ", startDate=" + startDate +
+                ", latestUpdateDate=" + latestUpdateDate +
+                ", endDate=" + endDate +
+                '}';
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemJobResponseDto object to JSONObject.
+     *
+     * @return A JSON representation of the Object.
+     *****************************************************************************************************************/
+    public JSONObject toJSON() {
+        JSONObject jo = new JSONObject();
+        jo.put("id", id);
+        jo.put("operation", operation);
+        jo.put("status", status);
+        jo.put("processed", processed);
+        jo.put("total", total);
+        jo.put("cancellationRequested", cancellationRequested);
+        jo.put("message", message);
+        jo.put("creationDate", creationDate);
+        jo.put("startDate", startDate);
+        jo.put("latestUpdateDate", latestUpdateDate);
+        jo.put("endDate", endDate);
+        return jo;
+    }
+}
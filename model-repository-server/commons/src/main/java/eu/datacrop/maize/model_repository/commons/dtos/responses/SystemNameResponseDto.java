@@ -0,0 +1,129 @@
+package eu.datacrop.maize.model_repository.commons.dtos.responses;
+
+import lombok.Builder;
+import org.json.JSONObject;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**********************************************************************************************************************
+ * This class is a data transfer object representing the name of an IoT System matching an autocomplete prefix. Used
+ * in HTTP responses.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Builder
+public class SystemNameResponseDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2903317645207481653L;
+
+    /******************************************************************************************************************
+     * The UUID of the IoT System.
+     *****************************************************************************************************************/
+    private String id;
+
+    /******************************************************************************************************************
+     * The name of the IoT System.
+     *****************************************************************************************************************/
+    private String name;
+
+    /******************************************************************************************************************
+     * Constructor of the SystemNameResponseDto class, both for Builder pattern and instantiation with "new".
+     *****************************************************************************************************************/
+    public SystemNameResponseDto(String id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    /******************************************************************************************************************
+     * Empty constructor of the SystemNameResponseDto class.
+     *****************************************************************************************************************/
+    public SystemNameResponseDto() {
+        this(null, null);
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "id" attribute.
+     *
+     * @return The current value of the object's "id" attribute.
+     *****************************************************************************************************************/
+    public String getId() {
+        return id;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "id" attribute.
+     *
+     * @param id A value to assign to the object's "id" attribute, not null.
+     *****************************************************************************************************************/
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "name" attribute.
+     *
+     * @return The current value of the object's "name" attribute.
+     *****************************************************************************************************************/
+    public String getName() {
+        return name;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "name" attribute.
+     *
+     * @param name A value to assign to the object's "name" attribute, not null.
+     *****************************************************************************************************************/
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /******************************************************************************************************************
+     * Method that checks whether two SystemNameResponseDto objects are equal.
+     *
+     * @param o The second Object to compare with the current Object, not null.
+     *****************************************************************************************************************/
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SystemNameResponseDto that = (SystemNameResponseDto) o;
+        return Objects.equals(id, that.id) && Objects.equals(name, that.name);
+    }
+
+    /******************************************************************************************************************
+     * Method that returns the integer hash code value of the SystemNameResponseDto object.
+     *****************************************************************************************************************/
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name);
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemNameResponseDto object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return "{" +
+                "id='" + id + '\'' +
+                ", name='" + name + '\'' +
+                '}';
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemNameResponseDto object to JSONObject.
+     *
+     * @return A JSON representation of the Object.
+     *****************************************************************************************************************/
+    public JSONObject toJSON() {
+        JSONObject jo = new JSONObject();
+        jo.put("id", id);
+        jo.put("name", name);
+        return jo;
+    }
+}
@@ -1,6 +1,7 @@
 package eu.datacrop.maize.model_repository.commons.dtos.responses;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import eu.datacrop.maize.model_repository.commons.util.DateFormatter;
 import lombok.Builder;
 import org.json.JSONObject;
@@ -52,7 +53,20 @@ public class SystemResponseDto implements Serializable {
     /******************************************************************************************************************
      * A collection of versatile variables hosting additional information on the IoT System. Optional field.
      *****************************************************************************************************************/
-    private transient Set<Object> additionalInformation;
+    private Set<Object> additionalInformation;
+
+    /******************************************************************************************************************
+     * Present (and TRUE) only if the additional information of the IoT System is too large to be included in the
+     * response. In that case it is fetched through the dedicated sub-resource of the IoT System.
+     *****************************************************************************************************************/
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean additionalInformationDetached;
+
+    /******************************************************************************************************************
+     * The version of the IoT System, also returned as its entity tag (ETag) for conditional writes (If-Match).
+     *****************************************************************************************************************/
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
 
     /******************************************************************************************************************
      * Timestamp of first persistence regarding the IoT System in the database.
@@ -66,18 +80,28 @@ public class SystemResponseDto implements Serializable {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
     private LocalDateTime latestUpdateDate;
 
+    /******************************************************************************************************************
+     * The relevance of the IoT System to a full-text search. Present only in the results of full-text searches.
+     *****************************************************************************************************************/
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Float score;
+
     /******************************************************************************************************************
      * Constructor of the SystemResponseDto class, used for the Builder pattern.
      *****************************************************************************************************************/
     public SystemResponseDto(String id, String name, String description, LocationResponseDto location,
-                             String organization, Set<Object> additionalInformation, LocalDateTime creationDate,
-                             LocalDateTime latestUpdateDate) {
+                             String organization, Set<Object> additionalInformation,
+                             Boolean additionalInformationDetached, Long version, LocalDateTime creationDate,
+                             LocalDateTime latestUpdateDate, Float score) {
         this.id = id;
+        this.additionalInformationDetached = additionalInformationDetached;
+        this.version = version;
         this.name = name;
         this.description = description;
         this.organization = organization;
         this.creationDate = creationDate;
         this.latestUpdateDate = latestUpdateDate;
+        this.score = score;
 
         if (location == null) {
             this.location = new LocationResponseDto();
@@ -235,6 +259,42 @@ public class SystemResponseDto implements Serializable {
         }
     }
 
+    /******************************************************************************************************************
+     * "Getter" method for "additionalInformationDetached" attribute.
+     *
+     * @return The current value of the object's "additionalInformationDetached" attribute, null unless detached.
+     *****************************************************************************************************************/
+    public Boolean getAdditionalInformationDetached() {
+        return additionalInformationDetached;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "additionalInformationDetached" attribute.
+     *
+     * @param additionalInformationDetached A value to assign to the object's "additionalInformationDetached" attribute.
+     *****************************************************************************************************************/
+    public void setAdditionalInformationDetached(Boolean additionalInformationDetached) {
+        this.additionalInformationDetached = additionalInformationDetached;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "version" attribute.
+     *
+     * @return The current value of the object's "version" attribute (the entity tag of the System), may be null.
+     *****************************************************************************************************************/
+    public Long getVersion() {
+        return version;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "version" attribute.
+     *
+     * @param version A value to assign to the object's "version" attribute.
+     *****************************************************************************************************************/
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /******************************************************************************************************************
      * "Getter" method for "creationDate" attribute.
      *
@@ -271,6 +331,24 @@ public class SystemResponseDto implements Serializable {
         this.latestUpdateDate = latestUpdateDate;
     }
 
+    /******************************************************************************************************************
+     * "Getter" method for "score" attribute.
+     *
+     * @return The current value of the object's "score" attribute, null unless retrieved by a full-text query.
+     *****************************************************************************************************************/
+    public Float getScore() {
+        return score;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "score" attribute.
+     *
+     * @param score A value to assign to the object's "score" attribute.
+     *****************************************************************************************************************/
+    public void setScore(Float score) {
+        this.score = score;
+    }
+
     /******************************************************************************************************************
      * Method for gracefully adding AdditionalInformation objects to the IoT System object. Duplicates are removed.
      *
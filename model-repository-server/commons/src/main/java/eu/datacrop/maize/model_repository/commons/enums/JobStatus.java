@@ -0,0 +1,68 @@
+package eu.datacrop.maize.model_repository.commons.enums;
+
+/**********************************************************************************************************************
+ * This enumeration contains the stages in the lifecycle of a Job (a long-running operation executed in the
+ * background).
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public enum JobStatus {
+
+    /******************************************************************************************************************
+     * Indicates that the Job has been submitted and waits for its execution.
+     *****************************************************************************************************************/
+    PENDING("PENDING"),
+
+    /******************************************************************************************************************
+     * Indicates that the Job is being executed.
+     *****************************************************************************************************************/
+    RUNNING("RUNNING"),
+
+    /******************************************************************************************************************
+     * Indicates that the Job has been concluded successfully.
+     *****************************************************************************************************************/
+    SUCCEEDED("SUCCEEDED"),
+
+    /******************************************************************************************************************
+     * Indicates that the Job has been aborted due to an error.
+     *****************************************************************************************************************/
+    FAILED("FAILED"),
+
+    /******************************************************************************************************************
+     * Indicates that the Job has been cancelled upon request, before its conclusion.
+     *****************************************************************************************************************/
+    CANCELLED("CANCELLED");
+
+    /******************************************************************************************************************
+     * The text representing the enumeration values.
+     *****************************************************************************************************************/
+    private final String text;
+
+    /******************************************************************************************************************
+     * Constructor of the JobStatus enumeration.
+     *****************************************************************************************************************/
+    JobStatus(String text) {
+        this.text = text;
+    }
+
+    /******************************************************************************************************************
+     * Method that reports whether a Job in this stage has finished (successfully or not).
+     *
+     * @return TRUE if the Job will not be executed any more, FALSE otherwise.
+     *****************************************************************************************************************/
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+
+    /******************************************************************************************************************
+     * Transforms a JobStatus enumeration object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return text;
+    }
+
+}
@@ -33,6 +33,11 @@ public enum ResponseCode {
      *****************************************************************************************************************/
     BAD_REQUEST("BAD_REQUEST"),
 
+    /******************************************************************************************************************
+     * Indicates that the API Request was aborted because a condition set by the client (e.g. a version) did not hold.
+     *****************************************************************************************************************/
+    PRECONDITION_FAILED("PRECONDITION_FAILED"),
+
     /******************************************************************************************************************
      * Default value of the Response Wrapper. Not meant to reach end-users.
      *****************************************************************************************************************/
@@ -18,6 +18,11 @@ public enum SystemErrorMessages {
      *****************************************************************************************************************/
     SYSTEM_NOT_FOUND_NAME("Failed to retrieve any System entities from the database with Name: "),
 
+    /******************************************************************************************************************
+     * Indicates that no System with the requested ID existed at the requested date (or its history is unavailable).
+     *****************************************************************************************************************/
+    SYSTEM_NOT_FOUND_AS_OF("Failed to reconstruct any System entity existing at the requested date with ID: "),
+
     /******************************************************************************************************************
      * Indicates that the document in the database is empty.
      *****************************************************************************************************************/
@@ -28,6 +33,26 @@ public enum SystemErrorMessages {
      *****************************************************************************************************************/
     EXCEEDED_PAGE_LIMIT("Failed to retrieve any System entities because page limit has been exceeded."),
 
+    /******************************************************************************************************************
+     * Indicates that a geospatial search failed to produce a match.
+     *****************************************************************************************************************/
+    NO_SYSTEMS_FOUND_IN_AREA("Failed to retrieve any System entities from the database within the specified area."),
+
+    /******************************************************************************************************************
+     * Indicates that the database contains no Systems matching a full-text search.
+     *****************************************************************************************************************/
+    NO_SYSTEMS_MATCHING_SEARCH("Failed to retrieve any System entities from the database matching the search terms."),
+
+    /******************************************************************************************************************
+     * Indicates that the database contains no Systems whose name starts with an autocomplete prefix.
+     *****************************************************************************************************************/
+    NO_SYSTEMS_MATCHING_PREFIX("Failed to retrieve any System entities from the database whose Name starts with: "),
+
+    /******************************************************************************************************************
+     * Indicates that the database contains no Systems whose additional information matches a set of filters.
+     *****************************************************************************************************************/
+    NO_SYSTEMS_MATCHING_FILTERS("Failed to retrieve any System entities from the database matching the additional information filters."),
+
     /******************************************************************************************************************
      * Indicates that persistence has been aborted due to unique identifier conflict.
      *****************************************************************************************************************/
@@ -89,6 +114,41 @@ public enum SystemErrorMessages {
      *****************************************************************************************************************/
     INVALID_PARAMETER_FORMAT("Operation aborted due to invalid parameter format."),
 
+    /******************************************************************************************************************
+     * Indicates that no Job with the requested ID has been found.
+     *****************************************************************************************************************/
+    JOB_NOT_FOUND("Failed to retrieve any Job from the database with ID: "),
+
+    /******************************************************************************************************************
+     * Indicates that the cancellation of a Job has been requested after it had already finished.
+     *****************************************************************************************************************/
+    JOB_ALREADY_FINISHED("The Job has already finished and may not be cancelled any more. Its status is: "),
+
+    /******************************************************************************************************************
+     * Indicates that a Job could not be submitted, retrieved or cancelled due to an error.
+     *****************************************************************************************************************/
+    ERROR_ON_JOB("Error detected while attempting to submit, retrieve or cancel Job: "),
+
+    /******************************************************************************************************************
+     * Indicates that a past state of a System has been requested, while the revision history is not recorded.
+     *****************************************************************************************************************/
+    REVISION_HISTORY_DISABLED("The revision history of Systems is not recorded, so past states are unavailable."),
+
+    /******************************************************************************************************************
+     * Indicates that a conditional write has been aborted, since the System has been modified in the meantime.
+     *****************************************************************************************************************/
+    VERSION_MISMATCH("The System has been modified since the expected version and its current version is: "),
+
+    /******************************************************************************************************************
+     * Indicates that an earlier request with the same idempotency key is still being processed.
+     *****************************************************************************************************************/
+    IDEMPOTENCY_KEY_IN_PROGRESS("Another request with the same Idempotency-Key is still being processed. Retry later."),
+
+    /******************************************************************************************************************
+     * Indicates that an idempotency key has already been used with different request contents.
+     *****************************************************************************************************************/
+    IDEMPOTENCY_KEY_MISMATCH("The Idempotency-Key has already been used with different request contents."),
+
     /******************************************************************************************************************
      * Indicates that the back-end server malfunctioned.
      *****************************************************************************************************************/
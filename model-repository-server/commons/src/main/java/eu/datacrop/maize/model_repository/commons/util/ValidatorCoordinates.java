@@ -0,0 +1,88 @@
+package eu.datacrop.maize.model_repository.commons.util;
+
+import eu.datacrop.maize.model_repository.commons.dtos.requests.PolygonRequestDto;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**********************************************************************************************************************
+ * This class offers the functionality of a global tool that checks whether geographical coordinates (WGS84, decimal
+ * degrees) fall within their valid ranges.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public class ValidatorCoordinates {
+
+    /******************************************************************************************************************
+     * Constructor of the ValidatorCoordinates class (private to disallow instantiation).
+     *
+     * @throws IllegalStateException if called, since the class is not meant to be instantiated.
+     *****************************************************************************************************************/
+    private ValidatorCoordinates() {
+        throw new IllegalStateException("Utility classes should not be instantiated.");
+    }
+
+    /******************************************************************************************************************
+     * Definition of a global function that checks whether a latitude lies within [-90, 90]. Returns TRUE or FALSE.
+     *
+     * @param latitude The latitude to be checked, in decimal degrees.
+     * @return The result of the check (TRUE for valid or FALSE for invalid latitudes).
+     *****************************************************************************************************************/
+    public static Boolean isValidLatitude(final double latitude) {
+        return (!Double.isNaN(latitude) && latitude >= -90.0 && latitude <= 90.0) ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    /******************************************************************************************************************
+     * Definition of a global function that checks whether a longitude lies within [-180, 180]. Returns TRUE or FALSE.
+     *
+     * @param longitude The longitude to be checked, in decimal degrees.
+     * @return The result of the check (TRUE for valid or FALSE for invalid longitudes).
+     *****************************************************************************************************************/
+    public static Boolean isValidLongitude(final double longitude) {
+        return (!Double.isNaN(longitude) && longitude >= -180.0 && longitude <= 180.0) ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    /******************************************************************************************************************
+     * Definition of a global function that checks whether a bounding box is well-formed, i.e. it has valid corners
+     * and a positive extent on both axes. Boxes crossing the antimeridian are not supported. Returns TRUE or FALSE.
+     *
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @return The result of the check (TRUE for valid or FALSE for invalid boxes).
+     *****************************************************************************************************************/
+    public static Boolean isValidBoundingBox(final double minLatitude, final double minLongitude,
+                                             final double maxLatitude, final double maxLongitude) {
+        if (isValidLatitude(minLatitude).equals(Boolean.FALSE) || isValidLatitude(maxLatitude).equals(Boolean.FALSE)
+                || isValidLongitude(minLongitude).equals(Boolean.FALSE) || isValidLongitude(maxLongitude).equals(Boolean.FALSE)) {
+            return Boolean.FALSE;
+        }
+        return (minLatitude < maxLatitude && minLongitude < maxLongitude) ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    /******************************************************************************************************************
+     * Definition of a global function that checks whether a list of vertices may form a Polygon, i.e. all of them
+     * have valid coordinates and at least three of them are distinct. Returns TRUE or FALSE.
+     *
+     * @param vertices The vertices of the Polygon in order, may be null.
+     * @return The result of the check (TRUE for valid or FALSE for invalid Polygons).
+     *****************************************************************************************************************/
+    public static Boolean isValidPolygon(final List<PolygonRequestDto.VertexRequestDto> vertices) {
+        if (vertices == null || vertices.size() < 3) {
+            return Boolean.FALSE;
+        }
+        Set<PolygonRequestDto.VertexRequestDto> distinct = new HashSet<>();
+        for (PolygonRequestDto.VertexRequestDto vertex : vertices) {
+            if (vertex == null || isValidLatitude(vertex.getLatitude()).equals(Boolean.FALSE)
+                    || isValidLongitude(vertex.getLongitude()).equals(Boolean.FALSE)) {
+                return Boolean.FALSE;
+            }
+            distinct.add(vertex);
+        }
+        return (distinct.size() >= 3) ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+}
@@ -0,0 +1,46 @@
+package eu.datacrop.maize.model_repository.commons.util;
+
+/**********************************************************************************************************************
+ * This class offers the functionality of a global tool that checks whether strings may be used as (possibly dotted)
+ * keys of fields in query filters, without being interpreted as operators.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public class ValidatorFieldKey {
+
+    /******************************************************************************************************************
+     * The maximum length of a key.
+     *****************************************************************************************************************/
+    private static final int MAX_KEY_LENGTH = 256;
+
+    /******************************************************************************************************************
+     * Constructor of the ValidatorFieldKey class (private to disallow instantiation).
+     *
+     * @throws IllegalStateException if called, since the class is not meant to be instantiated.
+     *****************************************************************************************************************/
+    private ValidatorFieldKey() {
+        throw new IllegalStateException("Utility classes should not be instantiated.");
+    }
+
+    /******************************************************************************************************************
+     * Definition of a global function that checks whether a string is a valid key: not blank, not too long, free of
+     * operator ("$") and null characters, and consisting of non-empty dot-separated segments. Returns TRUE or FALSE.
+     *
+     * @param testSubject The string to be checked, may be null.
+     * @return The result of the check (TRUE for valid or FALSE for invalid keys).
+     *****************************************************************************************************************/
+    public static Boolean isValidFieldKey(final String testSubject) {
+        if (testSubject == null || testSubject.isBlank() || testSubject.length() > MAX_KEY_LENGTH
+                || testSubject.indexOf('$') >= 0 || testSubject.indexOf('\0') >= 0) {
+            return Boolean.FALSE;
+        }
+        for (String segment : testSubject.split("\\.", -1)) {
+            if (segment.isEmpty()) {
+                return Boolean.FALSE;
+            }
+        }
+        return Boolean.TRUE;
+    }
+
+}
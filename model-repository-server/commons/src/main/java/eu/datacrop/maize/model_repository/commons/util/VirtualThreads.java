@@ -0,0 +1,69 @@
+package eu.datacrop.maize.model_repository.commons.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**********************************************************************************************************************
+ * This class offers the functionality of a global tool that creates executors running each task on a new virtual
+ * thread. Virtual threads are final as of Java 21, whereas the project is built for Java 17 by default, hence they are
+ * reached reflectively: the same build runs on platform threads on older runtimes and may use virtual threads on
+ * Java 21 (or newer) runtimes.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public class VirtualThreads {
+
+    /******************************************************************************************************************
+     * The first release of Java in which virtual threads are available without preview features.
+     *****************************************************************************************************************/
+    private static final int MINIMUM_FEATURE_RELEASE = 21;
+
+    /******************************************************************************************************************
+     * Constructor of the VirtualThreads class (private to disallow instantiation).
+     *
+     * @throws IllegalStateException if called, since the class is not meant to be instantiated.
+     *****************************************************************************************************************/
+    private VirtualThreads() {
+        throw new IllegalStateException("Utility classes should not be instantiated.");
+    }
+
+    /******************************************************************************************************************
+     * Definition of a global function that checks whether the current runtime supports virtual threads.
+     *
+     * @return TRUE if virtual threads may be created, FALSE otherwise.
+     *****************************************************************************************************************/
+    public static Boolean isSupported() {
+        return Runtime.version().feature() >= MINIMUM_FEATURE_RELEASE;
+    }
+
+    /******************************************************************************************************************
+     * Definition of a global function that creates an executor which starts a new virtual thread for each task.
+     * The executor is unbounded, thus any limit on the concurrency of the tasks is to be enforced by its users.
+     *
+     * @param prefix The prefix of the names of the threads, followed by a sequence number, not null.
+     * @return The executor.
+     *
+     * @throws UnsupportedOperationException if the current runtime does not support virtual threads.
+     *****************************************************************************************************************/
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String prefix) throws UnsupportedOperationException {
+        if (isSupported().equals(Boolean.FALSE)) {
+            throw new UnsupportedOperationException("Virtual threads require Java " + MINIMUM_FEATURE_RELEASE
+                    + " or newer, whereas the current runtime is Java " + Runtime.version().feature() + ".");
+        }
+
+        // Equivalent to: Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory())
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = Class.forName("java.lang.Thread$Builder$OfVirtual").getMethod("name", String.class, long.class)
+                    .invoke(builder, prefix, 0L);
+            ThreadFactory factory = (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory")
+                    .invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads could not be created.", e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package eu.datacrop.maize.model_repository.commons.util;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**********************************************************************************************************************
+ * This class offers the functionality of a global tool that carries a client-requested write concern (acknowledgement
+ * mode) from the API layer down to the persistence layer, for the writes performed by the current thread. When set,
+ * it overrides the write concern configured per operation.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public class WriteConcernOverride {
+
+    /******************************************************************************************************************
+     * The names of the write concerns that may be requested (case-insensitive).
+     *****************************************************************************************************************/
+    private static final Set<String> NAMES = Set.of("ACKNOWLEDGED", "UNACKNOWLEDGED", "W1", "W2", "W3", "JOURNALED", "MAJORITY");
+
+    /******************************************************************************************************************
+     * The write concern requested for the writes of the current thread, if any.
+     *****************************************************************************************************************/
+    private static final ThreadLocal<String> OVERRIDE = new ThreadLocal<>();
+
+    /******************************************************************************************************************
+     * Constructor of the WriteConcernOverride class (private to disallow instantiation).
+     *
+     * @throws IllegalStateException if called, since the class is not meant to be instantiated.
+     *****************************************************************************************************************/
+    private WriteConcernOverride() {
+        throw new IllegalStateException("Utility classes should not be instantiated.");
+    }
+
+    /******************************************************************************************************************
+     * Definition of a global function that checks whether a string names a write concern that may be requested
+     * (acknowledged, unacknowledged, w1, w2, w3, journaled or majority). Returns TRUE or FALSE.
+     *
+     * @param testSubject The string to be checked, may be null.
+     * @return TRUE if the string names a write concern, FALSE otherwise.
+     *****************************************************************************************************************/
+    public static Boolean isValidWriteConcern(String testSubject) {
+        return testSubject != null && NAMES.contains(testSubject.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /******************************************************************************************************************
+     * Method that sets (or, given null, removes) the write concern requested for the writes of the current thread.
+     *
+     * @param writeConcern The name of a valid write concern, or null.
+     *****************************************************************************************************************/
+    public static void set(String writeConcern) {
+        if (writeConcern == null) {
+            OVERRIDE.remove();
+        } else {
+            OVERRIDE.set(writeConcern.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that returns the write concern requested for the writes of the current thread.
+     *
+     * @return The (upper-case) name of the requested write concern, or null if none has been requested.
+     *****************************************************************************************************************/
+    public static String get() {
+        return OVERRIDE.get();
+    }
+
+    /******************************************************************************************************************
+     * Method that removes the write concern requested for the writes of the current thread.
+     *****************************************************************************************************************/
+    public static void clear() {
+        OVERRIDE.remove();
+    }
+}
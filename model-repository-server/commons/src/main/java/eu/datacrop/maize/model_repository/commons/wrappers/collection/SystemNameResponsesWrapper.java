@@ -0,0 +1,133 @@
+package eu.datacrop.maize.model_repository.commons.wrappers.collection;
+
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemNameResponseDto;
+import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
+import eu.datacrop.maize.model_repository.commons.error.messages.SystemErrorMessages;
+import eu.datacrop.maize.model_repository.commons.wrappers.ResponseWrapper;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**********************************************************************************************************************
+ * This class wraps the responses travelling from the persistence layer back to the API for a more complete
+ * reporting of problems / unsuccessful requests on names of IoT Systems. Used for Collections (as opposed to a
+ * Single Object).
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public class SystemNameResponsesWrapper extends ResponseWrapper implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 7170488234065528901L;
+
+    /******************************************************************************************************************
+     * A data transfer object representing a collection of names of IoT Systems to be wrapped while returned as a
+     * response to an HTTP request.
+     *****************************************************************************************************************/
+    private List<SystemNameResponseDto> listOfResponses;
+
+    /******************************************************************************************************************
+     * An error code in case the wrapper is used to report error.
+     *****************************************************************************************************************/
+    private SystemErrorMessages errorCode;
+
+    /******************************************************************************************************************
+     * Constructor of the SystemNameResponsesWrapper class, used for instantiation with "new".
+     *****************************************************************************************************************/
+    public SystemNameResponsesWrapper(ResponseCode code, String message, SystemErrorMessages errorCode) {
+        this.setCode(code);
+        if (code.equals(ResponseCode.SUCCESS)) {
+            this.setMessage("Request has been successful.");
+        } else {
+            this.setMessage(message);
+        }
+        this.listOfResponses = new ArrayList<>();
+        this.errorCode = errorCode;
+    }
+
+    /******************************************************************************************************************
+     * Empty constructor of the SystemNameResponsesWrapper class.
+     *****************************************************************************************************************/
+    public SystemNameResponsesWrapper() {
+        this.setCode(ResponseCode.UNDEFINED);
+        this.setMessage(null);
+        this.listOfResponses = new ArrayList<>();
+        this.errorCode = null;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" function for "listOfResponses" attribute.
+     *
+     * @return The current value of the object's "listOfResponses" attribute.
+     *****************************************************************************************************************/
+    public List<SystemNameResponseDto> getListOfResponses() {
+        if (listOfResponses == null) {
+            listOfResponses = new ArrayList<>();
+        }
+        return listOfResponses;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "listOfResponses" attribute.
+     *
+     * @param listOfResponses A value to assign to the object's "listOfResponses" attribute.
+     *****************************************************************************************************************/
+    public void setListOfResponses(List<SystemNameResponseDto> listOfResponses) {
+        if (listOfResponses == null) {
+            this.listOfResponses = new ArrayList<>();
+        } else {
+            this.listOfResponses = listOfResponses;
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method for gracefully adding SystemNameResponseDto objects to the list.
+     *
+     * @param responseDto A data transfer object to be returned as a result of an HTTP request.
+     *****************************************************************************************************************/
+    public void addResponse(SystemNameResponseDto responseDto) {
+        if (this.listOfResponses == null) {
+            this.listOfResponses = new ArrayList<>();
+        }
+        if (responseDto == null) {
+            return;
+        }
+        this.listOfResponses.add(responseDto);
+    }
+
+    /******************************************************************************************************************
+     * "Getter" function for "errorCode" attribute.
+     *
+     * @return The current value of the object's "errorCode" attribute.
+     *****************************************************************************************************************/
+    public SystemErrorMessages getErrorCode() {
+        return errorCode;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "errorCode" attribute.
+     *
+     * @param errorCode A value to assign to the object's "errorCode" attribute, not null.
+     *****************************************************************************************************************/
+    public void setErrorCode(SystemErrorMessages errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemNameResponsesWrapper object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return "{" +
+                "code=" + super.getCode() +
+                ", message='" + super.getMessage() + '\'' +
+                ", listOfResponses='" + listOfResponses + '\'' +
+                ", errorCode='" + errorCode + '\'' +
+                '}';
+    }
+}
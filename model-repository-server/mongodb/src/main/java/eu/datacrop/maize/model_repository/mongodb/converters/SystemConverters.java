@@ -4,9 +4,19 @@ import eu.datacrop.maize.model_repository.commons.dtos.requests.SystemRequestDto
 import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
 import eu.datacrop.maize.model_repository.commons.error.messages.SystemErrorMessages;
 import eu.datacrop.maize.model_repository.commons.wrappers.PaginationInfo;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.ClusterResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.GeohashCountResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemNameResponsesWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemFacetsResponseWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemJobResponseWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
+import eu.datacrop.maize.model_repository.mongodb.indexes.ClusterGrid;
+import eu.datacrop.maize.model_repository.mongodb.indexes.FacetCounts;
+import eu.datacrop.maize.model_repository.mongodb.indexes.GeohashCounter;
+import eu.datacrop.maize.model_repository.mongodb.indexes.NameTrie;
 import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.SystemJob;
 
 import java.util.List;
 
@@ -81,4 +91,129 @@ public interface SystemConverters {
      * @throws IllegalArgumentException if message parameter is null or an empty string.
      ****************************************************************************************************************/
     SystemResponsesWrapper synthesizeResponsesWrapperForError(ResponseCode code, String message, SystemErrorMessages errorMessage) throws IllegalArgumentException;
+
+    /*****************************************************************************************************************
+     * This method transforms a collection of clusters of Systems into its respective collection of Data Transfer
+     * Responses form. The result is enclosed in a Wrapper object.
+     *
+     * @param clustersList The list of clusters to transform, not null, not empty.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if clustersList parameter is null or corresponds to an empty list.
+     ****************************************************************************************************************/
+    ClusterResponsesWrapper convertClustersToResponseWrapper(List<ClusterGrid.Cluster> clustersList) throws IllegalArgumentException;
+
+    /*****************************************************************************************************************
+     * This method synthesizes a Wrapper object with error messages. To be used when database transactions fail.
+     * Wrapper for clusters version.
+     *
+     * @param code Code indicating why the database transaction has been unsuccessful, not null.
+     * @param message Comment accompanying the error report, not null.
+     * @param errorMessage A code for the particular type of error, not null.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if code parameter is null, or equals to SUCCESS or UNDEFINED.
+     * @throws IllegalArgumentException if message parameter is null or an empty string.
+     ****************************************************************************************************************/
+    ClusterResponsesWrapper synthesizeClusterResponsesWrapperForError(ResponseCode code, String message, SystemErrorMessages errorMessage) throws IllegalArgumentException;
+
+    /*****************************************************************************************************************
+     * This method transforms a collection of counts of Systems per geohash cell into its respective collection of Data Transfer
+     * Responses form. The result is enclosed in a Wrapper object.
+     *
+     * @param bucketsList The list of counts to transform, not null, not empty.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if bucketsList parameter is null or corresponds to an empty list.
+     ****************************************************************************************************************/
+    GeohashCountResponsesWrapper convertBucketsToResponseWrapper(List<GeohashCounter.Bucket> bucketsList) throws IllegalArgumentException;
+
+    /*****************************************************************************************************************
+     * This method synthesizes a Wrapper object with error messages. To be used when database transactions fail.
+     * Wrapper for counts per geohash cell version.
+     *
+     * @param code Code indicating why the database transaction has been unsuccessful, not null.
+     * @param message Comment accompanying the error report, not null.
+     * @param errorMessage A code for the particular type of error, not null.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if code parameter is null, or equals to SUCCESS or UNDEFINED.
+     * @throws IllegalArgumentException if message parameter is null or an empty string.
+     ****************************************************************************************************************/
+    GeohashCountResponsesWrapper synthesizeGeohashCountResponsesWrapperForError(ResponseCode code, String message, SystemErrorMessages errorMessage) throws IllegalArgumentException;
+
+    /*****************************************************************************************************************
+     * This method transforms a collection of names of Systems matching an autocomplete prefix into its respective
+     * collection of Data Transfer Responses form. The result is enclosed in a Wrapper object.
+     *
+     * @param matchesList The list of matched names to transform, not null, not empty.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if matchesList parameter is null or corresponds to an empty list.
+     ****************************************************************************************************************/
+    SystemNameResponsesWrapper convertMatchesToResponseWrapper(List<NameTrie.Match> matchesList) throws IllegalArgumentException;
+
+    /*****************************************************************************************************************
+     * This method synthesizes a Wrapper object with error messages. To be used when database transactions fail.
+     * Wrapper for names of Systems version.
+     *
+     * @param code Code indicating why the database transaction has been unsuccessful, not null.
+     * @param message Comment accompanying the error report, not null.
+     * @param errorMessage A code for the particular type of error, not null.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if code parameter is null, or equals to SUCCESS or UNDEFINED.
+     * @throws IllegalArgumentException if message parameter is null or an empty string.
+     ****************************************************************************************************************/
+    SystemNameResponsesWrapper synthesizeSystemNameResponsesWrapperForError(ResponseCode code, String message, SystemErrorMessages errorMessage) throws IllegalArgumentException;
+
+    /*****************************************************************************************************************
+     * This method transforms a summary of the Systems (counts per organization and per type of location) into its
+     * respective Data Transfer Response form. The result is enclosed in a Wrapper object.
+     *
+     * @param counts The summary to transform, not null.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if counts parameter is null.
+     ****************************************************************************************************************/
+    SystemFacetsResponseWrapper convertFacetsToResponseWrapper(FacetCounts counts) throws IllegalArgumentException;
+
+    /*****************************************************************************************************************
+     * This method synthesizes a Wrapper object with error messages. To be used when database transactions fail.
+     * Wrapper for summaries of Systems version.
+     *
+     * @param code Code indicating why the database transaction has been unsuccessful, not null.
+     * @param message Comment accompanying the error report, not null.
+     * @param errorMessage A code for the particular type of error, not null.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if code parameter is null, or equals to SUCCESS or UNDEFINED.
+     * @throws IllegalArgumentException if message parameter is null or an empty string.
+     ****************************************************************************************************************/
+    SystemFacetsResponseWrapper synthesizeFacetsResponseWrapperForError(ResponseCode code, String message, SystemErrorMessages errorMessage) throws IllegalArgumentException;
+
+    /*****************************************************************************************************************
+     * This method transforms a Job into its respective Data Transfer Response form. The result is enclosed in a
+     * Wrapper object.
+     *
+     * @param job The Job to transform, not null.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if job parameter is null.
+     ****************************************************************************************************************/
+    SystemJobResponseWrapper convertJobToResponseWrapper(SystemJob job) throws IllegalArgumentException;
+
+    /*****************************************************************************************************************
+     * This method synthesizes a Wrapper object with error messages. To be used when database transactions fail.
+     * Wrapper for Jobs version.
+     *
+     * @param code Code indicating why the database transaction has been unsuccessful, not null.
+     * @param message Comment accompanying the error report, not null.
+     * @param errorMessage A code for the particular type of error, not null.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if code parameter is null, or equals to SUCCESS or UNDEFINED.
+     * @throws IllegalArgumentException if message parameter is null or an empty string.
+     ****************************************************************************************************************/
+    SystemJobResponseWrapper synthesizeJobResponseWrapperForError(ResponseCode code, String message, SystemErrorMessages errorMessage) throws IllegalArgumentException;
 }
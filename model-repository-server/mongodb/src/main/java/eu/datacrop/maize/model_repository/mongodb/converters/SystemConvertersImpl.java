@@ -1,15 +1,30 @@
 package eu.datacrop.maize.model_repository.mongodb.converters;
 
 import eu.datacrop.maize.model_repository.commons.dtos.requests.SystemRequestDto;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.ClusterResponseDto;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.GeohashCountResponseDto;
 import eu.datacrop.maize.model_repository.commons.dtos.responses.LocationResponseDto;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemFacetsResponseDto;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemJobResponseDto;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemNameResponseDto;
 import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
 import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
 import eu.datacrop.maize.model_repository.commons.error.messages.SystemErrorMessages;
 import eu.datacrop.maize.model_repository.commons.wrappers.PaginationInfo;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.ClusterResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.GeohashCountResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemNameResponsesWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemFacetsResponseWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemJobResponseWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
 import eu.datacrop.maize.model_repository.mongodb.converters.auxiliary.LocationConverters;
+import eu.datacrop.maize.model_repository.mongodb.indexes.ClusterGrid;
+import eu.datacrop.maize.model_repository.mongodb.indexes.FacetCounts;
+import eu.datacrop.maize.model_repository.mongodb.indexes.GeohashCounter;
+import eu.datacrop.maize.model_repository.mongodb.indexes.NameTrie;
 import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.SystemJob;
 import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.Location;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +32,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.UUID;
 
@@ -100,6 +116,8 @@ public class SystemConvertersImpl implements SystemConverters {
                 .location(location)
                 .organization(entity.getOrganization())
                 .additionalInformation(entity.getAdditionalInformation())
+                .additionalInformationDetached(entity.isAdditionalInformationDetached() ? Boolean.TRUE : null)
+                .version(entity.getVersion())
                 .creationDate(entity.getCreationDate())
                 .latestUpdateDate(entity.getLatestUpdateDate())
                 .build();
@@ -147,8 +165,11 @@ public class SystemConvertersImpl implements SystemConverters {
                     .location(location)
                     .organization(entity.getOrganization())
                     .additionalInformation(entity.getAdditionalInformation())
+                    .additionalInformationDetached(entity.isAdditionalInformationDetached() ? Boolean.TRUE : null)
+                    .version(entity.getVersion())
                     .creationDate(entity.getCreationDate())
                     .latestUpdateDate(entity.getLatestUpdateDate())
+                    .score(entity.getScore())
                     .build();
 
             responseDtoList.add(responseDto);
@@ -224,5 +245,350 @@ public class SystemConvertersImpl implements SystemConverters {
         return wrapper;
     }
 
+    /*****************************************************************************************************************
+     * This method transforms a collection of clusters of Systems into its respective collection of Data Transfer
+     * Responses form. The result is enclosed in a Wrapper object.
+     *
+     * @param clustersList The list of clusters to transform, not null, not empty.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if clustersList parameter is null or corresponds to an empty list.
+     ****************************************************************************************************************/
+    @Override
+    public ClusterResponsesWrapper convertClustersToResponseWrapper(List<ClusterGrid.Cluster> clustersList) throws IllegalArgumentException {
+
+        if (clustersList == null || clustersList.isEmpty()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method convertClustersToResponseWrapper().");
+        }
+
+        List<ClusterResponseDto> responseDtoList = new ArrayList<>();
+
+        // Performing transformation of contents.
+        for (ClusterGrid.Cluster cluster : clustersList) {
+
+            ClusterResponseDto responseDto = ClusterResponseDto.builder()
+                    .latitude(cluster.getLatitude())
+                    .longitude(cluster.getLongitude())
+                    .count(cluster.getCount())
+                    .systemId(cluster.getId())
+                    .build();
+
+            responseDtoList.add(responseDto);
+        }
+
+        // Wrapping the result.
+        ClusterResponsesWrapper wrapper = new ClusterResponsesWrapper();
+        wrapper.setCode(ResponseCode.SUCCESS);
+        wrapper.setMessage("Database transaction successfully concluded.");
+        wrapper.setListOfResponses(responseDtoList);
+
+        log.debug("Successfully converted clusters list to ResponseWrapper for Systems.");
+
+        return wrapper;
+    }
+
+    /*****************************************************************************************************************
+     * This method synthesizes a Wrapper object with error messages. To be used when database transactions fail.
+     * Wrapper for clusters version.
+     *
+     * @param code Code indicating why the database transaction has been unsuccessful, not null.
+     * @param message Comment accompanying the error report, not null.
+     * @param errorMessage A code for the particular type of error, not null.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if code parameter is null, or equals to SUCCESS or UNDEFINED.
+     * @throws IllegalArgumentException if message parameter is null or an empty string.
+     ****************************************************************************************************************/
+    @Override
+    public ClusterResponsesWrapper synthesizeClusterResponsesWrapperForError(ResponseCode code, String message, SystemErrorMessages errorMessage) throws IllegalArgumentException {
+        if (code == null || code.equals(ResponseCode.SUCCESS) || code.equals(ResponseCode.UNDEFINED) || message.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method synthesizeClusterResponsesWrapperForError().");
+        }
+
+        ClusterResponsesWrapper wrapper = new ClusterResponsesWrapper();
+        wrapper.setCode(code);
+        wrapper.setMessage(message);
+        wrapper.setListOfResponses(new ArrayList<>());
+        wrapper.setErrorCode(errorMessage);
+
+        log.debug("Successfully produced ResponseWrapper for unsuccessful database transaction.");
+
+        return wrapper;
+    }
+
+    /*****************************************************************************************************************
+     * This method transforms a collection of counts of Systems per geohash cell into its respective collection of Data Transfer
+     * Responses form. The result is enclosed in a Wrapper object.
+     *
+     * @param bucketsList The list of counts to transform, not null, not empty.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if bucketsList parameter is null or corresponds to an empty list.
+     ****************************************************************************************************************/
+    @Override
+    public GeohashCountResponsesWrapper convertBucketsToResponseWrapper(List<GeohashCounter.Bucket> bucketsList) throws IllegalArgumentException {
+
+        if (bucketsList == null || bucketsList.isEmpty()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method convertBucketsToResponseWrapper().");
+        }
+
+        List<GeohashCountResponseDto> responseDtoList = new ArrayList<>();
+
+        // Performing transformation of contents.
+        for (GeohashCounter.Bucket bucket : bucketsList) {
+
+            GeohashCountResponseDto responseDto = GeohashCountResponseDto.builder()
+                    .latitude(bucket.getLatitude())
+                    .longitude(bucket.getLongitude())
+                    .count(bucket.getCount())
+                    .geohash(bucket.getGeohash())
+                    .build();
+
+            responseDtoList.add(responseDto);
+        }
+
+        // Wrapping the result.
+        GeohashCountResponsesWrapper wrapper = new GeohashCountResponsesWrapper();
+        wrapper.setCode(ResponseCode.SUCCESS);
+        wrapper.setMessage("Database transaction successfully concluded.");
+        wrapper.setListOfResponses(responseDtoList);
+
+        log.debug("Successfully converted geohash counts list to ResponseWrapper for Systems.");
 
+        return wrapper;
+    }
+
+    /*****************************************************************************************************************
+     * This method synthesizes a Wrapper object with error messages. To be used when database transactions fail.
+     * Wrapper for counts per geohash cell version.
+     *
+     * @param code Code indicating why the database transaction has been unsuccessful, not null.
+     * @param message Comment accompanying the error report, not null.
+     * @param errorMessage A code for the particular type of error, not null.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if code parameter is null, or equals to SUCCESS or UNDEFINED.
+     * @throws IllegalArgumentException if message parameter is null or an empty string.
+     ****************************************************************************************************************/
+    @Override
+    public GeohashCountResponsesWrapper synthesizeGeohashCountResponsesWrapperForError(ResponseCode code, String message, SystemErrorMessages errorMessage) throws IllegalArgumentException {
+        if (code == null || code.equals(ResponseCode.SUCCESS) || code.equals(ResponseCode.UNDEFINED) || message.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method synthesizeGeohashCountResponsesWrapperForError().");
+        }
+
+        GeohashCountResponsesWrapper wrapper = new GeohashCountResponsesWrapper();
+        wrapper.setCode(code);
+        wrapper.setMessage(message);
+        wrapper.setListOfResponses(new ArrayList<>());
+        wrapper.setErrorCode(errorMessage);
+
+        log.debug("Successfully produced ResponseWrapper for unsuccessful database transaction.");
+
+        return wrapper;
+    }
+
+    /*****************************************************************************************************************
+     * This method transforms a collection of names of Systems matching an autocomplete prefix into its respective
+     * collection of Data Transfer Responses form. The result is enclosed in a Wrapper object.
+     *
+     * @param matchesList The list of matched names to transform, not null, not empty.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if matchesList parameter is null or corresponds to an empty list.
+     ****************************************************************************************************************/
+    @Override
+    public SystemNameResponsesWrapper convertMatchesToResponseWrapper(List<NameTrie.Match> matchesList) throws IllegalArgumentException {
+
+        if (matchesList == null || matchesList.isEmpty()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method convertMatchesToResponseWrapper().");
+        }
+
+        List<SystemNameResponseDto> responseDtoList = new ArrayList<>();
+
+        // Performing transformation of contents.
+        for (NameTrie.Match match : matchesList) {
+
+            SystemNameResponseDto responseDto = SystemNameResponseDto.builder()
+                    .id(match.getId())
+                    .name(match.getName())
+                    .build();
+
+            responseDtoList.add(responseDto);
+        }
+
+        // Wrapping the result.
+        SystemNameResponsesWrapper wrapper = new SystemNameResponsesWrapper();
+        wrapper.setCode(ResponseCode.SUCCESS);
+        wrapper.setMessage("Database transaction successfully concluded.");
+        wrapper.setListOfResponses(responseDtoList);
+
+        log.debug("Successfully converted name matches list to ResponseWrapper for Systems.");
+
+        return wrapper;
+    }
+
+    /*****************************************************************************************************************
+     * This method synthesizes a Wrapper object with error messages. To be used when database transactions fail.
+     * Wrapper for names of Systems version.
+     *
+     * @param code Code indicating why the database transaction has been unsuccessful, not null.
+     * @param message Comment accompanying the error report, not null.
+     * @param errorMessage A code for the particular type of error, not null.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if code parameter is null, or equals to SUCCESS or UNDEFINED.
+     * @throws IllegalArgumentException if message parameter is null or an empty string.
+     ****************************************************************************************************************/
+    @Override
+    public SystemNameResponsesWrapper synthesizeSystemNameResponsesWrapperForError(ResponseCode code, String message, SystemErrorMessages errorMessage) throws IllegalArgumentException {
+        if (code == null || code.equals(ResponseCode.SUCCESS) || code.equals(ResponseCode.UNDEFINED) || message.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method synthesizeSystemNameResponsesWrapperForError().");
+        }
+
+        SystemNameResponsesWrapper wrapper = new SystemNameResponsesWrapper();
+        wrapper.setCode(code);
+        wrapper.setMessage(message);
+        wrapper.setListOfResponses(new ArrayList<>());
+        wrapper.setErrorCode(errorMessage);
+
+        log.debug("Successfully produced ResponseWrapper for unsuccessful database transaction.");
+
+        return wrapper;
+    }
+
+    /*****************************************************************************************************************
+     * This method transforms a summary of the Systems (counts per organization and per type of location) into its
+     * respective Data Transfer Response form. The result is enclosed in a Wrapper object.
+     *
+     * @param counts The summary to transform, not null.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if counts parameter is null.
+     ****************************************************************************************************************/
+    @Override
+    public SystemFacetsResponseWrapper convertFacetsToResponseWrapper(FacetCounts counts) throws IllegalArgumentException {
+
+        if (counts == null) {
+            throw new IllegalArgumentException("Invalid parameter detected for method convertFacetsToResponseWrapper().");
+        }
+
+        // Performing transformation of contents.
+        SystemFacetsResponseDto responseDto = SystemFacetsResponseDto.builder()
+                .total(counts.getTotal())
+                .geoLocated(counts.getGeoLocated())
+                .virtualLocated(counts.getVirtualLocated())
+                .withoutOrganization(counts.getWithoutOrganization())
+                .organizations(new LinkedHashMap<>(counts.getOrganizations()))
+                .build();
+
+        // Wrapping the result.
+        SystemFacetsResponseWrapper wrapper = new SystemFacetsResponseWrapper();
+        wrapper.setCode(ResponseCode.SUCCESS);
+        wrapper.setMessage("Database transaction successfully concluded.");
+        wrapper.setResponse(responseDto);
+
+        log.debug("Successfully converted facet counts to ResponseWrapper for Systems.");
+
+        return wrapper;
+    }
+
+    /*****************************************************************************************************************
+     * This method synthesizes a Wrapper object with error messages. To be used when database transactions fail.
+     * Wrapper for summaries of Systems version.
+     *
+     * @param code Code indicating why the database transaction has been unsuccessful, not null.
+     * @param message Comment accompanying the error report, not null.
+     * @param errorMessage A code for the particular type of error, not null.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if code parameter is null, or equals to SUCCESS or UNDEFINED.
+     * @throws IllegalArgumentException if message parameter is null or an empty string.
+     ****************************************************************************************************************/
+    @Override
+    public SystemFacetsResponseWrapper synthesizeFacetsResponseWrapperForError(ResponseCode code, String message, SystemErrorMessages errorMessage) throws IllegalArgumentException {
+        if (code == null || code.equals(ResponseCode.SUCCESS) || code.equals(ResponseCode.UNDEFINED) || message.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method synthesizeFacetsResponseWrapperForError().");
+        }
+
+        SystemFacetsResponseWrapper wrapper = new SystemFacetsResponseWrapper();
+        wrapper.setCode(code);
+        wrapper.setMessage(message);
+        wrapper.setResponse(null);
+        wrapper.setErrorCode(errorMessage);
+
+        log.debug("Successfully produced ResponseWrapper for unsuccessful database transaction.");
+
+        return wrapper;
+    }
+
+    /*****************************************************************************************************************
+     * This method transforms a Job into its respective Data Transfer Response form. The result is enclosed in a
+     * Wrapper object.
+     *
+     * @param job The Job to transform, not null.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if job parameter is null.
+     ****************************************************************************************************************/
+    @Override
+    public SystemJobResponseWrapper convertJobToResponseWrapper(SystemJob job) throws IllegalArgumentException {
+
+        if (job == null) {
+            throw new IllegalArgumentException("Invalid parameter detected for method convertJobToResponseWrapper().");
+        }
+
+        // Performing transformation of contents.
+        SystemJobResponseDto responseDto = SystemJobResponseDto.builder()
+                .id(job.getId())
+                .operation(job.getType().toString())
+                .status(job.getStatus())
+                .processed(job.getProcessed())
+                .total(job.getTotal())
+                .cancellationRequested(job.isCancellationRequested())
+                .message(job.getMessage())
+                .creationDate(job.getCreationDate())
+                .startDate(job.getStartDate())
+                .latestUpdateDate(job.getLatestUpdateDate())
+                .endDate(job.getEndDate())
+                .build();
+
+        // Wrapping the result.
+        SystemJobResponseWrapper wrapper = new SystemJobResponseWrapper();
+        wrapper.setCode(ResponseCode.SUCCESS);
+        wrapper.setMessage("Database transaction successfully concluded.");
+        wrapper.setResponse(responseDto);
+
+        log.debug("Successfully converted Job to ResponseWrapper.");
+
+        return wrapper;
+    }
+
+    /*****************************************************************************************************************
+     * This method synthesizes a Wrapper object with error messages. To be used when database transactions fail.
+     * Wrapper for Jobs version.
+     *
+     * @param code Code indicating why the database transaction has been unsuccessful, not null.
+     * @param message Comment accompanying the error report, not null.
+     * @param errorMessage A code for the particular type of error, not null.
+     * @return The result of the transformation.
+     *
+     * @throws IllegalArgumentException if code parameter is null, or equals to SUCCESS or UNDEFINED.
+     * @throws IllegalArgumentException if message parameter is null or an empty string.
+     ****************************************************************************************************************/
+    @Override
+    public SystemJobResponseWrapper synthesizeJobResponseWrapperForError(ResponseCode code, String message, SystemErrorMessages errorMessage) throws IllegalArgumentException {
+        if (code == null || code.equals(ResponseCode.SUCCESS) || code.equals(ResponseCode.UNDEFINED) || message.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method synthesizeJobResponseWrapperForError().");
+        }
+
+        SystemJobResponseWrapper wrapper = new SystemJobResponseWrapper();
+        wrapper.setCode(code);
+        wrapper.setMessage(message);
+        wrapper.setResponse(null);
+        wrapper.setErrorCode(errorMessage);
+
+        log.debug("Successfully produced ResponseWrapper for unsuccessful database transaction.");
+
+        return wrapper;
+    }
 }
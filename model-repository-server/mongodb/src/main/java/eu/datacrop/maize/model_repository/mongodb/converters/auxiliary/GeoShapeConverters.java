@@ -0,0 +1,42 @@
+package eu.datacrop.maize.model_repository.mongodb.converters.auxiliary;
+
+import eu.datacrop.maize.model_repository.commons.dtos.requests.PolygonRequestDto;
+import org.springframework.data.mongodb.core.geo.GeoJsonMultiPolygon;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+
+/**********************************************************************************************************************
+ * This auxiliary interface defines transformations of search areas (bounding boxes and Polygons) to the GeoJSON
+ * geometries used by geospatial containment queries in MongoDb.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public interface GeoShapeConverters {
+
+    /*****************************************************************************************************************
+     * This method transforms a bounding box into a GeoJSON MultiPolygon. Since GeoJSON edges are geodesics, the
+     * edges along parallels are densified and wide boxes are split into narrower parts, so that the resulting
+     * geometry follows the parallels closely and never spans a hemisphere.
+     *
+     * @param  minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param  minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param  maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param  maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @return the result of the transformation.
+     *
+     * @throws IllegalArgumentException if the bounding box is not well-formed.
+     ****************************************************************************************************************/
+    GeoJsonMultiPolygon convertBoundingBoxToGeoJson(double minLatitude, double minLongitude,
+                                                    double maxLatitude, double maxLongitude) throws IllegalArgumentException;
+
+    /*****************************************************************************************************************
+     * This method transforms a Polygon Request Data Transfer Object into a GeoJSON Polygon, closing its ring
+     * if necessary.
+     *
+     * @param  dto the data transfer object to transform, not null.
+     * @return the result of the transformation.
+     *
+     * @throws IllegalArgumentException if dto parameter is null or does not describe a valid Polygon.
+     ****************************************************************************************************************/
+    GeoJsonPolygon convertPolygonDtoToGeoJson(PolygonRequestDto dto) throws IllegalArgumentException;
+}
@@ -0,0 +1,133 @@
+package eu.datacrop.maize.model_repository.mongodb.converters.auxiliary;
+
+import eu.datacrop.maize.model_repository.commons.dtos.requests.PolygonRequestDto;
+import eu.datacrop.maize.model_repository.commons.util.ValidatorCoordinates;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.geo.GeoJsonMultiPolygon;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**********************************************************************************************************************
+ * This auxiliary class performs transformations of search areas (bounding boxes and Polygons) to the GeoJSON
+ * geometries used by geospatial containment queries in MongoDb.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Service
+public class GeoShapeConvertersImpl implements GeoShapeConverters {
+
+    /******************************************************************************************************************
+     * The maximum longitudinal extent (in degrees) of each part of a bounding box.
+     *****************************************************************************************************************/
+    private static final double MAX_PART_WIDTH = 90.0;
+
+    /******************************************************************************************************************
+     * The maximum longitudinal distance (in degrees) between consecutive vertices along a parallel.
+     *****************************************************************************************************************/
+    private static final double MAX_EDGE_STEP = 1.0;
+
+    /*****************************************************************************************************************
+     * This method transforms a bounding box into a GeoJSON MultiPolygon. Since GeoJSON edges are geodesics, the
+     * edges along parallels are densified and wide boxes are split into narrower parts, so that the resulting
+     * geometry follows the parallels closely and never spans a hemisphere.
+     *
+     * @param  minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param  minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param  maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param  maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @return the result of the transformation.
+     *
+     * @throws IllegalArgumentException if the bounding box is not well-formed.
+     ****************************************************************************************************************/
+    @Override
+    public GeoJsonMultiPolygon convertBoundingBoxToGeoJson(double minLatitude, double minLongitude,
+                                                           double maxLatitude, double maxLongitude) throws IllegalArgumentException {
+
+        if (ValidatorCoordinates.isValidBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude).equals(Boolean.FALSE)) {
+            throw new IllegalArgumentException("Invalid parameter detected for method convertBoundingBoxToGeoJson().");
+        }
+
+        // Splitting the box into parts of limited width.
+        int parts = (int) Math.ceil((maxLongitude - minLongitude) / MAX_PART_WIDTH);
+        double partWidth = (maxLongitude - minLongitude) / parts;
+
+        List<GeoJsonPolygon> polygons = new ArrayList<>(parts);
+        for (int i = 0; i < parts; i++) {
+            double west = minLongitude + i * partWidth;
+            double east = (i == parts - 1) ? maxLongitude : west + partWidth;
+            polygons.add(synthesizeBoxPart(minLatitude, west, maxLatitude, east));
+        }
+
+        log.debug("Successfully converted bounding box to GeoJSON MultiPolygon of {} part(s).", parts);
+
+        return new GeoJsonMultiPolygon(polygons);
+    }
+
+    /*****************************************************************************************************************
+     * This method transforms a Polygon Request Data Transfer Object into a GeoJSON Polygon, closing its ring
+     * if necessary.
+     *
+     * @param  dto the data transfer object to transform, not null.
+     * @return the result of the transformation.
+     *
+     * @throws IllegalArgumentException if dto parameter is null or does not describe a valid Polygon.
+     ****************************************************************************************************************/
+    @Override
+    public GeoJsonPolygon convertPolygonDtoToGeoJson(PolygonRequestDto dto) throws IllegalArgumentException {
+
+        if (dto == null || ValidatorCoordinates.isValidPolygon(dto.getVertices()).equals(Boolean.FALSE)) {
+            throw new IllegalArgumentException("Invalid parameter detected for method convertPolygonDtoToGeoJson().");
+        }
+
+        // GeoJSON expects (longitude, latitude) pairs and a closed ring.
+        List<Point> ring = new ArrayList<>(dto.getVertices().size() + 1);
+        for (PolygonRequestDto.VertexRequestDto vertex : dto.getVertices()) {
+            ring.add(new Point(vertex.getLongitude(), vertex.getLatitude()));
+        }
+        if (!ring.get(0).equals(ring.get(ring.size() - 1))) {
+            ring.add(ring.get(0));
+        }
+
+        log.debug("Successfully converted RequestDto to GeoJSON Polygon of {} vertices.", ring.size());
+
+        return new GeoJsonPolygon(ring);
+    }
+
+    /*****************************************************************************************************************
+     * This method produces a single GeoJSON Polygon for a narrow bounding box, densifying its edges along parallels.
+     *
+     * @param  south The southern latitude of the part.
+     * @param  west The western longitude of the part.
+     * @param  north The northern latitude of the part.
+     * @param  east The eastern longitude of the part.
+     * @return the resulting Polygon.
+     ****************************************************************************************************************/
+    private GeoJsonPolygon synthesizeBoxPart(double south, double west, double north, double east) {
+
+        int steps = Math.max(1, (int) Math.ceil((east - west) / MAX_EDGE_STEP));
+        double step = (east - west) / steps;
+
+        List<Point> ring = new ArrayList<>(2 * steps + 3);
+
+        // Southern edge, from west to east.
+        for (int i = 0; i <= steps; i++) {
+            ring.add(new Point((i == steps) ? east : west + i * step, south));
+        }
+
+        // Northern edge, from east to west.
+        for (int i = steps; i >= 0; i--) {
+            ring.add(new Point((i == steps) ? east : west + i * step, north));
+        }
+
+        // Closing the ring.
+        ring.add(ring.get(0));
+
+        return new GeoJsonPolygon(ring);
+    }
+}
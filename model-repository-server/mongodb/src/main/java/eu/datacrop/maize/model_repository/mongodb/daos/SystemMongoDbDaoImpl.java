@@ -129,7 +129,7 @@ public class SystemMongoDbDaoImpl implements SystemMongoDbDao {
         SystemResponseWrapper wrapper;
         String message;
         try {
-            wrapper = services.updateSystem(requestDto, databaseID);
+            wrapper = services.updateSystem(requestDto, databaseID, null);
         } catch (NonUuidArgumentException e) {
             message = SystemErrorMessages.INVALID_PARAMETER_FORMAT.toString();
             log.error(message);
@@ -155,7 +155,7 @@ public class SystemMongoDbDaoImpl implements SystemMongoDbDao {
         SystemResponseWrapper wrapper;
         String message;
         try {
-            wrapper = services.deleteSystem(databaseID);
+            wrapper = services.deleteSystem(databaseID, null);
         } catch (NonUuidArgumentException e) {
             message = SystemErrorMessages.INVALID_PARAMETER_FORMAT.toString();
             log.error(message);
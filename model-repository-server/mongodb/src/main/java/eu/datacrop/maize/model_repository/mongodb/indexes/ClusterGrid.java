@@ -0,0 +1,322 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**********************************************************************************************************************
+ * This class maintains hierarchical clusters of geographical points for every zoom level of a Web Mercator map, in
+ * the spirit of "supercluster". At each zoom level the map is divided into square cells (4x4 per 256px tile, i.e.
+ * cells of ~64px); each non-empty cell is a cluster holding the number of its points and the sum of their projected
+ * coordinates (hence its centroid). The grids of consecutive zoom levels are nested, so every point belongs to
+ * exactly one cell per level and a write touches one cell per level. Projected coordinates are stored as 32-bit fixed
+ * point numbers, so that sums remain exact however many points are added and removed.
+ *
+ * Writes must be serialized by the caller. Queries may run concurrently: cells are immutable and are replaced
+ * atomically, so a query never observes a half-updated cell.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public final class ClusterGrid {
+
+    /******************************************************************************************************************
+     * The maximum zoom level supported (as in "supercluster"). At this level cells are ~150 meters wide at the equator.
+     *****************************************************************************************************************/
+    public static final int MAX_ZOOM = 16;
+
+    /******************************************************************************************************************
+     * The number of bits dividing a map tile into cells (2 bits: 4x4 cells per tile).
+     *****************************************************************************************************************/
+    private static final int CELL_BITS = 2;
+
+    /******************************************************************************************************************
+     * The scale of the fixed point projected coordinates (2^32).
+     *****************************************************************************************************************/
+    private static final double SCALE = 4294967296.0;
+
+    /******************************************************************************************************************
+     * The maximum latitude representable in Web Mercator.
+     *****************************************************************************************************************/
+    private static final double MAX_LATITUDE = 85.0511287798066;
+
+    /******************************************************************************************************************
+     * The cells of each zoom level, keyed by column (most significant half) and row (least significant half).
+     *****************************************************************************************************************/
+    private final List<ConcurrentSkipListMap<Long, Cell>> levels;
+
+    /******************************************************************************************************************
+     * The identifiers of the points of each cell at the maximum zoom level (immutable sets).
+     *****************************************************************************************************************/
+    private final Map<Long, Set<String>> members = new ConcurrentHashMap<>();
+
+    /******************************************************************************************************************
+     * The projected coordinates of each point, by identifier (accessed only by writers).
+     *****************************************************************************************************************/
+    private final Map<String, long[]> points = new HashMap<>();
+
+    /******************************************************************************************************************
+     * Constructor of the ClusterGrid class.
+     *****************************************************************************************************************/
+    public ClusterGrid() {
+        this.levels = new ArrayList<>(MAX_ZOOM + 1);
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            this.levels.add(new ConcurrentSkipListMap<>());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that adds a point, or moves it if a point with the same identifier already exists.
+     *
+     * @param id The identifier of the point, not null.
+     * @param latitude The latitude of the point, in decimal degrees.
+     * @param longitude The longitude of the point, in decimal degrees.
+     *****************************************************************************************************************/
+    public void add(String id, double latitude, double longitude) {
+
+        long x = projectX(longitude);
+        long y = projectY(latitude);
+
+        long[] previous = points.get(id);
+        if (previous != null) {
+            if (previous[0] == x && previous[1] == y) {
+                return;
+            }
+            remove(id);
+        }
+
+        points.put(id, new long[]{x, y});
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            levels.get(zoom).merge(key(zoom, x, y), new Cell(1, x, y), Cell::plus);
+        }
+        members.merge(key(MAX_ZOOM, x, y), Set.of(id), (current, added) -> {
+            Set<String> result = new HashSet<>(current);
+            result.add(id);
+            return Collections.unmodifiableSet(result);
+        });
+    }
+
+    /******************************************************************************************************************
+     * Method that removes a point, if present.
+     *
+     * @param id The identifier of the point, not null.
+     *****************************************************************************************************************/
+    public void remove(String id) {
+
+        long[] point = points.remove(id);
+        if (point == null) {
+            return;
+        }
+
+        long x = point[0];
+        long y = point[1];
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            levels.get(zoom).computeIfPresent(key(zoom, x, y), (k, cell) -> cell.minus(x, y));
+        }
+        members.computeIfPresent(key(MAX_ZOOM, x, y), (k, current) -> {
+            Set<String> result = new HashSet<>(current);
+            result.remove(id);
+            return result.isEmpty() ? null : Collections.unmodifiableSet(result);
+        });
+    }
+
+    /******************************************************************************************************************
+     * Method that reports the number of points.
+     *
+     * @return The number of points in the grid.
+     *****************************************************************************************************************/
+    public int size() {
+        return points.size();
+    }
+
+    /******************************************************************************************************************
+     * Method that reports the number of columns (and rows) of cells into which the map is divided at a zoom level.
+     *
+     * @param zoom The zoom level, within [0, MAX_ZOOM].
+     * @return The number of columns of cells, a power of two.
+     *****************************************************************************************************************/
+    public static long cellsPerSide(int zoom) {
+        return 1L << (zoom + CELL_BITS);
+    }
+
+    /******************************************************************************************************************
+     * Method that produces the cluster of a cell whose points have been counted elsewhere (e.g. by the database).
+     *
+     * @param x The mean projected longitude of the points of the cell, within [0, 1].
+     * @param y The mean projected latitude of the points of the cell, within [0, 1].
+     * @param count The number of points of the cell, positive.
+     * @param id The identifier of the single point of the cell, null if the cell holds several points.
+     * @return The cluster of the cell.
+     *****************************************************************************************************************/
+    public static Cluster toCluster(double x, double y, int count, String id) {
+        return new Cluster(unprojectY(y * SCALE), unprojectX(x * SCALE), count, (count == 1) ? id : null);
+    }
+
+    /******************************************************************************************************************
+     * Method that retrieves the clusters of a zoom level whose cells intersect a viewport.
+     *
+     * @param zoom The zoom level, within [0, MAX_ZOOM].
+     * @param minLatitude The latitude of the south-west corner of the viewport, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner of the viewport, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner of the viewport, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner of the viewport, in decimal degrees.
+     * @return The clusters, ordered by column and row of their cells.
+     *****************************************************************************************************************/
+    public List<Cluster> query(int zoom, double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+        int shift = 32 - (zoom + CELL_BITS);
+        long minColumn = projectX(minLongitude) >>> shift;
+        long maxColumn = projectX(maxLongitude) >>> shift;
+        long minRow = projectY(maxLatitude) >>> shift;
+        long maxRow = projectY(minLatitude) >>> shift;
+
+        List<Cluster> clusters = new ArrayList<>();
+        for (Map.Entry<Long, Cell> entry : levels.get(zoom)
+                .subMap((minColumn << 32) | minRow, true, (maxColumn << 32) | maxRow, true).entrySet()) {
+
+            long row = entry.getKey() & 0xFFFFFFFFL;
+            Cell cell = entry.getValue();
+            if (row < minRow || row > maxRow || cell.count <= 0) {
+                continue;
+            }
+
+            double x = (double) cell.sumX / cell.count;
+            double y = (double) cell.sumY / cell.count;
+            String id = null;
+            if (cell.count == 1) {
+                Set<String> ids = members.get(key(MAX_ZOOM, cell.sumX, cell.sumY));
+                if (ids != null && ids.size() == 1) {
+                    id = ids.iterator().next();
+                }
+            }
+            clusters.add(new Cluster(unprojectY(y), unprojectX(x), cell.count, id));
+        }
+        return clusters;
+    }
+
+    /******************************************************************************************************************
+     * Method that produces the key of the cell containing a projected point at a zoom level.
+     *****************************************************************************************************************/
+    private static long key(int zoom, long x, long y) {
+        int shift = 32 - (zoom + CELL_BITS);
+        return ((x >>> shift) << 32) | (y >>> shift);
+    }
+
+    /******************************************************************************************************************
+     * Methods that project coordinates to fixed point Web Mercator coordinates (x eastwards, y southwards) and back.
+     *****************************************************************************************************************/
+    private static long projectX(double longitude) {
+        double x = (longitude + 180.0) / 360.0;
+        return clamp((long) Math.floor(x * SCALE));
+    }
+
+    private static long projectY(double latitude) {
+        double sin = Math.sin(Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude))));
+        double y = 0.5 - Math.log((1.0 + sin) / (1.0 - sin)) / (4.0 * Math.PI);
+        return clamp((long) Math.floor(y * SCALE));
+    }
+
+    private static double unprojectX(double x) {
+        return x / SCALE * 360.0 - 180.0;
+    }
+
+    private static double unprojectY(double y) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1.0 - 2.0 * y / SCALE))));
+    }
+
+    private static long clamp(long value) {
+        return Math.max(0L, Math.min((long) SCALE - 1L, value));
+    }
+
+    /******************************************************************************************************************
+     * This inner class represents the (immutable) aggregated state of a cell.
+     *****************************************************************************************************************/
+    private static final class Cell {
+
+        private final int count;
+
+        private final long sumX;
+
+        private final long sumY;
+
+        private Cell(int count, long sumX, long sumY) {
+            this.count = count;
+            this.sumX = sumX;
+            this.sumY = sumY;
+        }
+
+        private Cell plus(Cell other) {
+            return new Cell(count + other.count, sumX + other.sumX, sumY + other.sumY);
+        }
+
+        private Cell minus(long x, long y) {
+            return (count <= 1) ? null : new Cell(count - 1, sumX - x, sumY - y);
+        }
+    }
+
+    /******************************************************************************************************************
+     * This inner class represents a cluster returned by queries: the centroid and the number of its points, along
+     * with the identifier of the point if the cluster consists of a single one.
+     *****************************************************************************************************************/
+    public static final class Cluster {
+
+        private final double latitude;
+
+        private final double longitude;
+
+        private final int count;
+
+        private final String id;
+
+        /**************************************************************************************************************
+         * Constructor of the Cluster class.
+         *
+         * @param latitude The latitude of the centroid, in decimal degrees.
+         * @param longitude The longitude of the centroid, in decimal degrees.
+         * @param count The number of points of the cluster.
+         * @param id The identifier of the single point of the cluster, null for larger clusters.
+         *************************************************************************************************************/
+        public Cluster(double latitude, double longitude, int count, String id) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.count = count;
+            this.id = id;
+        }
+
+        /**************************************************************************************************************
+         * "Getter" method for "latitude" attribute.
+         *
+         * @return The current value of the object's "latitude" attribute.
+         *************************************************************************************************************/
+        public double getLatitude() {
+            return latitude;
+        }
+
+        /**************************************************************************************************************
+         * "Getter" method for "longitude" attribute.
+         *
+         * @return The current value of the object's "longitude" attribute.
+         *************************************************************************************************************/
+        public double getLongitude() {
+            return longitude;
+        }
+
+        /**************************************************************************************************************
+         * "Getter" method for "count" attribute.
+         *
+         * @return The current value of the object's "count" attribute.
+         *************************************************************************************************************/
+        public int getCount() {
+            return count;
+        }
+
+        /**************************************************************************************************************
+         * "Getter" method for "id" attribute.
+         *
+         * @return The current value of the object's "id" attribute.
+         *************************************************************************************************************/
+        public String getId() {
+            return id;
+        }
+    }
+}
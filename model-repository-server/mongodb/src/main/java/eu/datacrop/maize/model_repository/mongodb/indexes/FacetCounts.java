@@ -0,0 +1,89 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**********************************************************************************************************************
+ * This class represents an (immutable) summary of the IoT Systems: how many Systems each organization owns and how
+ * many have a Geographical versus a Virtual Location.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public final class FacetCounts {
+
+    /******************************************************************************************************************
+     * The summary of an empty collection.
+     *****************************************************************************************************************/
+    public static final FacetCounts EMPTY = new FacetCounts(Collections.emptyMap(), 0L, 0L, 0L);
+
+    private final SortedMap<String, Long> organizations;
+
+    private final long withoutOrganization;
+
+    private final long geoLocated;
+
+    private final long virtualLocated;
+
+    /******************************************************************************************************************
+     * Constructor of the FacetCounts class.
+     *
+     * @param organizations The number of Systems per organization, not null.
+     * @param withoutOrganization The number of Systems without an organization.
+     * @param geoLocated The number of Systems with a Geographical Location.
+     * @param virtualLocated The number of Systems with a Virtual Location.
+     *****************************************************************************************************************/
+    public FacetCounts(Map<String, Long> organizations, long withoutOrganization, long geoLocated, long virtualLocated) {
+        this.organizations = Collections.unmodifiableSortedMap(new TreeMap<>(organizations));
+        this.withoutOrganization = withoutOrganization;
+        this.geoLocated = geoLocated;
+        this.virtualLocated = virtualLocated;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "organizations" attribute.
+     *
+     * @return The current value of the object's "organizations" attribute, sorted by organization.
+     *****************************************************************************************************************/
+    public SortedMap<String, Long> getOrganizations() {
+        return organizations;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "withoutOrganization" attribute.
+     *
+     * @return The current value of the object's "withoutOrganization" attribute.
+     *****************************************************************************************************************/
+    public long getWithoutOrganization() {
+        return withoutOrganization;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "geoLocated" attribute.
+     *
+     * @return The current value of the object's "geoLocated" attribute.
+     *****************************************************************************************************************/
+    public long getGeoLocated() {
+        return geoLocated;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "virtualLocated" attribute.
+     *
+     * @return The current value of the object's "virtualLocated" attribute.
+     *****************************************************************************************************************/
+    public long getVirtualLocated() {
+        return virtualLocated;
+    }
+
+    /******************************************************************************************************************
+     * Method that reports the total number of Systems.
+     *
+     * @return The number of Systems summarized.
+     *****************************************************************************************************************/
+    public long getTotal() {
+        return geoLocated + virtualLocated;
+    }
+}
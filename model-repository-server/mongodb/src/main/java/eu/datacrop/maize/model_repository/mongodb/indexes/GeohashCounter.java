@@ -0,0 +1,317 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**********************************************************************************************************************
+ * This class maintains the number of geographical points per geohash cell, for every precision up to MAX_PRECISION.
+ * Since the cells of a precision are the prefixes of the cells of the next one, each point increments one counter
+ * per precision, and a query over a bounding box only scans the counters sharing the geohash prefix of the box.
+ *
+ * Writes must be serialized by the caller. Queries may run concurrently with writes.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public final class GeohashCounter {
+
+    /******************************************************************************************************************
+     * The maximum precision (i.e. geohash length) supported. At this precision cells are ~38x19 meters.
+     *****************************************************************************************************************/
+    public static final int MAX_PRECISION = 8;
+
+    /******************************************************************************************************************
+     * The alphabet of geohashes (base32, omitting "a", "i", "l" and "o").
+     *****************************************************************************************************************/
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    /******************************************************************************************************************
+     * The counters of each precision, keyed by geohash.
+     *****************************************************************************************************************/
+    private final List<ConcurrentSkipListMap<String, Integer>> levels;
+
+    /******************************************************************************************************************
+     * The geohash of each point at the maximum precision, by identifier (accessed only by writers).
+     *****************************************************************************************************************/
+    private final Map<String, String> points = new HashMap<>();
+
+    /******************************************************************************************************************
+     * Constructor of the GeohashCounter class.
+     *****************************************************************************************************************/
+    public GeohashCounter() {
+        this.levels = new ArrayList<>(MAX_PRECISION);
+        for (int precision = 1; precision <= MAX_PRECISION; precision++) {
+            this.levels.add(new ConcurrentSkipListMap<>());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that adds a point, or moves it if a point with the same identifier already exists.
+     *
+     * @param id The identifier of the point, not null.
+     * @param latitude The latitude of the point, in decimal degrees.
+     * @param longitude The longitude of the point, in decimal degrees.
+     *****************************************************************************************************************/
+    public void add(String id, double latitude, double longitude) {
+
+        String geohash = encode(latitude, longitude, MAX_PRECISION);
+        String previous = points.get(id);
+        if (geohash.equals(previous)) {
+            return;
+        } else if (previous != null) {
+            remove(id);
+        }
+
+        points.put(id, geohash);
+        for (int precision = 1; precision <= MAX_PRECISION; precision++) {
+            levels.get(precision - 1).merge(geohash.substring(0, precision), 1, Integer::sum);
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that removes a point, if present.
+     *
+     * @param id The identifier of the point, not null.
+     *****************************************************************************************************************/
+    public void remove(String id) {
+
+        String geohash = points.remove(id);
+        if (geohash == null) {
+            return;
+        }
+
+        for (int precision = 1; precision <= MAX_PRECISION; precision++) {
+            levels.get(precision - 1).computeIfPresent(geohash.substring(0, precision),
+                    (key, count) -> (count <= 1) ? null : count - 1);
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that reports the number of points.
+     *
+     * @return The number of points counted.
+     *****************************************************************************************************************/
+    public int size() {
+        return points.size();
+    }
+
+    /******************************************************************************************************************
+     * Method that retrieves the non-empty cells of a precision that intersect a bounding box.
+     *
+     * @param precision The precision (i.e. geohash length), within [1, MAX_PRECISION].
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @return The cells with their number of points, ordered by geohash.
+     *****************************************************************************************************************/
+    public List<Bucket> query(int precision, double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+        // All cells intersecting the box share the geohash prefix of the smallest cell containing both corners.
+        String southWest = encode(minLatitude, minLongitude, precision);
+        String northEast = encode(maxLatitude, maxLongitude, precision);
+        int common = 0;
+        while (common < precision && southWest.charAt(common) == northEast.charAt(common)) {
+            common++;
+        }
+        String prefix = southWest.substring(0, common);
+
+        List<Bucket> buckets = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : levels.get(precision - 1)
+                .subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+
+            double[] bounds = decodeBounds(entry.getKey());
+            if (bounds[0] > maxLatitude || bounds[2] < minLatitude || bounds[1] > maxLongitude || bounds[3] < minLongitude) {
+                continue;
+            }
+            buckets.add(new Bucket(entry.getKey(), (bounds[0] + bounds[2]) / 2.0, (bounds[1] + bounds[3]) / 2.0, entry.getValue()));
+        }
+        return buckets;
+    }
+
+    /******************************************************************************************************************
+     * Method that reports the number of columns of the cells of a precision: geohashes interleave the bits of the
+     * longitude and of the latitude, starting with the longitude, so the cells form a regular grid.
+     *
+     * @param precision The length of the geohashes, within [1, MAX_PRECISION].
+     * @return The number of cells along the longitude, a power of two.
+     *****************************************************************************************************************/
+    public static long columns(int precision) {
+        return 1L << ((5 * precision + 1) / 2);
+    }
+
+    /******************************************************************************************************************
+     * Method that reports the number of rows of the cells of a precision (see columns()).
+     *
+     * @param precision The length of the geohashes, within [1, MAX_PRECISION].
+     * @return The number of cells along the latitude, a power of two.
+     *****************************************************************************************************************/
+    public static long rows(int precision) {
+        return 1L << (5 * precision / 2);
+    }
+
+    /******************************************************************************************************************
+     * Method that produces the bucket of a cell whose points have been counted elsewhere (e.g. by the database).
+     *
+     * @param precision The length of the geohashes, within [1, MAX_PRECISION].
+     * @param column The column of the cell, counted eastwards from longitude -180.
+     * @param row The row of the cell, counted northwards from latitude -90.
+     * @param count The number of points of the cell, positive.
+     * @return The bucket of the cell, located at its center.
+     *****************************************************************************************************************/
+    public static Bucket toBucket(int precision, long column, long row, int count) {
+        double latitude = -90.0 + (row + 0.5) * 180.0 / rows(precision);
+        double longitude = -180.0 + (column + 0.5) * 360.0 / columns(precision);
+        return new Bucket(encode(latitude, longitude, precision), latitude, longitude, count);
+    }
+
+    /******************************************************************************************************************
+     * Method that encodes a point as a geohash.
+     *
+     * @param latitude The latitude of the point, in decimal degrees.
+     * @param longitude The longitude of the point, in decimal degrees.
+     * @param precision The length of the geohash.
+     * @return The geohash of the cell containing the point.
+     *****************************************************************************************************************/
+    public static String encode(double latitude, double longitude, int precision) {
+
+        double minLatitude = -90.0, maxLatitude = 90.0;
+        double minLongitude = -180.0, maxLongitude = 180.0;
+        StringBuilder geohash = new StringBuilder(precision);
+        boolean even = true;
+        int bits = 0;
+        int character = 0;
+
+        while (geohash.length() < precision) {
+            if (even) {
+                double middle = (minLongitude + maxLongitude) / 2.0;
+                if (longitude >= middle) {
+                    character = (character << 1) | 1;
+                    minLongitude = middle;
+                } else {
+                    character = character << 1;
+                    maxLongitude = middle;
+                }
+            } else {
+                double middle = (minLatitude + maxLatitude) / 2.0;
+                if (latitude >= middle) {
+                    character = (character << 1) | 1;
+                    minLatitude = middle;
+                } else {
+                    character = character << 1;
+                    maxLatitude = middle;
+                }
+            }
+            even = !even;
+            if (++bits == 5) {
+                geohash.append(BASE32.charAt(character));
+                bits = 0;
+                character = 0;
+            }
+        }
+        return geohash.toString();
+    }
+
+    /******************************************************************************************************************
+     * Method that decodes the bounds of a geohash cell.
+     *
+     * @param geohash A valid geohash, not null.
+     * @return The bounds of the cell as {minLatitude, minLongitude, maxLatitude, maxLongitude}.
+     *****************************************************************************************************************/
+    public static double[] decodeBounds(String geohash) {
+
+        double minLatitude = -90.0, maxLatitude = 90.0;
+        double minLongitude = -180.0, maxLongitude = 180.0;
+        boolean even = true;
+
+        for (int i = 0; i < geohash.length(); i++) {
+            int character = BASE32.indexOf(geohash.charAt(i));
+            for (int bit = 4; bit >= 0; bit--) {
+                boolean set = ((character >> bit) & 1) == 1;
+                if (even) {
+                    double middle = (minLongitude + maxLongitude) / 2.0;
+                    if (set) {
+                        minLongitude = middle;
+                    } else {
+                        maxLongitude = middle;
+                    }
+                } else {
+                    double middle = (minLatitude + maxLatitude) / 2.0;
+                    if (set) {
+                        minLatitude = middle;
+                    } else {
+                        maxLatitude = middle;
+                    }
+                }
+                even = !even;
+            }
+        }
+        return new double[]{minLatitude, minLongitude, maxLatitude, maxLongitude};
+    }
+
+    /******************************************************************************************************************
+     * This inner class represents a non-empty cell returned by queries: its geohash, its center and the number of
+     * its points.
+     *****************************************************************************************************************/
+    public static final class Bucket {
+
+        private final String geohash;
+
+        private final double latitude;
+
+        private final double longitude;
+
+        private final int count;
+
+        /**************************************************************************************************************
+         * Constructor of the Bucket class.
+         *
+         * @param geohash The geohash of the cell.
+         * @param latitude The latitude of the center of the cell, in decimal degrees.
+         * @param longitude The longitude of the center of the cell, in decimal degrees.
+         * @param count The number of points within the cell.
+         *************************************************************************************************************/
+        public Bucket(String geohash, double latitude, double longitude, int count) {
+            this.geohash = geohash;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.count = count;
+        }
+
+        /**************************************************************************************************************
+         * "Getter" method for "geohash" attribute.
+         *
+         * @return The current value of the object's "geohash" attribute.
+         *************************************************************************************************************/
+        public String getGeohash() {
+            return geohash;
+        }
+
+        /**************************************************************************************************************
+         * "Getter" method for "latitude" attribute.
+         *
+         * @return The current value of the object's "latitude" attribute.
+         *************************************************************************************************************/
+        public double getLatitude() {
+            return latitude;
+        }
+
+        /**************************************************************************************************************
+         * "Getter" method for "longitude" attribute.
+         *
+         * @return The current value of the object's "longitude" attribute.
+         *************************************************************************************************************/
+        public double getLongitude() {
+            return longitude;
+        }
+
+        /**************************************************************************************************************
+         * "Getter" method for "count" attribute.
+         *
+         * @return The current value of the object's "count" attribute.
+         *************************************************************************************************************/
+        public int getCount() {
+            return count;
+        }
+    }
+}
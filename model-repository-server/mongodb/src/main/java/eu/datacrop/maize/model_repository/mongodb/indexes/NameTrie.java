@@ -0,0 +1,184 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**********************************************************************************************************************
+ * This class is a case-insensitive trie of names, each associated with the identifiers of the items bearing it. A
+ * prefix lookup walks down to the node of the prefix and then visits its subtree in pre-order, i.e. in alphabetical
+ * order of names, stopping as soon as enough matches have been collected. Nodes left empty by removals are pruned,
+ * so every visited subtree contains at least one match and a lookup costs O(prefix + limit x name length).
+ *
+ * Writes must be serialized by the caller. Lookups may run concurrently with writes.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public final class NameTrie {
+
+    /******************************************************************************************************************
+     * The root of the trie, corresponding to the empty prefix.
+     *****************************************************************************************************************/
+    private final Node root = new Node();
+
+    /******************************************************************************************************************
+     * The number of names (counting once each identifier) in the trie.
+     *****************************************************************************************************************/
+    private int size;
+
+    /******************************************************************************************************************
+     * Method that adds a name for an identifier.
+     *
+     * @param name The name, not null.
+     * @param id The identifier of the item bearing the name, not null.
+     *****************************************************************************************************************/
+    public void add(String name, String id) {
+
+        Node node = root;
+        for (char character : normalize(name).toCharArray()) {
+            node = node.children.computeIfAbsent(character, key -> new Node());
+        }
+
+        Map<String, String> entries = new TreeMap<>(node.entries);
+        if (entries.put(id, name) == null) {
+            size++;
+        }
+        node.entries = Collections.unmodifiableMap(entries);
+    }
+
+    /******************************************************************************************************************
+     * Method that removes a name of an identifier, if present.
+     *
+     * @param name The name, not null.
+     * @param id The identifier of the item bearing the name, not null.
+     *****************************************************************************************************************/
+    public void remove(String name, String id) {
+
+        // Walking down to the node of the name, recording the path.
+        String key = normalize(name);
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].children.get(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+
+        Node node = path[key.length()];
+        if (!node.entries.containsKey(id)) {
+            return;
+        }
+        Map<String, String> entries = new TreeMap<>(node.entries);
+        entries.remove(id);
+        node.entries = entries.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(entries);
+        size--;
+
+        // Pruning the nodes left without names in their subtree.
+        for (int i = key.length(); i > 0 && path[i].entries.isEmpty() && path[i].children.isEmpty(); i--) {
+            path[i - 1].children.remove(key.charAt(i - 1));
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that reports the number of names.
+     *
+     * @return The number of names (counting once each identifier) in the trie.
+     *****************************************************************************************************************/
+    public int size() {
+        return size;
+    }
+
+    /******************************************************************************************************************
+     * Method that retrieves the names starting with a prefix, ignoring case, in alphabetical order.
+     *
+     * @param prefix The prefix, not null.
+     * @param limit The maximum number of matches to retrieve.
+     * @return The matches, each consisting of an identifier and its name.
+     *****************************************************************************************************************/
+    public List<Match> findByPrefix(String prefix, int limit) {
+
+        Node node = root;
+        for (char character : normalize(prefix).toCharArray()) {
+            node = node.children.get(character);
+            if (node == null) {
+                return Collections.emptyList();
+            }
+        }
+
+        // Visiting the subtree of the prefix in pre-order, children in alphabetical order.
+        List<Match> matches = new ArrayList<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty() && matches.size() < limit) {
+            Node current = stack.pop();
+            for (Map.Entry<String, String> entry : current.entries.entrySet()) {
+                if (matches.size() == limit) {
+                    break;
+                }
+                matches.add(new Match(entry.getKey(), entry.getValue()));
+            }
+            for (Node child : current.children.descendingMap().values()) {
+                stack.push(child);
+            }
+        }
+        return matches;
+    }
+
+    /******************************************************************************************************************
+     * Method that brings a name to the case-insensitive form used as key of the trie.
+     *****************************************************************************************************************/
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /******************************************************************************************************************
+     * This inner class represents a node of the trie: its children by character and the identifiers of the items
+     * whose name ends at the node (immutable map, replaced atomically).
+     *****************************************************************************************************************/
+    private static final class Node {
+
+        private final ConcurrentSkipListMap<Character, Node> children = new ConcurrentSkipListMap<>();
+
+        private volatile Map<String, String> entries = Collections.emptyMap();
+    }
+
+    /******************************************************************************************************************
+     * This inner class represents a match of a prefix lookup: an identifier and its name.
+     *****************************************************************************************************************/
+    public static final class Match {
+
+        private final String id;
+
+        private final String name;
+
+        /**************************************************************************************************************
+         * Constructor of the Match class.
+         *
+         * @param id The identifier of the item.
+         * @param name The name of the item.
+         *************************************************************************************************************/
+        public Match(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        /**************************************************************************************************************
+         * "Getter" method for "id" attribute.
+         *
+         * @return The current value of the object's "id" attribute.
+         *************************************************************************************************************/
+        public String getId() {
+            return id;
+        }
+
+        /**************************************************************************************************************
+         * "Getter" method for "name" attribute.
+         *
+         * @return The current value of the object's "name" attribute.
+         *************************************************************************************************************/
+        public String getName() {
+            return name;
+        }
+    }
+}
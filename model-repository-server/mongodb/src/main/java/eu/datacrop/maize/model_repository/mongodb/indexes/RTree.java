@@ -0,0 +1,397 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**********************************************************************************************************************
+ * This class is an immutable R-tree over geographical points (WGS84, decimal degrees), bulk-loaded with the
+ * Sort-Tile-Recursive (STR) algorithm. It answers bounding box and nearest-neighbour (great-circle distance) queries.
+ * Instances are never modified after packing, so they may be searched concurrently without synchronization.
+ *
+ * @param <T> The type of the values attached to the indexed points.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public final class RTree<T> {
+
+    /******************************************************************************************************************
+     * The radius of the Earth (in meters) used for distances, identical to the one used by MongoDB for "2dsphere".
+     *****************************************************************************************************************/
+    public static final double EARTH_RADIUS = 6378100.0;
+
+    /******************************************************************************************************************
+     * The maximum number of children (or entries) of each node.
+     *****************************************************************************************************************/
+    private static final int NODE_CAPACITY = 16;
+
+    /******************************************************************************************************************
+     * The root of the tree, null if the tree is empty.
+     *****************************************************************************************************************/
+    private final Node root;
+
+    /******************************************************************************************************************
+     * The number of indexed entries.
+     *****************************************************************************************************************/
+    private final int size;
+
+    /******************************************************************************************************************
+     * Private constructor of the RTree class, use the pack() or empty() factory methods instead.
+     *****************************************************************************************************************/
+    private RTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /******************************************************************************************************************
+     * Method that produces an empty tree.
+     *
+     * @return An R-tree without entries.
+     *****************************************************************************************************************/
+    public static <T> RTree<T> empty() {
+        return new RTree<>(null, 0);
+    }
+
+    /******************************************************************************************************************
+     * Method that bulk-loads a tree using the Sort-Tile-Recursive algorithm: entries are sorted by longitude, cut into
+     * vertical slices, sorted by latitude within each slice and grouped into full leaves; the same tiling is then
+     * applied to the nodes of each level until a single root remains.
+     *
+     * @param entries The entries to index, not null.
+     * @return The packed R-tree.
+     *****************************************************************************************************************/
+    public static <T> RTree<T> pack(Collection<Entry<T>> entries) {
+
+        if (entries == null || entries.isEmpty()) {
+            return empty();
+        }
+
+        List<Node> level = new ArrayList<>();
+        for (List<Entry<T>> group : tile(new ArrayList<>(entries), Entry::getLongitude, Entry::getLatitude)) {
+            level.add(Node.leaf(group));
+        }
+        while (level.size() > 1) {
+            List<Node> upper = new ArrayList<>();
+            for (List<Node> group : tile(level, Node::centerLongitude, Node::centerLatitude)) {
+                upper.add(Node.inner(group));
+            }
+            level = upper;
+        }
+
+        return new RTree<>(level.get(0), entries.size());
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "size" attribute.
+     *
+     * @return The number of indexed entries.
+     *****************************************************************************************************************/
+    public int size() {
+        return size;
+    }
+
+    /******************************************************************************************************************
+     * Method that retrieves the entries lying within a bounding box (edges included).
+     *
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @param filter A condition that the returned entries must additionally satisfy, not null.
+     * @return The matching entries, in no particular order.
+     *****************************************************************************************************************/
+    public List<Entry<T>> searchBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                    Predicate<Entry<T>> filter) {
+
+        List<Entry<T>> results = new ArrayList<>();
+        if (root == null) {
+            return results;
+        }
+
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            if (!node.intersects(minLatitude, minLongitude, maxLatitude, maxLongitude)) {
+                continue;
+            }
+            if (node.isLeaf()) {
+                for (Entry<?> e : node.entries) {
+                    @SuppressWarnings("unchecked")
+                    Entry<T> entry = (Entry<T>) e;
+                    if (entry.latitude >= minLatitude && entry.latitude <= maxLatitude
+                            && entry.longitude >= minLongitude && entry.longitude <= maxLongitude && filter.test(entry)) {
+                        results.add(entry);
+                    }
+                }
+            } else {
+                for (Node child : node.children) {
+                    stack.push(child);
+                }
+            }
+        }
+        return results;
+    }
+
+    /******************************************************************************************************************
+     * Method that retrieves the entries nearest to a point (best-first traversal ordered by great-circle distance).
+     *
+     * @param latitude The latitude of the reference point, in decimal degrees.
+     * @param longitude The longitude of the reference point, in decimal degrees.
+     * @param maxDistance The maximum distance from the reference point, in meters.
+     * @param limit The maximum number of entries to retrieve.
+     * @param filter A condition that the returned entries must additionally satisfy, not null.
+     * @return The matching entries, sorted from the nearest to the farthest.
+     *****************************************************************************************************************/
+    public List<Entry<T>> nearest(double latitude, double longitude, double maxDistance, int limit,
+                                  Predicate<Entry<T>> filter) {
+
+        List<Entry<T>> results = new ArrayList<>();
+        if (root == null || limit <= 0) {
+            return results;
+        }
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingDouble(c -> c.distance));
+        queue.add(new Candidate(root.minDistance(latitude, longitude), root, null));
+        while (!queue.isEmpty()) {
+            Candidate candidate = queue.poll();
+            if (candidate.distance > maxDistance) {
+                break;
+            }
+            if (candidate.entry != null) {
+                @SuppressWarnings("unchecked")
+                Entry<T> entry = (Entry<T>) candidate.entry;
+                if (filter.test(entry)) {
+                    results.add(entry);
+                    if (results.size() >= limit) {
+                        break;
+                    }
+                }
+            } else if (candidate.node.isLeaf()) {
+                for (Entry<?> entry : candidate.node.entries) {
+                    queue.add(new Candidate(distance(latitude, longitude, entry.latitude, entry.longitude), null, entry));
+                }
+            } else {
+                for (Node child : candidate.node.children) {
+                    queue.add(new Candidate(child.minDistance(latitude, longitude), child, null));
+                }
+            }
+        }
+        return results;
+    }
+
+    /******************************************************************************************************************
+     * Method that calculates the great-circle (haversine) distance between two points.
+     *
+     * @param latitude1 The latitude of the first point, in decimal degrees.
+     * @param longitude1 The longitude of the first point, in decimal degrees.
+     * @param latitude2 The latitude of the second point, in decimal degrees.
+     * @param longitude2 The longitude of the second point, in decimal degrees.
+     * @return The distance between the two points, in meters.
+     *****************************************************************************************************************/
+    public static double distance(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double sinLat = Math.sin(Math.toRadians(latitude2 - latitude1) / 2.0);
+        double sinLng = Math.sin(Math.toRadians(longitude2 - longitude1) / 2.0);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * sinLng * sinLng;
+        return 2.0 * EARTH_RADIUS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /******************************************************************************************************************
+     * Method that groups items into tiles of at most NODE_CAPACITY elements, following the STR algorithm.
+     *
+     * @param items The items to group, not null and not empty.
+     * @param x The function extracting the horizontal coordinate (longitude) of an item.
+     * @param y The function extracting the vertical coordinate (latitude) of an item.
+     * @return The groups of items, each one to become a node.
+     *****************************************************************************************************************/
+    private static <E> List<List<E>> tile(List<E> items, ToDoubleFunction<E> x, ToDoubleFunction<E> y) {
+
+        int leaves = (int) Math.ceil(items.size() / (double) NODE_CAPACITY);
+        int slices = (int) Math.ceil(Math.sqrt(leaves));
+        int sliceSize = slices * NODE_CAPACITY;
+
+        items.sort(Comparator.comparingDouble(x));
+
+        List<List<E>> groups = new ArrayList<>(leaves);
+        for (int start = 0; start < items.size(); start += sliceSize) {
+            List<E> slice = new ArrayList<>(items.subList(start, Math.min(start + sliceSize, items.size())));
+            slice.sort(Comparator.comparingDouble(y));
+            for (int i = 0; i < slice.size(); i += NODE_CAPACITY) {
+                groups.add(slice.subList(i, Math.min(i + NODE_CAPACITY, slice.size())));
+            }
+        }
+        return groups;
+    }
+
+    /******************************************************************************************************************
+     * This inner class represents an indexed point and its attached value.
+     *
+     * @param <T> The type of the attached value.
+     *****************************************************************************************************************/
+    public static final class Entry<T> {
+
+        private final double latitude;
+
+        private final double longitude;
+
+        private final T value;
+
+        /**************************************************************************************************************
+         * Constructor of the Entry class.
+         *
+         * @param latitude The latitude of the point, in decimal degrees.
+         * @param longitude The longitude of the point, in decimal degrees.
+         * @param value The value attached to the point.
+         *************************************************************************************************************/
+        public Entry(double latitude, double longitude, T value) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.value = value;
+        }
+
+        /**************************************************************************************************************
+         * "Getter" method for "latitude" attribute.
+         *
+         * @return The current value of the object's "latitude" attribute.
+         *************************************************************************************************************/
+        public double getLatitude() {
+            return latitude;
+        }
+
+        /**************************************************************************************************************
+         * "Getter" method for "longitude" attribute.
+         *
+         * @return The current value of the object's "longitude" attribute.
+         *************************************************************************************************************/
+        public double getLongitude() {
+            return longitude;
+        }
+
+        /**************************************************************************************************************
+         * "Getter" method for "value" attribute.
+         *
+         * @return The current value of the object's "value" attribute.
+         *************************************************************************************************************/
+        public T getValue() {
+            return value;
+        }
+    }
+
+    /******************************************************************************************************************
+     * This inner class represents a node of the tree along with its minimum bounding rectangle.
+     *****************************************************************************************************************/
+    private static final class Node {
+
+        private final double minLatitude;
+
+        private final double minLongitude;
+
+        private final double maxLatitude;
+
+        private final double maxLongitude;
+
+        private final Node[] children;
+
+        private final Entry<?>[] entries;
+
+        private Node(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                     Node[] children, Entry<?>[] entries) {
+            this.minLatitude = minLatitude;
+            this.minLongitude = minLongitude;
+            this.maxLatitude = maxLatitude;
+            this.maxLongitude = maxLongitude;
+            this.children = children;
+            this.entries = entries;
+        }
+
+        private static Node leaf(List<? extends Entry<?>> group) {
+            double minLat = Double.MAX_VALUE, minLng = Double.MAX_VALUE;
+            double maxLat = -Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
+            for (Entry<?> entry : group) {
+                minLat = Math.min(minLat, entry.latitude);
+                minLng = Math.min(minLng, entry.longitude);
+                maxLat = Math.max(maxLat, entry.latitude);
+                maxLng = Math.max(maxLng, entry.longitude);
+            }
+            return new Node(minLat, minLng, maxLat, maxLng, null, group.toArray(new Entry<?>[0]));
+        }
+
+        private static Node inner(List<Node> group) {
+            double minLat = Double.MAX_VALUE, minLng = Double.MAX_VALUE;
+            double maxLat = -Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
+            for (Node node : group) {
+                minLat = Math.min(minLat, node.minLatitude);
+                minLng = Math.min(minLng, node.minLongitude);
+                maxLat = Math.max(maxLat, node.maxLatitude);
+                maxLng = Math.max(maxLng, node.maxLongitude);
+            }
+            return new Node(minLat, minLng, maxLat, maxLng, group.toArray(new Node[0]), null);
+        }
+
+        private boolean isLeaf() {
+            return entries != null;
+        }
+
+        private double centerLatitude() {
+            return (minLatitude + maxLatitude) / 2.0;
+        }
+
+        private double centerLongitude() {
+            return (minLongitude + maxLongitude) / 2.0;
+        }
+
+        private boolean intersects(double minLat, double minLng, double maxLat, double maxLng) {
+            return minLatitude <= maxLat && maxLatitude >= minLat && minLongitude <= maxLng && maxLongitude >= minLng;
+        }
+
+        /**************************************************************************************************************
+         * Method that calculates the exact great-circle distance from a point to the rectangle of the node. Within the
+         * longitude range of the rectangle the nearest point lies on the same meridian; otherwise it lies on one of
+         * the two bounding meridians, either at a corner or at the foot of the perpendicular from the point.
+         *************************************************************************************************************/
+        private double minDistance(double latitude, double longitude) {
+            if (longitude >= minLongitude && longitude <= maxLongitude) {
+                if (latitude >= minLatitude && latitude <= maxLatitude) {
+                    return 0.0;
+                }
+                double degrees = (latitude < minLatitude) ? minLatitude - latitude : latitude - maxLatitude;
+                return EARTH_RADIUS * Math.toRadians(degrees);
+            }
+            return Math.min(distanceToMeridian(latitude, longitude, minLongitude),
+                    distanceToMeridian(latitude, longitude, maxLongitude));
+        }
+
+        private double distanceToMeridian(double latitude, double longitude, double meridian) {
+            double result = Math.min(distance(latitude, longitude, minLatitude, meridian),
+                    distance(latitude, longitude, maxLatitude, meridian));
+            double cosDelta = Math.cos(Math.toRadians(longitude - meridian));
+            if (cosDelta > 0.0) {
+                double foot = Math.toDegrees(Math.atan(Math.tan(Math.toRadians(latitude)) / cosDelta));
+                if (foot > minLatitude && foot < maxLatitude) {
+                    result = Math.min(result, distance(latitude, longitude, foot, meridian));
+                }
+            }
+            return result;
+        }
+    }
+
+    /******************************************************************************************************************
+     * This inner class represents an element (node or entry) awaiting in the queue of the nearest-neighbour search.
+     *****************************************************************************************************************/
+    private static final class Candidate {
+
+        private final double distance;
+
+        private final Node node;
+
+        private final Entry<?> entry;
+
+        private Candidate(double distance, Node node, Entry<?> entry) {
+            this.distance = distance;
+            this.node = node;
+            this.entry = entry;
+        }
+    }
+}
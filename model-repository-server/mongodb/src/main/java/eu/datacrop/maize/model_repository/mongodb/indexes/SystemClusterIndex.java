@@ -0,0 +1,120 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**********************************************************************************************************************
+ * This class maintains the hierarchical clusters of the Geographical Locations of IoT Systems for every map zoom
+ * level. The clusters are updated incrementally on every write, so requests only read the precomputed cells that
+ * intersect their viewport.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemClusterIndex implements SystemIndex {
+
+    /******************************************************************************************************************
+     * Whether the index is maintained and used for clustering queries.
+     *****************************************************************************************************************/
+    @Value("${model-repository.cluster-index.enabled:true}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * The clusters of all Systems with a Geographical Location.
+     *****************************************************************************************************************/
+    private volatile ClusterGrid grid = new ClusterGrid();
+
+    /******************************************************************************************************************
+     * Method that reports whether the index is enabled by configuration.
+     *
+     * @return TRUE if the index should be maintained, FALSE otherwise.
+     *****************************************************************************************************************/
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /******************************************************************************************************************
+     * Method that discards the contents of the index and rebuilds it from scratch. The new clusters are computed
+     * aside and published at once.
+     *
+     * @param systems All Systems currently persisted in the database, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void rebuild(Collection<System> systems) {
+        grid = toGrid(systems);
+        log.debug("Cluster index built with '{}' System entities.", grid.size());
+    }
+
+    /******************************************************************************************************************
+     * Method that records the creation or update of a System.
+     *
+     * @param system The System as persisted in the database, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void onSaved(System system) {
+        if (system.getLocation().hasGeoLocation()) {
+            grid.add(system.getId(), system.getLocation().getLatitude(), system.getLocation().getLongitude());
+        } else {
+            grid.remove(system.getId());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that records the deletion of a System.
+     *
+     * @param databaseID The UUID of the deleted System, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void onDeleted(String databaseID) {
+        grid.remove(databaseID);
+    }
+
+    /******************************************************************************************************************
+     * Method that records the deletion of all Systems.
+     *****************************************************************************************************************/
+    @Override
+    public void onCleared() {
+        grid = new ClusterGrid();
+    }
+
+    /******************************************************************************************************************
+     * Method that retrieves the clusters of a zoom level within a viewport.
+     *
+     * @param zoom The zoom level, within [0, ClusterGrid.MAX_ZOOM].
+     * @param minLatitude The latitude of the south-west corner of the viewport, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner of the viewport, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner of the viewport, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner of the viewport, in decimal degrees.
+     * @return The clusters intersecting the viewport.
+     *****************************************************************************************************************/
+    public List<ClusterGrid.Cluster> findClusters(int zoom, double minLatitude, double minLongitude,
+                                                  double maxLatitude, double maxLongitude) {
+        return grid.query(zoom, minLatitude, minLongitude, maxLatitude, maxLongitude);
+    }
+
+    /******************************************************************************************************************
+     * Method that computes the clusters of a collection of Systems from scratch.
+     *
+     * @param systems The Systems to cluster, not null.
+     * @return The clusters of the Systems with a Geographical Location.
+     *****************************************************************************************************************/
+    private static ClusterGrid toGrid(Collection<System> systems) {
+        ClusterGrid result = new ClusterGrid();
+        for (System system : systems) {
+            if (system.getLocation().hasGeoLocation()) {
+                result.add(system.getId(), system.getLocation().getLatitude(), system.getLocation().getLongitude());
+            }
+        }
+        return result;
+    }
+}
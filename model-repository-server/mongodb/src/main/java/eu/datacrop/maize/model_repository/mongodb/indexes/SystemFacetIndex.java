@@ -0,0 +1,212 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**********************************************************************************************************************
+ * This class maintains counters of IoT Systems per organization and per type of location. The counters are updated
+ * incrementally on every write, so summaries never require an aggregation over the whole collection. After each
+ * write an immutable summary is published, so readers always observe a consistent set of counts.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemFacetIndex implements SystemIndex {
+
+    /******************************************************************************************************************
+     * Whether the index is maintained and used for facet queries.
+     *****************************************************************************************************************/
+    @Value("${model-repository.facet-index.enabled:true}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * The counted facets of all Systems, by databaseID (accessed only by writers).
+     *****************************************************************************************************************/
+    private final Map<String, Facets> systems = new HashMap<>();
+
+    /******************************************************************************************************************
+     * The number of Systems per organization (accessed only by writers).
+     *****************************************************************************************************************/
+    private final Map<String, Long> organizations = new HashMap<>();
+
+    /******************************************************************************************************************
+     * The number of Systems without an organization (accessed only by writers).
+     *****************************************************************************************************************/
+    private long withoutOrganization;
+
+    /******************************************************************************************************************
+     * The number of Systems with a Geographical Location (accessed only by writers).
+     *****************************************************************************************************************/
+    private long geoLocated;
+
+    /******************************************************************************************************************
+     * The summary visible to queries.
+     *****************************************************************************************************************/
+    private volatile FacetCounts counts = FacetCounts.EMPTY;
+
+    /******************************************************************************************************************
+     * Method that reports whether the index is enabled by configuration.
+     *
+     * @return TRUE if the index should be maintained, FALSE otherwise.
+     *****************************************************************************************************************/
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /******************************************************************************************************************
+     * Method that discards the contents of the index and rebuilds it from scratch.
+     *
+     * @param systems All Systems currently persisted in the database, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void rebuild(Collection<System> systems) {
+        clear();
+        for (System system : systems) {
+            add(system.getId(), toFacets(system));
+        }
+        publish();
+        log.debug("Facet index built with '{}' System entities.", this.systems.size());
+    }
+
+    /******************************************************************************************************************
+     * Method that records the creation or update of a System.
+     *
+     * @param system The System as persisted in the database, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void onSaved(System system) {
+        Facets facets = toFacets(system);
+        Facets previous = systems.get(system.getId());
+        if (facets.equals(previous)) {
+            return;
+        }
+        remove(system.getId());
+        add(system.getId(), facets);
+        publish();
+    }
+
+    /******************************************************************************************************************
+     * Method that records the deletion of a System.
+     *
+     * @param databaseID The UUID of the deleted System, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void onDeleted(String databaseID) {
+        if (remove(databaseID)) {
+            publish();
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that records the deletion of all Systems.
+     *****************************************************************************************************************/
+    @Override
+    public void onCleared() {
+        clear();
+        publish();
+    }
+
+    /******************************************************************************************************************
+     * Method that retrieves the current summary of the Systems.
+     *
+     * @return The counts of Systems per organization and per type of location.
+     *****************************************************************************************************************/
+    public FacetCounts getCounts() {
+        return counts;
+    }
+
+    /******************************************************************************************************************
+     * Methods that update the counters on the addition and removal of a System.
+     *****************************************************************************************************************/
+    private void add(String databaseID, Facets facets) {
+        systems.put(databaseID, facets);
+        if (facets.organization == null) {
+            withoutOrganization++;
+        } else {
+            organizations.merge(facets.organization, 1L, Long::sum);
+        }
+        if (facets.geoLocated) {
+            geoLocated++;
+        }
+    }
+
+    private boolean remove(String databaseID) {
+        Facets facets = systems.remove(databaseID);
+        if (facets == null) {
+            return false;
+        }
+        if (facets.organization == null) {
+            withoutOrganization--;
+        } else {
+            organizations.computeIfPresent(facets.organization, (key, count) -> count <= 1L ? null : count - 1L);
+        }
+        if (facets.geoLocated) {
+            geoLocated--;
+        }
+        return true;
+    }
+
+    private void clear() {
+        systems.clear();
+        organizations.clear();
+        withoutOrganization = 0L;
+        geoLocated = 0L;
+    }
+
+    /******************************************************************************************************************
+     * Method that publishes the summary of the current counters.
+     *****************************************************************************************************************/
+    private void publish() {
+        counts = new FacetCounts(organizations, withoutOrganization, geoLocated, systems.size() - geoLocated);
+    }
+
+    /******************************************************************************************************************
+     * Method that extracts the counted facets of a System.
+     *
+     * @param system The System, not null.
+     * @return The facets of the System.
+     *****************************************************************************************************************/
+    private static Facets toFacets(System system) {
+        return new Facets(system.getOrganization(), system.getLocation() != null && system.getLocation().hasGeoLocation());
+    }
+
+    /******************************************************************************************************************
+     * This inner class represents the (immutable) counted facets of a System.
+     *****************************************************************************************************************/
+    private static final class Facets {
+
+        private final String organization;
+
+        private final boolean geoLocated;
+
+        private Facets(String organization, boolean geoLocated) {
+            this.organization = organization;
+            this.geoLocated = geoLocated;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Facets that = (Facets) o;
+            return geoLocated == that.geoLocated && Objects.equals(organization, that.organization);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(organization, geoLocated);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**********************************************************************************************************************
+ * This class maintains the number of IoT Systems per geohash cell of their Geographical Locations, for every geohash
+ * precision. The counts are updated incrementally on every write, so density queries only read the precomputed
+ * counters of the cells that intersect their bounding box.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemGeohashIndex implements SystemIndex {
+
+    /******************************************************************************************************************
+     * Whether the index is maintained and used for density queries.
+     *****************************************************************************************************************/
+    @Value("${model-repository.geohash-index.enabled:true}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * The counts of all Systems with a Geographical Location.
+     *****************************************************************************************************************/
+    private volatile GeohashCounter counter = new GeohashCounter();
+
+    /******************************************************************************************************************
+     * Method that reports whether the index is enabled by configuration.
+     *
+     * @return TRUE if the index should be maintained, FALSE otherwise.
+     *****************************************************************************************************************/
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /******************************************************************************************************************
+     * Method that discards the contents of the index and rebuilds it from scratch. The new counts are computed
+     * aside and published at once.
+     *
+     * @param systems All Systems currently persisted in the database, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void rebuild(Collection<System> systems) {
+        counter = toCounter(systems);
+        log.debug("Geohash index built with '{}' System entities.", counter.size());
+    }
+
+    /******************************************************************************************************************
+     * Method that records the creation or update of a System.
+     *
+     * @param system The System as persisted in the database, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void onSaved(System system) {
+        if (system.getLocation().hasGeoLocation()) {
+            counter.add(system.getId(), system.getLocation().getLatitude(), system.getLocation().getLongitude());
+        } else {
+            counter.remove(system.getId());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that records the deletion of a System.
+     *
+     * @param databaseID The UUID of the deleted System, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void onDeleted(String databaseID) {
+        counter.remove(databaseID);
+    }
+
+    /******************************************************************************************************************
+     * Method that records the deletion of all Systems.
+     *****************************************************************************************************************/
+    @Override
+    public void onCleared() {
+        counter = new GeohashCounter();
+    }
+
+    /******************************************************************************************************************
+     * Method that retrieves the number of Systems per geohash cell of a precision within a bounding box.
+     *
+     * @param precision The geohash precision, within [1, GeohashCounter.MAX_PRECISION].
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @return The non-empty cells intersecting the bounding box.
+     *****************************************************************************************************************/
+    public List<GeohashCounter.Bucket> findBuckets(int precision, double minLatitude, double minLongitude,
+                                                    double maxLatitude, double maxLongitude) {
+        return counter.query(precision, minLatitude, minLongitude, maxLatitude, maxLongitude);
+    }
+
+    /******************************************************************************************************************
+     * Method that counts a collection of Systems from scratch.
+     *
+     * @param systems The Systems to count, not null.
+     * @return The counts of the Systems with a Geographical Location.
+     *****************************************************************************************************************/
+    private static GeohashCounter toCounter(Collection<System> systems) {
+        GeohashCounter result = new GeohashCounter();
+        for (System system : systems) {
+            if (system.getLocation().hasGeoLocation()) {
+                result.add(system.getId(), system.getLocation().getLatitude(), system.getLocation().getLongitude());
+            }
+        }
+        return result;
+    }
+}
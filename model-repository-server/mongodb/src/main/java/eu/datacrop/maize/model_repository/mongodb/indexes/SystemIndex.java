@@ -0,0 +1,49 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+
+import java.util.Collection;
+
+/**********************************************************************************************************************
+ * This interface defines an in-memory index over the persisted IoT Systems. Indexes are bootstrapped from the database
+ * and then kept up-to-date by the SystemIndexRegistry, which forwards every write to them one at a time. Queries may
+ * run concurrently with updates, so implementations must publish their state safely.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public interface SystemIndex {
+
+    /******************************************************************************************************************
+     * Method that reports whether the index is enabled by configuration. Disabled indexes receive no updates.
+     *
+     * @return TRUE if the index should be maintained, FALSE otherwise.
+     *****************************************************************************************************************/
+    boolean isEnabled();
+
+    /******************************************************************************************************************
+     * Method that discards the contents of the index and rebuilds it from scratch.
+     *
+     * @param systems All Systems currently persisted in the database, not null.
+     *****************************************************************************************************************/
+    void rebuild(Collection<System> systems);
+
+    /******************************************************************************************************************
+     * Method that records the creation or update of a System.
+     *
+     * @param system The System as persisted in the database, not null.
+     *****************************************************************************************************************/
+    void onSaved(System system);
+
+    /******************************************************************************************************************
+     * Method that records the deletion of a System.
+     *
+     * @param databaseID The UUID of the deleted System, not null.
+     *****************************************************************************************************************/
+    void onDeleted(String databaseID);
+
+    /******************************************************************************************************************
+     * Method that records the deletion of all Systems.
+     *****************************************************************************************************************/
+    void onCleared();
+}
@@ -0,0 +1,225 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.repositories.SystemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**********************************************************************************************************************
+ * This class keeps the in-memory indexes over IoT Systems consistent with the database. The indexes are bootstrapped
+ * in the background once the application is ready and then receive every write reported by the SystemListener.
+ * Writes reported while a (re)build is loading the collection are buffered and replayed on top of the loaded state,
+ * so that no write is lost regardless of whether the load observed it. Until an index is ready, callers are expected
+ * to query the database instead.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemIndexRegistry implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Autowired
+    SystemRepository repository;
+
+    @Autowired
+    List<SystemIndex> indexes;
+
+    /******************************************************************************************************************
+     * A lock serializing the updates of the indexes (queries never acquire it).
+     *****************************************************************************************************************/
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /******************************************************************************************************************
+     * A single background thread performing (re)builds of the indexes.
+     *****************************************************************************************************************/
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "system-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /******************************************************************************************************************
+     * The writes reported during an ongoing (re)build, null if no (re)build is loading the collection.
+     *****************************************************************************************************************/
+    private List<Consumer<SystemIndex>> pending;
+
+    /******************************************************************************************************************
+     * A counter of (re)builds, so that a superseded (re)build does not publish outdated contents.
+     *****************************************************************************************************************/
+    private long generation;
+
+    /******************************************************************************************************************
+     * Whether the indexes reflect the contents of the database.
+     *****************************************************************************************************************/
+    private volatile boolean ready;
+
+    /******************************************************************************************************************
+     * Listener that bootstraps the indexes once the application has started.
+     *
+     * @param event The event signifying that the application is ready to service requests.
+     *****************************************************************************************************************/
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        scheduleRebuild();
+    }
+
+    /******************************************************************************************************************
+     * Method that reports whether the indexes reflect the contents of the database and may serve queries.
+     *
+     * @return TRUE if the indexes are ready, FALSE otherwise.
+     *****************************************************************************************************************/
+    public boolean isReady() {
+        return ready;
+    }
+
+    /******************************************************************************************************************
+     * Method that invalidates the indexes (superseding any ongoing rebuild) and rebuilds them in the background.
+     *****************************************************************************************************************/
+    public void scheduleRebuild() {
+        if (indexes.stream().noneMatch(SystemIndex::isEnabled)) {
+            return;
+        }
+        lock.lock();
+        try {
+            generation++;
+            ready = false;
+            pending = null;
+        } finally {
+            lock.unlock();
+        }
+        rebuilder.execute(this::rebuild);
+    }
+
+    /******************************************************************************************************************
+     * Method that records the creation or update of a System in all indexes.
+     *
+     * @param system The System as persisted in the database, not null.
+     *****************************************************************************************************************/
+    public void onSaved(System system) {
+        apply(index -> index.onSaved(system));
+    }
+
+    /******************************************************************************************************************
+     * Method that records the deletion of a System in all indexes.
+     *
+     * @param databaseID The UUID of the deleted System, not null.
+     *****************************************************************************************************************/
+    public void onDeleted(String databaseID) {
+        apply(index -> index.onDeleted(databaseID));
+    }
+
+    /******************************************************************************************************************
+     * Method that records the deletion of all Systems in all indexes.
+     *****************************************************************************************************************/
+    public void onCleared() {
+        apply(SystemIndex::onCleared);
+    }
+
+    /******************************************************************************************************************
+     * Method that stops the background thread when the application shuts down.
+     *****************************************************************************************************************/
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /******************************************************************************************************************
+     * Method that applies a write to all enabled indexes, or buffers it if a (re)build is loading the collection.
+     * Writes reported before any (re)build has started are dropped, since the upcoming load will observe them.
+     *
+     * @param change The update to apply on each index.
+     *****************************************************************************************************************/
+    private void apply(Consumer<SystemIndex> change) {
+        lock.lock();
+        try {
+            if (pending != null) {
+                pending.add(change);
+            } else if (ready) {
+                forEachEnabled(change);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that loads all Systems from the database and rebuilds the indexes.
+     *****************************************************************************************************************/
+    private void rebuild() {
+
+        long current;
+        lock.lock();
+        try {
+            current = ++generation;
+            ready = false;
+            pending = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        // Loading the collection through a cursor, outside the lock.
+        List<System> systems = new ArrayList<>();
+        try (Stream<System> stream = repository.streamAllByDeletedAtIsNull()) {
+            stream.forEach(systems::add);
+        } catch (Exception e) {
+            log.error("Failed to load Systems for the in-memory indexes. Queries will be served by the database. Message: '{}'", e.getMessage());
+            lock.lock();
+            try {
+                if (current == generation) {
+                    pending = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+
+        // Publishing the loaded state, followed by the writes reported in the meantime.
+        lock.lock();
+        try {
+            if (current != generation) {
+                return;
+            }
+            forEachEnabled(index -> index.rebuild(systems));
+            for (Consumer<SystemIndex> change : pending) {
+                forEachEnabled(change);
+            }
+            log.info("In-memory indexes rebuilt from '{}' System entities ('{}' writes replayed).", systems.size(), pending.size());
+            ready = true;
+            pending = null;
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild the in-memory indexes. Queries will be served by the database. Message: '{}'", e.getMessage());
+            pending = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that applies an action on all enabled indexes.
+     *
+     * @param action The action to apply.
+     *****************************************************************************************************************/
+    private void forEachEnabled(Consumer<SystemIndex> action) {
+        for (SystemIndex index : indexes) {
+            if (index.isEnabled()) {
+                action.accept(index);
+            }
+        }
+    }
+}
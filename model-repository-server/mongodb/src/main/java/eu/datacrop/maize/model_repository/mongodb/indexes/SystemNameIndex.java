@@ -0,0 +1,125 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**********************************************************************************************************************
+ * This class maintains a trie of the names of IoT Systems, serving case-insensitive prefix lookups (typeahead)
+ * without a database round trip. The trie is updated on every creation, rename and deletion.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemNameIndex implements SystemIndex {
+
+    /******************************************************************************************************************
+     * Whether the index is maintained and used for prefix lookups.
+     *****************************************************************************************************************/
+    @Value("${model-repository.name-index.enabled:true}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * The names of all Systems, by databaseID (accessed only by writers).
+     *****************************************************************************************************************/
+    private final Map<String, String> names = new HashMap<>();
+
+    /******************************************************************************************************************
+     * The trie of the names of all Systems.
+     *****************************************************************************************************************/
+    private volatile NameTrie trie = new NameTrie();
+
+    /******************************************************************************************************************
+     * Method that reports whether the index is enabled by configuration.
+     *
+     * @return TRUE if the index should be maintained, FALSE otherwise.
+     *****************************************************************************************************************/
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /******************************************************************************************************************
+     * Method that discards the contents of the index and rebuilds it from scratch. The new trie is built aside and
+     * published at once.
+     *
+     * @param systems All Systems currently persisted in the database, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void rebuild(Collection<System> systems) {
+        NameTrie result = new NameTrie();
+        names.clear();
+        for (System system : systems) {
+            if (system.getName() != null) {
+                names.put(system.getId(), system.getName());
+                result.add(system.getName(), system.getId());
+            }
+        }
+        trie = result;
+        log.debug("Name index built with '{}' System entities.", result.size());
+    }
+
+    /******************************************************************************************************************
+     * Method that records the creation or update (possibly a rename) of a System.
+     *
+     * @param system The System as persisted in the database, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void onSaved(System system) {
+        String previous = names.get(system.getId());
+        if (previous != null && previous.equals(system.getName())) {
+            return;
+        }
+        if (previous != null) {
+            trie.remove(previous, system.getId());
+            names.remove(system.getId());
+        }
+        if (system.getName() != null) {
+            trie.add(system.getName(), system.getId());
+            names.put(system.getId(), system.getName());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that records the deletion of a System.
+     *
+     * @param databaseID The UUID of the deleted System, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void onDeleted(String databaseID) {
+        String previous = names.remove(databaseID);
+        if (previous != null) {
+            trie.remove(previous, databaseID);
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that records the deletion of all Systems.
+     *****************************************************************************************************************/
+    @Override
+    public void onCleared() {
+        names.clear();
+        trie = new NameTrie();
+    }
+
+    /******************************************************************************************************************
+     * Method that retrieves the Systems whose name starts with a prefix, ignoring case, in alphabetical order.
+     *
+     * @param prefix The prefix, not null.
+     * @param limit The maximum number of Systems to retrieve.
+     * @return The databaseIDs and names of the matched Systems.
+     *****************************************************************************************************************/
+    public List<NameTrie.Match> findByPrefix(String prefix, int limit) {
+        return trie.findByPrefix(prefix, limit);
+    }
+}
@@ -0,0 +1,279 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**********************************************************************************************************************
+ * This class maintains an in-memory spatial index over the Geographical Locations of IoT Systems, serving nearest-k
+ * and bounding box queries without a database round trip. It consists of an STR-packed R-tree plus a small buffer of
+ * recent writes (new entries and invalidated ones) that is merged into a freshly packed tree once it grows beyond a
+ * fraction of the tree. Queries read an immutable snapshot, so they never block and never observe half-applied writes.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemSpatialIndex implements SystemIndex {
+
+    /******************************************************************************************************************
+     * The minimum number of buffered writes that triggers the packing of a new tree.
+     *****************************************************************************************************************/
+    private static final int MIN_REPACK_THRESHOLD = 256;
+
+    /******************************************************************************************************************
+     * Whether the index is maintained and used for geospatial queries.
+     *****************************************************************************************************************/
+    @Value("${model-repository.spatial-index.enabled:true}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * The entries of all Systems with a Geographical Location, by databaseID (accessed only by writers).
+     *****************************************************************************************************************/
+    private final Map<String, RTree.Entry<System>> current = new HashMap<>();
+
+    /******************************************************************************************************************
+     * The entries contained in the packed tree of the snapshot, by databaseID (accessed only by writers).
+     *****************************************************************************************************************/
+    private Map<String, RTree.Entry<System>> packed = new HashMap<>();
+
+    /******************************************************************************************************************
+     * The state visible to queries.
+     *****************************************************************************************************************/
+    private volatile Snapshot snapshot = new Snapshot(RTree.empty(), Collections.emptySet(), Collections.emptyList());
+
+    /******************************************************************************************************************
+     * Method that reports whether the index is enabled by configuration.
+     *
+     * @return TRUE if the index should be maintained, FALSE otherwise.
+     *****************************************************************************************************************/
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /******************************************************************************************************************
+     * Method that discards the contents of the index and rebuilds it from scratch.
+     *
+     * @param systems All Systems currently persisted in the database, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void rebuild(Collection<System> systems) {
+        current.clear();
+        for (System system : systems) {
+            if (system.getLocation().hasGeoLocation()) {
+                current.put(system.getId(), toEntry(system));
+            }
+        }
+        repack();
+    }
+
+    /******************************************************************************************************************
+     * Method that records the creation or update of a System. Outdated reports (i.e. older than the indexed version
+     * of the System) are ignored.
+     *
+     * @param system The System as persisted in the database, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void onSaved(System system) {
+
+        RTree.Entry<System> previous = current.get(system.getId());
+        if (previous != null && isOlder(system, previous.getValue())) {
+            return;
+        }
+
+        if (system.getLocation().hasGeoLocation()) {
+            current.put(system.getId(), toEntry(system));
+        } else if (previous == null) {
+            return;
+        } else {
+            current.remove(system.getId());
+        }
+        publish(system.getId());
+    }
+
+    /******************************************************************************************************************
+     * Method that records the deletion of a System.
+     *
+     * @param databaseID The UUID of the deleted System, not null.
+     *****************************************************************************************************************/
+    @Override
+    public void onDeleted(String databaseID) {
+        if (current.remove(databaseID) != null) {
+            publish(databaseID);
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that records the deletion of all Systems.
+     *****************************************************************************************************************/
+    @Override
+    public void onCleared() {
+        current.clear();
+        repack();
+    }
+
+    /******************************************************************************************************************
+     * Method that retrieves the Systems located within a maximum distance from a point, sorted by distance.
+     *
+     * @param latitude The latitude of the reference point, in decimal degrees.
+     * @param longitude The longitude of the reference point, in decimal degrees.
+     * @param maxDistance The maximum distance from the reference point, in meters.
+     * @param limit The maximum number of Systems to retrieve.
+     * @return The retrieved Systems, sorted from the nearest to the farthest.
+     *****************************************************************************************************************/
+    public List<System> findNearest(double latitude, double longitude, double maxDistance, int limit) {
+
+        Snapshot state = snapshot;
+        List<RTree.Entry<System>> candidates = new ArrayList<>(state.tree.nearest(latitude, longitude, maxDistance, limit,
+                entry -> !state.stale.contains(entry.getValue().getId())));
+        for (RTree.Entry<System> entry : state.delta) {
+            if (RTree.distance(latitude, longitude, entry.getLatitude(), entry.getLongitude()) <= maxDistance) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(entry ->
+                RTree.distance(latitude, longitude, entry.getLatitude(), entry.getLongitude())));
+
+        List<System> results = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (int i = 0; i < candidates.size() && i < limit; i++) {
+            results.add(candidates.get(i).getValue());
+        }
+        return results;
+    }
+
+    /******************************************************************************************************************
+     * Method that retrieves the Systems located within a bounding box, paginated. Systems are ordered by databaseID,
+     * so that consecutive pages are consistent.
+     *
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @param pageable Information on the pagination configurations, not null.
+     * @return The requested page of Systems.
+     *****************************************************************************************************************/
+    public Page<System> findWithinBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                      Pageable pageable) {
+
+        Snapshot state = snapshot;
+        List<RTree.Entry<System>> matches = state.tree.searchBox(minLatitude, minLongitude, maxLatitude, maxLongitude,
+                entry -> !state.stale.contains(entry.getValue().getId()));
+        for (RTree.Entry<System> entry : state.delta) {
+            if (entry.getLatitude() >= minLatitude && entry.getLatitude() <= maxLatitude
+                    && entry.getLongitude() >= minLongitude && entry.getLongitude() <= maxLongitude) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(Comparator.comparing(entry -> entry.getValue().getId()));
+
+        List<System> content = new ArrayList<>();
+        for (long i = pageable.getOffset(); i < matches.size() && content.size() < pageable.getPageSize(); i++) {
+            content.add(matches.get((int) i).getValue());
+        }
+        return new PageImpl<>(content, pageable, matches.size());
+    }
+
+    /******************************************************************************************************************
+     * Method that publishes a new snapshot after a write on a System, packing a new tree if the buffer is too large.
+     *
+     * @param databaseID The UUID of the System affected by the write.
+     *****************************************************************************************************************/
+    private void publish(String databaseID) {
+
+        Snapshot state = snapshot;
+
+        Set<String> stale = state.stale;
+        if (packed.containsKey(databaseID) && !stale.contains(databaseID)) {
+            stale = new HashSet<>(stale);
+            stale.add(databaseID);
+        }
+
+        List<RTree.Entry<System>> delta = new ArrayList<>(state.delta.size() + 1);
+        for (RTree.Entry<System> entry : state.delta) {
+            if (!entry.getValue().getId().equals(databaseID)) {
+                delta.add(entry);
+            }
+        }
+        RTree.Entry<System> entry = current.get(databaseID);
+        if (entry != null) {
+            delta.add(entry);
+        }
+
+        if (stale.size() + delta.size() > Math.max(MIN_REPACK_THRESHOLD, packed.size() / 8)) {
+            repack();
+        } else {
+            snapshot = new Snapshot(state.tree, stale, delta);
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that packs a new tree out of all current entries and publishes it with an empty buffer.
+     *****************************************************************************************************************/
+    private void repack() {
+        packed = new HashMap<>(current);
+        snapshot = new Snapshot(RTree.pack(packed.values()), Collections.emptySet(), Collections.emptyList());
+        log.debug("Spatial index packed with '{}' System entities.", packed.size());
+    }
+
+    /******************************************************************************************************************
+     * Method that checks whether a reported version of a System is older than the indexed one. Versions are ordered
+     * by the version number that every write increments; the dates of the latest updates, which may coincide or come
+     * from drifting clocks, are only compared for Systems written before they carried a version number, in which
+     * case a report is not deemed newer unless its date is later.
+     *
+     * @param reported The reported version of the System.
+     * @param indexed The indexed version of the System.
+     * @return TRUE if the reported version is older, FALSE otherwise.
+     *****************************************************************************************************************/
+    static boolean isOlder(System reported, System indexed) {
+        if (reported == indexed) {
+            return false;
+        }
+        if (reported.getVersion() != null && indexed.getVersion() != null) {
+            return reported.getVersion() < indexed.getVersion();
+        }
+        if (indexed.getLatestUpdateDate() == null) {
+            return false;
+        }
+        return reported.getLatestUpdateDate() == null || !reported.getLatestUpdateDate().isAfter(indexed.getLatestUpdateDate());
+    }
+
+    /******************************************************************************************************************
+     * Method that produces the index entry of a System with a Geographical Location.
+     *
+     * @param system The System to index, not null.
+     * @return The entry of the System.
+     *****************************************************************************************************************/
+    private static RTree.Entry<System> toEntry(System system) {
+        return new RTree.Entry<>(system.getLocation().getLatitude(), system.getLocation().getLongitude(), system);
+    }
+
+    /******************************************************************************************************************
+     * This inner class represents an immutable state of the index: a packed tree, the databaseIDs of its entries
+     * that have been invalidated by later writes, and the entries written after the tree was packed.
+     *****************************************************************************************************************/
+    private static final class Snapshot {
+
+        private final RTree<System> tree;
+
+        private final Set<String> stale;
+
+        private final List<RTree.Entry<System>> delta;
+
+        private Snapshot(RTree<System> tree, Set<String> stale, List<RTree.Entry<System>> delta) {
+            this.tree = tree;
+            this.stale = stale;
+            this.delta = delta;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package eu.datacrop.maize.model_repository.mongodb.jobs;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemJobType;
+import eu.datacrop.maize.model_repository.mongodb.repositories.SystemRepository;
+import eu.datacrop.maize.model_repository.mongodb.storage.SystemAdditionalInformationStore;
+import eu.datacrop.maize.model_repository.mongodb.storage.SystemPurger;
+import eu.datacrop.maize.model_repository.mongodb.storage.SystemRevisionStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**********************************************************************************************************************
+ * This class deletes all IoT Systems as a Job, in chunks of Systems taken in the order of their identifiers, so that
+ * the deletion of a large collection neither holds a request nor monopolizes the database. Each chunk deletes its
+ * Systems by identifier (or marks them as deleted, if soft deletion or the outbox is enabled, recording the deletions
+ * in the outbox) and publishes the corresponding AfterDeleteEvent, which keeps the in-memory indexes up to date. The deletion of each System is
+ * recorded in its history, which is kept, as with the immediate deletion of all Systems.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Component
+@Profile("devmongo")
+public class DeleteAllSystemsJobTask implements SystemJobTask {
+
+    @Autowired
+    MongoTemplate template;
+
+    @Autowired
+    SystemRepository repository;
+
+    @Autowired
+    SystemPurger purger;
+
+    @Autowired
+    SystemAdditionalInformationStore additionalInformationStore;
+
+    @Autowired
+    SystemRevisionStore revisionStore;
+
+    /******************************************************************************************************************
+     * Method that reports the operation performed by the task.
+     *
+     * @return The type of Jobs executed by the task.
+     *****************************************************************************************************************/
+    @Override
+    public SystemJobType getType() {
+        return SystemJobType.DELETE_ALL_SYSTEMS;
+    }
+
+    /******************************************************************************************************************
+     * Method that estimates the number of items to process, upon the start of a Job.
+     *
+     * @return The number of Systems not deleted.
+     *****************************************************************************************************************/
+    @Override
+    public long estimate() {
+        return template.count(new Query(Criteria.where("deletedAt").is(null)), System.class);
+    }
+
+    /******************************************************************************************************************
+     * Method that deletes the next chunk of Systems, i.e. the Systems not deleted whose identifiers follow the
+     * checkpoint. Executing a chunk again from the same checkpoint skips the Systems it has already deleted.
+     *
+     * @param checkpoint The identifier of the last System deleted by the previous chunk, null for the first chunk.
+     * @param chunkSize The maximum number of Systems to delete, positive.
+     * @return The outcome of the chunk, whose checkpoint is the identifier of the last System deleted.
+     *****************************************************************************************************************/
+    @Override
+    public Chunk executeChunk(String checkpoint, int chunkSize) {
+
+        // Selecting the identifiers of the next Systems to delete.
+        Criteria criteria = Criteria.where("deletedAt").is(null);
+        if (checkpoint != null) {
+            criteria.and("_id").gt(checkpoint);
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(chunkSize);
+        query.fields().include("_id");
+        List<String> databaseIDs = template.find(query, System.class).stream().map(System::getId).toList();
+        if (databaseIDs.isEmpty()) {
+            return new Chunk(0, checkpoint, true);
+        }
+
+        // Recording the deletion of the selected Systems in their history (markers already recorded are kept).
+        revisionStore.recordDeletions(Criteria.where("_id").in(databaseIDs).and("deletedAt").is(null));
+
+        // Deleting the selected Systems (or marking them), announcing their deletion by their identifiers.
+        if (purger.isEnabled()) {
+            // The update publishes the AfterDeleteEvent itself, carrying the identifiers (and records the deletions).
+            repository.softDeleteAll(databaseIDs, LocalDateTime.now());
+        } else {
+            // The removal publishes the AfterDeleteEvent itself, carrying the same filter.
+            template.remove(new Query(Criteria.where("_id").in(databaseIDs)), System.class);
+            additionalInformationStore.deleteAll(databaseIDs);
+        }
+
+        return new Chunk(databaseIDs.size(), databaseIDs.get(databaseIDs.size() - 1), databaseIDs.size() < chunkSize);
+    }
+
+    /******************************************************************************************************************
+     * Method that concludes the Job, once all Systems have been deleted. Nothing remains to be done, since each chunk
+     * has recorded the deletion of its Systems in their history.
+     *****************************************************************************************************************/
+    @Override
+    public void complete() {
+    }
+}
@@ -0,0 +1,372 @@
+package eu.datacrop.maize.model_repository.mongodb.jobs;
+
+import eu.datacrop.maize.model_repository.commons.enums.JobStatus;
+import eu.datacrop.maize.model_repository.commons.util.WriteConcernOverride;
+import eu.datacrop.maize.model_repository.mongodb.model.SystemJob;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemJobType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**********************************************************************************************************************
+ * This class executes Jobs, i.e. long-running operations on IoT Systems, in the background. Jobs are persisted upon
+ * submission and claimed one at a time by a single background thread, which executes them in chunks of limited size
+ * separated by a pause (so that a Job never monopolizes the database), persisting the checkpoint and progress of the
+ * Job after every chunk. A cancellation is honoured before the next chunk, while a Job interrupted by a shutdown is
+ * resumed from its latest checkpoint upon the next start. Opt-out; meant to run on a single instance of the server.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemJobRunner {
+
+    @Autowired
+    MongoTemplate template;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    List<SystemJobTask> tasks;
+
+    /******************************************************************************************************************
+     * Whether this instance of the server executes the submitted Jobs.
+     *****************************************************************************************************************/
+    @Value("${model-repository.jobs.enabled:true}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * The maximum number of items processed per chunk.
+     *****************************************************************************************************************/
+    @Value("${model-repository.jobs.chunk-size:1000}")
+    private int chunkSize;
+
+    /******************************************************************************************************************
+     * The pause (in milliseconds) between consecutive chunks, which limits the rate of a Job.
+     *****************************************************************************************************************/
+    @Value("${model-repository.jobs.chunk-interval-ms:100}")
+    private long intervalMillis;
+
+    /******************************************************************************************************************
+     * The time (in milliseconds) that the runner waits before checking again, once no Job is pending.
+     *****************************************************************************************************************/
+    @Value("${model-repository.jobs.poll-ms:5000}")
+    private long pollMillis;
+
+    /******************************************************************************************************************
+     * The tasks executing the Jobs, per type of Job.
+     *****************************************************************************************************************/
+    private final Map<SystemJobType, SystemJobTask> tasksByType = new EnumMap<>(SystemJobType.class);
+
+    /******************************************************************************************************************
+     * The lock on which the background thread waits for new Jobs.
+     *****************************************************************************************************************/
+    private final Object monitor = new Object();
+
+    /******************************************************************************************************************
+     * The background thread executing the Jobs, null while not running.
+     *****************************************************************************************************************/
+    private Thread worker;
+
+    /******************************************************************************************************************
+     * Whether the runner is running.
+     *****************************************************************************************************************/
+    private volatile boolean running;
+
+    /******************************************************************************************************************
+     * The Job being executed, null while idle.
+     *****************************************************************************************************************/
+    private final AtomicReference<SystemJob> current = new AtomicReference<>();
+
+    /******************************************************************************************************************
+     * The number of items processed by Jobs.
+     *****************************************************************************************************************/
+    private Counter processed;
+
+    /******************************************************************************************************************
+     * The time taken per chunk.
+     *****************************************************************************************************************/
+    private Timer chunks;
+
+    /******************************************************************************************************************
+     * Method that registers the tasks and the metrics, resets the Jobs interrupted by a previous shutdown and starts
+     * the background thread, if enabled.
+     *****************************************************************************************************************/
+    @PostConstruct
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        for (SystemJobTask task : tasks) {
+            tasksByType.put(task.getType(), task);
+        }
+        processed = Counter.builder("model_repository.system.job.processed")
+                .description("The number of items processed by Jobs.")
+                .register(meterRegistry);
+        chunks = Timer.builder("model_repository.system.job.chunk")
+                .description("The time taken per chunk of a Job.")
+                .register(meterRegistry);
+        Gauge.builder("model_repository.system.job.progress", current, reference -> progress(reference.get()))
+                .description("The fraction of the items processed by the Job being executed.")
+                .register(meterRegistry);
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            template.updateMulti(new Query(Criteria.where("status").is(JobStatus.RUNNING)),
+                    new Update().set("status", JobStatus.PENDING), SystemJob.class);
+        } catch (Exception e) {
+            log.warn("Failed to reset the interrupted Jobs: {}", e.getMessage());
+        }
+
+        running = true;
+        worker = new Thread(this::run, "system-job-runner");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Executing Jobs in chunks of {} every {} ms.", chunkSize, intervalMillis);
+    }
+
+    /******************************************************************************************************************
+     * Method that stops the background thread. A Job being executed is resumed from its latest checkpoint upon the
+     * next start.
+     *****************************************************************************************************************/
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+        log.info("Execution of Jobs has been shut down.");
+    }
+
+    /******************************************************************************************************************
+     * Method that submits a Job. If a Job of the same type is already pending or being executed, that Job is returned
+     * instead, since executing the same operation twice at once is pointless.
+     *
+     * @param type The operation to execute, not null.
+     * @param writeConcern The write concern applied to the writes of the Job, null for the configured one.
+     * @return The submitted (or already unfinished) Job.
+     *****************************************************************************************************************/
+    public SystemJob submit(SystemJobType type, String writeConcern) {
+
+        if (!tasksByType.containsKey(type)) {
+            throw new IllegalArgumentException("No task executes Jobs of type " + type + ".");
+        }
+        SystemJob unfinished = template.findOne(new Query(Criteria.where("type").is(type)
+                .and("status").in(JobStatus.PENDING, JobStatus.RUNNING)), SystemJob.class);
+        if (unfinished != null) {
+            return unfinished;
+        }
+
+        SystemJob job = template.insert(new SystemJob(UUID.randomUUID().toString(), type, writeConcern));
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+        log.info("Job with ID '{}' has been submitted.", job.getId());
+        return job;
+    }
+
+    /******************************************************************************************************************
+     * Method that retrieves a Job.
+     *
+     * @param id The UUID of the Job, not null.
+     * @return The Job, or null if not found.
+     *****************************************************************************************************************/
+    public SystemJob retrieve(String id) {
+        return template.findById(id, SystemJob.class);
+    }
+
+    /******************************************************************************************************************
+     * Method that cancels a Job. A pending Job is cancelled at once, while a Job being executed is cancelled before
+     * its next chunk.
+     *
+     * @param id The UUID of the Job, not null.
+     * @return The Job, as updated by the cancellation, or null if not found.
+     * @throws IllegalStateException if the Job has already finished.
+     *****************************************************************************************************************/
+    public SystemJob cancel(String id) {
+
+        LocalDateTime now = LocalDateTime.now();
+        SystemJob job = template.findAndModify(
+                new Query(Criteria.where("_id").is(id).and("status").is(JobStatus.PENDING)),
+                new Update().set("status", JobStatus.CANCELLED).set("cancellationRequested", true)
+                        .set("latestUpdateDate", now).set("endDate", now),
+                FindAndModifyOptions.options().returnNew(true), SystemJob.class);
+        if (job != null) {
+            meterRegistry.counter("model_repository.system.job.finished", "status", JobStatus.CANCELLED.toString()).increment();
+            log.info("Job with ID '{}' has been cancelled.", id);
+            return job;
+        }
+
+        job = template.findAndModify(
+                new Query(Criteria.where("_id").is(id).and("status").is(JobStatus.RUNNING)),
+                new Update().set("cancellationRequested", true),
+                FindAndModifyOptions.options().returnNew(true), SystemJob.class);
+        if (job != null) {
+            log.info("Cancellation of Job with ID '{}' has been requested.", id);
+            return job;
+        }
+
+        job = retrieve(id);
+        if (job != null) {
+            throw new IllegalStateException("Job with ID '" + id + "' has already finished.");
+        }
+        return null;
+    }
+
+    /******************************************************************************************************************
+     * Method executed by the background thread: claims and executes the pending Jobs (the earliest first) until shut
+     * down, waiting for new Jobs once none is pending.
+     *****************************************************************************************************************/
+    private void run() {
+
+        while (running) {
+            SystemJob job;
+            try {
+                job = template.findAndModify(
+                        new Query(Criteria.where("status").is(JobStatus.PENDING)).with(Sort.by(Sort.Direction.ASC, "creationDate")),
+                        new Update().set("status", JobStatus.RUNNING).set("startDate", LocalDateTime.now()),
+                        FindAndModifyOptions.options().returnNew(true), SystemJob.class);
+            } catch (Exception e) {
+                log.warn("Failed to claim a pending Job, retrying in {} ms: {}", pollMillis, e.getMessage());
+                job = null;
+            }
+
+            if (job != null) {
+                execute(job);
+                continue;
+            }
+            try {
+                synchronized (monitor) {
+                    monitor.wait(pollMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that executes a claimed Job, chunk after chunk, from its latest checkpoint until it finishes, is
+     * cancelled or the runner is shut down. The write concern requested upon submission applies throughout.
+     *
+     * @param job The claimed Job, not null.
+     *****************************************************************************************************************/
+    void execute(SystemJob job) {
+
+        current.set(job);
+        WriteConcernOverride.set(job.getWriteConcern());
+        try {
+            SystemJobTask task = tasksByType.get(job.getType());
+            if (job.getCheckpoint() == null) {
+                job.setTotal(task.estimate());
+                template.updateFirst(new Query(Criteria.where("_id").is(job.getId())),
+                        new Update().set("total", job.getTotal()), SystemJob.class);
+            }
+
+            while (running) {
+                if (template.exists(new Query(Criteria.where("_id").is(job.getId()).and("cancellationRequested").is(true)), SystemJob.class)) {
+                    finish(job, JobStatus.CANCELLED, "The Job has been cancelled upon request.");
+                    return;
+                }
+
+                String checkpoint = job.getCheckpoint();
+                SystemJobTask.Chunk chunk = chunks.recordCallable(() -> task.executeChunk(checkpoint, chunkSize));
+                job.setProcessed(job.getProcessed() + chunk.processed());
+                job.setCheckpoint(chunk.checkpoint());
+                job.setLatestUpdateDate(LocalDateTime.now());
+                template.updateFirst(new Query(Criteria.where("_id").is(job.getId())),
+                        new Update().set("processed", job.getProcessed()).set("checkpoint", job.getCheckpoint())
+                                .set("latestUpdateDate", job.getLatestUpdateDate()), SystemJob.class);
+                processed.increment(chunk.processed());
+
+                if (chunk.last()) {
+                    task.complete();
+                    finish(job, JobStatus.SUCCEEDED, "The Job has been concluded successfully.");
+                    return;
+                }
+                Thread.sleep(intervalMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (!running) {
+                // Interrupted by the shutdown, the Job is resumed upon the next start.
+                return;
+            }
+            log.error("Job with ID '{}' has failed: {}", job.getId(), e.getMessage());
+            finish(job, JobStatus.FAILED, "The Job has failed: " + e.getMessage());
+        } finally {
+            WriteConcernOverride.clear();
+            current.set(null);
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that records the conclusion of a Job.
+     *
+     * @param job The Job, not null.
+     * @param status The final stage of the Job, not null.
+     * @param message A comment on the outcome of the Job.
+     *****************************************************************************************************************/
+    private void finish(SystemJob job, JobStatus status, String message) {
+
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            template.updateFirst(new Query(Criteria.where("_id").is(job.getId())),
+                    new Update().set("status", status).set("message", message)
+                            .set("latestUpdateDate", now).set("endDate", now), SystemJob.class);
+        } catch (Exception e) {
+            log.error("Failed to record the conclusion of Job with ID '{}': {}", job.getId(), e.getMessage());
+        }
+        meterRegistry.counter("model_repository.system.job.finished", "status", status.toString()).increment();
+        log.info("Job with ID '{}' has finished as {} after processing {} items.", job.getId(), status, job.getProcessed());
+    }
+
+    /******************************************************************************************************************
+     * Method that computes the progress of a Job.
+     *
+     * @param job The Job, null while idle.
+     * @return The fraction of the estimated items processed, between 0 and 1 (0 while idle).
+     *****************************************************************************************************************/
+    private static double progress(SystemJob job) {
+        if (job == null || job.getTotal() <= 0L) {
+            return 0.0;
+        }
+        return Math.min(1.0, (double) job.getProcessed() / job.getTotal());
+    }
+}
@@ -0,0 +1,57 @@
+package eu.datacrop.maize.model_repository.mongodb.jobs;
+
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemJobType;
+
+/**********************************************************************************************************************
+ * This interface defines a long-running operation on IoT Systems that is executed as a Job by the SystemJobRunner: in
+ * chunks of limited size, each resuming from the checkpoint reached by the previous one, so that the Job may be
+ * throttled, cancelled between chunks and resumed after a restart. Chunks must therefore be safe to execute again from
+ * the same checkpoint (e.g. after a crash before the checkpoint has been persisted).
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public interface SystemJobTask {
+
+    /******************************************************************************************************************
+     * The outcome of a chunk.
+     *
+     * @param processed The number of items processed by the chunk.
+     * @param checkpoint The position from which the next chunk resumes, not null unless nothing has been processed.
+     * @param last Whether nothing is left to process after the chunk.
+     *****************************************************************************************************************/
+    record Chunk(int processed, String checkpoint, boolean last) {
+    }
+
+    /******************************************************************************************************************
+     * Method that reports the operation performed by the task.
+     *
+     * @return The type of Jobs executed by the task.
+     *****************************************************************************************************************/
+    SystemJobType getType();
+
+    /******************************************************************************************************************
+     * Method that estimates the number of items to process, upon the start of a Job.
+     *
+     * @return The estimated number of items.
+     *****************************************************************************************************************/
+    long estimate();
+
+    /******************************************************************************************************************
+     * Method that processes the next chunk of items.
+     *
+     * @param checkpoint The position reached by the previous chunk, null for the first chunk.
+     * @param chunkSize The maximum number of items to process, positive.
+     * @return The outcome of the chunk.
+     *
+     * @throws Exception if the chunk could not be processed (the Job then fails).
+     *****************************************************************************************************************/
+    Chunk executeChunk(String checkpoint, int chunkSize) throws Exception;
+
+    /******************************************************************************************************************
+     * Method that concludes a Job, once its last chunk has been processed.
+     *
+     * @throws Exception if the Job could not be concluded (the Job then fails).
+     *****************************************************************************************************************/
+    void complete() throws Exception;
+}
@@ -1,15 +1,28 @@
 package eu.datacrop.maize.model_repository.mongodb.listeners;
 
+import eu.datacrop.maize.model_repository.mongodb.indexes.SystemIndexRegistry;
 import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemChangeType;
+import eu.datacrop.maize.model_repository.mongodb.outbox.SystemOutbox;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
 import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
 import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 /**********************************************************************************************************************
- * This class automatically reports database transactions pertaining to IoT Systems (for MongoDB).
+ * This class automatically reports database transactions pertaining to IoT Systems (for MongoDB). The transactions
+ * are also forwarded to the in-memory indexes over IoT Systems, so that these remain consistent with the database. The
+ * creation of a System is recorded in the outbox of changes within the inserted document itself (later changes are
+ * recorded by the writes performing them), and the relay of the outbox is notified of every change.
  *
  * @author Angela-Maria Despotopoulou [Athens, Greece]
  * @since version 0.3.0
@@ -19,6 +32,29 @@ import org.springframework.stereotype.Component;
 @Profile("devmongo")
 public class SystemListener extends AbstractMongoEventListener<System> {
 
+    @Autowired
+    SystemIndexRegistry indexRegistry;
+
+    @Autowired
+    SystemOutbox outbox;
+
+    /******************************************************************************************************************
+     * Listener that records the creation of an IoT System in the outbox of changes, as a pending change within the
+     * document about to be inserted. Systems are only ever saved by insertion (with their first version), since every
+     * later write is a conditional update recording its change itself.
+     *
+     * @param event An event produced right before an entity is persisted on MongoDB.
+     *****************************************************************************************************************/
+    @Override
+    public void onBeforeSave(BeforeSaveEvent event) {
+
+        if (outbox.isEnabled() && event.getDocument() != null) {
+            Object version = event.getDocument().get("version");
+            event.getDocument().put(SystemOutbox.PENDING_CHANGES,
+                    List.of(SystemOutbox.pendingChange(SystemChangeType.CREATED, version, new Date())));
+        }
+    }
+
     /******************************************************************************************************************
      * Listener that reports Save Events pertaining to IoT Systems (for MongoDB).
      *
@@ -36,6 +72,8 @@ public class SystemListener extends AbstractMongoEventListener<System> {
         System system = (System) event.getSource();
         log.info("System with DatabaseID: '{}' has been persisted to MongoDB.",
                 system.getId());
+        indexRegistry.onSaved(system);
+        outbox.wake();
     }
 
     /******************************************************************************************************************
@@ -52,12 +90,26 @@ public class SystemListener extends AbstractMongoEventListener<System> {
             throw new IllegalArgumentException("AfterDeleteEvent not correlated to a document detected.");
         }
 
-        try {
-            log.info("System with DatabaseID: '{}' has been deleted from MongoDB.",
-                    (event.getDocument()).get("_id").toString());
-        } catch (NullPointerException e) {
-            log.error("Event reported as null during deletion.");
+        // The event carries the filter of the deletion: a single identifier, a list of identifiers (e.g. a chunk of a
+        // Job), nothing (all Systems) or anything else.
+        Document filter = event.getDocument();
+        if (filter.get("_id") instanceof String databaseID) {
+            log.info("System with DatabaseID: '{}' has been deleted from MongoDB.", databaseID);
+            indexRegistry.onDeleted(databaseID);
+        } else if (filter.size() == 1 && filter.get("_id") instanceof Document selector
+                && selector.size() == 1 && selector.get("$in") instanceof Collection<?> databaseIDs) {
+            log.info("{} Systems have been deleted from MongoDB by identifier.", databaseIDs.size());
+            for (Object databaseID : databaseIDs) {
+                indexRegistry.onDeleted(databaseID.toString());
+            }
+        } else if (filter.isEmpty()) {
+            log.info("All Systems have been deleted from MongoDB.");
+            indexRegistry.onCleared();
+        } else {
+            log.info("Systems matching '{}' have been deleted from MongoDB.", filter.toJson());
+            indexRegistry.scheduleRebuild();
         }
+        outbox.wake();
     }
 
 }
@@ -7,7 +7,12 @@ import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.Location;
 import lombok.Builder;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.index.WildcardIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import javax.persistence.EntityListeners;
 import java.io.Serial;
@@ -40,12 +45,15 @@ public class System implements Serializable {
 
     /******************************************************************************************************************
      * A human readable string representing a unique identifier for the IoT System. Mandatory field.
+     * Part of the full-text index, weighted higher than the description.
      *****************************************************************************************************************/
+    @TextIndexed(weight = 3)
     private String name;
 
     /******************************************************************************************************************
-     * A textual description of the IoT System. Mandatory field.
+     * A textual description of the IoT System. Mandatory field. Part of the full-text index.
      *****************************************************************************************************************/
+    @TextIndexed
     private String description;
 
     /******************************************************************************************************************
@@ -56,12 +64,35 @@ public class System implements Serializable {
     /******************************************************************************************************************
      * A human readable string representing the organization owning the IoT System. Optional field.
      *****************************************************************************************************************/
+    @Indexed
     private String organization;
 
     /******************************************************************************************************************
      * A collection of versatile variables hosting additional information on the IoT System. Optional field.
+     * Persisted as an array; entries that are objects become sub-documents, whose keys are covered by a wildcard
+     * index so that Systems may be filtered by key/value pairs.
      *****************************************************************************************************************/
-    private transient Set<Object> additionalInformation;
+    @WildcardIndexed
+    private Set<Object> additionalInformation;
+
+    /******************************************************************************************************************
+     * Whether the additional information of the IoT System exceeded the size allowed for embedding and has therefore
+     * been moved to the side collection of SystemAdditionalInformation (leaving the embedded collection empty).
+     *****************************************************************************************************************/
+    private boolean additionalInformationDetached;
+
+    /******************************************************************************************************************
+     * The hash of the contents of the IoT System as last written (see SystemContentHasher), used to skip updates
+     * that would not change anything. Null for Systems not written since its introduction.
+     *****************************************************************************************************************/
+    private String contentHash;
+
+    /******************************************************************************************************************
+     * The version of the IoT System, incremented by every write and exposed to clients as entity tag, so that writes
+     * may be made conditional on it (optimistic concurrency). Null for Systems not written since its introduction.
+     *****************************************************************************************************************/
+    @Version
+    private Long version;
 
     /******************************************************************************************************************
      * Timestamp of first persistence regarding the IoT System in the database.
@@ -76,18 +107,37 @@ public class System implements Serializable {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
     private LocalDateTime latestUpdateDate;
 
+    /******************************************************************************************************************
+     * Timestamp of the (soft) deletion of the IoT System, after which it is hidden from every read until purged from
+     * the database. Null for Systems not deleted.
+     *****************************************************************************************************************/
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime deletedAt;
+
+    /******************************************************************************************************************
+     * The relevance of the IoT System to a full-text search. Populated only by full-text queries, never persisted.
+     *****************************************************************************************************************/
+    @TextScore
+    private Float score;
+
     /******************************************************************************************************************
      * Constructor of the System class, used for the Builder pattern.
      *****************************************************************************************************************/
     public System(String id, String name, String description, Location location,
-                  String organization, Set<Object> additionalInformation,
-                  LocalDateTime creationDate, LocalDateTime latestUpdateDate) {
+                  String organization, Set<Object> additionalInformation, boolean additionalInformationDetached,
+                  String contentHash, Long version, LocalDateTime creationDate, LocalDateTime latestUpdateDate,
+                  LocalDateTime deletedAt, Float score) {
         this.id = id;
+        this.additionalInformationDetached = additionalInformationDetached;
+        this.contentHash = contentHash;
+        this.version = version;
         this.name = name;
         this.description = description;
         this.organization = organization;
         this.creationDate = creationDate;
         this.latestUpdateDate = latestUpdateDate;
+        this.deletedAt = deletedAt;
+        this.score = score;
 
         if (location == null) {
             this.location = new Location();
@@ -243,6 +293,60 @@ public class System implements Serializable {
         }
     }
 
+    /******************************************************************************************************************
+     * "Getter" method for "additionalInformationDetached" attribute.
+     *
+     * @return The current value of the object's "additionalInformationDetached" attribute.
+     *****************************************************************************************************************/
+    public boolean isAdditionalInformationDetached() {
+        return additionalInformationDetached;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "additionalInformationDetached" attribute.
+     *
+     * @param additionalInformationDetached A value to assign to the object's "additionalInformationDetached" attribute.
+     *****************************************************************************************************************/
+    public void setAdditionalInformationDetached(boolean additionalInformationDetached) {
+        this.additionalInformationDetached = additionalInformationDetached;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "contentHash" attribute.
+     *
+     * @return The current value of the object's "contentHash" attribute.
+     *****************************************************************************************************************/
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "contentHash" attribute.
+     *
+     * @param contentHash A value to assign to the object's "contentHash" attribute.
+     *****************************************************************************************************************/
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "version" attribute.
+     *
+     * @return The current value of the object's "version" attribute.
+     *****************************************************************************************************************/
+    public Long getVersion() {
+        return version;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "version" attribute.
+     *
+     * @param version A value to assign to the object's "version" attribute.
+     *****************************************************************************************************************/
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /******************************************************************************************************************
      * "Getter" method for "creationDate" attribute.
      *
@@ -279,6 +383,42 @@ public class System implements Serializable {
         this.latestUpdateDate = latestUpdateDate;
     }
 
+    /******************************************************************************************************************
+     * "Getter" method for "deletedAt" attribute.
+     *
+     * @return The current value of the object's "deletedAt" attribute, null unless the System has been deleted.
+     *****************************************************************************************************************/
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "deletedAt" attribute.
+     *
+     * @param deletedAt A value to assign to the object's "deletedAt" attribute.
+     *****************************************************************************************************************/
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "score" attribute.
+     *
+     * @return The current value of the object's "score" attribute, null unless retrieved by a full-text query.
+     *****************************************************************************************************************/
+    public Float getScore() {
+        return score;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "score" attribute.
+     *
+     * @param score A value to assign to the object's "score" attribute.
+     *****************************************************************************************************************/
+    public void setScore(Float score) {
+        this.score = score;
+    }
+
     /******************************************************************************************************************
      * Method for gracefully adding AdditionalInformation objects to the IoT System object. Duplicates are removed.
      *
@@ -353,6 +493,7 @@ public class System implements Serializable {
                 ", location=" + location +
                 ", organization='" + organization + '\'' +
                 ", additionalInformation=" + additionalInformation +
+                ", additionalInformationDetached=" + additionalInformationDetached +
                 ", creationDate=" + ((creationDate != null) ? creationDate.format(DateFormatter.formatter) : "") +
                 ", latestUpdateDate=" + ((latestUpdateDate != null) ? latestUpdateDate.format(DateFormatter.formatter) : "") +
                 '}';
@@ -0,0 +1,135 @@
+package eu.datacrop.maize.model_repository.mongodb.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.WildcardIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**********************************************************************************************************************
+ * This class defines the data model of the additional information of IoT Systems that is too large to be embedded
+ * in the System documents themselves. Such additional information is persisted in a side collection, keyed by the
+ * identifier of the respective System, and is only loaded on explicit request.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Document(collection = "SystemAdditionalInformation")
+public class SystemAdditionalInformation implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 6212581406324707851L;
+
+    /******************************************************************************************************************
+     * The UUID of the IoT System owning the additional information. Mandatory field.
+     *****************************************************************************************************************/
+    @Id
+    private String id;
+
+    /******************************************************************************************************************
+     * A collection of versatile variables hosting additional information on the IoT System. Mandatory field.
+     * Covered by a wildcard index, exactly as the additional information embedded in System documents.
+     *****************************************************************************************************************/
+    @WildcardIndexed
+    private Set<Object> additionalInformation;
+
+    /******************************************************************************************************************
+     * Constructor of the SystemAdditionalInformation class.
+     *****************************************************************************************************************/
+    public SystemAdditionalInformation(String id, Set<Object> additionalInformation) {
+        this.id = id;
+        if (additionalInformation == null) {
+            this.additionalInformation = new HashSet<>();
+        } else {
+            this.additionalInformation = additionalInformation;
+        }
+    }
+
+    /******************************************************************************************************************
+     * Empty constructor of the SystemAdditionalInformation class.
+     *****************************************************************************************************************/
+    public SystemAdditionalInformation() {
+        this("", null);
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "id" attribute.
+     *
+     * @return The current value of the object's "id" attribute.
+     *****************************************************************************************************************/
+    public String getId() {
+        return id;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "id" attribute.
+     *
+     * @param id A value to assign to the object's "id" attribute, not null.
+     *****************************************************************************************************************/
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "additionalInformation" attribute.
+     *
+     * @return The current value of the object's "additionalInformation" attribute.
+     *****************************************************************************************************************/
+    public Set<Object> getAdditionalInformation() {
+        if (this.additionalInformation == null) {
+            this.additionalInformation = new HashSet<>();
+        }
+        return additionalInformation;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "additionalInformation" attribute.
+     *
+     * @param additionalInformation A value to assign to the object's "additionalInformation" attribute, not null.
+     *****************************************************************************************************************/
+    public void setAdditionalInformation(Set<Object> additionalInformation) {
+        if (additionalInformation == null) {
+            this.additionalInformation = new HashSet<>();
+        } else {
+            this.additionalInformation = additionalInformation;
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that checks whether two SystemAdditionalInformation objects are equal.
+     *
+     * @param o The second Object to compare with the current Object, not null.
+     *****************************************************************************************************************/
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SystemAdditionalInformation that = (SystemAdditionalInformation) o;
+        return id.equals(that.id);
+    }
+
+    /******************************************************************************************************************
+     * Method that returns the integer hash code value of the SystemAdditionalInformation object.
+     *****************************************************************************************************************/
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemAdditionalInformation object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return "{" +
+                "id='" + id + '\'' +
+                ", additionalInformation=" + additionalInformation +
+                '}';
+    }
+}
@@ -0,0 +1,192 @@
+package eu.datacrop.maize.model_repository.mongodb.model;
+
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemChangeType;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**********************************************************************************************************************
+ * This class defines the data model of the changes to IoT Systems relayed from the outbox to the configured sink, so
+ * that downstream services may react to them. Every creation, update and deletion of a System is kept as a pending
+ * change within the document of the System (see SystemOutbox) until relayed in this form.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public class SystemChangeRecord implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 5821637049155128903L;
+
+    /******************************************************************************************************************
+     * The identifier of the change, the same upon every delivery, by which receivers may discard duplicates.
+     *****************************************************************************************************************/
+    private String id;
+
+    /******************************************************************************************************************
+     * The UUID of the changed System. Mandatory field.
+     *****************************************************************************************************************/
+    private String systemId;
+
+    /******************************************************************************************************************
+     * The kind of the change. Mandatory field.
+     *****************************************************************************************************************/
+    private SystemChangeType type;
+
+    /******************************************************************************************************************
+     * The version of the System after the change (the version deleted, for deletions).
+     *****************************************************************************************************************/
+    private Long version;
+
+    /******************************************************************************************************************
+     * The date and time the change was recorded. Mandatory field.
+     *****************************************************************************************************************/
+    private LocalDateTime occurredAt;
+
+    /******************************************************************************************************************
+     * Constructor of the SystemChangeRecord class.
+     *****************************************************************************************************************/
+    public SystemChangeRecord(String id, String systemId, SystemChangeType type, Long version, LocalDateTime occurredAt) {
+        this.id = id;
+        this.systemId = systemId;
+        this.type = type;
+        this.version = version;
+        this.occurredAt = occurredAt;
+    }
+
+    /******************************************************************************************************************
+     * Empty constructor of the SystemChangeRecord class.
+     *****************************************************************************************************************/
+    public SystemChangeRecord() {
+        this(null, null, SystemChangeType.UPDATED, null, LocalDateTime.now());
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "id" attribute.
+     *
+     * @return The current value of the object's "id" attribute.
+     *****************************************************************************************************************/
+    public String getId() {
+        return id;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "id" attribute.
+     *
+     * @param id A value to assign to the object's "id" attribute, may be null.
+     *****************************************************************************************************************/
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "systemId" attribute.
+     *
+     * @return The current value of the object's "systemId" attribute.
+     *****************************************************************************************************************/
+    public String getSystemId() {
+        return systemId;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "systemId" attribute.
+     *
+     * @param systemId A value to assign to the object's "systemId" attribute, not null.
+     *****************************************************************************************************************/
+    public void setSystemId(String systemId) {
+        this.systemId = systemId;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "type" attribute.
+     *
+     * @return The current value of the object's "type" attribute.
+     *****************************************************************************************************************/
+    public SystemChangeType getType() {
+        return type;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "type" attribute.
+     *
+     * @param type A value to assign to the object's "type" attribute, not null.
+     *****************************************************************************************************************/
+    public void setType(SystemChangeType type) {
+        this.type = type;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "version" attribute.
+     *
+     * @return The current value of the object's "version" attribute.
+     *****************************************************************************************************************/
+    public Long getVersion() {
+        return version;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "version" attribute.
+     *
+     * @param version A value to assign to the object's "version" attribute, may be null.
+     *****************************************************************************************************************/
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "occurredAt" attribute.
+     *
+     * @return The current value of the object's "occurredAt" attribute.
+     *****************************************************************************************************************/
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "occurredAt" attribute.
+     *
+     * @param occurredAt A value to assign to the object's "occurredAt" attribute, not null.
+     *****************************************************************************************************************/
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    /******************************************************************************************************************
+     * Method that checks whether two SystemChangeRecord objects are equal.
+     *
+     * @param o The second Object to compare with the current Object, not null.
+     *****************************************************************************************************************/
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SystemChangeRecord that = (SystemChangeRecord) o;
+        return Objects.equals(id, that.id);
+    }
+
+    /******************************************************************************************************************
+     * Method that returns the integer hash code value of the SystemChangeRecord object.
+     *****************************************************************************************************************/
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemChangeRecord object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return "{" +
+                "id='" + id + '\'' +
+                ", systemId='" + systemId + '\'' +
+                ", type=" + type +
+                ", version=" + version +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
@@ -0,0 +1,196 @@
+package eu.datacrop.maize.model_repository.mongodb.model;
+
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemIdempotencyOutcome;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**********************************************************************************************************************
+ * This class defines the data model of the idempotency keys of requests to create IoT Systems. The first request
+ * carrying a key claims it; once processed, its outcome is recorded here and returned to every replay of the request.
+ * Records expire after a configurable time to live (counted from their creation date).
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Document(collection = "SystemIdempotencyRecord")
+public class SystemIdempotencyRecord implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -3148025604719370962L;
+
+    /******************************************************************************************************************
+     * The idempotency key provided by the client. Mandatory field.
+     *****************************************************************************************************************/
+    @Id
+    private String key;
+
+    /******************************************************************************************************************
+     * The hash of the contents of the request that claimed the key. Mandatory field.
+     *****************************************************************************************************************/
+    private String fingerprint;
+
+    /******************************************************************************************************************
+     * Whether the request that claimed the key has been processed. Mandatory field.
+     *****************************************************************************************************************/
+    private boolean completed;
+
+    /******************************************************************************************************************
+     * The outcome of the request that claimed the key, null until processed.
+     *****************************************************************************************************************/
+    private SystemIdempotencyOutcome outcome;
+
+    /******************************************************************************************************************
+     * The date and time the key was claimed, from which its time to live is counted. Mandatory field.
+     *****************************************************************************************************************/
+    private LocalDateTime creationDate;
+
+    /******************************************************************************************************************
+     * Constructor of the SystemIdempotencyRecord class.
+     *****************************************************************************************************************/
+    public SystemIdempotencyRecord(String key, String fingerprint, boolean completed, SystemIdempotencyOutcome outcome,
+                                   LocalDateTime creationDate) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.completed = completed;
+        this.outcome = outcome;
+        this.creationDate = creationDate;
+    }
+
+    /******************************************************************************************************************
+     * Empty constructor of the SystemIdempotencyRecord class.
+     *****************************************************************************************************************/
+    public SystemIdempotencyRecord() {
+        this("", "", false, null, LocalDateTime.now());
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "key" attribute.
+     *
+     * @return The current value of the object's "key" attribute.
+     *****************************************************************************************************************/
+    public String getKey() {
+        return key;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "key" attribute.
+     *
+     * @param key A value to assign to the object's "key" attribute, not null.
+     *****************************************************************************************************************/
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "fingerprint" attribute.
+     *
+     * @return The current value of the object's "fingerprint" attribute.
+     *****************************************************************************************************************/
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "fingerprint" attribute.
+     *
+     * @param fingerprint A value to assign to the object's "fingerprint" attribute, not null.
+     *****************************************************************************************************************/
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "completed" attribute.
+     *
+     * @return The current value of the object's "completed" attribute.
+     *****************************************************************************************************************/
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "completed" attribute.
+     *
+     * @param completed A value to assign to the object's "completed" attribute.
+     *****************************************************************************************************************/
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "outcome" attribute.
+     *
+     * @return The current value of the object's "outcome" attribute.
+     *****************************************************************************************************************/
+    public SystemIdempotencyOutcome getOutcome() {
+        return outcome;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "outcome" attribute.
+     *
+     * @param outcome A value to assign to the object's "outcome" attribute, may be null.
+     *****************************************************************************************************************/
+    public void setOutcome(SystemIdempotencyOutcome outcome) {
+        this.outcome = outcome;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "creationDate" attribute.
+     *
+     * @return The current value of the object's "creationDate" attribute.
+     *****************************************************************************************************************/
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "creationDate" attribute.
+     *
+     * @param creationDate A value to assign to the object's "creationDate" attribute, not null.
+     *****************************************************************************************************************/
+    public void setCreationDate(LocalDateTime creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    /******************************************************************************************************************
+     * Method that checks whether two SystemIdempotencyRecord objects are equal.
+     *
+     * @param o The second Object to compare with the current Object, not null.
+     *****************************************************************************************************************/
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SystemIdempotencyRecord that = (SystemIdempotencyRecord) o;
+        return key.equals(that.key);
+    }
+
+    /******************************************************************************************************************
+     * Method that returns the integer hash code value of the SystemIdempotencyRecord object.
+     *****************************************************************************************************************/
+    @Override
+    public int hashCode() {
+        return Objects.hash(key);
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemIdempotencyRecord object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return "{" +
+                "key='" + key + '\'' +
+                ", fingerprint='" + fingerprint + '\'' +
+                ", completed=" + completed +
+                ", creationDate=" + creationDate +
+                '}';
+    }
+}
@@ -0,0 +1,401 @@
+package eu.datacrop.maize.model_repository.mongodb.model;
+
+import eu.datacrop.maize.model_repository.commons.enums.JobStatus;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemJobType;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**********************************************************************************************************************
+ * This class defines the data model of Jobs: long-running operations on IoT Systems executed in the background in
+ * chunks. The state of a Job, including the checkpoint reached by its latest chunk, is persisted, so that its progress
+ * may be queried and its execution resumed after a restart.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Document(collection = "SystemJob")
+public class SystemJob implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -4418391620752034617L;
+
+    /******************************************************************************************************************
+     * A UUID representing a unique identifier for the Job.
+     *****************************************************************************************************************/
+    @Id
+    private String id;
+
+    /******************************************************************************************************************
+     * The long-running operation executed by the Job. Mandatory field.
+     *****************************************************************************************************************/
+    private SystemJobType type;
+
+    /******************************************************************************************************************
+     * The write concern requested upon the submission of the Job, applied to its writes, null for the configured one.
+     *****************************************************************************************************************/
+    private String writeConcern;
+
+    /******************************************************************************************************************
+     * The current stage in the lifecycle of the Job. Mandatory field.
+     *****************************************************************************************************************/
+    private JobStatus status;
+
+    /******************************************************************************************************************
+     * The estimated number of items to process, as counted upon the start of the Job.
+     *****************************************************************************************************************/
+    private long total;
+
+    /******************************************************************************************************************
+     * The number of items processed so far, updated upon every checkpoint.
+     *****************************************************************************************************************/
+    private long processed;
+
+    /******************************************************************************************************************
+     * The position (e.g. the last System identifier processed) from which the Job resumes, null before the first
+     * chunk.
+     *****************************************************************************************************************/
+    private String checkpoint;
+
+    /******************************************************************************************************************
+     * Whether the cancellation of the Job has been requested, honoured before its next chunk.
+     *****************************************************************************************************************/
+    private boolean cancellationRequested;
+
+    /******************************************************************************************************************
+     * A comment on the outcome of the Job (e.g. the reason of its failure), null while not finished.
+     *****************************************************************************************************************/
+    private String message;
+
+    /******************************************************************************************************************
+     * Timestamp of the submission of the Job.
+     *****************************************************************************************************************/
+    private LocalDateTime creationDate;
+
+    /******************************************************************************************************************
+     * Timestamp of the (latest) start of the execution of the Job, null while pending.
+     *****************************************************************************************************************/
+    private LocalDateTime startDate;
+
+    /******************************************************************************************************************
+     * Timestamp of the latest checkpoint of the Job.
+     *****************************************************************************************************************/
+    private LocalDateTime latestUpdateDate;
+
+    /******************************************************************************************************************
+     * Timestamp of the conclusion of the Job, null while not finished.
+     *****************************************************************************************************************/
+    private LocalDateTime endDate;
+
+    /******************************************************************************************************************
+     * Constructor of the SystemJob class.
+     *****************************************************************************************************************/
+    public SystemJob(String id, SystemJobType type, String writeConcern, JobStatus status, long total, long processed,
+                     String checkpoint, boolean cancellationRequested, String message, LocalDateTime creationDate,
+                     LocalDateTime startDate, LocalDateTime latestUpdateDate, LocalDateTime endDate) {
+        this.id = id;
+        this.type = type;
+        this.writeConcern = writeConcern;
+        this.status = status;
+        this.total = total;
+        this.processed = processed;
+        this.checkpoint = checkpoint;
+        this.cancellationRequested = cancellationRequested;
+        this.message = message;
+        this.creationDate = creationDate;
+        this.startDate = startDate;
+        this.latestUpdateDate = latestUpdateDate;
+        this.endDate = endDate;
+    }
+
+    /******************************************************************************************************************
+     * Constructor of the SystemJob class, used for the submission of new Jobs.
+     *****************************************************************************************************************/
+    public SystemJob(String id, SystemJobType type, String writeConcern) {
+        this(id, type, writeConcern, JobStatus.PENDING, 0L, 0L, null, false, null, LocalDateTime.now(), null, null, null);
+    }
+
+    /******************************************************************************************************************
+     * Empty constructor of the SystemJob class.
+     *****************************************************************************************************************/
+    public SystemJob() {
+        this(null, SystemJobType.DELETE_ALL_SYSTEMS, null);
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "id" attribute.
+     *
+     * @return The current value of the object's "id" attribute.
+     *****************************************************************************************************************/
+    public String getId() {
+        return id;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "id" attribute.
+     *
+     * @param id A value to assign to the object's "id" attribute.
+     *****************************************************************************************************************/
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "type" attribute.
+     *
+     * @return The current value of the object's "type" attribute.
+     *****************************************************************************************************************/
+    public SystemJobType getType() {
+        return type;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "type" attribute.
+     *
+     * @param type A value to assign to the object's "type" attribute.
+     *****************************************************************************************************************/
+    public void setType(SystemJobType type) {
+        this.type = type;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "writeConcern" attribute.
+     *
+     * @return The current value of the object's "writeConcern" attribute.
+     *****************************************************************************************************************/
+    public String getWriteConcern() {
+        return writeConcern;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "writeConcern" attribute.
+     *
+     * @param writeConcern A value to assign to the object's "writeConcern" attribute.
+     *****************************************************************************************************************/
+    public void setWriteConcern(String writeConcern) {
+        this.writeConcern = writeConcern;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "status" attribute.
+     *
+     * @return The current value of the object's "status" attribute.
+     *****************************************************************************************************************/
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "status" attribute.
+     *
+     * @param status A value to assign to the object's "status" attribute.
+     *****************************************************************************************************************/
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "total" attribute.
+     *
+     * @return The current value of the object's "total" attribute.
+     *****************************************************************************************************************/
+    public long getTotal() {
+        return total;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "total" attribute.
+     *
+     * @param total A value to assign to the object's "total" attribute.
+     *****************************************************************************************************************/
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "processed" attribute.
+     *
+     * @return The current value of the object's "processed" attribute.
+     *****************************************************************************************************************/
+    public long getProcessed() {
+        return processed;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "processed" attribute.
+     *
+     * @param processed A value to assign to the object's "processed" attribute.
+     *****************************************************************************************************************/
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "checkpoint" attribute.
+     *
+     * @return The current value of the object's "checkpoint" attribute.
+     *****************************************************************************************************************/
+    public String getCheckpoint() {
+        return checkpoint;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "checkpoint" attribute.
+     *
+     * @param checkpoint A value to assign to the object's "checkpoint" attribute.
+     *****************************************************************************************************************/
+    public void setCheckpoint(String checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "cancellationRequested" attribute.
+     *
+     * @return The current value of the object's "cancellationRequested" attribute.
+     *****************************************************************************************************************/
+    public boolean isCancellationRequested() {
+        return cancellationRequested;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "cancellationRequested" attribute.
+     *
+     * @param cancellationRequested A value to assign to the object's "cancellationRequested" attribute.
+     *****************************************************************************************************************/
+    public void setCancellationRequested(boolean cancellationRequested) {
+        this.cancellationRequested = cancellationRequested;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "message" attribute.
+     *
+     * @return The current value of the object's "message" attribute.
+     *****************************************************************************************************************/
+    public String getMessage() {
+        return message;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "message" attribute.
+     *
+     * @param message A value to assign to the object's "message" attribute.
+     *****************************************************************************************************************/
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "creationDate" attribute.
+     *
+     * @return The current value of the object's "creationDate" attribute.
+     *****************************************************************************************************************/
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "creationDate" attribute.
+     *
+     * @param creationDate A value to assign to the object's "creationDate" attribute.
+     *****************************************************************************************************************/
+    public void setCreationDate(LocalDateTime creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "startDate" attribute.
+     *
+     * @return The current value of the object's "startDate" attribute.
+     *****************************************************************************************************************/
+    public LocalDateTime getStartDate() {
+        return startDate;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "startDate" attribute.
+     *
+     * @param startDate A value to assign to the object's "startDate" attribute.
+     *****************************************************************************************************************/
+    public void setStartDate(LocalDateTime startDate) {
+        this.startDate = startDate;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "latestUpdateDate" attribute.
+     *
+     * @return The current value of the object's "latestUpdateDate" attribute.
+     *****************************************************************************************************************/
+    public LocalDateTime getLatestUpdateDate() {
+        return latestUpdateDate;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "latestUpdateDate" attribute.
+     *
+     * @param latestUpdateDate A value to assign to the object's "latestUpdateDate" attribute.
+     *****************************************************************************************************************/
+    public void setLatestUpdateDate(LocalDateTime latestUpdateDate) {
+        this.latestUpdateDate = latestUpdateDate;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "endDate" attribute.
+     *
+     * @return The current value of the object's "endDate" attribute.
+     *****************************************************************************************************************/
+    public LocalDateTime getEndDate() {
+        return endDate;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "endDate" attribute.
+     *
+     * @param endDate A value to assign to the object's "endDate" attribute.
+     *****************************************************************************************************************/
+    public void setEndDate(LocalDateTime endDate) {
+        this.endDate = endDate;
+    }
+
+    /******************************************************************************************************************
+     * Method that checks whether two SystemJob objects are equal.
+     *
+     * @param o The second Object to compare with the current Object, not null.
+     *****************************************************************************************************************/
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SystemJob that = (SystemJob) o;
+        return Objects.equals(id, that.id);
+    }
+
+    /******************************************************************************************************************
+     * Method that returns the integer hash code value of the SystemJob object.
+     *****************************************************************************************************************/
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemJob object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return "{" +
+                "id='" + id + '\'' +
+                ", type=" + type +
+                ", status=" + status +
+                ", processed=" + processed +
+                ", total=" + total +
+                ", checkpoint='" + checkpoint + '\'' +
+                ", cancellationRequested=" + cancellationRequested +
+                '}';
+    }
+}
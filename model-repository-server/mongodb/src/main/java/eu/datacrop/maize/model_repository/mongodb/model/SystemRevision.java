@@ -0,0 +1,344 @@
+package eu.datacrop.maize.model_repository.mongodb.model;
+
+import org.bson.Document;
+import org.springframework.data.annotation.Id;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**********************************************************************************************************************
+ * This class defines the data model of the revisions of IoT Systems. Each write of a System produces a revision that
+ * holds either its changes since the prior version (attributes set or removed, additional information entries added
+ * or removed) or, periodically, its full state (snapshot), so that any past version may be reconstructed by replaying
+ * the changes that follow the nearest snapshot.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@org.springframework.data.mongodb.core.mapping.Document(collection = "SystemRevision")
+public class SystemRevision implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2976120488314590267L;
+
+    /******************************************************************************************************************
+     * The identifier of the revision, i.e. the UUID of the System and the version, separated by a colon.
+     *****************************************************************************************************************/
+    @Id
+    private String id;
+
+    /******************************************************************************************************************
+     * The UUID of the System. Mandatory field.
+     *****************************************************************************************************************/
+    private String systemId;
+
+    /******************************************************************************************************************
+     * The version of the System that the revision produces. Mandatory field.
+     *****************************************************************************************************************/
+    private Long version;
+
+    /******************************************************************************************************************
+     * The date and time from which the revision holds (i.e. when the System was written). Mandatory field.
+     *****************************************************************************************************************/
+    private LocalDateTime validFrom;
+
+    /******************************************************************************************************************
+     * Whether the revision holds the full state of the System (rather than its changes since the prior version).
+     *****************************************************************************************************************/
+    private boolean snapshot;
+
+    /******************************************************************************************************************
+     * Whether the revision marks the deletion of the System (holding neither state nor changes).
+     *****************************************************************************************************************/
+    private boolean deleted;
+
+    /******************************************************************************************************************
+     * The full state of the System, for snapshots only.
+     *****************************************************************************************************************/
+    private Document state;
+
+    /******************************************************************************************************************
+     * The attributes set anew since the prior version, for changes only.
+     *****************************************************************************************************************/
+    private Document changes;
+
+    /******************************************************************************************************************
+     * The attributes removed since the prior version, for changes only.
+     *****************************************************************************************************************/
+    private List<String> removals;
+
+    /******************************************************************************************************************
+     * The additional information entries added since the prior version, for changes only.
+     *****************************************************************************************************************/
+    private List<Object> addedInformation;
+
+    /******************************************************************************************************************
+     * The additional information entries removed since the prior version, for changes only.
+     *****************************************************************************************************************/
+    private List<Object> removedInformation;
+
+    /******************************************************************************************************************
+     * Constructor of the SystemRevision class.
+     *****************************************************************************************************************/
+    public SystemRevision(String id, String systemId, Long version, LocalDateTime validFrom, boolean snapshot,
+                          boolean deleted, Document state, Document changes, List<String> removals,
+                          List<Object> addedInformation, List<Object> removedInformation) {
+        this.id = id;
+        this.systemId = systemId;
+        this.version = version;
+        this.validFrom = validFrom;
+        this.snapshot = snapshot;
+        this.deleted = deleted;
+        this.state = state;
+        this.changes = changes;
+        this.removals = removals;
+        this.addedInformation = addedInformation;
+        this.removedInformation = removedInformation;
+    }
+
+    /******************************************************************************************************************
+     * Empty constructor of the SystemRevision class.
+     *****************************************************************************************************************/
+    public SystemRevision() {
+        this(null, null, null, LocalDateTime.now(), false, false, null, null, null, null, null);
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "id" attribute.
+     *
+     * @return The current value of the object's "id" attribute.
+     *****************************************************************************************************************/
+    public String getId() {
+        return id;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "id" attribute.
+     *
+     * @param id A value to assign to the object's "id" attribute, not null.
+     *****************************************************************************************************************/
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "systemId" attribute.
+     *
+     * @return The current value of the object's "systemId" attribute.
+     *****************************************************************************************************************/
+    public String getSystemId() {
+        return systemId;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "systemId" attribute.
+     *
+     * @param systemId A value to assign to the object's "systemId" attribute, not null.
+     *****************************************************************************************************************/
+    public void setSystemId(String systemId) {
+        this.systemId = systemId;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "version" attribute.
+     *
+     * @return The current value of the object's "version" attribute.
+     *****************************************************************************************************************/
+    public Long getVersion() {
+        return version;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "version" attribute.
+     *
+     * @param version A value to assign to the object's "version" attribute, not null.
+     *****************************************************************************************************************/
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "validFrom" attribute.
+     *
+     * @return The current value of the object's "validFrom" attribute.
+     *****************************************************************************************************************/
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "validFrom" attribute.
+     *
+     * @param validFrom A value to assign to the object's "validFrom" attribute, not null.
+     *****************************************************************************************************************/
+    public void setValidFrom(LocalDateTime validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "snapshot" attribute.
+     *
+     * @return The current value of the object's "snapshot" attribute.
+     *****************************************************************************************************************/
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "snapshot" attribute.
+     *
+     * @param snapshot A value to assign to the object's "snapshot" attribute, not null.
+     *****************************************************************************************************************/
+    public void setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "deleted" attribute.
+     *
+     * @return The current value of the object's "deleted" attribute.
+     *****************************************************************************************************************/
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "deleted" attribute.
+     *
+     * @param deleted A value to assign to the object's "deleted" attribute, not null.
+     *****************************************************************************************************************/
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "state" attribute.
+     *
+     * @return The current value of the object's "state" attribute.
+     *****************************************************************************************************************/
+    public Document getState() {
+        return state;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "state" attribute.
+     *
+     * @param state A value to assign to the object's "state" attribute, may be null.
+     *****************************************************************************************************************/
+    public void setState(Document state) {
+        this.state = state;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "changes" attribute.
+     *
+     * @return The current value of the object's "changes" attribute.
+     *****************************************************************************************************************/
+    public Document getChanges() {
+        return changes;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "changes" attribute.
+     *
+     * @param changes A value to assign to the object's "changes" attribute, may be null.
+     *****************************************************************************************************************/
+    public void setChanges(Document changes) {
+        this.changes = changes;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "removals" attribute.
+     *
+     * @return The current value of the object's "removals" attribute.
+     *****************************************************************************************************************/
+    public List<String> getRemovals() {
+        return removals;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "removals" attribute.
+     *
+     * @param removals A value to assign to the object's "removals" attribute, may be null.
+     *****************************************************************************************************************/
+    public void setRemovals(List<String> removals) {
+        this.removals = removals;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "addedInformation" attribute.
+     *
+     * @return The current value of the object's "addedInformation" attribute.
+     *****************************************************************************************************************/
+    public List<Object> getAddedInformation() {
+        return addedInformation;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "addedInformation" attribute.
+     *
+     * @param addedInformation A value to assign to the object's "addedInformation" attribute, may be null.
+     *****************************************************************************************************************/
+    public void setAddedInformation(List<Object> addedInformation) {
+        this.addedInformation = addedInformation;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "removedInformation" attribute.
+     *
+     * @return The current value of the object's "removedInformation" attribute.
+     *****************************************************************************************************************/
+    public List<Object> getRemovedInformation() {
+        return removedInformation;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "removedInformation" attribute.
+     *
+     * @param removedInformation A value to assign to the object's "removedInformation" attribute, may be null.
+     *****************************************************************************************************************/
+    public void setRemovedInformation(List<Object> removedInformation) {
+        this.removedInformation = removedInformation;
+    }
+
+    /******************************************************************************************************************
+     * Method that checks whether two SystemRevision objects are equal.
+     *
+     * @param o The second Object to compare with the current Object, not null.
+     *****************************************************************************************************************/
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SystemRevision that = (SystemRevision) o;
+        return Objects.equals(id, that.id);
+    }
+
+    /******************************************************************************************************************
+     * Method that returns the integer hash code value of the SystemRevision object.
+     *****************************************************************************************************************/
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemRevision object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return "{" +
+                "id='" + id + '\'' +
+                ", systemId='" + systemId + '\'' +
+                ", version=" + version +
+                ", validFrom=" + validFrom +
+                ", snapshot=" + snapshot +
+                ", deleted=" + deleted +
+                '}';
+    }
+}
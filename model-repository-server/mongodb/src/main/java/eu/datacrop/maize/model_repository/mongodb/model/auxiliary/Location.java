@@ -1,8 +1,10 @@
 package eu.datacrop.maize.model_repository.mongodb.model.auxiliary;
 
-import lombok.Builder;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONObject;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -10,7 +12,9 @@ import java.util.Objects;
 
 /**********************************************************************************************************************
  * This class defines the data model of Locations (Geographical or Virtual ones) for persistence in a MongoDB.
- * Note: Locations are auxiliary entities and are not stored in a Document of their own.
+ * Note: Locations are auxiliary entities and are not stored in a Document of their own. Geographical Locations are
+ * persisted as GeoJSON Points (longitude first) backed by a "2dsphere" index. Locations without coordinates (purely
+ * virtual ones or no Location at all) omit the GeoJSON field, so they never enter the sparse geospatial index.
  *
  * @author Angela-Maria Despotopoulou [Athens, Greece]
  * @since version 0.3.0
@@ -21,9 +25,10 @@ public class Location implements Serializable {
     private static final long serialVersionUID = -7797102348398353735L;
 
     /******************************************************************************************************************
-     * Αn object representing a Geographical Location (a pair of  coordinates).
+     * Αn object representing a Geographical Location (a pair of  coordinates), null if no coordinates are available.
      *****************************************************************************************************************/
-    private GeoLocation geoLocation;
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint geoLocation;
 
     /******************************************************************************************************************
      * A string representing a Virtual Location (a URL or the identifier of a resource/subsystem).
@@ -36,18 +41,7 @@ public class Location implements Serializable {
     public Location(double latitude, double longitude, String virtualLocation) {
 
         this.virtualLocation = virtualLocation;
-
-        if (!StringUtils.isBlank(virtualLocation)) {
-            this.geoLocation = GeoLocation.builder()
-                    .latitude(0.0)
-                    .longitude(0.0)
-                    .build();
-        } else {
-            this.geoLocation = GeoLocation.builder()
-                    .latitude(latitude)
-                    .longitude(longitude)
-                    .build();
-        }
+        this.geoLocation = toGeoJsonPoint(latitude, longitude, virtualLocation);
 
     }
 
@@ -56,10 +50,7 @@ public class Location implements Serializable {
      *****************************************************************************************************************/
     public Location() {
         this.virtualLocation = "";
-        this.geoLocation = GeoLocation.builder()
-                .latitude(0.0)
-                .longitude(0.0)
-                .build();
+        this.geoLocation = null;
     }
 
     /******************************************************************************************************************
@@ -67,7 +58,7 @@ public class Location implements Serializable {
      *
      * @return The current value of the object's "geoLocation" attribute.
      *****************************************************************************************************************/
-    public GeoLocation getGeoLocation() {
+    public GeoJsonPoint getGeoLocation() {
         return geoLocation;
     }
 
@@ -77,7 +68,7 @@ public class Location implements Serializable {
      * @return The current value of the object's "latitude" attribute.
      *************************************************************************************************************/
     public double getLatitude() {
-        return geoLocation.getLatitude();
+        return (geoLocation != null) ? geoLocation.getY() : 0.0;
     }
 
 
@@ -87,7 +78,7 @@ public class Location implements Serializable {
      * @return The current value of the object's "longitude" attribute.
      *************************************************************************************************************/
     public double getLongitude() {
-        return geoLocation.getLongitude();
+        return (geoLocation != null) ? geoLocation.getX() : 0.0;
     }
 
     /******************************************************************************************************************
@@ -101,18 +92,7 @@ public class Location implements Serializable {
     public void setGeoLocation(double latitude, double longitude, String virtualLocation) {
 
         this.virtualLocation = virtualLocation;
-
-        if (!StringUtils.isBlank(virtualLocation)) {
-            this.geoLocation = GeoLocation.builder()
-                    .latitude(0.0)
-                    .longitude(0.0)
-                    .build();
-        } else {
-            this.geoLocation = GeoLocation.builder()
-                    .latitude(latitude)
-                    .longitude(longitude)
-                    .build();
-        }
+        this.geoLocation = toGeoJsonPoint(latitude, longitude, virtualLocation);
 
     }
 
@@ -133,13 +113,19 @@ public class Location implements Serializable {
     public void setVirtualLocation(String virtualLocation) {
         this.virtualLocation = virtualLocation;
         if (!StringUtils.isBlank(virtualLocation)) {
-            this.geoLocation = GeoLocation.builder()
-                    .latitude(0.0)
-                    .longitude(0.0)
-                    .build();
+            this.geoLocation = null;
         }
     }
 
+    /******************************************************************************************************************
+     * Method that checks whether the Location carries a pair of coordinates (i.e. it is a Geographical Location).
+     *
+     * @return TRUE if a GeoJSON Point is available, FALSE otherwise.
+     *****************************************************************************************************************/
+    public boolean hasGeoLocation() {
+        return geoLocation != null;
+    }
+
     /******************************************************************************************************************
      * Method that checks whether two Location objects are equal.
      *
@@ -169,7 +155,7 @@ public class Location implements Serializable {
     @Override
     public String toString() {
         return "{" +
-                "geoLocation=" + geoLocation +
+                "geoLocation={latitude=" + getLatitude() + ", longitude=" + getLongitude() + "}" +
                 ", virtualLocation='" + virtualLocation + '\'' +
                 '}';
     }
@@ -181,132 +167,27 @@ public class Location implements Serializable {
      *************************************************************************************************************/
     public JSONObject toJSON() {
         JSONObject jo = new JSONObject();
-        jo.put("geoLocation", geoLocation.toJSON());
+        JSONObject geo = new JSONObject();
+        geo.put("latitude", getLatitude());
+        geo.put("longitude", getLongitude());
+        jo.put("geoLocation", geo);
         jo.put("virtualLocation", virtualLocation);
         return jo;
     }
 
     /******************************************************************************************************************
-     * This inner class defines the data model of Geographical Locations for persistence in a MongoDB.
+     * Method that produces the GeoJSON Point to be persisted for a pair of coordinates. No Point is produced for
+     * Virtual Locations or for the (0.0, 0.0) pair, which the business model treats as "no coordinates".
      *
-     * @author Angela-Maria Despotopoulou [Athens, Greece]
-     * @since version 0.3.0
+     * @param latitude The latitude of the Geographical Location.
+     * @param longitude The longitude of the Geographical Location.
+     * @param virtualLocation A string representing a Virtual Location, may be null.
+     * @return A GeoJSON Point (longitude, latitude) or null.
      *****************************************************************************************************************/
-    @Builder
-    public static class GeoLocation implements Serializable {
-
-        @Serial
-        private static final long serialVersionUID = -1754719913405025278L;
-
-
-        /**************************************************************************************************************
-         * The latitude of the Geographical Location.
-         *************************************************************************************************************/
-        private double latitude;
-
-        /**************************************************************************************************************
-         * The longitude of the Geographical Location.
-         *************************************************************************************************************/
-        private double longitude;
-
-        /**************************************************************************************************************
-         * Constructor of the GeoLocation class, both for Builder pattern and instantiation with "new".
-         *
-         * @param latitude  The latitude of the new Geographical Location, not null.
-         * @param longitude The longitude of the new Geographical Location, not null.
-         *************************************************************************************************************/
-        private GeoLocation(double latitude, double longitude) {
-            this.latitude = latitude;
-            this.longitude = longitude;
-        }
-
-        /**************************************************************************************************************
-         * Empty constructor of the GeoLocation class.
-         *************************************************************************************************************/
-        private GeoLocation() {
-            this(0.0, 0.0);
-        }
-
-        /**************************************************************************************************************
-         * "Getter" function for "latitude" attribute.
-         *
-         * @return The current value of the object's "latitude" attribute.
-         *************************************************************************************************************/
-        private double getLatitude() {
-            return latitude;
-        }
-
-        /**************************************************************************************************************
-         * "Setter" function for "latitude" attribute.
-         *
-         * @param latitude A value to assign to the object's "latitude" attribute, not null.
-         *************************************************************************************************************/
-        private void setLatitude(double latitude) {
-            this.latitude = latitude;
-        }
-
-        /**************************************************************************************************************
-         * "Getter" function for "longitude" attribute.
-         *
-         * @return The current value of the object's "longitude" attribute.
-         *************************************************************************************************************/
-        private double getLongitude() {
-            return longitude;
-        }
-
-        /**************************************************************************************************************
-         * "Setter" function for "longitude" attribute.
-         *
-         * @param longitude A value to assign to the object's "longitude" attribute, not null.
-         *************************************************************************************************************/
-        private void setLongitude(double longitude) {
-            this.longitude = longitude;
-        }
-
-        /**************************************************************************************************************
-         * Method that checks whether two GeoLocation objects are equal.
-         *
-         * @param o The second Object to compare with the current Object, not null.
-         *************************************************************************************************************/
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            GeoLocation that = (GeoLocation) o;
-            return Double.compare(that.latitude, latitude) == 0 && Double.compare(that.longitude, longitude) == 0;
-        }
-
-        /**************************************************************************************************************
-         * Method that returns the integer hash code value of the GeoLocation object.
-         *************************************************************************************************************/
-        @Override
-        public int hashCode() {
-            return Objects.hash(latitude, longitude);
-        }
-
-        /**************************************************************************************************************
-         * Transforms a GeoLocation object to String.
-         *
-         * @return A string representation of the Object.
-         *************************************************************************************************************/
-        @Override
-        public String toString() {
-            return "{" +
-                    "latitude=" + latitude +
-                    ", longitude=" + longitude +
-                    '}';
-        }
-
-        /**************************************************************************************************************
-         * Transforms a GeoLocation object to JSONObject.
-         *
-         * @return A JSON representation of the Object.
-         *************************************************************************************************************/
-        public JSONObject toJSON() {
-            JSONObject jo = new JSONObject();
-            jo.put("latitude", latitude);
-            jo.put("longitude", longitude);
-            return jo;
+    private static GeoJsonPoint toGeoJsonPoint(double latitude, double longitude, String virtualLocation) {
+        if (!StringUtils.isBlank(virtualLocation) || (latitude == 0.0 && longitude == 0.0)) {
+            return null;
         }
+        return new GeoJsonPoint(longitude, latitude);
     }
 }
@@ -0,0 +1,48 @@
+package eu.datacrop.maize.model_repository.mongodb.model.auxiliary;
+
+/**********************************************************************************************************************
+ * This enumeration contains the kinds of changes to IoT Systems that are recorded in the outbox.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public enum SystemChangeType {
+
+    /******************************************************************************************************************
+     * Indicates that a System has been created.
+     *****************************************************************************************************************/
+    CREATED("CREATED"),
+
+    /******************************************************************************************************************
+     * Indicates that a System has been updated.
+     *****************************************************************************************************************/
+    UPDATED("UPDATED"),
+
+    /******************************************************************************************************************
+     * Indicates that a System has been deleted.
+     *****************************************************************************************************************/
+    DELETED("DELETED");
+
+    /******************************************************************************************************************
+     * The text representing the enumeration values.
+     *****************************************************************************************************************/
+    private final String text;
+
+    /******************************************************************************************************************
+     * Constructor of the SystemChangeType enumeration.
+     *****************************************************************************************************************/
+    SystemChangeType(String text) {
+        this.text = text;
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemChangeType enumeration object to String.
+     *
+     *  @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return text;
+    }
+
+}
@@ -0,0 +1,167 @@
+package eu.datacrop.maize.model_repository.mongodb.model.auxiliary;
+
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
+import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
+import eu.datacrop.maize.model_repository.commons.error.messages.SystemErrorMessages;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**********************************************************************************************************************
+ * This class defines the data model of the outcome of a request to create an IoT System, as recorded for its
+ * idempotency key and returned to every replay of the request.
+ * Note: Outcomes are auxiliary entities and are not stored in a Document of their own.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public class SystemIdempotencyOutcome implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 6352190846624095377L;
+
+    /******************************************************************************************************************
+     * The code reporting whether the request has been successful. Mandatory field.
+     *****************************************************************************************************************/
+    private ResponseCode code;
+
+    /******************************************************************************************************************
+     * The message accompanying the code. Optional field.
+     *****************************************************************************************************************/
+    private String message;
+
+    /******************************************************************************************************************
+     * The System created by the request, null if the request has not been successful.
+     *****************************************************************************************************************/
+    private SystemResponseDto response;
+
+    /******************************************************************************************************************
+     * The error code, null if the request has been successful.
+     *****************************************************************************************************************/
+    private SystemErrorMessages errorCode;
+
+    /******************************************************************************************************************
+     * Constructor of the SystemIdempotencyOutcome class.
+     *****************************************************************************************************************/
+    public SystemIdempotencyOutcome(ResponseCode code, String message, SystemResponseDto response,
+                                    SystemErrorMessages errorCode) {
+        this.code = code;
+        this.message = message;
+        this.response = response;
+        this.errorCode = errorCode;
+    }
+
+    /******************************************************************************************************************
+     * Empty constructor of the SystemIdempotencyOutcome class.
+     *****************************************************************************************************************/
+    public SystemIdempotencyOutcome() {
+        this(ResponseCode.UNDEFINED, null, null, null);
+    }
+
+    /******************************************************************************************************************
+     * Method that records the outcome reported by a wrapper.
+     *
+     * @param wrapper The wrapper reporting the outcome of the request, not null.
+     * @return The outcome to record.
+     *****************************************************************************************************************/
+    public static SystemIdempotencyOutcome of(SystemResponseWrapper wrapper) {
+        return new SystemIdempotencyOutcome(wrapper.getCode(), wrapper.getMessage(), wrapper.getResponse(),
+                wrapper.getErrorCode());
+    }
+
+    /******************************************************************************************************************
+     * Method that reports the recorded outcome through a wrapper.
+     *
+     * @return The wrapper reporting the outcome of the request.
+     *****************************************************************************************************************/
+    public SystemResponseWrapper toWrapper() {
+        return new SystemResponseWrapper(code, message, response, errorCode);
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "code" attribute.
+     *
+     * @return The current value of the object's "code" attribute.
+     *****************************************************************************************************************/
+    public ResponseCode getCode() {
+        return code;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "code" attribute.
+     *
+     * @param code A value to assign to the object's "code" attribute, not null.
+     *****************************************************************************************************************/
+    public void setCode(ResponseCode code) {
+        this.code = code;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "message" attribute.
+     *
+     * @return The current value of the object's "message" attribute.
+     *****************************************************************************************************************/
+    public String getMessage() {
+        return message;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "message" attribute.
+     *
+     * @param message A value to assign to the object's "message" attribute, may be null.
+     *****************************************************************************************************************/
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "response" attribute.
+     *
+     * @return The current value of the object's "response" attribute.
+     *****************************************************************************************************************/
+    public SystemResponseDto getResponse() {
+        return response;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "response" attribute.
+     *
+     * @param response A value to assign to the object's "response" attribute, may be null.
+     *****************************************************************************************************************/
+    public void setResponse(SystemResponseDto response) {
+        this.response = response;
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for "errorCode" attribute.
+     *
+     * @return The current value of the object's "errorCode" attribute.
+     *****************************************************************************************************************/
+    public SystemErrorMessages getErrorCode() {
+        return errorCode;
+    }
+
+    /******************************************************************************************************************
+     * "Setter" function for "errorCode" attribute.
+     *
+     * @param errorCode A value to assign to the object's "errorCode" attribute, may be null.
+     *****************************************************************************************************************/
+    public void setErrorCode(SystemErrorMessages errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemIdempotencyOutcome object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return "{" +
+                "code=" + code +
+                ", message='" + message + '\'' +
+                ", errorCode=" + errorCode +
+                '}';
+    }
+}
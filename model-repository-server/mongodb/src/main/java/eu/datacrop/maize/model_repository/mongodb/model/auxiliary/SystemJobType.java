@@ -0,0 +1,38 @@
+package eu.datacrop.maize.model_repository.mongodb.model.auxiliary;
+
+/**********************************************************************************************************************
+ * This enumeration contains the long-running operations on IoT Systems that are executed as Jobs in the background.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public enum SystemJobType {
+
+    /******************************************************************************************************************
+     * Indicates the deletion of all Systems.
+     *****************************************************************************************************************/
+    DELETE_ALL_SYSTEMS("DELETE_ALL_SYSTEMS");
+
+    /******************************************************************************************************************
+     * The text representing the enumeration values.
+     *****************************************************************************************************************/
+    private final String text;
+
+    /******************************************************************************************************************
+     * Constructor of the SystemJobType enumeration.
+     *****************************************************************************************************************/
+    SystemJobType(String text) {
+        this.text = text;
+    }
+
+    /******************************************************************************************************************
+     * Transforms a SystemJobType enumeration object to String.
+     *
+     * @return A string representation of the Object.
+     *****************************************************************************************************************/
+    @Override
+    public String toString() {
+        return text;
+    }
+
+}
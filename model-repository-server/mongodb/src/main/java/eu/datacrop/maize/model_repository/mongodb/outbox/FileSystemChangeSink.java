@@ -0,0 +1,67 @@
+package eu.datacrop.maize.model_repository.mongodb.outbox;
+
+import eu.datacrop.maize.model_repository.mongodb.model.SystemChangeRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**********************************************************************************************************************
+ * This class relays the changes to IoT Systems to a local file, appending one JSON object per line. Each batch is
+ * written with a single append and forced to the storage device before it is acknowledged.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Component
+@Profile("devmongo")
+public class FileSystemChangeSink implements SystemChangeSink {
+
+    /******************************************************************************************************************
+     * The path of the file receiving the changes.
+     *****************************************************************************************************************/
+    @Value("${model-repository.outbox.file.path:system-changes.jsonl}")
+    private String path;
+
+    /******************************************************************************************************************
+     * Method that reports the name by which the sink is selected in the configuration.
+     *
+     * @return The name of the sink, i.e. "file".
+     *****************************************************************************************************************/
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    /******************************************************************************************************************
+     * Method that appends a batch of changes to the file, in order.
+     *
+     * @param batch The changes to deliver, not empty.
+     *
+     * @throws IOException if the batch could not be written and forced to the storage device.
+     *****************************************************************************************************************/
+    @Override
+    public synchronized void deliver(List<SystemChangeRecord> batch) throws IOException {
+
+        StringBuilder lines = new StringBuilder();
+        for (SystemChangeRecord record : batch) {
+            lines.append(SystemChangeJson.write(record)).append('\n');
+        }
+
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package eu.datacrop.maize.model_repository.mongodb.outbox;
+
+import eu.datacrop.maize.model_repository.mongodb.model.SystemChangeRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**********************************************************************************************************************
+ * This class relays the changes to IoT Systems to an HTTP endpoint, posting each batch as a JSON array. Any response
+ * other than 2xx rejects the batch, which is then delivered again later.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Component
+@Profile("devmongo")
+public class HttpSystemChangeSink implements SystemChangeSink {
+
+    /******************************************************************************************************************
+     * The URL of the endpoint receiving the changes.
+     *****************************************************************************************************************/
+    @Value("${model-repository.outbox.http.url:}")
+    private String url;
+
+    /******************************************************************************************************************
+     * The maximum time (in milliseconds) to wait for the endpoint to respond.
+     *****************************************************************************************************************/
+    @Value("${model-repository.outbox.http.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    /******************************************************************************************************************
+     * The client posting the batches (connections are reused across batches).
+     *****************************************************************************************************************/
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    /******************************************************************************************************************
+     * Method that reports the name by which the sink is selected in the configuration.
+     *
+     * @return The name of the sink, i.e. "http".
+     *****************************************************************************************************************/
+    @Override
+    public String getName() {
+        return "http";
+    }
+
+    /******************************************************************************************************************
+     * Method that posts a batch of changes to the endpoint, as a JSON array in order.
+     *
+     * @param batch The changes to deliver, not empty.
+     *
+     * @throws IllegalStateException if no endpoint has been configured.
+     * @throws IOException if the batch could not be posted or has not been accepted by the endpoint.
+     * @throws InterruptedException if interrupted while waiting for the endpoint.
+     *****************************************************************************************************************/
+    @Override
+    public void deliver(List<SystemChangeRecord> batch) throws IOException, InterruptedException {
+
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("No endpoint has been configured for the HTTP sink of System changes.");
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(SystemChangeJson.write(batch)))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("The HTTP sink of System changes responded with status " + response.statusCode() + ".");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package eu.datacrop.maize.model_repository.mongodb.outbox;
+
+import eu.datacrop.maize.model_repository.mongodb.model.SystemChangeRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**********************************************************************************************************************
+ * This class relays the changes to IoT Systems to a bounded in-memory queue, for consumers within the process. A batch
+ * that does not fit in the queue is rejected as a whole and delivered again later, so that slow consumers hold the
+ * changes back in the outbox rather than losing them.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Component
+@Profile("devmongo")
+public class QueueSystemChangeSink implements SystemChangeSink {
+
+    /******************************************************************************************************************
+     * The changes delivered and not yet consumed.
+     *****************************************************************************************************************/
+    private final BlockingQueue<SystemChangeRecord> queue;
+
+    /******************************************************************************************************************
+     * Constructor of the QueueSystemChangeSink class.
+     *
+     * @param capacity The maximum number of changes awaiting consumption.
+     *****************************************************************************************************************/
+    public QueueSystemChangeSink(@Value("${model-repository.outbox.queue.capacity:10000}") int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /******************************************************************************************************************
+     * Method that reports the name by which the sink is selected in the configuration.
+     *
+     * @return The name of the sink, i.e. "queue".
+     *****************************************************************************************************************/
+    @Override
+    public String getName() {
+        return "queue";
+    }
+
+    /******************************************************************************************************************
+     * Method that enqueues a batch of changes, in order.
+     *
+     * @param batch The changes to deliver, not empty.
+     *
+     * @throws IllegalStateException if the queue lacks room for the whole batch.
+     *****************************************************************************************************************/
+    @Override
+    public synchronized void deliver(List<SystemChangeRecord> batch) throws IllegalStateException {
+        if (queue.remainingCapacity() < batch.size()) {
+            throw new IllegalStateException("The queue of System changes lacks room for a batch of " + batch.size() + ".");
+        }
+        queue.addAll(batch);
+    }
+
+    /******************************************************************************************************************
+     * "Getter" method for the queue of changes, from which consumers take the delivered changes.
+     *
+     * @return The queue of changes awaiting consumption.
+     *****************************************************************************************************************/
+    public BlockingQueue<SystemChangeRecord> getQueue() {
+        return queue;
+    }
+}
@@ -0,0 +1,43 @@
+package eu.datacrop.maize.model_repository.mongodb.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**********************************************************************************************************************
+ * This class offers the JSON form of the changes to IoT Systems, as written by the sinks that leave the process.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+final class SystemChangeJson {
+
+    /******************************************************************************************************************
+     * The mapper producing the JSON form (dates in ISO-8601).
+     *****************************************************************************************************************/
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    /******************************************************************************************************************
+     * Constructor of the SystemChangeJson class (private to disallow instantiation).
+     *
+     * @throws IllegalStateException if called, since the class is not meant to be instantiated.
+     *****************************************************************************************************************/
+    private SystemChangeJson() {
+        throw new IllegalStateException("Utility classes should not be instantiated.");
+    }
+
+    /******************************************************************************************************************
+     * Method that produces the JSON form of a value (a change or a list of changes).
+     *
+     * @param value The value to write, not null.
+     * @return The JSON text, on a single line.
+     *
+     * @throws JsonProcessingException if the value cannot be written.
+     *****************************************************************************************************************/
+    static String write(Object value) throws JsonProcessingException {
+        return MAPPER.writeValueAsString(value);
+    }
+}
@@ -0,0 +1,31 @@
+package eu.datacrop.maize.model_repository.mongodb.outbox;
+
+import eu.datacrop.maize.model_repository.mongodb.model.SystemChangeRecord;
+
+import java.util.List;
+
+/**********************************************************************************************************************
+ * This interface defines a destination of the changes to IoT Systems relayed from the outbox. A sink either accepts
+ * a whole batch or fails, in which case the batch is delivered again later (so sinks may receive duplicates).
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public interface SystemChangeSink {
+
+    /******************************************************************************************************************
+     * Method that reports the name by which the sink is selected in the configuration.
+     *
+     * @return The name of the sink, not null.
+     *****************************************************************************************************************/
+    String getName();
+
+    /******************************************************************************************************************
+     * Method that delivers a batch of changes, in order.
+     *
+     * @param batch The changes to deliver, not empty.
+     *
+     * @throws Exception if the batch could not be delivered in its entirety.
+     *****************************************************************************************************************/
+    void deliver(List<SystemChangeRecord> batch) throws Exception;
+}
@@ -0,0 +1,105 @@
+package eu.datacrop.maize.model_repository.mongodb.outbox;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemChangeType;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**********************************************************************************************************************
+ * This class records the changes to IoT Systems in the documents of the Systems themselves, as an array of pending
+ * changes, from which the relay delivers them to the configured sink. A change is recorded by the very write that
+ * performs it: an insertion carries the creation (see SystemListener), while the conditional updates and the (soft)
+ * deletions append the change to the array within the same single-document update. Hence a change is recorded if and
+ * only if it is persisted, without requiring transactions (standalone MongoDB is supported). Since the removal of a
+ * System would discard its undelivered changes, deletions are always soft while the outbox is enabled, and deleted
+ * Systems are only purged once their changes have been delivered (see SystemPurger). Opt-in, since it adds to every
+ * write.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemOutbox {
+
+    @Autowired
+    MongoTemplate template;
+
+    @Autowired
+    SystemOutboxRelay relay;
+
+    /******************************************************************************************************************
+     * The attribute of the System documents holding their pending changes, in their order of recording.
+     *****************************************************************************************************************/
+    public static final String PENDING_CHANGES = "pendingChanges";
+
+    /******************************************************************************************************************
+     * The attribute of a pending change holding the date and time it was recorded, by which the relay selects them.
+     *****************************************************************************************************************/
+    public static final String OCCURRED_AT = PENDING_CHANGES + ".occurredAt";
+
+    /******************************************************************************************************************
+     * Whether the changes to Systems are recorded.
+     *****************************************************************************************************************/
+    @Value("${model-repository.outbox.enabled:false}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * Method that creates the partial index by which the relay selects the Systems holding pending changes.
+     *****************************************************************************************************************/
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            template.indexOps(System.class).ensureIndex(new Index().on(OCCURRED_AT, Sort.Direction.ASC)
+                    .partial(PartialIndexFilter.of(Criteria.where(OCCURRED_AT).exists(true))));
+        } catch (Exception e) {
+            log.warn("Failed to create the index of the pending changes of Systems: {}", e.getMessage());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that reports whether the changes to Systems are recorded.
+     *
+     * @return TRUE if the outbox is enabled, FALSE otherwise.
+     *****************************************************************************************************************/
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /******************************************************************************************************************
+     * Method that notifies the relay of newly recorded changes, so that it does not wait for the next poll.
+     *****************************************************************************************************************/
+    public void wake() {
+        if (enabled) {
+            relay.wake();
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that produces a pending change, as kept in the array of a System document. The version and the date may
+     * be given either as values or as aggregation expressions, evaluated by the database within an update pipeline.
+     *
+     * @param type The kind of the change, not null.
+     * @param version The version of the System after the change (or an expression yielding it), not null.
+     * @param occurredAt The date and time of the change (or an expression yielding it), not null.
+     * @return The pending change.
+     *****************************************************************************************************************/
+    public static Document pendingChange(SystemChangeType type, Object version, Object occurredAt) {
+        return new Document("type", type.name()).append("version", version).append("occurredAt", occurredAt);
+    }
+}
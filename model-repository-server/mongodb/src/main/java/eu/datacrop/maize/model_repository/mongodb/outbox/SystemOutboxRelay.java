@@ -0,0 +1,302 @@
+package eu.datacrop.maize.model_repository.mongodb.outbox;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.SystemChangeRecord;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemChangeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**********************************************************************************************************************
+ * This class drains the outbox of changes to IoT Systems to the configured sink (file, in-memory queue or HTTP). A
+ * single background thread takes the Systems holding the oldest pending changes in batches, delivers all of their
+ * pending changes and only then removes the delivered changes from their documents: a batch whose delivery fails (or
+ * is interrupted by a crash) is delivered again, with exponential backoff, before any later change. Since every change
+ * is recorded by the write performing it (see SystemOutbox), each change is delivered at least once; sinks may receive
+ * duplicates, which receivers discard by the identifier of the change. The pending changes of a System are kept by the
+ * database in the order of the writes, and are taken as a whole, so that the changes of each System are delivered in
+ * order across batches. Changes become eligible once they have settled for a short delay, so that changes recorded
+ * concurrently are taken together. Meant to run on a single instance of the server.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemOutboxRelay {
+
+    @Autowired
+    MongoTemplate template;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    List<SystemChangeSink> sinks;
+
+    /******************************************************************************************************************
+     * Whether the changes to Systems are recorded in the outbox.
+     *****************************************************************************************************************/
+    @Value("${model-repository.outbox.enabled:false}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * Whether this instance of the server relays the outbox.
+     *****************************************************************************************************************/
+    @Value("${model-repository.outbox.relay.enabled:true}")
+    private boolean relayEnabled;
+
+    /******************************************************************************************************************
+     * The name of the sink receiving the changes (file, queue or http).
+     *****************************************************************************************************************/
+    @Value("${model-repository.outbox.sink:queue}")
+    private String sinkName;
+
+    /******************************************************************************************************************
+     * The maximum number of Systems whose changes are delivered per batch.
+     *****************************************************************************************************************/
+    @Value("${model-repository.outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    /******************************************************************************************************************
+     * The maximum time (in milliseconds) that the relay waits for new changes before checking the outbox again.
+     *****************************************************************************************************************/
+    @Value("${model-repository.outbox.relay.poll-ms:1000}")
+    private long pollMillis;
+
+    /******************************************************************************************************************
+     * The time (in milliseconds) for which a change settles in the outbox before it becomes eligible for delivery.
+     *****************************************************************************************************************/
+    @Value("${model-repository.outbox.relay.settle-ms:100}")
+    private long settleMillis;
+
+    /******************************************************************************************************************
+     * The maximum time (in milliseconds) between attempts to deliver a batch that keeps failing.
+     *****************************************************************************************************************/
+    @Value("${model-repository.outbox.relay.max-backoff-ms:30000}")
+    private long maxBackoffMillis;
+
+    /******************************************************************************************************************
+     * The time (in milliseconds) between the first attempts to deliver a failing batch, doubled upon every failure.
+     *****************************************************************************************************************/
+    private static final long MIN_BACKOFF_MILLIS = 100;
+
+    /******************************************************************************************************************
+     * The notifications of newly recorded changes.
+     *****************************************************************************************************************/
+    private final Semaphore signal = new Semaphore(0);
+
+    /******************************************************************************************************************
+     * The sink receiving the changes, resolved upon start.
+     *****************************************************************************************************************/
+    private SystemChangeSink sink;
+
+    /******************************************************************************************************************
+     * The background thread relaying the outbox, null while not running.
+     *****************************************************************************************************************/
+    private Thread worker;
+
+    /******************************************************************************************************************
+     * Whether the relay is running.
+     *****************************************************************************************************************/
+    private volatile boolean running;
+
+    /******************************************************************************************************************
+     * The number of changes delivered.
+     *****************************************************************************************************************/
+    private Counter delivered;
+
+    /******************************************************************************************************************
+     * The number of failed attempts to deliver a batch.
+     *****************************************************************************************************************/
+    private Counter failures;
+
+    /******************************************************************************************************************
+     * The number of changes per delivered batch.
+     *****************************************************************************************************************/
+    private DistributionSummary batchSizes;
+
+    /******************************************************************************************************************
+     * The time from the recording of the oldest change of a batch until the batch has been delivered.
+     *****************************************************************************************************************/
+    private Timer lags;
+
+    /******************************************************************************************************************
+     * Method that resolves the sink, registers the metrics and starts the background thread, if the outbox is enabled
+     * and relayed by this instance.
+     *
+     * @throws IllegalStateException if no sink is known by the configured name.
+     *****************************************************************************************************************/
+    @PostConstruct
+    public synchronized void start() throws IllegalStateException {
+        if (!enabled || !relayEnabled || running) {
+            return;
+        }
+        sink = sinks.stream().filter(candidate -> candidate.getName().equalsIgnoreCase(sinkName)).findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown sink of System changes: '" + sinkName + "'."));
+        delivered = Counter.builder("model_repository.system.outbox.delivered")
+                .description("The number of System changes delivered from the outbox.")
+                .register(meterRegistry);
+        failures = Counter.builder("model_repository.system.outbox.delivery.failures")
+                .description("The number of failed attempts to deliver a batch of System changes.")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("model_repository.system.outbox.batch.size")
+                .description("The number of System changes delivered per batch.")
+                .register(meterRegistry);
+        lags = Timer.builder("model_repository.system.outbox.lag")
+                .description("The time from the recording of the oldest change of a batch until its delivery.")
+                .register(meterRegistry);
+
+        running = true;
+        worker = new Thread(this::run, "system-outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Relaying the outbox of System changes to sink '{}'.", sink.getName());
+    }
+
+    /******************************************************************************************************************
+     * Method that notifies the relay of a newly recorded change, so that it does not wait for the next poll.
+     *****************************************************************************************************************/
+    public void wake() {
+        signal.release();
+    }
+
+    /******************************************************************************************************************
+     * Method that stops the background thread. Undelivered changes remain in the outbox for the next start.
+     *****************************************************************************************************************/
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+        log.info("Relaying of System changes has been shut down.");
+    }
+
+    /******************************************************************************************************************
+     * Method executed by the background thread: relays batches until shut down, waiting for new changes once the
+     * outbox has been drained and backing off while deliveries fail.
+     *****************************************************************************************************************/
+    private void run() {
+
+        long backoff = 0;
+        while (running) {
+            try {
+                int relayed = relayBatch();
+                backoff = 0;
+                if (relayed < batchSize && signal.tryAcquire(pollMillis, TimeUnit.MILLISECONDS)) {
+                    signal.drainPermits();
+                    Thread.sleep(settleMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                failures.increment();
+                backoff = (backoff == 0) ? MIN_BACKOFF_MILLIS : Math.min(2 * backoff, maxBackoffMillis);
+                log.warn("Failed to deliver System changes to sink '{}', retrying in {} ms: {}", sink.getName(), backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that delivers the pending changes of the Systems holding the oldest settled changes as a single batch,
+     * and then removes the delivered changes from the documents of the Systems. Changes recorded meanwhile are kept
+     * for the next batch.
+     *
+     * @return The number of Systems whose changes have been delivered.
+     *
+     * @throws Exception if the batch could not be delivered (the changes then remain pending).
+     *****************************************************************************************************************/
+    public int relayBatch() throws Exception {
+
+        String collectionName = template.getCollectionName(System.class);
+        Query query = new Query(Criteria.where(SystemOutbox.OCCURRED_AT).exists(true).lte(Date.from(Instant.now().minusMillis(settleMillis))))
+                .with(Sort.by(Sort.Direction.ASC, SystemOutbox.OCCURRED_AT))
+                .limit(batchSize);
+        query.fields().include(SystemOutbox.PENDING_CHANGES);
+        List<Document> systems = template.find(query, Document.class, collectionName);
+        if (systems.isEmpty()) {
+            return 0;
+        }
+
+        List<SystemChangeRecord> batch = new ArrayList<>();
+        for (Document system : systems) {
+            for (Document change : system.getList(SystemOutbox.PENDING_CHANGES, Document.class)) {
+                batch.add(toRecord(system.getString("_id"), change));
+            }
+        }
+        sink.deliver(batch);
+
+        // Removing exactly the delivered changes, as read, from every System.
+        BulkOperations removal = template.bulkOps(BulkOperations.BulkMode.UNORDERED, collectionName);
+        for (Document system : systems) {
+            removal.updateOne(new Query(Criteria.where("_id").is(system.get("_id"))),
+                    new Update().pullAll(SystemOutbox.PENDING_CHANGES, system.getList(SystemOutbox.PENDING_CHANGES, Document.class).toArray()));
+        }
+        removal.execute();
+
+        delivered.increment(batch.size());
+        batchSizes.record(batch.size());
+        lags.record(Duration.between(batch.stream().map(SystemChangeRecord::getOccurredAt).min(Comparator.naturalOrder()).orElseThrow(),
+                LocalDateTime.now()));
+        log.debug("Delivered a batch of {} System changes to sink '{}'.", batch.size(), sink.getName());
+        return systems.size();
+    }
+
+    /******************************************************************************************************************
+     * Method that produces the delivered form of a pending change of a System. Its identifier is made of the UUID of
+     * the System, the kind of the change and the version of the System, hence it is the same upon every delivery.
+     *
+     * @param systemId The UUID of the System, not null.
+     * @param change The pending change, as kept in the document of the System, not null.
+     * @return The change to deliver.
+     *****************************************************************************************************************/
+    private static SystemChangeRecord toRecord(String systemId, Document change) {
+
+        SystemChangeType type = SystemChangeType.valueOf(change.getString("type"));
+        Long version = (change.get("version") instanceof Number number) ? number.longValue() : null;
+        LocalDateTime occurredAt = LocalDateTime.ofInstant(change.getDate("occurredAt").toInstant(), ZoneId.systemDefault());
+        return new SystemChangeRecord(systemId + ":" + type + ":" + version, systemId, type, version, occurredAt);
+    }
+}
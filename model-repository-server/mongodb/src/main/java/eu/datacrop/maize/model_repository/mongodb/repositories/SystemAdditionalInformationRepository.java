@@ -0,0 +1,19 @@
+package eu.datacrop.maize.model_repository.mongodb.repositories;
+
+import eu.datacrop.maize.model_repository.mongodb.model.SystemAdditionalInformation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**********************************************************************************************************************
+ * This class is the bridge between MongoDb and the Spring Framework application as far as the (oversized) additional
+ * information of Systems, persisted apart from the Systems themselves, is concerned.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Repository
+@Profile("devmongo")
+public interface SystemAdditionalInformationRepository extends MongoRepository<SystemAdditionalInformation, String> {
+
+}
@@ -1,12 +1,22 @@
 package eu.datacrop.maize.model_repository.mongodb.repositories;
 
 import eu.datacrop.maize.model_repository.mongodb.model.System;
+import org.bson.Document;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.geo.GeoJson;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**********************************************************************************************************************
  * This class is the bridge between MongoDb and the Spring Framework application as far as System transactions
  * are concerned.
@@ -16,26 +26,169 @@ import org.springframework.stereotype.Repository;
  *********************************************************************************************************************/
 @Repository
 @Profile("devmongo")
-public interface SystemRepository extends MongoRepository<System, String> {
+public interface SystemRepository extends MongoRepository<System, String>, SystemRepositoryCustom {
+
+    /*****************************************************************************************************************
+     * This method retrieves a System given its UUID as identifier, unless it has been (soft) deleted.
+     *
+     * @param  id The UUID that uniquely identifies a persisted System, not null.
+     * @return The retrieved System entity, if any.
+     ****************************************************************************************************************/
+    Optional<System> findByIdAndDeletedAtIsNull(String id);
 
     /*****************************************************************************************************************
      * This method retrieves a System given its human-readable name as identifier. Business-wise the name is
      * unique but the attribute is not technically unique. Therefore, only the first of multiple entities will
-     * be returned as a protection measure against database failures.
+     * be returned as a protection measure against database failures. (Soft) deleted Systems are not considered.
      *
      * @param  name A human-readable string that uniquely identifies a persisted System, not null.
      * @return The retrieved System entity.
      ****************************************************************************************************************/
-    System findFirstByName(String name);
+    System findFirstByNameAndDeletedAtIsNull(String name);
+
+    /*****************************************************************************************************************
+     * This method retrieves the Systems holding any of the given names, in a single query. Only the identifier and
+     * the name of each System are loaded. Used to check the names of a batch of creations for conflicts. (Soft)
+     * deleted Systems are not considered.
+     *
+     * @param  names The human-readable names to look for, not null.
+     * @return The retrieved System entities (identifiers and names only).
+     ****************************************************************************************************************/
+    @Query(value = "{ 'name' : { $in : ?0 }, 'deletedAt' : null }", fields = "{ 'name' : 1 }")
+    List<System> findNamesIn(Collection<String> names);
 
     /*****************************************************************************************************************
-     * This method retrieves all Systems ever persisted on the database. Employs pagination.
+     * This method retrieves all Systems persisted on the database and not (soft) deleted. Employs pagination.
      *
      * @param  pageable Information on the pagination configurations, not null.
      * @return The retrieved collection of System entities paginated.
      ****************************************************************************************************************/
-    Page<System> findAll(Pageable pageable);
+    Page<System> findAllByDeletedAtIsNull(Pageable pageable);
 
-}
+    /*****************************************************************************************************************
+     * This method counts the Systems persisted on the database and not (soft) deleted.
+     *
+     * @return The number of System entities.
+     ****************************************************************************************************************/
+    long countByDeletedAtIsNull();
 
+    /*****************************************************************************************************************
+     * This method retrieves all Systems persisted on the database and not (soft) deleted through a cursor, without
+     * loading them into memory at once. The returned stream must be closed after use.
+     *
+     * @return A stream of all System entities.
+     ****************************************************************************************************************/
+    Stream<System> streamAllByDeletedAtIsNull();
 
+    /*****************************************************************************************************************
+     * This method retrieves the Systems whose Geographical Location lies within a maximum distance from a point,
+     * ordered from the nearest to the farthest. Served by the "2dsphere" index of the GeoJSON Location, therefore
+     * Systems with a Virtual Location only (no GeoJSON Point) are never examined. (Soft) deleted Systems are skipped.
+     *
+     * @param  longitude The longitude of the reference point, in decimal degrees.
+     * @param  latitude The latitude of the reference point, in decimal degrees.
+     * @param  maxDistance The maximum distance from the reference point, in meters.
+     * @param  pageable Information on the pagination configurations (only the limit is relevant), not null.
+     * @return The retrieved collection of System entities sorted by distance.
+     ****************************************************************************************************************/
+    @Query("{ 'location.geoLocation' : { $nearSphere : { $geometry : { type : 'Point', coordinates : [ ?0, ?1 ] }, $maxDistance : ?2 } }, 'deletedAt' : null }")
+    List<System> findByLocationNear(double longitude, double latitude, double maxDistance, Pageable pageable);
+
+    /*****************************************************************************************************************
+     * This method retrieves the Systems whose Geographical Location lies within an area (a GeoJSON Polygon or
+     * MultiPolygon). Employs pagination. Served by the "2dsphere" index of the GeoJSON Location, therefore Systems
+     * with a Virtual Location only (no GeoJSON Point) are never examined. (Soft) deleted Systems are skipped.
+     *
+     * @param  geometry The GeoJSON geometry delimiting the search area, not null.
+     * @param  pageable Information on the pagination configurations, not null.
+     * @return The retrieved collection of System entities paginated.
+     ****************************************************************************************************************/
+    @Query("{ 'location.geoLocation' : { $geoWithin : { $geometry : ?0 } }, 'deletedAt' : null }")
+    Page<System> findByLocationWithin(GeoJson<?> geometry, Pageable pageable);
+
+    /*****************************************************************************************************************
+     * This method groups the Systems whose Geographical Location lies within an area by the cell of a square grid over
+     * the Web Mercator projection (as in ClusterGrid), in a single aggregation pipeline, so that only the cells are
+     * loaded. Each result holds the "column" and "row" of the cell (as "_id"), the "count" of its Systems, the mean
+     * projected coordinates "x" and "y" of its Systems (within [0, 1]) and the "id" of one of its Systems, ordered by
+     * column and row. Served by the "2dsphere" index of the GeoJSON Location. (Soft) deleted Systems are skipped.
+     *
+     * @param  geometry The GeoJSON geometry delimiting the area, not null.
+     * @param  cells The number of columns (and rows) of the grid, positive.
+     * @return The non-empty cells of the grid within the area.
+     ****************************************************************************************************************/
+    @Aggregation(pipeline = {"{ $match : { 'location.geoLocation' : { $geoWithin : { $geometry : ?0 } }, 'deletedAt' : null } }",
+            "{ $project : { x : { $divide : [ { $add : [ { $arrayElemAt : [ '$location.geoLocation.coordinates', 0 ] }, 180 ] }, 360 ] }, " +
+                    "sin : { $sin : { $degreesToRadians : { $max : [ -85.0511287798066, { $min : [ 85.0511287798066, { $arrayElemAt : [ '$location.geoLocation.coordinates', 1 ] } ] } ] } } } } }",
+            "{ $project : { x : 1, y : { $subtract : [ 0.5, { $divide : [ { $ln : { $divide : [ { $add : [ 1, '$sin' ] }, { $subtract : [ 1, '$sin' ] } ] } }, 12.566370614359172 ] } ] } } }",
+            "{ $group : { _id : { column : { $min : [ { $subtract : [ ?1, 1 ] }, { $max : [ 0, { $floor : { $multiply : [ '$x', ?1 ] } } ] } ] }, " +
+                    "row : { $min : [ { $subtract : [ ?1, 1 ] }, { $max : [ 0, { $floor : { $multiply : [ '$y', ?1 ] } } ] } ] } }, " +
+                    "count : { $sum : 1 }, x : { $avg : '$x' }, y : { $avg : '$y' }, id : { $first : '$_id' } } }",
+            "{ $sort : { '_id.column' : 1, '_id.row' : 1 } }"})
+    List<Document> clusterWithin(GeoJson<?> geometry, long cells);
+
+    /*****************************************************************************************************************
+     * This method counts the Systems whose Geographical Location lies within an area per cell of a regular grid over
+     * longitude and latitude (such as the cells of the geohashes of a precision, see GeohashCounter), in a single
+     * aggregation pipeline, so that only the counts are loaded. Each result holds the "column" (counted eastwards from
+     * longitude -180) and "row" (counted northwards from latitude -90) of the cell (as "_id") and the "count" of its
+     * Systems. Served by the "2dsphere" index of the GeoJSON Location. (Soft) deleted Systems are skipped.
+     *
+     * @param  geometry The GeoJSON geometry delimiting the area, not null.
+     * @param  columns The number of cells along the longitude, positive.
+     * @param  rows The number of cells along the latitude, positive.
+     * @return The non-empty cells of the grid within the area.
+     ****************************************************************************************************************/
+    @Aggregation(pipeline = {"{ $match : { 'location.geoLocation' : { $geoWithin : { $geometry : ?0 } }, 'deletedAt' : null } }",
+            "{ $group : { _id : { " +
+                    "column : { $min : [ { $subtract : [ ?1, 1 ] }, { $floor : { $divide : [ { $multiply : [ { $add : [ { $arrayElemAt : [ '$location.geoLocation.coordinates', 0 ] }, 180 ] }, ?1 ] }, 360 ] } } ] }, " +
+                    "row : { $min : [ { $subtract : [ ?2, 1 ] }, { $floor : { $divide : [ { $multiply : [ { $add : [ { $arrayElemAt : [ '$location.geoLocation.coordinates', 1 ] }, 90 ] }, ?2 ] }, 180 ] } } ] } }, " +
+                    "count : { $sum : 1 } } }"})
+    List<Document> countWithinByGrid(GeoJson<?> geometry, long columns, long rows);
+
+    /*****************************************************************************************************************
+     * This method retrieves the Systems matching a full-text search over their name and description. Employs
+     * pagination. Served by the text index of the collection; sorting by "score" orders the results by relevance.
+     * (Soft) deleted Systems are skipped.
+     *
+     * @param  criteria The full-text search criteria, not null.
+     * @param  pageable Information on the pagination and sorting configurations, not null.
+     * @return The retrieved collection of System entities paginated.
+     ****************************************************************************************************************/
+    Page<System> findAllByDeletedAtIsNull(TextCriteria criteria, Pageable pageable);
+
+    /*****************************************************************************************************************
+     * This method retrieves the Systems of an organization matching a full-text search over their name and
+     * description. Employs pagination. Served by the text index of the collection; sorting by "score" orders the
+     * results by relevance. (Soft) deleted Systems are skipped.
+     *
+     * @param  organization The organization owning the Systems, not null.
+     * @param  criteria The full-text search criteria, not null.
+     * @param  pageable Information on the pagination and sorting configurations, not null.
+     * @return The retrieved collection of System entities paginated.
+     ****************************************************************************************************************/
+    Page<System> findAllByOrganizationAndDeletedAtIsNull(String organization, TextCriteria criteria, Pageable pageable);
+
+    /*****************************************************************************************************************
+     * This method retrieves the Systems whose name starts with a prefix, ignoring case. Used for autocompletion
+     * while the in-memory name index is not available. (Soft) deleted Systems are skipped.
+     *
+     * @param  prefix The prefix of the names, not null (regular expression characters are escaped).
+     * @param  pageable Information on the maximum number of results and their sorting, not null.
+     * @return The retrieved collection of System entities.
+     ****************************************************************************************************************/
+    List<System> findByNameStartingWithIgnoreCaseAndDeletedAtIsNull(String prefix, Pageable pageable);
+
+    /*****************************************************************************************************************
+     * This method counts the Systems per organization and per type of location in a single aggregation pipeline.
+     * The result contains two arrays, "organizations" and "locations", of documents with an "_id" (the organization,
+     * or either "geo" or "virtual") and a "count". (Soft) deleted Systems are not counted.
+     *
+     * @return The facets of the Systems.
+     ****************************************************************************************************************/
+    @Aggregation(pipeline = {"{ $match : { deletedAt : null } }", "{ $facet : { " +
+            "organizations : [ { $group : { _id : '$organization', count : { $sum : 1 } } } ], " +
+            "locations : [ { $group : { _id : { $cond : [ { $ifNull : [ '$location.geoLocation', false ] }, 'geo', 'virtual' ] }, count : { $sum : 1 } } } ] } }"})
+    Document countFacets();
+
+}
@@ -0,0 +1,89 @@
+package eu.datacrop.maize.model_repository.mongodb.repositories;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+/**********************************************************************************************************************
+ * This interface declares the System queries that cannot be derived from method names or expressed as static query
+ * strings, since their structure depends on their arguments, as well as the conditional writes of Systems.
+ * Implemented by SystemRepositoryCustomImpl and exposed through the SystemRepository.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public interface SystemRepositoryCustom {
+
+    /*****************************************************************************************************************
+     * This method retrieves the Systems whose additional information contains all of the given key/value pairs
+     * (i.e. an entry with each key holding the respective value). Employs pagination. Served by the wildcard index
+     * over the additional information. Values are matched either as strings or, where they can be parsed as such,
+     * as numbers or booleans. (Soft) deleted Systems are skipped.
+     *
+     * @param  filters The key/value pairs to match, not null, not empty.
+     * @param  pageable Information on the pagination configurations, not null.
+     * @return The retrieved collection of System entities paginated.
+     ****************************************************************************************************************/
+    Page<System> findByAdditionalInformation(Map<String, String> filters, Pageable pageable);
+
+    /*****************************************************************************************************************
+     * This method writes the contents of a System in a single conditional update, filtered on its identifier, its
+     * version (if expected), its name (if expected), on its contents differing from the new ones and on it not being
+     * (soft) deleted. The creation date is left untouched and the version is incremented. Upon success, the given
+     * entity is completed with the creation date and version as persisted and the in-memory indexes are notified, as
+     * for any save.
+     *
+     * @param  entity The new contents of the System, with its content hash computed, not null.
+     * @param  expectedVersion The version that the System must have, null to accept any version.
+     * @param  expectedName The name that the System must have, null to accept any name.
+     * @return The System as it was before the update, or null if nothing has been written.
+     ****************************************************************************************************************/
+    System updateConditionally(System entity, Long expectedVersion, String expectedName);
+
+    /*****************************************************************************************************************
+     * This method deletes a System in a single conditional removal, filtered on its identifier, its version (if
+     * expected) and on it not being (soft) deleted already. Upon success, the in-memory indexes are notified, as for
+     * any deletion.
+     *
+     * @param  databaseID The UUID of the System, not null.
+     * @param  expectedVersion The version that the System must have, null to accept any version.
+     * @return The deleted System, or null if nothing has been deleted.
+     ****************************************************************************************************************/
+    System deleteConditionally(String databaseID, Long expectedVersion);
+
+    /*****************************************************************************************************************
+     * This method soft-deletes a System in a single conditional update, marking it with the date of its deletion,
+     * filtered on its identifier, its version (if expected) and on it not being (soft) deleted already. The System is
+     * hidden from every read from then on, until purged. Upon success, the in-memory indexes are notified, as for any
+     * deletion.
+     *
+     * @param  databaseID The UUID of the System, not null.
+     * @param  expectedVersion The version that the System must have, null to accept any version.
+     * @param  deletedAt The date of the deletion, not null.
+     * @return The deleted System, or null if nothing has been deleted.
+     ****************************************************************************************************************/
+    System softDeleteConditionally(String databaseID, Long expectedVersion, LocalDateTime deletedAt);
+
+    /*****************************************************************************************************************
+     * This method soft-deletes all Systems not (soft) deleted already in a single update, marking them with the date
+     * of their deletion. Upon success, the in-memory indexes are notified, as for the deletion of all Systems.
+     *
+     * @param  deletedAt The date of the deletion, not null.
+     * @return The number of Systems deleted.
+     ****************************************************************************************************************/
+    long softDeleteAll(LocalDateTime deletedAt);
+
+    /*****************************************************************************************************************
+     * This method soft-deletes the given Systems not (soft) deleted already in a single update, marking them with the
+     * date of their deletion. Upon success, the in-memory indexes are notified of the deletion of these Systems.
+     *
+     * @param  databaseIDs The UUIDs of the Systems, not null, not empty.
+     * @param  deletedAt The date of the deletion, not null.
+     * @return The number of Systems deleted.
+     ****************************************************************************************************************/
+    long softDeleteAll(Collection<String> databaseIDs, LocalDateTime deletedAt);
+}
@@ -0,0 +1,392 @@
+package eu.datacrop.maize.model_repository.mongodb.repositories;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.SystemAdditionalInformation;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemChangeType;
+import eu.datacrop.maize.model_repository.mongodb.outbox.SystemOutbox;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoAction;
+import org.springframework.data.mongodb.core.MongoActionOperation;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.WriteConcernResolver;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**********************************************************************************************************************
+ * This class implements the System queries whose structure depends on their arguments and the conditional writes of
+ * Systems, using the MongoTemplate. The conditional writes return the System as it was, hence they are performed as
+ * findAndModify/findAndRemove commands; the MongoTemplate does not apply its WriteConcernResolver to these, so they
+ * are issued on the collection directly, with the write concern that the resolver decides. While the outbox is
+ * enabled, the updates and the soft deletions also record their change in the System documents (see SystemOutbox),
+ * within the same update.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public class SystemRepositoryCustomImpl implements SystemRepositoryCustom {
+
+    @Autowired
+    MongoTemplate template;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    SystemOutbox outbox;
+
+    @Autowired(required = false)
+    WriteConcernResolver writeConcernResolver;
+
+    /*****************************************************************************************************************
+     * This method retrieves the Systems whose additional information contains all of the given key/value pairs
+     * (i.e. an entry with each key holding the respective value). Employs pagination. Performed as a single
+     * aggregation: the Systems whose additional information is embedded are matched directly, while those whose
+     * additional information is detached are matched in the side collection and joined back to the Systems, so that
+     * both are served by their wildcard index and no list of identifiers is ever held by the server. Values are
+     * matched either as strings or, where they can be parsed as such, as numbers or booleans. (Soft) deleted Systems
+     * are skipped.
+     *
+     * @param  filters The key/value pairs to match, not null, not empty.
+     * @param  pageable Information on the pagination configurations, not null.
+     * @return The retrieved collection of System entities paginated.
+     ****************************************************************************************************************/
+    @Override
+    public Page<System> findByAdditionalInformation(Map<String, String> filters, Pageable pageable) {
+
+        List<Criteria> criteria = new ArrayList<>();
+        for (Map.Entry<String, String> filter : filters.entrySet()) {
+            criteria.add(Criteria.where("additionalInformation." + filter.getKey()).in(toCandidateValues(filter.getValue())));
+        }
+        String collectionName = template.getCollectionName(System.class);
+
+        // A System keeps its additional information either embedded or detached (leaving the embedded one empty).
+        List<AggregationOperation> matching = new ArrayList<>();
+        matching.add(Aggregation.match(new Criteria().andOperator(new ArrayList<>(criteria)).and("deletedAt").is(null)));
+        matching.add(UnionWithOperation.unionWith(template.getCollectionName(SystemAdditionalInformation.class)).pipeline(
+                Aggregation.match(new Criteria().andOperator(criteria)),
+                Aggregation.project("_id"),
+                Aggregation.lookup(collectionName, "_id", "_id", "system"),
+                Aggregation.unwind("system"),
+                Aggregation.replaceRoot("system"),
+                Aggregation.match(Criteria.where("deletedAt").is(null))));
+
+        List<AggregationOperation> page = new ArrayList<>(matching);
+        page.add(Aggregation.sort(pageable.getSort().isSorted() ? pageable.getSort() : Sort.by(Sort.Direction.ASC, "_id")));
+        if (pageable.isPaged()) {
+            page.add(Aggregation.skip(pageable.getOffset()));
+            page.add(Aggregation.limit(pageable.getPageSize()));
+        }
+        AggregationOptions options = AggregationOptions.builder().allowDiskUse(true).build();
+        List<System> content = template.aggregate(Aggregation.newAggregation(page).withOptions(options), collectionName, System.class)
+                .getMappedResults();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            List<AggregationOperation> count = new ArrayList<>(matching);
+            count.add(Aggregation.count().as("count"));
+            Document result = template.aggregate(Aggregation.newAggregation(count), collectionName, Document.class).getUniqueMappedResult();
+            return (result == null) ? 0L : ((Number) result.get("count")).longValue();
+        });
+    }
+
+    /*****************************************************************************************************************
+     * This method writes the contents of a System in a single conditional update, filtered on its identifier, its
+     * version (if expected), its name (if expected), on its contents differing from the new ones and on it not being
+     * (soft) deleted. The creation date is left untouched and the version is incremented. The update is recorded in
+     * the outbox by the same command, if enabled. Since the command emits no mapping events, the AfterSaveEvent
+     * keeping the in-memory indexes up to date is published here.
+     *
+     * @param  entity The new contents of the System, with its content hash computed, not null.
+     * @param  expectedVersion The version that the System must have, null to accept any version.
+     * @param  expectedName The name that the System must have, null to accept any name.
+     * @return The System as it was before the update, or null if nothing has been written.
+     ****************************************************************************************************************/
+    @Override
+    public System updateConditionally(System entity, Long expectedVersion, String expectedName) {
+
+        Criteria criteria = Criteria.where("_id").is(entity.getId()).and("contentHash").ne(entity.getContentHash())
+                .and("deletedAt").is(null);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        if (expectedName != null) {
+            criteria.and("name").is(expectedName);
+        }
+
+        Update update = new Update()
+                .set("name", entity.getName())
+                .set("description", entity.getDescription())
+                .set("location", entity.getLocation())
+                .set("organization", entity.getOrganization())
+                .set("additionalInformation", entity.getAdditionalInformation())
+                .set("additionalInformationDetached", entity.isAdditionalInformationDetached())
+                .set("contentHash", entity.getContentHash())
+                .set("latestUpdateDate", entity.getLatestUpdateDate())
+                .inc("version", 1L);
+
+        System previous = findAndModify(new Query(criteria), update, SystemChangeType.UPDATED);
+        if (previous != null) {
+            entity.setCreationDate(previous.getCreationDate());
+            entity.setVersion(previous.getVersion() == null ? 1L : previous.getVersion() + 1L);
+            eventPublisher.publishEvent(new AfterSaveEvent<>(entity, new Document("_id", entity.getId()), template.getCollectionName(System.class)));
+        }
+        return previous;
+    }
+
+    /*****************************************************************************************************************
+     * This method deletes a System in a single conditional removal, filtered on its identifier, its version (if
+     * expected) and on it not being (soft) deleted already. Since the command emits no mapping events, the
+     * AfterDeleteEvent keeping the in-memory indexes up to date is published here.
+     *
+     * @param  databaseID The UUID of the System, not null.
+     * @param  expectedVersion The version that the System must have, null to accept any version.
+     * @return The deleted System, or null if nothing has been deleted.
+     ****************************************************************************************************************/
+    @Override
+    public System deleteConditionally(String databaseID, Long expectedVersion) {
+
+        MongoPersistentEntity<?> persistentEntity = persistentEntity();
+        Document query = new QueryMapper(template.getConverter()).getMappedObject(deletionCriteria(databaseID, expectedVersion).getCriteriaObject(), persistentEntity);
+        Document document = collection(MongoActionOperation.REMOVE, query, null).findOneAndDelete(query);
+        System deleted = (document == null) ? null : template.getConverter().read(System.class, document);
+        if (deleted != null) {
+            eventPublisher.publishEvent(new AfterDeleteEvent<>(new Document("_id", databaseID), System.class, template.getCollectionName(System.class)));
+        }
+        return deleted;
+    }
+
+    /*****************************************************************************************************************
+     * This method soft-deletes a System in a single conditional update, marking it with the date of its deletion,
+     * filtered on its identifier, its version (if expected) and on it not being (soft) deleted already. The deletion is
+     * recorded in the outbox by the same command, if enabled. Since the System leaves every read, the AfterDeleteEvent
+     * keeping the in-memory indexes up to date is published here, as for a removal.
+     *
+     * @param  databaseID The UUID of the System, not null.
+     * @param  expectedVersion The version that the System must have, null to accept any version.
+     * @param  deletedAt The date of the deletion, not null.
+     * @return The deleted System, or null if nothing has been deleted.
+     ****************************************************************************************************************/
+    @Override
+    public System softDeleteConditionally(String databaseID, Long expectedVersion, LocalDateTime deletedAt) {
+
+        System deleted = findAndModify(new Query(deletionCriteria(databaseID, expectedVersion)), new Update().set("deletedAt", deletedAt),
+                SystemChangeType.DELETED);
+        if (deleted != null) {
+            eventPublisher.publishEvent(new AfterDeleteEvent<>(new Document("_id", databaseID), System.class, template.getCollectionName(System.class)));
+        }
+        return deleted;
+    }
+
+    /*****************************************************************************************************************
+     * This method soft-deletes all Systems not (soft) deleted already in a single update, marking them with the date
+     * of their deletion (and recording the deletion of each in the outbox, if enabled). The AfterDeleteEvent of the
+     * deletion of all Systems (with an empty filter) is published here, as for a removal.
+     *
+     * @param  deletedAt The date of the deletion, not null.
+     * @return The number of Systems deleted.
+     ****************************************************************************************************************/
+    @Override
+    public long softDeleteAll(LocalDateTime deletedAt) {
+
+        long deleted = updateMulti(new Query(Criteria.where("deletedAt").is(null)), new Update().set("deletedAt", deletedAt),
+                SystemChangeType.DELETED);
+        eventPublisher.publishEvent(new AfterDeleteEvent<>(new Document(), System.class, template.getCollectionName(System.class)));
+        return deleted;
+    }
+
+    /*****************************************************************************************************************
+     * This method soft-deletes the given Systems not (soft) deleted already in a single update, marking them with the
+     * date of their deletion (and recording the deletion of each in the outbox, if enabled). The AfterDeleteEvent of
+     * the deletion of these Systems (with a filter on their identifiers) is published here, as for a removal.
+     *
+     * @param  databaseIDs The UUIDs of the Systems, not null, not empty.
+     * @param  deletedAt The date of the deletion, not null.
+     * @return The number of Systems deleted.
+     ****************************************************************************************************************/
+    @Override
+    public long softDeleteAll(Collection<String> databaseIDs, LocalDateTime deletedAt) {
+
+        long deleted = updateMulti(new Query(Criteria.where("_id").in(databaseIDs).and("deletedAt").is(null)),
+                new Update().set("deletedAt", deletedAt), SystemChangeType.DELETED);
+        eventPublisher.publishEvent(new AfterDeleteEvent<>(new Document("_id", new Document("$in", databaseIDs)),
+                System.class, template.getCollectionName(System.class)));
+        return deleted;
+    }
+
+    /*****************************************************************************************************************
+     * This method updates a single System and returns it as it was before the update. The change is recorded in the
+     * outbox by the same command, if enabled.
+     *
+     * @param  query The filter of the System, not null.
+     * @param  update The update to apply, not null.
+     * @param  change The kind of the change performed by the update, not null.
+     * @return The System as it was before the update, or null if no System matches the filter.
+     ****************************************************************************************************************/
+    private System findAndModify(Query query, Update update, SystemChangeType change) {
+
+        MongoPersistentEntity<?> persistentEntity = persistentEntity();
+        Document mappedQuery = new QueryMapper(template.getConverter()).getMappedObject(query.getQueryObject(), persistentEntity);
+        Document mappedUpdate = new UpdateMapper(template.getConverter()).getMappedObject(update.getUpdateObject(), persistentEntity);
+        MongoCollection<Document> collection = collection(MongoActionOperation.UPDATE, mappedQuery, mappedUpdate);
+        FindOneAndUpdateOptions options = new FindOneAndUpdateOptions().returnDocument(ReturnDocument.BEFORE);
+        Document document = outbox.isEnabled()
+                ? collection.findOneAndUpdate(mappedQuery, recording(mappedUpdate, change), options)
+                : collection.findOneAndUpdate(mappedQuery, mappedUpdate, options);
+        return (document == null) ? null : template.getConverter().read(System.class, document);
+    }
+
+    /*****************************************************************************************************************
+     * This method updates all Systems matching a filter. The change of each System is recorded in the outbox by the
+     * same command, if enabled.
+     *
+     * @param  query The filter of the Systems, not null.
+     * @param  update The update to apply, not null.
+     * @param  change The kind of the change performed by the update, not null.
+     * @return The number of Systems updated.
+     ****************************************************************************************************************/
+    private long updateMulti(Query query, Update update, SystemChangeType change) {
+
+        MongoPersistentEntity<?> persistentEntity = persistentEntity();
+        Document mappedQuery = new QueryMapper(template.getConverter()).getMappedObject(query.getQueryObject(), persistentEntity);
+        Document mappedUpdate = new UpdateMapper(template.getConverter()).getMappedObject(update.getUpdateObject(), persistentEntity);
+        MongoCollection<Document> collection = collection(MongoActionOperation.UPDATE, mappedQuery, mappedUpdate);
+        UpdateResult result = outbox.isEnabled()
+                ? collection.updateMany(mappedQuery, recording(mappedUpdate, change))
+                : collection.updateMany(mappedQuery, mappedUpdate);
+        return result.getModifiedCount();
+    }
+
+    /*****************************************************************************************************************
+     * This method turns a mapped update into an update pipeline that also appends the change to the pending changes
+     * of the System, with the version of the System after the update and the current date of the database. The values
+     * set are taken literally and the increments are applied to the current values, so that the pipeline writes the
+     * same contents as the update. Only the "$set" and "$inc" operators are supported, which are those employed here.
+     *
+     * @param  mappedUpdate The mapped update, not null.
+     * @param  change The kind of the change performed by the update, not null.
+     * @return The update pipeline.
+     * @throws IllegalArgumentException if the update employs other operators.
+     ****************************************************************************************************************/
+    private static List<Document> recording(Document mappedUpdate, SystemChangeType change) throws IllegalArgumentException {
+
+        Document contents = new Document();
+        for (Map.Entry<String, Object> operation : mappedUpdate.entrySet()) {
+            for (Map.Entry<String, Object> field : ((Document) operation.getValue()).entrySet()) {
+                switch (operation.getKey()) {
+                    case "$set" -> contents.append(field.getKey(), new Document("$literal", field.getValue()));
+                    case "$inc" -> contents.append(field.getKey(), new Document("$add",
+                            List.of(new Document("$ifNull", List.of("$" + field.getKey(), 0L)), field.getValue())));
+                    default -> throw new IllegalArgumentException("Update operator '" + operation.getKey() + "' cannot be recorded.");
+                }
+            }
+        }
+
+        // The change is appended in a stage of its own, so that it carries the version as updated.
+        Document pending = SystemOutbox.pendingChange(change, "$version", "$$NOW");
+        Document recorded = new Document(SystemOutbox.PENDING_CHANGES, new Document("$concatArrays",
+                List.of(new Document("$ifNull", Arrays.asList("$" + SystemOutbox.PENDING_CHANGES, List.of())), List.of(pending))));
+        return List.of(new Document("$set", contents), new Document("$set", recorded));
+    }
+
+    /*****************************************************************************************************************
+     * This method provides the collection of Systems with the write concern that the WriteConcernResolver decides for
+     * a write (or the default one of the collection, if there is no resolver).
+     *
+     * @param  operation The type of the write, not null.
+     * @param  query The mapped filter of the write, not null.
+     * @param  update The mapped update of the write, null for removals.
+     * @return The collection of Systems.
+     ****************************************************************************************************************/
+    private MongoCollection<Document> collection(MongoActionOperation operation, Document query, Document update) {
+
+        String collectionName = template.getCollectionName(System.class);
+        MongoCollection<Document> collection = template.getCollection(collectionName);
+        if (writeConcernResolver == null) {
+            return collection;
+        }
+        WriteConcern writeConcern = writeConcernResolver.resolve(new MongoAction(collection.getWriteConcern(), operation,
+                collectionName, System.class, update, query));
+        return (writeConcern == null) ? collection : collection.withWriteConcern(writeConcern);
+    }
+
+    /*****************************************************************************************************************
+     * This method provides the mapping metadata of Systems, used to map the filters and updates of the writes.
+     *
+     * @return The persistent entity of Systems.
+     ****************************************************************************************************************/
+    private MongoPersistentEntity<?> persistentEntity() {
+        return template.getConverter().getMappingContext().getRequiredPersistentEntity(System.class);
+    }
+
+    /*****************************************************************************************************************
+     * This method produces the filter of a conditional deletion.
+     *
+     * @param  databaseID The UUID of the System, not null.
+     * @param  expectedVersion The version that the System must have, null to accept any version.
+     * @return The criteria matching the System, if of the expected version and not (soft) deleted already.
+     ****************************************************************************************************************/
+    private static Criteria deletionCriteria(String databaseID, Long expectedVersion) {
+
+        Criteria criteria = Criteria.where("_id").is(databaseID).and("deletedAt").is(null);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        return criteria;
+    }
+
+    /*****************************************************************************************************************
+     * This method produces the values that a textual query value may correspond to in the stored documents.
+     *
+     * @param  value The textual value, not null.
+     * @return The value as a string, plus its numeric or boolean interpretation, if any.
+     ****************************************************************************************************************/
+    private static List<Object> toCandidateValues(String value) {
+
+        List<Object> candidates = new ArrayList<>();
+        candidates.add(value);
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+            candidates.add(Boolean.parseBoolean(value));
+            return candidates;
+        }
+        try {
+            candidates.add(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            try {
+                double number = Double.parseDouble(value);
+                if (Double.isFinite(number)) {
+                    candidates.add(number);
+                }
+            } catch (NumberFormatException ignored) {
+                // Not a number, matching as a string only.
+            }
+        }
+        return candidates;
+    }
+}
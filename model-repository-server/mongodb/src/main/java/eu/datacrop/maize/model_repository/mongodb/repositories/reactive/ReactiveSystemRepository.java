@@ -0,0 +1,64 @@
+package eu.datacrop.maize.model_repository.mongodb.repositories.reactive;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**********************************************************************************************************************
+ * This class is the non-blocking bridge between MongoDb and the Spring Framework application as far as System
+ * transactions are concerned. The retrieved Systems are emitted as they arrive from the database, at the pace
+ * requested by the subscriber, without holding a thread while waiting.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Repository
+@Profile("reactive")
+public interface ReactiveSystemRepository extends ReactiveMongoRepository<System, String> {
+
+    /*****************************************************************************************************************
+     * This method retrieves a System given its UUID as identifier, unless it has been (soft) deleted.
+     *
+     * @param  id The UUID that uniquely identifies a persisted System, not null.
+     * @return The retrieved System entity, if any.
+     ****************************************************************************************************************/
+    Mono<System> findByIdAndDeletedAtIsNull(String id);
+
+    /*****************************************************************************************************************
+     * This method retrieves a System given its human-readable name as identifier. Only the first of multiple
+     * entities is returned, as in the blocking repository. (Soft) deleted Systems are not considered.
+     *
+     * @param  name A human-readable string that uniquely identifies a persisted System, not null.
+     * @return The retrieved System entity, if any.
+     ****************************************************************************************************************/
+    Mono<System> findFirstByNameAndDeletedAtIsNull(String name);
+
+    /*****************************************************************************************************************
+     * This method retrieves a page of the Systems persisted on the database and not (soft) deleted.
+     *
+     * @param  pageable Information on the pagination configurations, not null.
+     * @return The retrieved System entities of the requested page.
+     ****************************************************************************************************************/
+    Flux<System> findAllByDeletedAtIsNull(Pageable pageable);
+
+    /*****************************************************************************************************************
+     * This method retrieves all Systems persisted on the database and not (soft) deleted, through a cursor whose
+     * batches are fetched as the subscriber requests more Systems.
+     *
+     * @param  sort The order in which the Systems are emitted, not null.
+     * @return The retrieved System entities.
+     ****************************************************************************************************************/
+    Flux<System> findAllByDeletedAtIsNull(Sort sort);
+
+    /*****************************************************************************************************************
+     * This method counts the Systems persisted on the database and not (soft) deleted.
+     *
+     * @return The number of System entities.
+     ****************************************************************************************************************/
+    Mono<Long> countByDeletedAtIsNull();
+}
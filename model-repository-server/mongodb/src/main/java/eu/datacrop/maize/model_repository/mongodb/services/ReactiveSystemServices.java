@@ -0,0 +1,46 @@
+package eu.datacrop.maize.model_repository.mongodb.services;
+
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
+import eu.datacrop.maize.model_repository.commons.error.exceptions.NonUuidArgumentException;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**********************************************************************************************************************
+ * This interface defines the non-blocking services offered by Mongo databases pertaining to the retrieval of IoT
+ * Systems. The results are published once the database has responded, instead of being awaited by the calling thread.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public interface ReactiveSystemServices {
+
+    /******************************************************************************************************************
+     * Method to retrieve an existing System using its databaseID as unique identifier.
+     *
+     * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @return A wrapped data transfer object with either information on the retrieved System or failure messages.
+     *
+     * @throws IllegalArgumentException if databaseID parameter is null or empty string.
+     * @throws NonUuidArgumentException if databaseID parameter does not adhere to UUID format.
+     *****************************************************************************************************************/
+    Mono<SystemResponseWrapper> retrieveSystemByDatabaseID(String databaseID) throws IllegalArgumentException, NonUuidArgumentException;
+
+    /******************************************************************************************************************
+     * Method to retrieve all Systems paginated.
+     *
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    Mono<SystemResponsesWrapper> retrieveAllSystems(int page, int size);
+
+    /******************************************************************************************************************
+     * Method to stream all Systems in the order of their identifiers. The Systems are fetched from the database in
+     * batches, as the subscriber requests more of them.
+     *
+     * @return The data transfer objects of the Systems, terminated with an error if the retrieval fails midway.
+     *****************************************************************************************************************/
+    Flux<SystemResponseDto> streamAllSystems();
+}
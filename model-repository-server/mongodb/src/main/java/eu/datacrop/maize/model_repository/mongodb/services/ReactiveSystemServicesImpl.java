@@ -0,0 +1,154 @@
+package eu.datacrop.maize.model_repository.mongodb.services;
+
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
+import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
+import eu.datacrop.maize.model_repository.commons.error.exceptions.NonUuidArgumentException;
+import eu.datacrop.maize.model_repository.commons.error.messages.SystemErrorMessages;
+import eu.datacrop.maize.model_repository.commons.util.ValidatorUUID;
+import eu.datacrop.maize.model_repository.commons.wrappers.PaginationInfo;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
+import eu.datacrop.maize.model_repository.mongodb.converters.SystemConverters;
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.repositories.reactive.ReactiveSystemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**********************************************************************************************************************
+ * This class implements the non-blocking services offered by Mongo databases pertaining to the retrieval of IoT
+ * Systems. The outcomes (and the failure messages) are the same as those of the blocking SystemServices.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactiveSystemServicesImpl implements ReactiveSystemServices {
+
+    @Autowired
+    ReactiveSystemRepository repository;
+
+    @Autowired
+    SystemConverters converters;
+
+    /******************************************************************************************************************
+     * The number of Systems requested from the database at a time while streaming, which bounds the Systems held in
+     * memory when the client consumes them slowly.
+     *****************************************************************************************************************/
+    @Value("${model-repository.reactive.export.batch-size:500}")
+    private int batchSize;
+
+    /******************************************************************************************************************
+     * Method to retrieve an existing System using its databaseID as unique identifier.
+     *
+     * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @return A wrapped data transfer object with either information on the retrieved System or failure messages.
+     *
+     * @throws IllegalArgumentException if databaseID parameter is null or empty string.
+     * @throws NonUuidArgumentException if databaseID parameter does not adhere to UUID format.
+     *****************************************************************************************************************/
+    @Override
+    public Mono<SystemResponseWrapper> retrieveSystemByDatabaseID(String databaseID) throws IllegalArgumentException, NonUuidArgumentException {
+
+        // Validating input parameter.
+        if (databaseID == null || databaseID.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method retrieveSystemByDatabaseID().");
+        } else if (ValidatorUUID.isValidUUIDFormat(databaseID).equals(Boolean.FALSE)) {
+            throw new NonUuidArgumentException("Non-UUID parameter detected for method retrieveSystemByDatabaseID().");
+        }
+
+        // Attempting to retrieve the entity corresponding to the databaseID, enclosing it into a message.
+        return repository.findByIdAndDeletedAtIsNull(databaseID)
+                .map(entity -> {
+                    SystemResponseWrapper wrapper = converters.convertEntityToResponseWrapper(entity);
+                    log.info("Successfully retrieved System from persistence layer with ID: '{}'.", databaseID);
+                    return wrapper;
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    // If nothing has been found, but not due to error, report accordingly.
+                    String message = SystemErrorMessages.SYSTEM_NOT_FOUND_ID.toString().concat("'" + databaseID + "'.");
+                    log.info(message);
+                    return converters.synthesizeResponseWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.SYSTEM_NOT_FOUND_ID);
+                }))
+                .onErrorResume(e -> {
+                    String message = SystemErrorMessages.ERROR_ON_RETRIEVAL_ID.toString().concat("'" + databaseID + "'.");
+                    log.error(message);
+                    return Mono.just(converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_ID));
+                });
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve all Systems paginated. The page and the total number of Systems are requested concurrently.
+     *
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public Mono<SystemResponsesWrapper> retrieveAllSystems(int page, int size) {
+
+        // Attempting to retrieve the all entities indicated by the pagination instructions, along with their total.
+        Mono<List<System>> entities = repository.findAllByDeletedAtIsNull(PageRequest.of(page, size)).collectList();
+        Mono<Long> total = repository.countByDeletedAtIsNull();
+
+        return Mono.zip(entities, total)
+                .map(tuple -> {
+                    long totalItems = tuple.getT2();
+                    PaginationInfo paginationInfo = new PaginationInfo(totalItems, (int) Math.ceil((double) totalItems / size), page);
+                    String message;
+
+                    // If nothing has been found, but not due to error, report accordingly.
+                    if (tuple.getT1().isEmpty()) {
+
+                        // Systems are available but the request was out of pagination limits.
+                        if (totalItems > 0) {
+                            message = SystemErrorMessages.EXCEEDED_PAGE_LIMIT.toString().concat(" Total Pages: " + paginationInfo.getTotalPages());
+                            log.info(message);
+                            return converters.synthesizeResponsesWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.EXCEEDED_PAGE_LIMIT);
+                        }
+
+                        // Systems are not available at all.
+                        message = SystemErrorMessages.NO_SYSTEMS_FOUND.toString();
+                        log.info(message);
+                        return converters.synthesizeResponsesWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.NO_SYSTEMS_FOUND);
+                    }
+
+                    // Since the retrieval has been successful, enclosing the collection of Systems into a message.
+                    SystemResponsesWrapper wrapper = converters.convertEntitiesToResponseWrapper(tuple.getT1(), paginationInfo);
+                    log.info("Successfully retrieved all System entities from persistence layer (Page '{}' of '{}').", page, paginationInfo.getTotalPages());
+                    return wrapper;
+                })
+                .onErrorResume(e -> {
+                    String message = SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY.toString();
+                    log.error(message);
+                    return Mono.just(converters.synthesizeResponsesWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY));
+                });
+    }
+
+    /******************************************************************************************************************
+     * Method to stream all Systems in the order of their identifiers. The cursor requests a batch of Systems from the
+     * database whenever most of the previous batch has been consumed, so that a slow client throttles the retrieval
+     * instead of accumulating the collection in memory.
+     *
+     * @return The data transfer objects of the Systems, terminated with an error if the retrieval fails midway.
+     *****************************************************************************************************************/
+    @Override
+    public Flux<SystemResponseDto> streamAllSystems() {
+
+        return repository.findAllByDeletedAtIsNull(Sort.by(Sort.Direction.ASC, "_id"))
+                .limitRate(batchSize)
+                .map(entity -> converters.convertEntityToResponseWrapper(entity).getResponse())
+                .doOnComplete(() -> log.info("Successfully streamed all System entities from persistence layer."))
+                .doOnError(e -> log.error(SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY.toString()));
+    }
+}
@@ -1,25 +1,69 @@
 package eu.datacrop.maize.model_repository.mongodb.services;
 
+import eu.datacrop.maize.model_repository.commons.dtos.requests.PolygonRequestDto;
 import eu.datacrop.maize.model_repository.commons.dtos.requests.SystemRequestDto;
 import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
 import eu.datacrop.maize.model_repository.commons.error.exceptions.NonUuidArgumentException;
 import eu.datacrop.maize.model_repository.commons.error.messages.SystemErrorMessages;
+import eu.datacrop.maize.model_repository.commons.util.ValidatorCoordinates;
+import eu.datacrop.maize.model_repository.commons.util.ValidatorFieldKey;
 import eu.datacrop.maize.model_repository.commons.util.ValidatorUUID;
+import eu.datacrop.maize.model_repository.commons.util.WriteConcernOverride;
 import eu.datacrop.maize.model_repository.commons.wrappers.PaginationInfo;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.ClusterResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.GeohashCountResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemNameResponsesWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemFacetsResponseWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemJobResponseWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
 import eu.datacrop.maize.model_repository.mongodb.converters.SystemConverters;
+import eu.datacrop.maize.model_repository.mongodb.converters.auxiliary.GeoShapeConverters;
+import eu.datacrop.maize.model_repository.mongodb.indexes.ClusterGrid;
+import eu.datacrop.maize.model_repository.mongodb.indexes.FacetCounts;
+import eu.datacrop.maize.model_repository.mongodb.indexes.GeohashCounter;
+import eu.datacrop.maize.model_repository.mongodb.indexes.NameTrie;
+import eu.datacrop.maize.model_repository.mongodb.indexes.SystemClusterIndex;
+import eu.datacrop.maize.model_repository.mongodb.indexes.SystemFacetIndex;
+import eu.datacrop.maize.model_repository.mongodb.indexes.SystemGeohashIndex;
+import eu.datacrop.maize.model_repository.mongodb.indexes.SystemIndexRegistry;
+import eu.datacrop.maize.model_repository.mongodb.indexes.SystemNameIndex;
+import eu.datacrop.maize.model_repository.mongodb.indexes.SystemSpatialIndex;
+import eu.datacrop.maize.model_repository.mongodb.jobs.SystemJobRunner;
 import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.SystemJob;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemJobType;
 import eu.datacrop.maize.model_repository.mongodb.repositories.SystemRepository;
+import eu.datacrop.maize.model_repository.mongodb.storage.SystemAdditionalInformationStore;
+import eu.datacrop.maize.model_repository.mongodb.storage.SystemContentHasher;
+import eu.datacrop.maize.model_repository.mongodb.storage.SystemCreateBatcher;
+import eu.datacrop.maize.model_repository.mongodb.storage.SystemIdempotencyStore;
+import eu.datacrop.maize.model_repository.mongodb.storage.SystemPurger;
+import eu.datacrop.maize.model_repository.mongodb.storage.SystemRevisionStore;
+import eu.datacrop.maize.model_repository.mongodb.storage.SystemUpdateCoalescer;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.geo.GeoJson;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.TextCriteria;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 /**********************************************************************************************************************
  * This class implements the services offered by Mongo databases pertaining to the persistence of IoT Systems.
@@ -38,6 +82,52 @@ public class SystemServicesImpl implements SystemServices {
     @Autowired
     SystemConverters converters;
 
+    @Autowired
+    GeoShapeConverters geoShapeConverters;
+
+    @Autowired
+    SystemIndexRegistry indexRegistry;
+
+    @Autowired
+    SystemSpatialIndex spatialIndex;
+
+    @Autowired
+    SystemClusterIndex clusterIndex;
+
+    @Autowired
+    SystemGeohashIndex geohashIndex;
+
+    @Autowired
+    SystemNameIndex nameIndex;
+
+    @Autowired
+    SystemFacetIndex facetIndex;
+
+    @Autowired
+    SystemAdditionalInformationStore additionalInformationStore;
+
+    @Autowired
+    SystemCreateBatcher createBatcher;
+
+    @Autowired
+    SystemUpdateCoalescer updateCoalescer;
+
+    @Autowired
+    SystemIdempotencyStore idempotencyStore;
+
+    @Autowired
+    SystemRevisionStore revisionStore;
+
+    @Autowired
+    SystemPurger purger;
+
+    @Autowired
+    SystemJobRunner jobRunner;
+
+    /******************************************************************************************************************
+     * The maximum number of conditional writes attempted by an update racing with concurrent updates of the System.
+     *****************************************************************************************************************/
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
 
     /******************************************************************************************************************
      * Method to retrieve an existing System using its databaseID as unique identifier.
@@ -62,7 +152,7 @@ public class SystemServicesImpl implements SystemServices {
         System entity;
         String message;
         try {
-            entity = repository.findById(databaseID).orElse(null);
+            entity = repository.findByIdAndDeletedAtIsNull(databaseID).orElse(null);
         } catch (Exception e) {
             message = SystemErrorMessages.ERROR_ON_RETRIEVAL_ID.toString().concat("'" + databaseID + "'.");
             log.error(message);
@@ -95,6 +185,71 @@ public class SystemServicesImpl implements SystemServices {
         return wrapper;
     }
 
+    /******************************************************************************************************************
+     * Method to retrieve an existing (or since deleted) System as it was at a past date, using its databaseID as unique
+     * identifier. The System is reconstructed from its revision history.
+     *
+     * @param databaseID A UUID that uniquely identifies a System in the database, not null.
+     * @param asOf The date and time of interest, not null.
+     * @return A wrapped data transfer object with either information on the System as it was or failure messages.
+     *
+     * @throws IllegalArgumentException if databaseID parameter is null or empty string, or asOf parameter is null.
+     * @throws NonUuidArgumentException if databaseID parameter does not adhere to UUID format.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponseWrapper retrieveSystemAsOf(String databaseID, LocalDateTime asOf) throws IllegalArgumentException, NonUuidArgumentException {
+
+        // Validating input parameters.
+        if (databaseID == null || databaseID.isBlank() || asOf == null) {
+            throw new IllegalArgumentException("Invalid parameter detected for method retrieveSystemAsOf().");
+        } else if (ValidatorUUID.isValidUUIDFormat(databaseID).equals(Boolean.FALSE)) {
+            throw new NonUuidArgumentException("Non-UUID parameter detected for method retrieveSystemAsOf().");
+        }
+
+        // Past states are only available if the revision history is being recorded.
+        String message;
+        if (!revisionStore.isEnabled()) {
+            message = SystemErrorMessages.REVISION_HISTORY_DISABLED.toString();
+            log.info(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.BAD_REQUEST, message, SystemErrorMessages.REVISION_HISTORY_DISABLED);
+        }
+
+        // Attempting to reconstruct the entity corresponding to the databaseID at the requested date.
+        System entity;
+        try {
+            entity = revisionStore.reconstruct(databaseID, asOf);
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_ID.toString().concat("'" + databaseID + "'.");
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_ID);
+        }
+
+        // If nothing existed at that date, but not due to error, report accordingly.
+        if (entity == null) {
+            message = SystemErrorMessages.SYSTEM_NOT_FOUND_AS_OF.toString().concat("'" + databaseID + "'.");
+            log.info(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.SYSTEM_NOT_FOUND_AS_OF);
+        }
+
+        // Since the reconstruction has been successful, enclosing the System into a message.
+        SystemResponseWrapper wrapper;
+        try {
+            wrapper = converters.convertEntityToResponseWrapper(entity);
+        } catch (IllegalArgumentException e) {
+            message = e.getMessage();
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_ID.toString().concat("'" + databaseID + "'.");
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_ID);
+        }
+
+        // Logging success and returning the result.
+        log.info("Successfully reconstructed System with ID '{}' as of '{}' (version {}).", databaseID, asOf, entity.getVersion());
+        return wrapper;
+    }
+
     /******************************************************************************************************************
      * Method to retrieve an existing System using its name as unique identifier.
      *
@@ -115,7 +270,7 @@ public class SystemServicesImpl implements SystemServices {
         System entity;
         String message;
         try {
-            entity = repository.findFirstByName(name);
+            entity = repository.findFirstByNameAndDeletedAtIsNull(name);
         } catch (Exception e) {
             message = SystemErrorMessages.ERROR_ON_RETRIEVAL_NAME.toString().concat("'" + name + "'.");
             log.error(message);
@@ -166,7 +321,7 @@ public class SystemServicesImpl implements SystemServices {
         String message;
 
         try {
-            systemsPage = repository.findAll(paging);
+            systemsPage = repository.findAllByDeletedAtIsNull(paging);
             entities = systemsPage.getContent();
             paginationInfo = new PaginationInfo(systemsPage.getTotalElements(), systemsPage.getTotalPages(), systemsPage.getNumber());
         } catch (Exception e) {
@@ -211,265 +366,720 @@ public class SystemServicesImpl implements SystemServices {
     }
 
     /******************************************************************************************************************
-     * Method to persist a new System.
+     * Method to retrieve the Systems located within a maximum distance from a point, sorted by distance.
      *
-     * @param requestDto A data transfer object with values for the attributes of the System, not null.
-     * @return A wrapped data transfer object with either information on the created System or failure messages.
+     * @param latitude The latitude of the reference point, in decimal degrees within [-90, 90].
+     * @param longitude The longitude of the reference point, in decimal degrees within [-180, 180].
+     * @param maxDistance The maximum distance from the reference point in meters, positive.
+     * @param limit The maximum number of Systems to retrieve, positive.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
      *
-     * @throws IllegalArgumentException if requestDto parameter is null.
+     * @throws IllegalArgumentException if any of the parameters is out of its valid range.
      *****************************************************************************************************************/
     @Override
-    public SystemResponseWrapper createSystem(SystemRequestDto requestDto) throws IllegalArgumentException {
+    public SystemResponsesWrapper retrieveSystemsNear(double latitude, double longitude, double maxDistance, int limit) throws IllegalArgumentException {
 
-        // Validating input parameter.
-        if (requestDto == null) {
-            throw new IllegalArgumentException("Invalid parameter detected for method createSystem().");
+        // Validating input parameters.
+        if (ValidatorCoordinates.isValidLatitude(latitude).equals(Boolean.FALSE)
+                || ValidatorCoordinates.isValidLongitude(longitude).equals(Boolean.FALSE)
+                || !(maxDistance > 0.0) || limit <= 0) {
+            throw new IllegalArgumentException("Invalid parameter detected for method retrieveSystemsNear().");
         }
-        String message;
 
-        // Checking whether the name is already taken by another entity.
-        System conflictingEntity;
+        // Attempting to retrieve the nearest entities through a geospatial index (already sorted by distance).
+        List<System> entities;
+        String message;
         try {
-            conflictingEntity = repository.findFirstByName(requestDto.getName());
+            if (isSpatialIndexAvailable()) {
+                entities = spatialIndex.findNearest(latitude, longitude, maxDistance, limit);
+            } else {
+                entities = repository.findByLocationNear(longitude, latitude, maxDistance, PageRequest.of(0, limit));
+            }
         } catch (Exception e) {
-            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_NAME.toString().concat("'" + requestDto.getName() + "'.");
+            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY.toString();
             log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+            return converters.synthesizeResponsesWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY);
         }
 
-        if (conflictingEntity != null) {
-            message = SystemErrorMessages.DUPLICATE_SYSTEM.toString().concat("'" + conflictingEntity.getId() + "'.");
+        // If nothing has been found, but not due to error, report accordingly.
+        if (entities == null || entities.isEmpty()) {
+            message = SystemErrorMessages.NO_SYSTEMS_FOUND_IN_AREA.toString();
             log.info(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.CONFLICT, message, SystemErrorMessages.DUPLICATE_SYSTEM);
+            return converters.synthesizeResponsesWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.NO_SYSTEMS_FOUND_IN_AREA);
         }
 
-        // Converting the request data transfer object to a database entity.
-        System entityToPersist;
-        try {
-            entityToPersist = converters.convertRequestDtoToEntity(requestDto, "");
-        } catch (IllegalArgumentException e) {
-            message = e.getMessage();
-            log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
-        }
-
-        // Attempting to create new System entity.
-        System createdEntity;
-        try {
-            createdEntity = repository.save(entityToPersist);
-        } catch (Exception e) {
-            message = e.getMessage();
-            log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
-        }
-
-        if (createdEntity == null) {
-            message = SystemErrorMessages.ERROR_ON_CREATION.toString().concat("'" + requestDto.getName() + "'.");
-            log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_CREATION);
-        }
-
-        // Since the creation has been successful, enclosing the System into a message.
-        SystemResponseWrapper wrapper;
+        // Since the retrieval has been successful, enclosing the collection of Systems into a message.
+        SystemResponsesWrapper wrapper;
         try {
-            wrapper = converters.convertEntityToResponseWrapper(createdEntity);
+            PaginationInfo paginationInfo = new PaginationInfo(entities.size(), 1, 0);
+            wrapper = converters.convertEntitiesToResponseWrapper(entities, paginationInfo);
         } catch (IllegalArgumentException e) {
             message = e.getMessage();
             log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+            return converters.synthesizeResponsesWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
         } catch (Exception e) {
-            message = SystemErrorMessages.ERROR_ON_CREATION.toString().concat("'" + requestDto.getName() + "'.");
+            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY.toString();
             log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_CREATION);
+            return converters.synthesizeResponsesWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY);
         }
 
         // Logging success and returning the result.
-        log.info("Successfully created new System in persistence layer with ID '{}' and Name '{}'.", createdEntity.getId(), createdEntity.getName());
+        log.info("Successfully retrieved '{}' System entities within {} meters from ({}, {}).", entities.size(), maxDistance, latitude, longitude);
         return wrapper;
     }
 
     /******************************************************************************************************************
-     * Method to update an existing System using its databaseID as unique identifier.
+     * Method to retrieve the Systems located within a bounding box, paginated.
      *
-     * @param requestDto A data transfer object with values for the attributes of the System, not null.
-     * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
-     * @return A wrapped data transfer object with either information on the updated System or failure messages.
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees within [-90, 90].
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees within [-180, 180].
+     * @param maxLatitude The latitude of the north-east corner, greater than minLatitude.
+     * @param maxLongitude The longitude of the north-east corner, greater than minLongitude.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
      *
-     * @throws IllegalArgumentException if requestDto parameter is null.
-     * @throws IllegalArgumentException if databaseID parameter is null or empty string.
-     * @throws NonUuidArgumentException if databaseID parameter does not adhere to UUID format.
+     * @throws IllegalArgumentException if the bounding box is not well-formed.
      *****************************************************************************************************************/
     @Override
-    public SystemResponseWrapper updateSystem(SystemRequestDto requestDto, String databaseID) throws IllegalArgumentException {
+    public SystemResponsesWrapper retrieveSystemsWithinBox(double minLatitude, double minLongitude, double maxLatitude,
+                                                           double maxLongitude, int page, int size) throws IllegalArgumentException {
 
         // Validating input parameters.
-        if (requestDto == null) {
-            throw new IllegalArgumentException("Invalid parameter detected for method updateSystem().");
-        } else if (databaseID == null || databaseID.isBlank()) {
-            throw new IllegalArgumentException("Invalid parameter detected for method updateSystem().");
-        } else if (ValidatorUUID.isValidUUIDFormat(databaseID).equals(Boolean.FALSE)) {
-            throw new NonUuidArgumentException("Non-UUID parameter detected for method updateSystem().");
+        if (ValidatorCoordinates.isValidBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude).equals(Boolean.FALSE)) {
+            throw new IllegalArgumentException("Invalid parameter detected for method retrieveSystemsWithinBox().");
         }
 
-        // Attempting to retrieve the entity corresponding to the databaseID.
-        System retrievedEntity;
-        String message;
-        try {
-            retrievedEntity = repository.findById(databaseID).orElse(null);
-        } catch (Exception e) {
-            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_ID.toString().concat("'" + databaseID + "'.");
-            log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_ID);
+        // Serving the query from the in-memory spatial index if possible, otherwise from the database.
+        if (isSpatialIndexAvailable()) {
+            return retrieveSystemsPage(paging -> spatialIndex.findWithinBox(minLatitude, minLongitude, maxLatitude, maxLongitude, paging),
+                    PageRequest.of(page, size), SystemErrorMessages.NO_SYSTEMS_FOUND_IN_AREA);
         }
+        GeoJson<?> geometry = geoShapeConverters.convertBoundingBoxToGeoJson(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        return retrieveSystemsPage(paging -> repository.findByLocationWithin(geometry, paging), PageRequest.of(page, size),
+                SystemErrorMessages.NO_SYSTEMS_FOUND_IN_AREA);
+    }
 
-        // If nothing has been found, but not due to error, report accordingly.
-        if (retrievedEntity == null) {
-            message = SystemErrorMessages.SYSTEM_NOT_FOUND_ID.toString().concat("'" + databaseID + "'.");
-            log.info(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.SYSTEM_NOT_FOUND_ID);
+    /******************************************************************************************************************
+     * Method to retrieve the Systems located within a Polygon, paginated.
+     *
+     * @param polygon A data transfer object with the vertices of the Polygon, not null.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *
+     * @throws IllegalArgumentException if polygon parameter is null or does not describe a valid Polygon.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponsesWrapper retrieveSystemsWithinPolygon(PolygonRequestDto polygon, int page, int size) throws IllegalArgumentException {
+
+        // Validating input parameters.
+        if (polygon == null || ValidatorCoordinates.isValidPolygon(polygon.getVertices()).equals(Boolean.FALSE)) {
+            throw new IllegalArgumentException("Invalid parameter detected for method retrieveSystemsWithinPolygon().");
         }
 
-        // If a change to the name is being attempted, search for conflicts.
-        if (!requestDto.getName().equals(retrievedEntity.getName())) {
-            System conflictingEntity;
-            try {
-                conflictingEntity = repository.findFirstByName(requestDto.getName());
-            } catch (Exception e) {
-                message = SystemErrorMessages.ERROR_ON_RETRIEVAL_NAME.toString().concat("'" + requestDto.getName() + "'.");
-                log.error(message);
-                return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_NAME);
-            }
+        GeoJson<?> geometry = geoShapeConverters.convertPolygonDtoToGeoJson(polygon);
+        return retrieveSystemsPage(paging -> repository.findByLocationWithin(geometry, paging), PageRequest.of(page, size),
+                SystemErrorMessages.NO_SYSTEMS_FOUND_IN_AREA);
+    }
 
-            if (conflictingEntity != null) {
-                message = SystemErrorMessages.DUPLICATE_SYSTEM.toString().concat("'" + conflictingEntity.getId() + "'.");
-                log.error(message);
-                return converters.synthesizeResponseWrapperForError(ResponseCode.CONFLICT, message, SystemErrorMessages.DUPLICATE_SYSTEM);
-            }
-        }
+    /******************************************************************************************************************
+     * Method to retrieve the clusters of Systems displayed on a map viewport at a given zoom level.
+     *
+     * @param zoom The zoom level of the map, within [0, 16].
+     * @param minLatitude The latitude of the south-west corner of the viewport, in decimal degrees within [-90, 90].
+     * @param minLongitude The longitude of the south-west corner of the viewport, in decimal degrees within [-180, 180].
+     * @param maxLatitude The latitude of the north-east corner of the viewport, greater than minLatitude.
+     * @param maxLongitude The longitude of the north-east corner of the viewport, greater than minLongitude.
+     * @return A wrapped data transfer object with either information on the retrieved clusters or failure messages.
+     *
+     * @throws IllegalArgumentException if the zoom level is out of range or the viewport is not well-formed.
+     *****************************************************************************************************************/
+    @Override
+    public ClusterResponsesWrapper retrieveSystemClusters(int zoom, double minLatitude, double minLongitude,
+                                                          double maxLatitude, double maxLongitude) throws IllegalArgumentException {
 
-        // Converting the request data transfer object to a database entity.
-        System entityToPersist;
-        try {
-            entityToPersist = converters.convertRequestDtoToEntity(requestDto, databaseID);
-            entityToPersist.setCreationDate(retrievedEntity.getCreationDate());
-        } catch (IllegalArgumentException e) {
-            message = e.getMessage();
-            log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        // Validating input parameters.
+        if (zoom < 0 || zoom > ClusterGrid.MAX_ZOOM
+                || ValidatorCoordinates.isValidBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude).equals(Boolean.FALSE)) {
+            throw new IllegalArgumentException("Invalid parameter detected for method retrieveSystemClusters().");
         }
 
-        // Attempting to update System entity.
-        System updatedEntity;
+        // Reading the precomputed clusters if possible, otherwise letting the database cluster the Systems.
+        List<ClusterGrid.Cluster> clusters;
+        String message;
         try {
-            updatedEntity = repository.save(entityToPersist);
+            if (clusterIndex.isEnabled() && indexRegistry.isReady()) {
+                clusters = clusterIndex.findClusters(zoom, minLatitude, minLongitude, maxLatitude, maxLongitude);
+            } else {
+                GeoJson<?> geometry = geoShapeConverters.convertBoundingBoxToGeoJson(minLatitude, minLongitude, maxLatitude, maxLongitude);
+                clusters = toClusters(repository.clusterWithin(geometry, ClusterGrid.cellsPerSide(zoom)));
+            }
         } catch (Exception e) {
-            message = e.getMessage();
+            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY.toString();
             log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+            return converters.synthesizeClusterResponsesWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY);
         }
 
-        if (updatedEntity == null) {
-            message = SystemErrorMessages.ERROR_ON_UPDATE.toString().concat("'" + databaseID + "'.");
-            log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_UPDATE);
+        // If nothing has been found, but not due to error, report accordingly.
+        if (clusters == null || clusters.isEmpty()) {
+            message = SystemErrorMessages.NO_SYSTEMS_FOUND_IN_AREA.toString();
+            log.info(message);
+            return converters.synthesizeClusterResponsesWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.NO_SYSTEMS_FOUND_IN_AREA);
         }
 
-        // Since the creation has been successful, enclosing the System into a message.
-        SystemResponseWrapper wrapper;
+        // Since the retrieval has been successful, enclosing the collection of clusters into a message.
+        ClusterResponsesWrapper wrapper;
         try {
-            wrapper = converters.convertEntityToResponseWrapper(updatedEntity);
+            wrapper = converters.convertClustersToResponseWrapper(clusters);
         } catch (IllegalArgumentException e) {
             message = e.getMessage();
             log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
-        } catch (Exception e) {
-            message = SystemErrorMessages.ERROR_ON_UPDATE.toString().concat("'" + databaseID + "'.");
-            log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+            return converters.synthesizeClusterResponsesWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
         }
 
         // Logging success and returning the result.
-        log.info("Successfully updated System in persistence layer with ID '{}' and Name '{}'.", updatedEntity.getId(), updatedEntity.getName());
+        log.info("Successfully retrieved '{}' clusters of System entities at zoom level {}.", clusters.size(), zoom);
         return wrapper;
     }
 
     /******************************************************************************************************************
-     * Method to delete an existing System using its databaseID as unique identifier.
+     * Method to retrieve the number of Systems per geohash cell within a bounding box, e.g. for density maps.
      *
-     * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
-     * @return A wrapped data transfer object with either information on the deleted System or failure messages.
+     * @param precision The geohash precision (i.e. length of the geohashes), within [1, 8].
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees within [-90, 90].
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees within [-180, 180].
+     * @param maxLatitude The latitude of the north-east corner, greater than minLatitude.
+     * @param maxLongitude The longitude of the north-east corner, greater than minLongitude.
+     * @return A wrapped data transfer object with either the counts per geohash cell or failure messages.
      *
-     * @throws IllegalArgumentException if databaseID parameter is null or empty string.
-     * @throws NonUuidArgumentException if databaseID parameter does not adhere to UUID format.
+     * @throws IllegalArgumentException if the precision is out of range or the bounding box is not well-formed.
      *****************************************************************************************************************/
     @Override
-    public SystemResponseWrapper deleteSystem(String databaseID) throws IllegalArgumentException {
+    public GeohashCountResponsesWrapper retrieveSystemCountsByGeohash(int precision, double minLatitude, double minLongitude,
+                                                                      double maxLatitude, double maxLongitude) throws IllegalArgumentException {
 
-        // Validating input parameter.
-        if (databaseID == null || databaseID.isBlank()) {
-            throw new IllegalArgumentException("Invalid parameter detected for method deleteSystem().");
-        } else if (ValidatorUUID.isValidUUIDFormat(databaseID).equals(Boolean.FALSE)) {
-            throw new NonUuidArgumentException("Non-UUID parameter detected for method deleteSystem().");
+        // Validating input parameters.
+        if (precision < 1 || precision > GeohashCounter.MAX_PRECISION
+                || ValidatorCoordinates.isValidBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude).equals(Boolean.FALSE)) {
+            throw new IllegalArgumentException("Invalid parameter detected for method retrieveSystemCountsByGeohash().");
         }
 
-        // Attempting to retrieve the entity corresponding to the databaseID.
-        System entity;
+        // Reading the precomputed counts if possible, otherwise letting the database count the Systems.
+        List<GeohashCounter.Bucket> buckets;
         String message;
         try {
-            entity = repository.findById(databaseID).orElse(null);
+            if (geohashIndex.isEnabled() && indexRegistry.isReady()) {
+                buckets = geohashIndex.findBuckets(precision, minLatitude, minLongitude, maxLatitude, maxLongitude);
+            } else {
+                GeoJson<?> geometry = geoShapeConverters.convertBoundingBoxToGeoJson(minLatitude, minLongitude, maxLatitude, maxLongitude);
+                buckets = toBuckets(precision, repository.countWithinByGrid(geometry,
+                        GeohashCounter.columns(precision), GeohashCounter.rows(precision)));
+            }
         } catch (Exception e) {
-            message = SystemErrorMessages.ERROR_ON_DELETION_ID.toString().concat("'" + databaseID + "'.");
+            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY.toString();
             log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_DELETION_ID);
+            return converters.synthesizeGeohashCountResponsesWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY);
         }
 
         // If nothing has been found, but not due to error, report accordingly.
-        if (entity == null) {
-            message = SystemErrorMessages.SYSTEM_NOT_FOUND_ID.toString().concat("'" + databaseID + "'.");
+        if (buckets == null || buckets.isEmpty()) {
+            message = SystemErrorMessages.NO_SYSTEMS_FOUND_IN_AREA.toString();
             log.info(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.SYSTEM_NOT_FOUND_ID);
-        }
-
-        // Attempting to delete the entity corresponding to the databaseID.
-        try {
-            repository.deleteById(databaseID);
-        } catch (Exception e) {
-            message = SystemErrorMessages.ERROR_ON_DELETION_ID.toString().concat("'" + databaseID + "'.");
-            log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_DELETION_ID);
+            return converters.synthesizeGeohashCountResponsesWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.NO_SYSTEMS_FOUND_IN_AREA);
         }
 
-        // Since the retrieval has been successful, enclosing the System into a message.
-        SystemResponseWrapper wrapper;
+        // Since the retrieval has been successful, enclosing the collection of counts into a message.
+        GeohashCountResponsesWrapper wrapper;
         try {
-            wrapper = converters.convertEntityToResponseWrapper(entity);
+            wrapper = converters.convertBucketsToResponseWrapper(buckets);
         } catch (IllegalArgumentException e) {
             message = e.getMessage();
             log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
-        } catch (Exception e) {
-            message = SystemErrorMessages.ERROR_ON_DELETION_ID.toString().concat("'" + databaseID + "'.");
-            log.error(message);
-            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_DELETION_ID);
+            return converters.synthesizeGeohashCountResponsesWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
         }
 
         // Logging success and returning the result.
-        log.info("Successfully deleted System from persistence layer with ID: '{}'.", databaseID);
+        log.info("Successfully counted System entities in '{}' geohash cells of precision {}.", buckets.size(), precision);
         return wrapper;
     }
 
     /******************************************************************************************************************
-     * Method to delete all existing Systems.
+     * Method to search Systems by keywords in their name and description, ordered by relevance and paginated.
      *
-     * @return A wrapped data transfer object with either a success message or failure messages.
+     * @param text The search terms (any of which may match), not null, not blank.
+     * @param organization The organization owning the Systems, null or blank for all organizations.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *
+     * @throws IllegalArgumentException if text parameter is null or blank.
      *****************************************************************************************************************/
     @Override
-    public SystemResponseWrapper deleteAllSystems() {
+    public SystemResponsesWrapper searchSystems(String text, String organization, int page, int size) throws IllegalArgumentException {
 
-        // Checking whether there is anything to delete.
-        String message;
-        try {
-            long count = repository.count();
+        // Validating input parameters.
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method searchSystems().");
+        }
+
+        // Querying the text index, ordering the results by relevance.
+        TextCriteria criteria = TextCriteria.forDefaultLanguage().matching(text);
+        Pageable paging = PageRequest.of(page, size, Sort.by("score"));
+        if (organization == null || organization.isBlank()) {
+            return retrieveSystemsPage(pageable -> repository.findAllByDeletedAtIsNull(criteria, pageable), paging,
+                    SystemErrorMessages.NO_SYSTEMS_MATCHING_SEARCH);
+        }
+        return retrieveSystemsPage(pageable -> repository.findAllByOrganizationAndDeletedAtIsNull(organization, criteria, pageable), paging,
+                SystemErrorMessages.NO_SYSTEMS_MATCHING_SEARCH);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the names of the Systems starting with a prefix (ignoring case), for autocompletion.
+     *
+     * @param prefix The prefix of the names, not null, not blank.
+     * @param limit The maximum number of names to retrieve, positive.
+     * @return A wrapped data transfer object with either the databaseIDs and names of the matched Systems or failure
+     * messages.
+     *
+     * @throws IllegalArgumentException if prefix parameter is null or blank, or limit parameter is not positive.
+     *****************************************************************************************************************/
+    @Override
+    public SystemNameResponsesWrapper retrieveSystemNamesByPrefix(String prefix, int limit) throws IllegalArgumentException {
+
+        // Validating input parameters.
+        if (prefix == null || prefix.isBlank() || limit < 1) {
+            throw new IllegalArgumentException("Invalid parameter detected for method retrieveSystemNamesByPrefix().");
+        }
+
+        // Reading the trie of names if possible, otherwise querying the database.
+        List<NameTrie.Match> matches;
+        String message;
+        try {
+            if (nameIndex.isEnabled() && indexRegistry.isReady()) {
+                matches = nameIndex.findByPrefix(prefix, limit);
+            } else {
+                matches = new ArrayList<>();
+                for (System entity : repository.findByNameStartingWithIgnoreCaseAndDeletedAtIsNull(prefix, PageRequest.of(0, limit, Sort.by("name")))) {
+                    matches.add(new NameTrie.Match(entity.getId(), entity.getName()));
+                }
+            }
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY.toString();
+            log.error(message);
+            return converters.synthesizeSystemNameResponsesWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY);
+        }
+
+        // If nothing has been found, but not due to error, report accordingly.
+        if (matches == null || matches.isEmpty()) {
+            message = SystemErrorMessages.NO_SYSTEMS_MATCHING_PREFIX.toString().concat("'" + prefix + "'.");
+            log.info(message);
+            return converters.synthesizeSystemNameResponsesWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.NO_SYSTEMS_MATCHING_PREFIX);
+        }
+
+        // Since the retrieval has been successful, enclosing the collection of names into a message.
+        SystemNameResponsesWrapper wrapper;
+        try {
+            wrapper = converters.convertMatchesToResponseWrapper(matches);
+        } catch (IllegalArgumentException e) {
+            message = e.getMessage();
+            log.error(message);
+            return converters.synthesizeSystemNameResponsesWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        }
+
+        // Logging success and returning the result.
+        log.info("Successfully retrieved '{}' System names starting with '{}'.", matches.size(), prefix);
+        return wrapper;
+    }
+
+    /******************************************************************************************************************
+     * Method to count the Systems per organization and per type of location (Geographical or Virtual).
+     *
+     * @return A wrapped data transfer object with either the summary of the Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemFacetsResponseWrapper retrieveSystemFacets() {
+
+        // Reading the maintained counters if possible, otherwise aggregating the collection.
+        FacetCounts counts;
+        String message;
+        try {
+            if (facetIndex.isEnabled() && indexRegistry.isReady()) {
+                counts = facetIndex.getCounts();
+            } else {
+                counts = toFacetCounts(repository.countFacets());
+            }
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY.toString();
+            log.error(message);
+            return converters.synthesizeFacetsResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY);
+        }
+
+        // Enclosing the summary into a message (an empty collection is summarized with zero counts).
+        SystemFacetsResponseWrapper wrapper;
+        try {
+            wrapper = converters.convertFacetsToResponseWrapper(counts);
+        } catch (IllegalArgumentException e) {
+            message = e.getMessage();
+            log.error(message);
+            return converters.synthesizeFacetsResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        }
+
+        // Logging success and returning the result.
+        log.info("Successfully counted '{}' System entities of '{}' organizations.", counts.getTotal(), counts.getOrganizations().size());
+        return wrapper;
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the Systems whose additional information contains all of the given key/value pairs,
+     * paginated.
+     *
+     * @param filters The key/value pairs to match, not null, not empty, with valid keys.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *
+     * @throws IllegalArgumentException if filters parameter is null, empty, or contains invalid keys or null values.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponsesWrapper retrieveSystemsByAdditionalInformation(Map<String, String> filters, int page, int size) throws IllegalArgumentException {
+
+        // Validating input parameters (keys are used as field paths, so operators must not slip through).
+        if (filters == null || filters.isEmpty() || filters.values().stream().anyMatch(Objects::isNull)
+                || filters.keySet().stream().anyMatch(key -> ValidatorFieldKey.isValidFieldKey(key).equals(Boolean.FALSE))) {
+            throw new IllegalArgumentException("Invalid parameter detected for method retrieveSystemsByAdditionalInformation().");
+        }
+
+        // Querying the wildcard index over the additional information.
+        return retrieveSystemsPage(pageable -> repository.findByAdditionalInformation(filters, pageable),
+                PageRequest.of(page, size), SystemErrorMessages.NO_SYSTEMS_MATCHING_FILTERS);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve an existing System along with all of its additional information, using its databaseID as
+     * unique identifier. Unlike the rest of the retrievals, oversized (detached) additional information is included.
+     *
+     * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @return A wrapped data transfer object with either information on the retrieved System or failure messages.
+     *
+     * @throws IllegalArgumentException if databaseID parameter is null or empty string.
+     * @throws NonUuidArgumentException if databaseID parameter does not adhere to UUID format.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponseWrapper retrieveSystemAdditionalInformation(String databaseID) throws IllegalArgumentException, NonUuidArgumentException {
+
+        // Validating input parameter.
+        if (databaseID == null || databaseID.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method retrieveSystemAdditionalInformation().");
+        } else if (ValidatorUUID.isValidUUIDFormat(databaseID).equals(Boolean.FALSE)) {
+            throw new NonUuidArgumentException("Non-UUID parameter detected for method retrieveSystemAdditionalInformation().");
+        }
+
+        // Attempting to retrieve the entity corresponding to the databaseID, attaching its detached information.
+        System entity;
+        String message;
+        try {
+            entity = repository.findByIdAndDeletedAtIsNull(databaseID).orElse(null);
+            if (entity != null && entity.isAdditionalInformationDetached()) {
+                entity.setAdditionalInformation(additionalInformationStore.load(databaseID));
+                entity.setAdditionalInformationDetached(false);
+            }
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_ID.toString().concat("'" + databaseID + "'.");
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_ID);
+        }
+
+        // If nothing has been found, but not due to error, report accordingly.
+        if (entity == null) {
+            message = SystemErrorMessages.SYSTEM_NOT_FOUND_ID.toString().concat("'" + databaseID + "'.");
+            log.info(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.SYSTEM_NOT_FOUND_ID);
+        }
+
+        // Since the retrieval has been successful, enclosing the System into a message.
+        SystemResponseWrapper wrapper;
+        try {
+            wrapper = converters.convertEntityToResponseWrapper(entity);
+        } catch (IllegalArgumentException e) {
+            message = e.getMessage();
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_ID.toString().concat("'" + databaseID + "'.");
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_ID);
+        }
+
+        // Logging success and returning the result.
+        log.info("Successfully retrieved System with its additional information from persistence layer with ID: '{}'.", databaseID);
+        return wrapper;
+    }
+
+    /******************************************************************************************************************
+     * Method to persist a new System.
+     *
+     * @param requestDto A data transfer object with values for the attributes of the System, not null.
+     * @return A wrapped data transfer object with either information on the created System or failure messages.
+     *
+     * @throws IllegalArgumentException if requestDto parameter is null.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponseWrapper createSystem(SystemRequestDto requestDto) throws IllegalArgumentException {
+
+        // Validating input parameter.
+        if (requestDto == null) {
+            throw new IllegalArgumentException("Invalid parameter detected for method createSystem().");
+        }
+        String message;
+
+        // Checking whether the name is already taken by another entity (batched creations are checked in bulk).
+        // Creations requesting their own write concern are not batched, since a batch is written with a single one.
+        boolean batched = createBatcher.isEnabled() && WriteConcernOverride.get() == null;
+        System conflictingEntity = null;
+        try {
+            if (!batched) {
+                conflictingEntity = repository.findFirstByNameAndDeletedAtIsNull(requestDto.getName());
+            }
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_NAME.toString().concat("'" + requestDto.getName() + "'.");
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        }
+
+        if (conflictingEntity != null) {
+            message = SystemErrorMessages.DUPLICATE_SYSTEM.toString().concat("'" + conflictingEntity.getId() + "'.");
+            log.info(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.CONFLICT, message, SystemErrorMessages.DUPLICATE_SYSTEM);
+        }
+
+        // Converting the request data transfer object to a database entity.
+        System entityToPersist;
+        try {
+            entityToPersist = converters.convertRequestDtoToEntity(requestDto, "");
+            entityToPersist.setContentHash(SystemContentHasher.hash(entityToPersist));
+        } catch (IllegalArgumentException e) {
+            message = e.getMessage();
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        }
+
+        // Attempting to create new System entity (storing oversized additional information apart beforehand).
+        System createdEntity;
+        Set<Object> detachedInformation = null;
+        try {
+            detachedInformation = additionalInformationStore.detachIfOversized(entityToPersist);
+            if (detachedInformation != null) {
+                additionalInformationStore.store(entityToPersist.getId(), detachedInformation);
+            }
+            if (batched) {
+                SystemCreateBatcher.Outcome outcome = createBatcher.submit(entityToPersist).join();
+                conflictingEntity = outcome.conflicting();
+                createdEntity = outcome.created();
+            } else {
+                createdEntity = repository.insert(entityToPersist);
+            }
+        } catch (Exception e) {
+            message = (e instanceof CompletionException && e.getCause() != null) ? e.getCause().getMessage() : e.getMessage();
+            log.error(message);
+            if (detachedInformation != null) {
+                discardDetachedInformation(entityToPersist.getId());
+            }
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        }
+
+        // A batched creation may only learn about a conflicting name at this point.
+        if (conflictingEntity != null) {
+            if (detachedInformation != null) {
+                discardDetachedInformation(entityToPersist.getId());
+            }
+            message = SystemErrorMessages.DUPLICATE_SYSTEM.toString().concat("'" + conflictingEntity.getId() + "'.");
+            log.info(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.CONFLICT, message, SystemErrorMessages.DUPLICATE_SYSTEM);
+        }
+
+        if (createdEntity == null) {
+            message = SystemErrorMessages.ERROR_ON_CREATION.toString().concat("'" + requestDto.getName() + "'.");
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_CREATION);
+        }
+
+        revisionStore.recordCreation(createdEntity);
+
+        // Since the creation has been successful, enclosing the System into a message.
+        SystemResponseWrapper wrapper;
+        try {
+            wrapper = converters.convertEntityToResponseWrapper(createdEntity);
+        } catch (IllegalArgumentException e) {
+            message = e.getMessage();
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_CREATION.toString().concat("'" + requestDto.getName() + "'.");
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_CREATION);
+        }
+
+        // Logging success and returning the result.
+        log.info("Successfully created new System in persistence layer with ID '{}' and Name '{}'.", createdEntity.getId(), createdEntity.getName());
+        return wrapper;
+    }
+
+    /******************************************************************************************************************
+     * Method to persist a new System at most once per idempotency key. Replays of a request receive the outcome of
+     * its first processing.
+     *
+     * @param requestDto A data transfer object with values for the attributes of the System, not null.
+     * @param idempotencyKey A key provided by the client that identifies the request among its retries, not null.
+     * @return A wrapped data transfer object with either information on the created System or failure messages.
+     *
+     * @throws IllegalArgumentException if any of the input parameters is null or blank.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponseWrapper createSystemIdempotently(SystemRequestDto requestDto, String idempotencyKey) throws IllegalArgumentException {
+
+        // Validating input parameters.
+        if (requestDto == null) {
+            throw new IllegalArgumentException("Invalid parameter detected for method createSystemIdempotently().");
+        } else if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method createSystemIdempotently().");
+        }
+
+        // Creating the System, unless the key has already been used (concurrent duplicates wait for the first one).
+        try {
+            return idempotencyStore.execute(idempotencyKey, SystemContentHasher.hash(requestDto), () -> createSystem(requestDto));
+        } catch (Exception e) {
+            String message = SystemErrorMessages.ERROR_ON_CREATION.toString().concat("'" + requestDto.getName() + "'.");
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_CREATION);
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method to update an existing System using its databaseID as unique identifier.
+     *
+     * @param requestDto A data transfer object with values for the attributes of the System, not null.
+     * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param expectedVersion The version that the System must have (as per If-Match), null to accept any version.
+     * @return A wrapped data transfer object with either information on the updated System or failure messages.
+     *
+     * @throws IllegalArgumentException if requestDto parameter is null.
+     * @throws IllegalArgumentException if databaseID parameter is null or empty string.
+     * @throws NonUuidArgumentException if databaseID parameter does not adhere to UUID format.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponseWrapper updateSystem(SystemRequestDto requestDto, String databaseID, Long expectedVersion) throws IllegalArgumentException {
+
+        // Validating input parameters.
+        if (requestDto == null) {
+            throw new IllegalArgumentException("Invalid parameter detected for method updateSystem().");
+        } else if (databaseID == null || databaseID.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method updateSystem().");
+        } else if (ValidatorUUID.isValidUUIDFormat(databaseID).equals(Boolean.FALSE)) {
+            throw new NonUuidArgumentException("Non-UUID parameter detected for method updateSystem().");
+        }
+
+        // Rapid successive updates of the same System may be merged into a single write (the latest one wins), unless
+        // the update requests its own write concern or is conditional on a version.
+        if (updateCoalescer.isEnabled() && WriteConcernOverride.get() == null && expectedVersion == null) {
+            return updateCoalescer.update(databaseID, requestDto, latestRequestDto -> applyUpdate(latestRequestDto, databaseID, null));
+        }
+        return applyUpdate(requestDto, databaseID, expectedVersion);
+    }
+
+    /******************************************************************************************************************
+     * Method to delete an existing System using its databaseID as unique identifier.
+     *
+     * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param expectedVersion The version that the System must have (as per If-Match), null to accept any version.
+     * @return A wrapped data transfer object with either information on the deleted System or failure messages.
+     *
+     * @throws IllegalArgumentException if databaseID parameter is null or empty string.
+     * @throws NonUuidArgumentException if databaseID parameter does not adhere to UUID format.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponseWrapper deleteSystem(String databaseID, Long expectedVersion) throws IllegalArgumentException {
+
+        // Validating input parameter.
+        if (databaseID == null || databaseID.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method deleteSystem().");
+        } else if (ValidatorUUID.isValidUUIDFormat(databaseID).equals(Boolean.FALSE)) {
+            throw new NonUuidArgumentException("Non-UUID parameter detected for method deleteSystem().");
+        }
+
+        // Attempting to delete the entity corresponding to the databaseID (and version, if expected) in a single write.
+        // Soft deletions merely mark the entity, leaving its removal (and that of its detached information) to the purger.
+        System entity;
+        String message;
+        try {
+            if (purger.isEnabled()) {
+                entity = repository.softDeleteConditionally(databaseID, expectedVersion, LocalDateTime.now());
+            } else {
+                entity = repository.deleteConditionally(databaseID, expectedVersion);
+                if (entity != null && entity.isAdditionalInformationDetached()) {
+                    discardDetachedInformation(databaseID);
+                }
+            }
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_DELETION_ID.toString().concat("'" + databaseID + "'.");
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_DELETION_ID);
+        }
+
+        // If nothing has been deleted, telling a missing System from a version mismatch.
+        if (entity == null) {
+            System retrievedEntity;
+            try {
+                retrievedEntity = (expectedVersion == null) ? null : repository.findByIdAndDeletedAtIsNull(databaseID).orElse(null);
+            } catch (Exception e) {
+                message = SystemErrorMessages.ERROR_ON_DELETION_ID.toString().concat("'" + databaseID + "'.");
+                log.error(message);
+                return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_DELETION_ID);
+            }
+
+            if (retrievedEntity != null) {
+                message = SystemErrorMessages.VERSION_MISMATCH.toString().concat("'" + retrievedEntity.getVersion() + "'.");
+                log.info(message);
+                return converters.synthesizeResponseWrapperForError(ResponseCode.PRECONDITION_FAILED, message, SystemErrorMessages.VERSION_MISMATCH);
+            }
+            message = SystemErrorMessages.SYSTEM_NOT_FOUND_ID.toString().concat("'" + databaseID + "'.");
+            log.info(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.SYSTEM_NOT_FOUND_ID);
+        }
+
+        revisionStore.recordDeletion(entity);
+
+        // Since the retrieval has been successful, enclosing the System into a message.
+        SystemResponseWrapper wrapper;
+        try {
+            wrapper = converters.convertEntityToResponseWrapper(entity);
+        } catch (IllegalArgumentException e) {
+            message = e.getMessage();
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_DELETION_ID.toString().concat("'" + databaseID + "'.");
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_DELETION_ID);
+        }
+
+        // Logging success and returning the result.
+        log.info("Successfully deleted System from persistence layer with ID: '{}'.", databaseID);
+        return wrapper;
+    }
+
+    /******************************************************************************************************************
+     * Method to delete all existing Systems.
+     *
+     * @return A wrapped data transfer object with either a success message or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponseWrapper deleteAllSystems() {
+
+        // Checking whether there is anything to delete.
+        String message;
+        try {
+            long count = repository.countByDeletedAtIsNull();
             if (count == 0L) {
                 message = SystemErrorMessages.NO_SYSTEMS_FOUND.toString();
                 log.info(message);
@@ -481,9 +1091,15 @@ public class SystemServicesImpl implements SystemServices {
             return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_DELETION_MANY);
         }
 
-        // Attempting to delete all System entities from the database.
+        // Recording the deletion of all Systems in their history, then deleting them (or marking them for the purger).
         try {
-            repository.deleteAll();
+            revisionStore.recordDeletions(Criteria.where("deletedAt").is(null));
+            if (purger.isEnabled()) {
+                repository.softDeleteAll(LocalDateTime.now());
+            } else {
+                repository.deleteAll();
+                additionalInformationStore.deleteAll();
+            }
         } catch (Exception e) {
             message = SystemErrorMessages.ERROR_ON_DELETION_MANY.toString();
             log.error(message);
@@ -498,4 +1114,461 @@ public class SystemServicesImpl implements SystemServices {
         log.info("Successfully deleted all Systems from the persistence layer.");
         return wrapper;
     }
+
+    /******************************************************************************************************************
+     * Method to submit a Job deleting all existing Systems in the background, in chunks.
+     *
+     * @return A wrapped data transfer object with either information on the submitted Job (or on the Job of the same
+     * operation already pending) or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemJobResponseWrapper submitDeleteAllSystemsJob() {
+
+        // Checking whether there is anything to delete.
+        String message;
+        try {
+            long count = repository.countByDeletedAtIsNull();
+            if (count == 0L) {
+                message = SystemErrorMessages.NO_SYSTEMS_FOUND.toString();
+                log.info(message);
+                return converters.synthesizeJobResponseWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.NO_SYSTEMS_FOUND);
+            }
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_DELETION_MANY.toString();
+            log.error(message);
+            return converters.synthesizeJobResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_DELETION_MANY);
+        }
+
+        // Attempting to submit the Job, which is executed in the background.
+        SystemJob job;
+        try {
+            job = jobRunner.submit(SystemJobType.DELETE_ALL_SYSTEMS, WriteConcernOverride.get());
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_JOB.toString().concat("'" + SystemJobType.DELETE_ALL_SYSTEMS + "'.");
+            log.error(message);
+            return converters.synthesizeJobResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_JOB);
+        }
+
+        log.info("Successfully submitted Job with ID '{}' deleting all Systems.", job.getId());
+        return convertJob(job);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the status and progress of a Job.
+     *
+     * @param jobID A UUID that uniquely identifies an existing Job in the database, not null.
+     * @return A wrapped data transfer object with either information on the Job or failure messages.
+     *
+     * @throws IllegalArgumentException if jobID parameter is null or empty string.
+     * @throws NonUuidArgumentException if jobID parameter does not adhere to UUID format.
+     *****************************************************************************************************************/
+    @Override
+    public SystemJobResponseWrapper retrieveSystemJob(String jobID) throws IllegalArgumentException, NonUuidArgumentException {
+
+        // Validating input parameter.
+        if (jobID == null || jobID.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method retrieveSystemJob().");
+        } else if (ValidatorUUID.isValidUUIDFormat(jobID).equals(Boolean.FALSE)) {
+            throw new NonUuidArgumentException("Non-UUID parameter detected for method retrieveSystemJob().");
+        }
+
+        // Attempting to retrieve the Job.
+        SystemJob job;
+        String message;
+        try {
+            job = jobRunner.retrieve(jobID);
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_JOB.toString().concat("'" + jobID + "'.");
+            log.error(message);
+            return converters.synthesizeJobResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_JOB);
+        }
+
+        // If nothing has been found, but not due to error, report accordingly.
+        if (job == null) {
+            message = SystemErrorMessages.JOB_NOT_FOUND.toString().concat("'" + jobID + "'.");
+            log.info(message);
+            return converters.synthesizeJobResponseWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.JOB_NOT_FOUND);
+        }
+
+        log.info("Successfully retrieved Job with ID '{}'.", jobID);
+        return convertJob(job);
+    }
+
+    /******************************************************************************************************************
+     * Method to cancel a Job that has not finished yet. A Job being executed is cancelled before its next chunk.
+     *
+     * @param jobID A UUID that uniquely identifies an existing Job in the database, not null.
+     * @return A wrapped data transfer object with either information on the cancelled Job or failure messages.
+     *
+     * @throws IllegalArgumentException if jobID parameter is null or empty string.
+     * @throws NonUuidArgumentException if jobID parameter does not adhere to UUID format.
+     *****************************************************************************************************************/
+    @Override
+    public SystemJobResponseWrapper cancelSystemJob(String jobID) throws IllegalArgumentException, NonUuidArgumentException {
+
+        // Validating input parameter.
+        if (jobID == null || jobID.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method cancelSystemJob().");
+        } else if (ValidatorUUID.isValidUUIDFormat(jobID).equals(Boolean.FALSE)) {
+            throw new NonUuidArgumentException("Non-UUID parameter detected for method cancelSystemJob().");
+        }
+
+        // Attempting to cancel the Job, unless it has already finished.
+        SystemJob job;
+        String message;
+        boolean finished = false;
+        try {
+            job = jobRunner.cancel(jobID);
+        } catch (IllegalStateException e) {
+            job = null;
+            finished = true;
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_JOB.toString().concat("'" + jobID + "'.");
+            log.error(message);
+            return converters.synthesizeJobResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_JOB);
+        }
+
+        // A finished Job is reported with its status, unless it has expired (and been removed) in the meantime.
+        if (finished) {
+            try {
+                job = jobRunner.retrieve(jobID);
+            } catch (Exception e) {
+                message = SystemErrorMessages.ERROR_ON_JOB.toString().concat("'" + jobID + "'.");
+                log.error(message);
+                return converters.synthesizeJobResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_JOB);
+            }
+            if (job != null) {
+                message = SystemErrorMessages.JOB_ALREADY_FINISHED.toString().concat("'" + job.getStatus() + "'.");
+                log.info(message);
+                return converters.synthesizeJobResponseWrapperForError(ResponseCode.CONFLICT, message, SystemErrorMessages.JOB_ALREADY_FINISHED);
+            }
+        }
+
+        // If nothing has been found, but not due to error, report accordingly.
+        if (job == null) {
+            message = SystemErrorMessages.JOB_NOT_FOUND.toString().concat("'" + jobID + "'.");
+            log.info(message);
+            return converters.synthesizeJobResponseWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.JOB_NOT_FOUND);
+        }
+
+        log.info("Successfully requested the cancellation of Job with ID '{}'.", jobID);
+        return convertJob(job);
+    }
+
+    /******************************************************************************************************************
+     * Method to enclose a Job into a message.
+     *
+     * @param job The Job, not null.
+     * @return A wrapped data transfer object with either information on the Job or failure messages.
+     *****************************************************************************************************************/
+    private SystemJobResponseWrapper convertJob(SystemJob job) {
+        try {
+            return converters.convertJobToResponseWrapper(job);
+        } catch (Exception e) {
+            String message = e.getMessage();
+            log.error(message);
+            return converters.synthesizeJobResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method to apply an update to an existing System. The update is written by a single conditional write, filtered
+     * on the expected version (if any), on the name being unchanged and on the contents differing from the new ones,
+     * so that the common case needs no prior read. Only if nothing is written is the System read, to tell a missing
+     * System, a version mismatch or an unchanged System apart, or to check a new name for conflicts before writing
+     * again (conditionally on the state read). Common part of the direct and the coalesced updates.
+     *
+     * @param requestDto A data transfer object with values for the attributes of the System, not null.
+     * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param expectedVersion The version that the System must have, null to accept any version.
+     * @return A wrapped data transfer object with either information on the updated System or failure messages.
+     *****************************************************************************************************************/
+    private SystemResponseWrapper applyUpdate(SystemRequestDto requestDto, String databaseID, Long expectedVersion) {
+
+        // Converting the request data transfer object to a database entity.
+        System entityToPersist;
+        String message;
+        try {
+            entityToPersist = converters.convertRequestDtoToEntity(requestDto, databaseID);
+            entityToPersist.setLatestUpdateDate(LocalDateTime.now());
+            entityToPersist.setContentHash(SystemContentHasher.hash(entityToPersist));
+        } catch (IllegalArgumentException e) {
+            message = e.getMessage();
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        }
+        Set<Object> detachedInformation = additionalInformationStore.detachIfOversized(entityToPersist);
+
+        // Attempting the conditional write, falling back to a read only if nothing has been written.
+        System previousEntity = null;
+        Long versionCondition = expectedVersion;
+        String nameCondition = entityToPersist.getName();
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS && previousEntity == null; attempt++) {
+            try {
+                previousEntity = repository.updateConditionally(entityToPersist, versionCondition, nameCondition);
+            } catch (Exception e) {
+                message = e.getMessage();
+                log.error(message);
+                return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+            }
+            if (previousEntity != null) {
+                break;
+            }
+
+            System retrievedEntity;
+            try {
+                retrievedEntity = repository.findByIdAndDeletedAtIsNull(databaseID).orElse(null);
+            } catch (Exception e) {
+                message = SystemErrorMessages.ERROR_ON_RETRIEVAL_ID.toString().concat("'" + databaseID + "'.");
+                log.error(message);
+                return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_ID);
+            }
+
+            // If nothing has been found, but not due to error, report accordingly.
+            if (retrievedEntity == null) {
+                message = SystemErrorMessages.SYSTEM_NOT_FOUND_ID.toString().concat("'" + databaseID + "'.");
+                log.info(message);
+                return converters.synthesizeResponseWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.SYSTEM_NOT_FOUND_ID);
+            }
+
+            // If the System has been modified since the version expected by the client, report the lost update.
+            if (expectedVersion != null && !expectedVersion.equals(retrievedEntity.getVersion())) {
+                message = SystemErrorMessages.VERSION_MISMATCH.toString().concat("'" + retrievedEntity.getVersion() + "'.");
+                log.info(message);
+                return converters.synthesizeResponseWrapperForError(ResponseCode.PRECONDITION_FAILED, message, SystemErrorMessages.VERSION_MISMATCH);
+            }
+
+            // If the update would not change the contents of the System, skipping the write and returning it as is.
+            if (entityToPersist.getContentHash().equals(retrievedEntity.getContentHash())) {
+                try {
+                    SystemResponseWrapper wrapper = converters.convertEntityToResponseWrapper(retrievedEntity);
+                    log.info("Skipped update of System with ID '{}', since its contents are unchanged.", databaseID);
+                    return wrapper;
+                } catch (Exception e) {
+                    message = SystemErrorMessages.ERROR_ON_UPDATE.toString().concat("'" + databaseID + "'.");
+                    log.error(message);
+                    return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+                }
+            }
+
+            // If a change to the name is being attempted, search for conflicts.
+            if (!requestDto.getName().equals(retrievedEntity.getName())) {
+                System conflictingEntity;
+                try {
+                    conflictingEntity = repository.findFirstByNameAndDeletedAtIsNull(requestDto.getName());
+                } catch (Exception e) {
+                    message = SystemErrorMessages.ERROR_ON_RETRIEVAL_NAME.toString().concat("'" + requestDto.getName() + "'.");
+                    log.error(message);
+                    return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_NAME);
+                }
+
+                if (conflictingEntity != null) {
+                    message = SystemErrorMessages.DUPLICATE_SYSTEM.toString().concat("'" + conflictingEntity.getId() + "'.");
+                    log.error(message);
+                    return converters.synthesizeResponseWrapperForError(ResponseCode.CONFLICT, message, SystemErrorMessages.DUPLICATE_SYSTEM);
+                }
+            }
+
+            // Writing again, conditionally on the state read (a concurrent write in between leads to another attempt).
+            versionCondition = retrievedEntity.getVersion();
+            nameCondition = retrievedEntity.getName();
+        }
+
+        if (previousEntity == null) {
+            message = SystemErrorMessages.ERROR_ON_UPDATE.toString().concat("'" + databaseID + "'.");
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_UPDATE);
+        }
+
+        // Storing oversized additional information apart, once the write has succeeded (rejected writes leave it as is).
+        try {
+            if (detachedInformation != null) {
+                additionalInformationStore.store(databaseID, detachedInformation);
+            } else if (previousEntity.isAdditionalInformationDetached()) {
+                discardDetachedInformation(databaseID);
+            }
+        } catch (Exception e) {
+            message = e.getMessage();
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        }
+
+        revisionStore.recordUpdate(previousEntity, entityToPersist);
+
+        // Since the update has been successful, enclosing the System into a message.
+        SystemResponseWrapper wrapper;
+        try {
+            wrapper = converters.convertEntityToResponseWrapper(entityToPersist);
+        } catch (IllegalArgumentException e) {
+            message = e.getMessage();
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_UPDATE.toString().concat("'" + databaseID + "'.");
+            log.error(message);
+            return converters.synthesizeResponseWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        }
+
+        // Logging success and returning the result.
+        log.info("Successfully updated System in persistence layer with ID '{}' and Name '{}'.", entityToPersist.getId(), entityToPersist.getName());
+        return wrapper;
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the Systems matched by a query, paginated. Common part of the bounding box, Polygon and
+     * full-text searches.
+     *
+     * @param query The query retrieving a page of the matched Systems, not null.
+     * @param paging The pagination (and sorting) instructions, not null.
+     * @param notFoundError The error code reported if the query matches no Systems at all, not null.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    private SystemResponsesWrapper retrieveSystemsPage(Function<Pageable, Page<System>> query, Pageable paging,
+                                                       SystemErrorMessages notFoundError) {
+
+        // Attempting to retrieve the matched entities indicated by the pagination instructions.
+        Page<System> systemsPage;
+        List<System> entities;
+        PaginationInfo paginationInfo;
+        String message;
+
+        try {
+            systemsPage = query.apply(paging);
+            entities = systemsPage.getContent();
+            paginationInfo = new PaginationInfo(systemsPage.getTotalElements(), systemsPage.getTotalPages(), systemsPage.getNumber());
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY.toString();
+            log.error(message);
+            return converters.synthesizeResponsesWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY);
+        }
+
+        // If nothing has been found, but not due to error, report accordingly.
+        if (entities == null || entities.isEmpty()) {
+
+            // Systems are matched but the request was out of pagination limits.
+            if (paginationInfo.getTotalItems() > 0) {
+                message = SystemErrorMessages.EXCEEDED_PAGE_LIMIT.toString().concat(" Total Pages: " + paginationInfo.getTotalPages());
+                log.info(message);
+                return converters.synthesizeResponsesWrapperForError(ResponseCode.NOT_FOUND, message, SystemErrorMessages.EXCEEDED_PAGE_LIMIT);
+            }
+
+            // Systems are not matched at all.
+            message = notFoundError.toString();
+            log.info(message);
+            return converters.synthesizeResponsesWrapperForError(ResponseCode.NOT_FOUND, message, notFoundError);
+        }
+
+        // Since the retrieval has been successful, enclosing the collection of Systems into a message.
+        SystemResponsesWrapper wrapper;
+        try {
+            wrapper = converters.convertEntitiesToResponseWrapper(entities, paginationInfo);
+        } catch (IllegalArgumentException e) {
+            message = e.getMessage();
+            log.error(message);
+            return converters.synthesizeResponsesWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.INTERNAL_SERVER_ERROR);
+        } catch (Exception e) {
+            message = SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY.toString();
+            log.error(message);
+            return converters.synthesizeResponsesWrapperForError(ResponseCode.ERROR, message, SystemErrorMessages.ERROR_ON_RETRIEVAL_MANY);
+        }
+
+        // Logging success and returning the result.
+        log.info("Successfully retrieved System entities matching query from persistence layer (Page '{}' of '{}').", systemsPage.getNumber(), systemsPage.getTotalPages());
+        return wrapper;
+    }
+
+    /******************************************************************************************************************
+     * Method to delete the detached additional information of a System that no longer needs it. A failure is only
+     * logged, since the orphaned document is never read and is replaced whenever the System detaches information.
+     *
+     * @param databaseID The UUID of the System, not null.
+     *****************************************************************************************************************/
+    private void discardDetachedInformation(String databaseID) {
+        try {
+            additionalInformationStore.delete(databaseID);
+        } catch (Exception e) {
+            log.warn("Failed to delete detached additional information of System with ID: '{}'.", databaseID);
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that reads the result of the cluster aggregation pipeline of the SystemRepository.
+     *
+     * @param cells The cells produced by the aggregation, ordered by column and row, not null.
+     * @return The clusters of the cells, in the same order.
+     *****************************************************************************************************************/
+    private static List<ClusterGrid.Cluster> toClusters(List<Document> cells) {
+
+        List<ClusterGrid.Cluster> clusters = new ArrayList<>(cells.size());
+        for (Document cell : cells) {
+            clusters.add(ClusterGrid.toCluster(((Number) cell.get("x")).doubleValue(), ((Number) cell.get("y")).doubleValue(),
+                    ((Number) cell.get("count")).intValue(), cell.getString("id")));
+        }
+        return clusters;
+    }
+
+    /******************************************************************************************************************
+     * Method that reads the result of the grid aggregation pipeline of the SystemRepository as geohash buckets.
+     *
+     * @param precision The precision of the geohashes, whose cells the grid follows.
+     * @param cells The cells produced by the aggregation, not null.
+     * @return The buckets of the cells, ordered by geohash.
+     *****************************************************************************************************************/
+    private static List<GeohashCounter.Bucket> toBuckets(int precision, List<Document> cells) {
+
+        List<GeohashCounter.Bucket> buckets = new ArrayList<>(cells.size());
+        for (Document cell : cells) {
+            Document key = cell.get("_id", Document.class);
+            buckets.add(GeohashCounter.toBucket(precision, ((Number) key.get("column")).longValue(),
+                    ((Number) key.get("row")).longValue(), ((Number) cell.get("count")).intValue()));
+        }
+        buckets.sort(Comparator.comparing(GeohashCounter.Bucket::getGeohash));
+        return buckets;
+    }
+
+    /******************************************************************************************************************
+     * Method that reads the result of the facet aggregation pipeline of the SystemRepository.
+     *
+     * @param result The document produced by the aggregation, may be null for an empty collection.
+     * @return The counts of Systems per organization and per type of location.
+     *****************************************************************************************************************/
+    private static FacetCounts toFacetCounts(Document result) {
+
+        if (result == null) {
+            return FacetCounts.EMPTY;
+        }
+
+        Map<String, Long> organizations = new HashMap<>();
+        long withoutOrganization = 0L;
+        for (Document bucket : result.getList("organizations", Document.class, List.of())) {
+            long count = ((Number) bucket.get("count")).longValue();
+            if (bucket.getString("_id") == null) {
+                withoutOrganization += count;
+            } else {
+                organizations.put(bucket.getString("_id"), count);
+            }
+        }
+
+        long geoLocated = 0L;
+        long virtualLocated = 0L;
+        for (Document bucket : result.getList("locations", Document.class, List.of())) {
+            long count = ((Number) bucket.get("count")).longValue();
+            if ("geo".equals(bucket.getString("_id"))) {
+                geoLocated += count;
+            } else {
+                virtualLocated += count;
+            }
+        }
+        return new FacetCounts(organizations, withoutOrganization, geoLocated, virtualLocated);
+    }
+
+    /******************************************************************************************************************
+     * Method that checks whether geospatial queries may be served by the in-memory spatial index, i.e. whether the
+     * index is enabled and consistent with the database.
+     *
+     * @return TRUE if the spatial index may be used, FALSE otherwise.
+     *****************************************************************************************************************/
+    private boolean isSpatialIndexAvailable() {
+        return spatialIndex.isEnabled() && indexRegistry.isReady();
+    }
 }
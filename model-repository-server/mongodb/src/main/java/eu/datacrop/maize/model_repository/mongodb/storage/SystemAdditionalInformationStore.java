@@ -0,0 +1,154 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import com.mongodb.MongoClientSettings;
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.SystemAdditionalInformation;
+import eu.datacrop.maize.model_repository.mongodb.repositories.SystemAdditionalInformationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.WildcardIndex;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**********************************************************************************************************************
+ * This class keeps oversized additional information of IoT Systems out of the System documents. Additional
+ * information whose encoded size exceeds a configurable limit is persisted in a side collection, keyed by the
+ * identifier of the System, and the System document only keeps a flag. Hence, the documents read by listings remain
+ * small, while the full additional information is loaded only on explicit request.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemAdditionalInformationStore {
+
+    @Autowired
+    SystemAdditionalInformationRepository repository;
+
+    @Autowired
+    MongoTemplate template;
+
+    /******************************************************************************************************************
+     * The maximum encoded size (in bytes) of additional information that is embedded in the System documents.
+     *****************************************************************************************************************/
+    @Value("${model-repository.additional-information.max-embedded-bytes:16384}")
+    private int maxEmbeddedBytes;
+
+    /******************************************************************************************************************
+     * The codec measuring the encoded size of additional information, as the driver would encode it.
+     *****************************************************************************************************************/
+    private final Codec<Document> codec = CodecRegistries.withUuidRepresentation(
+            MongoClientSettings.getDefaultCodecRegistry(), UuidRepresentation.STANDARD).get(Document.class);
+
+    /******************************************************************************************************************
+     * Method that creates the wildcard index over the detached additional information, by which Systems are filtered
+     * by key/value pairs, whether or not indexes are created automatically.
+     *****************************************************************************************************************/
+    @PostConstruct
+    public void initialize() {
+        try {
+            template.indexOps(SystemAdditionalInformation.class).ensureIndex(new WildcardIndex("additionalInformation"));
+        } catch (Exception e) {
+            log.warn("Failed to create the index of the detached additional information of Systems: {}", e.getMessage());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that detaches the additional information of a System about to be persisted, if it is oversized. The
+     * System is left with an empty collection and flagged accordingly; otherwise it is flagged as not detached.
+     *
+     * @param entity The System about to be persisted, not null.
+     * @return The detached additional information, to be persisted through store(), or null if it remains embedded.
+     *****************************************************************************************************************/
+    public Set<Object> detachIfOversized(System entity) {
+
+        Set<Object> additionalInformation = entity.getAdditionalInformation();
+        if (additionalInformation.isEmpty() || measure(additionalInformation) <= maxEmbeddedBytes) {
+            entity.setAdditionalInformationDetached(false);
+            return null;
+        }
+
+        entity.setAdditionalInformation(new HashSet<>());
+        entity.setAdditionalInformationDetached(true);
+        log.debug("Additional information of System with ID '{}' exceeds the embedding limit and is detached.", entity.getId());
+        return additionalInformation;
+    }
+
+    /******************************************************************************************************************
+     * Method that persists (or replaces) the detached additional information of a System.
+     *
+     * @param databaseID The UUID of the System, not null.
+     * @param additionalInformation The detached additional information, not null.
+     *****************************************************************************************************************/
+    public void store(String databaseID, Set<Object> additionalInformation) {
+        repository.save(new SystemAdditionalInformation(databaseID, additionalInformation));
+    }
+
+    /******************************************************************************************************************
+     * Method that loads the detached additional information of a System.
+     *
+     * @param databaseID The UUID of the System, not null.
+     * @return The detached additional information, empty if none is persisted.
+     *****************************************************************************************************************/
+    public Set<Object> load(String databaseID) {
+        return repository.findById(databaseID)
+                .map(SystemAdditionalInformation::getAdditionalInformation)
+                .orElseGet(HashSet::new);
+    }
+
+    /******************************************************************************************************************
+     * Method that deletes the detached additional information of a System, if any.
+     *
+     * @param databaseID The UUID of the System, not null.
+     *****************************************************************************************************************/
+    public void delete(String databaseID) {
+        repository.deleteById(databaseID);
+    }
+
+    /******************************************************************************************************************
+     * Method that deletes the detached additional information of several Systems (where any), in a single removal.
+     *
+     * @param databaseIDs The UUIDs of the Systems, not null.
+     *****************************************************************************************************************/
+    public void deleteAll(Collection<String> databaseIDs) {
+        repository.deleteAllById(databaseIDs);
+    }
+
+    /******************************************************************************************************************
+     * Method that deletes the detached additional information of all Systems.
+     *****************************************************************************************************************/
+    public void deleteAll() {
+        repository.deleteAll();
+    }
+
+    /******************************************************************************************************************
+     * Method that measures the size of additional information once encoded to BSON. Values that cannot be encoded
+     * are reported as fitting, so that the failure surfaces (as before) upon persisting the System itself.
+     *
+     * @param additionalInformation The additional information to measure, not null.
+     * @return The encoded size in bytes.
+     *****************************************************************************************************************/
+    private int measure(Set<Object> additionalInformation) {
+        try {
+            Document document = new Document("additionalInformation", template.getConverter().convertToMongoType(additionalInformation));
+            return new RawBsonDocument(document, codec).getByteBuffer().remaining();
+        } catch (Exception e) {
+            log.warn("Failed to measure the size of additional information: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
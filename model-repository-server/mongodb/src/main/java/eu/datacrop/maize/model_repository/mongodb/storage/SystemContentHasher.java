@@ -0,0 +1,143 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import eu.datacrop.maize.model_repository.commons.dtos.requests.SystemRequestDto;
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**********************************************************************************************************************
+ * This class offers the functionality of a global tool that hashes the contents of IoT Systems, i.e. the attributes
+ * set by clients (name, description, Location, organization and additional information). Identifiers and
+ * timestamps are excluded, so that an update carrying the stored contents hashes to the stored value. The hash is
+ * insensitive to the order of the additional information and of the keys of its entries.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public class SystemContentHasher {
+
+    /******************************************************************************************************************
+     * Constructor of the SystemContentHasher class (private to disallow instantiation).
+     *
+     * @throws IllegalStateException if called, since the class is not meant to be instantiated.
+     *****************************************************************************************************************/
+    private SystemContentHasher() {
+        throw new IllegalStateException("Utility classes should not be instantiated.");
+    }
+
+    /******************************************************************************************************************
+     * Definition of a global function that computes the SHA-256 hash of the contents of a System.
+     *
+     * @param entity The System to hash, not null.
+     * @return The hash as a hexadecimal string.
+     *****************************************************************************************************************/
+    public static String hash(System entity) {
+
+        StringBuilder canonical = new StringBuilder();
+        append(canonical, entity.getName());
+        append(canonical, entity.getDescription());
+        append(canonical, entity.getOrganization());
+        if (entity.getLocation().getGeoLocation() != null) {
+            append(canonical, entity.getLocation().getLatitude());
+            append(canonical, entity.getLocation().getLongitude());
+        } else {
+            append(canonical, null);
+            append(canonical, null);
+        }
+        append(canonical, entity.getLocation().getVirtualLocation());
+        append(canonical, entity.getAdditionalInformation());
+        return digest(canonical);
+    }
+
+    /******************************************************************************************************************
+     * Definition of a global function that computes the SHA-256 hash of the contents of a request to persist a System.
+     * No validation is performed on the request.
+     *
+     * @param requestDto The request to hash, not null.
+     * @return The hash as a hexadecimal string.
+     *****************************************************************************************************************/
+    public static String hash(SystemRequestDto requestDto) {
+
+        StringBuilder canonical = new StringBuilder();
+        append(canonical, requestDto.getName());
+        append(canonical, requestDto.getDescription());
+        append(canonical, requestDto.getOrganization());
+        if (requestDto.getLocation() != null && requestDto.getLocation().getGeoLocation() != null) {
+            append(canonical, requestDto.getLocation().getLatitude());
+            append(canonical, requestDto.getLocation().getLongitude());
+        } else {
+            append(canonical, null);
+            append(canonical, null);
+        }
+        append(canonical, requestDto.getLocation() != null ? requestDto.getLocation().getVirtualLocation() : null);
+        append(canonical, requestDto.getAdditionalInformation());
+        return digest(canonical);
+    }
+
+    /******************************************************************************************************************
+     * Method that computes the SHA-256 hash of a canonical form.
+     *
+     * @param canonical The canonical form to hash, not null.
+     * @return The hash as a hexadecimal string.
+     *****************************************************************************************************************/
+    private static String digest(StringBuilder canonical) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the platform.", e);
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that appends the canonical form of a value: tagged by kind and length-prefixed, so that distinct values
+     * never produce the same text. Maps are ordered by key and sets by the canonical form of their elements.
+     *
+     * @param canonical The canonical form produced so far, not null.
+     * @param value The value to append, may be null.
+     *****************************************************************************************************************/
+    private static void append(StringBuilder canonical, Object value) {
+
+        if (value == null) {
+            canonical.append('z');
+        } else if (value instanceof String string) {
+            canonical.append('s').append(string.length()).append(':').append(string);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            String string = value.toString();
+            canonical.append(value instanceof Boolean ? 'b' : 'n').append(string.length()).append(':').append(string);
+        } else if (value instanceof Map<?, ?> map) {
+            TreeMap<String, Object> sorted = new TreeMap<>();
+            map.forEach((key, entry) -> sorted.put(String.valueOf(key), entry));
+            canonical.append('m').append(sorted.size()).append('{');
+            sorted.forEach((key, entry) -> {
+                append(canonical, key);
+                append(canonical, entry);
+            });
+            canonical.append('}');
+        } else if (value instanceof Set<?> set) {
+            List<String> elements = set.stream().map(element -> {
+                StringBuilder builder = new StringBuilder();
+                append(builder, element);
+                return builder.toString();
+            }).sorted().toList();
+            canonical.append('e').append(elements.size()).append('[');
+            elements.forEach(canonical::append);
+            canonical.append(']');
+        } else if (value instanceof Collection<?> collection) {
+            canonical.append('l').append(collection.size()).append('[');
+            collection.forEach(element -> append(canonical, element));
+            canonical.append(']');
+        } else {
+            String string = value.toString();
+            canonical.append('o').append(string.length()).append(':').append(string);
+        }
+    }
+}
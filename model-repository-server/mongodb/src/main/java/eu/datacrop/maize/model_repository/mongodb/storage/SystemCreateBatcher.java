@@ -0,0 +1,293 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.repositories.SystemRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**********************************************************************************************************************
+ * This class groups the creations of IoT Systems that arrive concurrently into batches (group commit). A single
+ * background thread collects the creations submitted within a short linger window (or up to a maximum batch size),
+ * checks the names of the whole batch for conflicts with a single query and inserts the accepted Systems with a
+ * single insertMany. Each submitter receives the outcome of its own creation. Upon shutdown, the creations already
+ * submitted are drained before the thread stops. The sizes of the batches and the latency of the creations are
+ * exported as metrics.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemCreateBatcher {
+
+    @Autowired
+    SystemRepository repository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    /******************************************************************************************************************
+     * Whether the creations of Systems are batched.
+     *****************************************************************************************************************/
+    @Value("${model-repository.create-batching.enabled:false}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * The maximum time (in milliseconds) that the first creation of a batch waits for more creations to join it.
+     *****************************************************************************************************************/
+    @Value("${model-repository.create-batching.linger-ms:5}")
+    private long lingerMillis;
+
+    /******************************************************************************************************************
+     * The maximum number of creations in a batch.
+     *****************************************************************************************************************/
+    @Value("${model-repository.create-batching.max-batch-size:64}")
+    private int maxBatchSize;
+
+    /******************************************************************************************************************
+     * The creations submitted and not yet collected in a batch.
+     *****************************************************************************************************************/
+    private final BlockingQueue<PendingCreation> queue = new LinkedBlockingQueue<>();
+
+    /******************************************************************************************************************
+     * The background thread collecting and persisting the batches, null while not running.
+     *****************************************************************************************************************/
+    private Thread worker;
+
+    /******************************************************************************************************************
+     * Whether new creations are accepted.
+     *****************************************************************************************************************/
+    private volatile boolean running;
+
+    /******************************************************************************************************************
+     * The number of creations per persisted batch.
+     *****************************************************************************************************************/
+    private DistributionSummary batchSizes;
+
+    /******************************************************************************************************************
+     * The time from the submission of a creation until its outcome is known.
+     *****************************************************************************************************************/
+    private Timer latencies;
+
+    /******************************************************************************************************************
+     * The outcome of a batched creation: either the created System, or the System whose name conflicts with it.
+     *
+     * @param created The System as persisted in the database, null upon conflict.
+     * @param conflicting The System already holding the requested name, null upon success.
+     *****************************************************************************************************************/
+    public record Outcome(System created, System conflicting) {
+    }
+
+    /******************************************************************************************************************
+     * A creation awaiting persistence.
+     *
+     * @param entity The System to persist, not null.
+     * @param result The outcome to complete, not null.
+     * @param submittedAt The moment of submission (in nanoseconds, as per java.lang.System.nanoTime()).
+     *****************************************************************************************************************/
+    private record PendingCreation(System entity, CompletableFuture<Outcome> result, long submittedAt) {
+    }
+
+    /******************************************************************************************************************
+     * Method that registers the metrics and starts the background thread, if batching is enabled.
+     *****************************************************************************************************************/
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        batchSizes = DistributionSummary.builder("model_repository.system.create.batch.size")
+                .description("The number of System creations persisted per batch.")
+                .register(meterRegistry);
+        latencies = Timer.builder("model_repository.system.create.batch.latency")
+                .description("The time from the submission of a System creation until its outcome is known.")
+                .register(meterRegistry);
+        meterRegistry.gauge("model_repository.system.create.batch.queued", queue, BlockingQueue::size);
+
+        running = true;
+        worker = new Thread(this::run, "system-create-batcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /******************************************************************************************************************
+     * Method that reports whether the creations of Systems are batched (and should therefore be submitted here).
+     *
+     * @return TRUE if batching is enabled, FALSE otherwise.
+     *****************************************************************************************************************/
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /******************************************************************************************************************
+     * Method that submits a System for creation in the next batch.
+     *
+     * @param entity The System to persist, with its identifier assigned, not null.
+     * @return The outcome of the creation, completed exceptionally if the System could not be persisted.
+     *****************************************************************************************************************/
+    public CompletableFuture<Outcome> submit(System entity) {
+
+        PendingCreation pending = new PendingCreation(entity, new CompletableFuture<>(), java.lang.System.nanoTime());
+        if (!running) {
+            pending.result().completeExceptionally(new IllegalStateException("The batching of System creations is not running."));
+            return pending.result();
+        }
+        queue.add(pending);
+        return pending.result();
+    }
+
+    /******************************************************************************************************************
+     * Method that stops accepting creations, persists those already submitted and stops the background thread.
+     *****************************************************************************************************************/
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Creations submitted concurrently with the shutdown (or left behind by a stuck thread) are rejected.
+        PendingCreation pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new IllegalStateException("The batching of System creations has been shut down."));
+        }
+        worker = null;
+        log.info("Batching of System creations has been shut down.");
+    }
+
+    /******************************************************************************************************************
+     * Method executed by the background thread: collects batches and persists them until shut down and drained.
+     *****************************************************************************************************************/
+    private void run() {
+
+        List<PendingCreation> batch = new ArrayList<>(maxBatchSize);
+        long lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCreation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Waiting for more creations to join, until the linger window closes or the batch is full.
+                long deadline = java.lang.System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - java.lang.System.nanoTime();
+                    PendingCreation next = (remaining > 0) ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                persist(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+                return;
+            } catch (Exception e) {
+                log.error("Unexpected failure while batching System creations: {}", e.getMessage());
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that persists a batch of creations. The names are checked with a single query (against both the
+     * database and the earlier creations of the same batch) and the accepted Systems are inserted together.
+     *
+     * @param batch The creations to persist, not empty.
+     *****************************************************************************************************************/
+    private void persist(List<PendingCreation> batch) {
+
+        batchSizes.record(batch.size());
+
+        // Resolving the names of the whole batch at once.
+        Map<String, System> holders = new HashMap<>();
+        try {
+            List<String> names = batch.stream().map(pending -> pending.entity().getName()).distinct().toList();
+            for (System holder : repository.findNamesIn(names)) {
+                holders.putIfAbsent(holder.getName(), holder);
+            }
+        } catch (Exception e) {
+            log.error("Failed to resolve the names of a batch of System creations: {}", e.getMessage());
+            batch.forEach(pending -> complete(pending, null, e));
+            return;
+        }
+
+        List<PendingCreation> accepted = new ArrayList<>(batch.size());
+        for (PendingCreation pending : batch) {
+            System holder = holders.putIfAbsent(pending.entity().getName(), pending.entity());
+            if (holder != null) {
+                complete(pending, new Outcome(null, holder), null);
+            } else {
+                accepted.add(pending);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // Inserting the accepted Systems at once. On failure, each one is retried alone to report its own outcome
+        // (Systems inserted before the failure are recognized by their identifier, which is fresh for every creation).
+        try {
+            List<System> inserted = repository.insert(accepted.stream().map(PendingCreation::entity).toList());
+            for (int i = 0; i < accepted.size(); i++) {
+                complete(accepted.get(i), new Outcome(inserted.get(i), null), null);
+            }
+            log.debug("Persisted a batch of {} System creations ({} accepted).", batch.size(), accepted.size());
+        } catch (Exception e) {
+            log.warn("Failed to insert a batch of {} Systems, inserting them one by one: {}", accepted.size(), e.getMessage());
+            for (PendingCreation pending : accepted) {
+                try {
+                    System created = repository.findById(pending.entity().getId())
+                            .orElseGet(() -> repository.insert(pending.entity()));
+                    complete(pending, new Outcome(created, null), null);
+                } catch (Exception individual) {
+                    complete(pending, null, individual);
+                }
+            }
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that completes a creation and records its latency.
+     *
+     * @param pending The creation to complete, not null.
+     * @param outcome The outcome of the creation, null upon failure.
+     * @param failure The cause of the failure, null upon success or conflict.
+     *****************************************************************************************************************/
+    private void complete(PendingCreation pending, Outcome outcome, Exception failure) {
+        latencies.record(java.lang.System.nanoTime() - pending.submittedAt(), TimeUnit.NANOSECONDS);
+        if (failure != null) {
+            pending.result().completeExceptionally(failure);
+        } else {
+            pending.result().complete(outcome);
+        }
+    }
+}
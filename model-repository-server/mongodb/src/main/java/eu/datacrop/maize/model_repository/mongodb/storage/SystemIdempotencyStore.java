@@ -0,0 +1,257 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import com.mongodb.client.result.UpdateResult;
+import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
+import eu.datacrop.maize.model_repository.commons.error.messages.SystemErrorMessages;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
+import eu.datacrop.maize.model_repository.mongodb.model.SystemIdempotencyRecord;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemIdempotencyOutcome;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Supplier;
+
+/**********************************************************************************************************************
+ * This class makes the creation of IoT Systems idempotent per client-provided key. The first request carrying a key
+ * claims it with a single insert (the key being the identifier, concurrent duplicates cannot both succeed), performs
+ * the creation and records its outcome. Replays receive the recorded outcome without performing the creation again,
+ * while duplicates arriving before the outcome is recorded wait for it. Outcomes that report server errors are not
+ * recorded, so that the request may be retried. A claim abandoned past its lease may be taken over; its former
+ * holder then neither records nor releases anything, and reports the outcome of the new holder instead. Records
+ * expire through a TTL index.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemIdempotencyStore {
+
+    @Autowired
+    MongoTemplate template;
+
+    /******************************************************************************************************************
+     * The time (in seconds) for which the outcomes of requests are kept.
+     *****************************************************************************************************************/
+    @Value("${model-repository.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    /******************************************************************************************************************
+     * The maximum time (in milliseconds) that a duplicate waits for the outcome of the request that claimed the key.
+     *****************************************************************************************************************/
+    @Value("${model-repository.idempotency.wait-ms:5000}")
+    private long waitMillis;
+
+    /******************************************************************************************************************
+     * The time (in milliseconds) after which a claimed key without outcome is deemed abandoned (e.g. upon a crash)
+     * and may be claimed anew.
+     *****************************************************************************************************************/
+    @Value("${model-repository.idempotency.lease-ms:30000}")
+    private long leaseMillis;
+
+    /******************************************************************************************************************
+     * The interval (in milliseconds) at which a duplicate checks for the outcome of the request that claimed the key.
+     *****************************************************************************************************************/
+    private static final long POLL_MILLIS = 25;
+
+    /******************************************************************************************************************
+     * Method that creates the TTL index expiring the records.
+     *****************************************************************************************************************/
+    @PostConstruct
+    public void initialize() {
+        try {
+            template.indexOps(SystemIdempotencyRecord.class).ensureIndex(new Index()
+                    .on("creationDate", Sort.Direction.ASC).expire(Duration.ofSeconds(ttlSeconds)));
+        } catch (Exception e) {
+            log.warn("Failed to create the TTL index of idempotency keys: {}", e.getMessage());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that performs a creation at most once per idempotency key.
+     *
+     * @param key The idempotency key provided by the client, not null.
+     * @param fingerprint The hash of the contents of the request, not null.
+     * @param creation The function performing the creation and reporting its outcome, not null.
+     * @return The outcome of the creation (recorded or fresh), or a wrapper reporting that the key is used with other
+     * contents (BAD_REQUEST) or is still being processed (CONFLICT).
+     *****************************************************************************************************************/
+    public SystemResponseWrapper execute(String key, String fingerprint, Supplier<SystemResponseWrapper> creation) {
+
+        long deadline = java.lang.System.nanoTime() + Duration.ofMillis(waitMillis).toNanos();
+        while (true) {
+            SystemIdempotencyRecord claimed = claim(key, fingerprint);
+            if (claimed != null) {
+                return perform(claimed, creation);
+            }
+
+            // A key released (or expired) meanwhile is claimed again on the next attempt.
+            SystemIdempotencyRecord existing = template.findById(key, SystemIdempotencyRecord.class);
+            if (existing != null) {
+                if (!existing.getFingerprint().equals(fingerprint)) {
+                    log.info("Idempotency key '{}' has been reused with different contents.", key);
+                    return new SystemResponseWrapper(ResponseCode.BAD_REQUEST, SystemErrorMessages.IDEMPOTENCY_KEY_MISMATCH.toString(),
+                            null, SystemErrorMessages.IDEMPOTENCY_KEY_MISMATCH);
+                }
+                if (existing.isCompleted()) {
+                    log.debug("Replaying the recorded outcome of idempotency key '{}'.", key);
+                    return existing.getOutcome().toWrapper();
+                }
+
+                // Taking over a claim whose holder has not recorded an outcome within the lease.
+                if (existing.getCreationDate().isBefore(LocalDateTime.now().minus(Duration.ofMillis(leaseMillis)))) {
+                    SystemIdempotencyRecord takenOver = takeOver(existing);
+                    if (takenOver != null) {
+                        log.warn("Idempotency key '{}' has been abandoned and is claimed anew.", key);
+                        return perform(takenOver, creation);
+                    }
+                }
+            }
+
+            // Every further attempt waits for a while, within the deadline, so as not to spin against the database.
+            if (java.lang.System.nanoTime() >= deadline) {
+                log.info("Idempotency key '{}' is still being processed by another request.", key);
+                return new SystemResponseWrapper(ResponseCode.CONFLICT, SystemErrorMessages.IDEMPOTENCY_KEY_IN_PROGRESS.toString(),
+                        null, SystemErrorMessages.IDEMPOTENCY_KEY_IN_PROGRESS);
+            }
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new SystemResponseWrapper(ResponseCode.CONFLICT, SystemErrorMessages.IDEMPOTENCY_KEY_IN_PROGRESS.toString(),
+                        null, SystemErrorMessages.IDEMPOTENCY_KEY_IN_PROGRESS);
+            }
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that attempts to claim an idempotency key.
+     *
+     * @param key The idempotency key, not null.
+     * @param fingerprint The hash of the contents of the request, not null.
+     * @return The claim, or null if the key has already been claimed.
+     *****************************************************************************************************************/
+    private SystemIdempotencyRecord claim(String key, String fingerprint) {
+        try {
+            return template.insert(new SystemIdempotencyRecord(key, fingerprint, false, null, now()));
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that atomically takes over an abandoned claim, unless another request has already done so.
+     *
+     * @param abandoned The claim as last read, not null.
+     * @return The renewed claim, or null if the claim has changed meanwhile.
+     *****************************************************************************************************************/
+    private SystemIdempotencyRecord takeOver(SystemIdempotencyRecord abandoned) {
+        return template.findAndModify(heldBy(abandoned), new Update().set("creationDate", now()),
+                FindAndModifyOptions.options().returnNew(true), SystemIdempotencyRecord.class);
+    }
+
+    /******************************************************************************************************************
+     * Method that performs the creation of a claimed key and records its outcome, or releases the key if the outcome
+     * reports a server error.
+     *
+     * @param claimed The claim, not null.
+     * @param creation The function performing the creation and reporting its outcome, not null.
+     * @return The outcome of the creation.
+     *****************************************************************************************************************/
+    private SystemResponseWrapper perform(SystemIdempotencyRecord claimed, Supplier<SystemResponseWrapper> creation) {
+
+        SystemResponseWrapper outcome;
+        try {
+            outcome = creation.get();
+        } catch (RuntimeException e) {
+            release(claimed);
+            throw e;
+        }
+
+        if (outcome == null
+                || outcome.getCode().equals(ResponseCode.ERROR)
+                || outcome.getCode().equals(ResponseCode.UNDEFINED)) {
+            release(claimed);
+            return outcome;
+        }
+
+        UpdateResult result = template.updateFirst(heldBy(claimed),
+                new Update().set("completed", true).set("outcome", SystemIdempotencyOutcome.of(outcome)),
+                SystemIdempotencyRecord.class);
+        if (result.getMatchedCount() == 0) {
+            log.warn("Idempotency key '{}' has been claimed anew before its outcome was recorded; the creation may have been performed twice (outcome: {}).",
+                    claimed.getKey(), outcome.getResponse() != null ? outcome.getResponse().getId() : outcome.getCode());
+            return superseded(claimed);
+        }
+        return outcome;
+    }
+
+    /******************************************************************************************************************
+     * Method that reports the outcome of a key whose claim has been taken over by another request, so that the client
+     * gets the same outcome as every replay of the request.
+     *
+     * @param claimed The claim that has been taken over, not null.
+     * @return The outcome recorded by the current holder of the key, or a wrapper reporting that the key is still
+     * being processed (CONFLICT).
+     *****************************************************************************************************************/
+    private SystemResponseWrapper superseded(SystemIdempotencyRecord claimed) {
+        SystemIdempotencyRecord current = template.findById(claimed.getKey(), SystemIdempotencyRecord.class);
+        if (current != null && current.isCompleted() && current.getFingerprint().equals(claimed.getFingerprint())) {
+            return current.getOutcome().toWrapper();
+        }
+        return new SystemResponseWrapper(ResponseCode.CONFLICT, SystemErrorMessages.IDEMPOTENCY_KEY_IN_PROGRESS.toString(),
+                null, SystemErrorMessages.IDEMPOTENCY_KEY_IN_PROGRESS);
+    }
+
+    /******************************************************************************************************************
+     * Method that releases a claimed key without outcome, so that the request may be retried.
+     *
+     * @param claimed The claim, not null.
+     *****************************************************************************************************************/
+    private void release(SystemIdempotencyRecord claimed) {
+        try {
+            template.remove(heldBy(claimed), SystemIdempotencyRecord.class);
+        } catch (Exception e) {
+            log.warn("Failed to release idempotency key '{}': {}", claimed.getKey(), e.getMessage());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that builds the query matching a claim as long as it is still held, i.e. it has neither been completed
+     * nor taken over by another request (which renews its date).
+     *
+     * @param claimed The claim, not null.
+     * @return The query.
+     *****************************************************************************************************************/
+    private static Query heldBy(SystemIdempotencyRecord claimed) {
+        return new Query(Criteria.where("_id").is(claimed.getKey())
+                .and("completed").is(false)
+                .and("creationDate").is(claimed.getCreationDate()));
+    }
+
+    /******************************************************************************************************************
+     * Method that provides the current date and time at the precision stored by the database, so that a claim can be
+     * matched by the date it holds.
+     *
+     * @return The current date and time, truncated to milliseconds.
+     *****************************************************************************************************************/
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+}
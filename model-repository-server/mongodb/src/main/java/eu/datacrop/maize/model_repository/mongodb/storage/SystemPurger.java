@@ -0,0 +1,220 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import com.mongodb.client.model.Filters;
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.outbox.SystemOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**********************************************************************************************************************
+ * This class purges (soft) deleted IoT Systems from the database. Deletions merely mark Systems with the date of their
+ * deletion, which hides them from every read, so that deleting a System (or all of them) takes a single write,
+ * regardless of the size of the collection. A single background thread then removes the marked Systems, along with
+ * their detached additional information, in batches of limited size separated by a pause, so that purging never
+ * monopolizes the database. Marked Systems are found through a partial index holding the marked Systems only. Opt-in,
+ * though always enabled along with the outbox, which keeps the deletions of Systems in their documents until relayed
+ * (marked Systems are then purged only once their changes have been delivered); meant to run on a single instance of
+ * the server.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemPurger {
+
+    @Autowired
+    MongoTemplate template;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    SystemAdditionalInformationStore additionalInformationStore;
+
+    /******************************************************************************************************************
+     * Whether deletions of Systems are soft (marking them as deleted) and purged in the background.
+     *****************************************************************************************************************/
+    @Value("${model-repository.soft-delete.enabled:false}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * Whether the changes to Systems are recorded in the outbox, which requires deletions to be soft.
+     *****************************************************************************************************************/
+    @Value("${model-repository.outbox.enabled:false}")
+    private boolean outboxEnabled;
+
+    /******************************************************************************************************************
+     * Whether this instance of the server purges the (soft) deleted Systems.
+     *****************************************************************************************************************/
+    @Value("${model-repository.soft-delete.purge.enabled:true}")
+    private boolean purgeEnabled;
+
+    /******************************************************************************************************************
+     * The time (in milliseconds) for which a deleted System is kept before it becomes eligible for purging.
+     *****************************************************************************************************************/
+    @Value("${model-repository.soft-delete.purge.delay-ms:60000}")
+    private long delayMillis;
+
+    /******************************************************************************************************************
+     * The maximum number of Systems purged per batch.
+     *****************************************************************************************************************/
+    @Value("${model-repository.soft-delete.purge.batch-size:500}")
+    private int batchSize;
+
+    /******************************************************************************************************************
+     * The pause (in milliseconds) between consecutive batches, which limits the rate of purging.
+     *****************************************************************************************************************/
+    @Value("${model-repository.soft-delete.purge.interval-ms:200}")
+    private long intervalMillis;
+
+    /******************************************************************************************************************
+     * The time (in milliseconds) that the purger waits before checking again, once nothing is left to purge.
+     *****************************************************************************************************************/
+    @Value("${model-repository.soft-delete.purge.poll-ms:5000}")
+    private long pollMillis;
+
+    /******************************************************************************************************************
+     * The background thread purging the deleted Systems, null while not running.
+     *****************************************************************************************************************/
+    private Thread worker;
+
+    /******************************************************************************************************************
+     * Whether the purger is running.
+     *****************************************************************************************************************/
+    private volatile boolean running;
+
+    /******************************************************************************************************************
+     * The number of Systems purged.
+     *****************************************************************************************************************/
+    private Counter purged;
+
+    /******************************************************************************************************************
+     * Method that creates the partial index of the deleted Systems, registers the metrics and starts the background
+     * thread, if soft deletion is enabled (and purged by this instance).
+     *****************************************************************************************************************/
+    @PostConstruct
+    public synchronized void start() {
+        if (!isEnabled() || running) {
+            return;
+        }
+        try {
+            template.indexOps(System.class).ensureIndex(new Index().on("deletedAt", Sort.Direction.ASC)
+                    .partial(PartialIndexFilter.of(Criteria.where("deletedAt").exists(true))));
+        } catch (Exception e) {
+            log.warn("Failed to create the index of deleted Systems: {}", e.getMessage());
+        }
+        purged = Counter.builder("model_repository.system.purged")
+                .description("The number of deleted Systems purged from the database.")
+                .register(meterRegistry);
+        if (!purgeEnabled) {
+            return;
+        }
+
+        running = true;
+        worker = new Thread(this::run, "system-purger");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Purging deleted Systems in batches of {} every {} ms.", batchSize, intervalMillis);
+    }
+
+    /******************************************************************************************************************
+     * Method that reports whether deletions of Systems are soft.
+     *
+     * @return TRUE if deleted Systems are marked and purged in the background, FALSE if they are removed at once.
+     *****************************************************************************************************************/
+    public boolean isEnabled() {
+        return enabled || outboxEnabled;
+    }
+
+    /******************************************************************************************************************
+     * Method that stops the background thread. Deleted Systems not yet purged remain marked for the next start.
+     *****************************************************************************************************************/
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+        log.info("Purging of deleted Systems has been shut down.");
+    }
+
+    /******************************************************************************************************************
+     * Method executed by the background thread: purges batches until shut down, pausing between batches and waiting
+     * longer once nothing is left to purge.
+     *****************************************************************************************************************/
+    private void run() {
+
+        while (running) {
+            long pause;
+            try {
+                pause = (purgeBatch() < batchSize) ? pollMillis : intervalMillis;
+            } catch (Exception e) {
+                log.warn("Failed to purge deleted Systems, retrying in {} ms: {}", pollMillis, e.getMessage());
+                pause = pollMillis;
+            }
+            try {
+                Thread.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that removes the earliest deleted Systems, as a single batch, along with their detached additional
+     * information. Systems whose changes have not been relayed yet are kept. The removal bypasses the mapping events,
+     * since the deletions have been announced when marked.
+     *
+     * @return The number of Systems purged.
+     *****************************************************************************************************************/
+    public int purgeBatch() {
+
+        Query query = new Query(Criteria.where("deletedAt").exists(true).lte(LocalDateTime.now().minus(Duration.ofMillis(delayMillis)))
+                .and(SystemOutbox.OCCURRED_AT).exists(false))
+                .with(Sort.by(Sort.Direction.ASC, "deletedAt"))
+                .limit(batchSize);
+        query.fields().include("_id");
+        List<String> databaseIDs = template.find(query, System.class).stream().map(System::getId).toList();
+        if (databaseIDs.isEmpty()) {
+            return 0;
+        }
+
+        long removed = template.getCollection(template.getCollectionName(System.class))
+                .deleteMany(Filters.and(Filters.in("_id", databaseIDs), Filters.exists("deletedAt"),
+                        Filters.exists(SystemOutbox.OCCURRED_AT, false)))
+                .getDeletedCount();
+        additionalInformationStore.deleteAll(databaseIDs);
+
+        purged.increment(removed);
+        log.debug("Purged a batch of {} deleted Systems.", removed);
+        return databaseIDs.size();
+    }
+}
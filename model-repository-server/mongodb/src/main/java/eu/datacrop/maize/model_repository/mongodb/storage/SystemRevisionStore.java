@@ -0,0 +1,353 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.SystemRevision;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**********************************************************************************************************************
+ * This class keeps the revision history of IoT Systems, so that the state of a System at a past date may be
+ * reconstructed. Each write of a System is recorded as its changes since the prior version, while every n-th version
+ * (and the creation) is recorded in full, which bounds both the storage overhead (about one full copy per n versions)
+ * and the number of changes replayed per reconstruction (fewer than n). Deletions (including those of all Systems) are
+ * recorded as markers, so that the history of deleted Systems remains available up to their deletion. Opt-in, since it
+ * adds writes to every write.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemRevisionStore {
+
+    @Autowired
+    MongoTemplate template;
+
+    /******************************************************************************************************************
+     * Whether the revisions of Systems are recorded.
+     *****************************************************************************************************************/
+    @Value("${model-repository.revisions.enabled:false}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * The number of versions between consecutive snapshots.
+     *****************************************************************************************************************/
+    @Value("${model-repository.revisions.snapshot-interval:10}")
+    private int snapshotInterval;
+
+    /******************************************************************************************************************
+     * The attributes of the stored Systems that are not part of their revisions.
+     *****************************************************************************************************************/
+    private static final Set<String> EXCLUDED_ATTRIBUTES = Set.of("_id", "_class", "version");
+
+    /******************************************************************************************************************
+     * The attribute holding the additional information, whose entries are recorded as added or removed.
+     *****************************************************************************************************************/
+    private static final String INFORMATION = "additionalInformation";
+
+    /******************************************************************************************************************
+     * Method that creates the index by which the revisions of a System are looked up.
+     *****************************************************************************************************************/
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            template.indexOps(SystemRevision.class).ensureIndex(new Index()
+                    .on("systemId", Sort.Direction.ASC).on("version", Sort.Direction.DESC));
+        } catch (Exception e) {
+            log.warn("Failed to create the index of System revisions: {}", e.getMessage());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that reports whether the revisions of Systems are recorded.
+     *
+     * @return TRUE if the revision history is enabled, FALSE otherwise.
+     *****************************************************************************************************************/
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /******************************************************************************************************************
+     * Method that records the creation of a System, in full. Failures are logged, since the System has already been
+     * persisted.
+     *
+     * @param created The System as persisted, with its first version, not null.
+     *****************************************************************************************************************/
+    public void recordCreation(System created) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            template.insert(snapshot(created.getId(), created.getVersion(), validFrom(created), toState(created)));
+        } catch (Exception e) {
+            log.error("Failed to record the creation of System with ID '{}' in its history: {}", created.getId(), e.getMessage());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that records an update of a System, as its changes since the prior version (or in full, every n-th
+     * version). If the prior version is missing from the history (e.g. written before the history was enabled, or
+     * not recorded due to failure), it is recorded in full first, so that the chain of changes is never broken.
+     * Failures are logged, since the System has already been persisted.
+     *
+     * @param previous The System as it was before the update, not null.
+     * @param current The System as persisted by the update, with its new version, not null.
+     *****************************************************************************************************************/
+    public void recordUpdate(System previous, System current) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long version = current.getVersion();
+            Document before = toState(previous);
+            Document after = toState(current);
+            if (version % snapshotInterval == 0) {
+                template.insert(snapshot(current.getId(), version, validFrom(current), after));
+                return;
+            }
+
+            if (!template.exists(new Query(Criteria.where("_id").is(revisionId(current.getId(), version - 1))), SystemRevision.class)) {
+                template.insert(snapshot(current.getId(), version - 1, validFrom(previous), before));
+            }
+            template.insert(changes(current.getId(), version, validFrom(current), before, after));
+        } catch (Exception e) {
+            log.error("Failed to record the update of System with ID '{}' in its history: {}", current.getId(), e.getMessage());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that records the deletion of a System. Failures are logged, since the System has already been deleted.
+     *
+     * @param deleted The System as it was before the deletion, not null.
+     *****************************************************************************************************************/
+    public void recordDeletion(System deleted) {
+        if (!enabled) {
+            return;
+        }
+        long version = (deleted.getVersion() != null) ? deleted.getVersion() + 1 : 1L;
+        try {
+            template.insert(new SystemRevision(revisionId(deleted.getId(), version), deleted.getId(), version,
+                    LocalDateTime.now(), false, true, null, null, null, null, null));
+        } catch (Exception e) {
+            log.error("Failed to record the deletion of System with ID '{}' in its history: {}", deleted.getId(), e.getMessage());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that records the deletion of the Systems matching the given criteria, which are about to be deleted (in
+     * bulk), while keeping their history. The markers are produced by a single aggregation that writes one marker per
+     * System into the history on the database side, so that the Systems are never loaded. Markers already recorded
+     * (e.g. by a deletion executed anew) are kept. Failures are logged, so that the deletion itself proceeds.
+     *
+     * @param criteria The criteria selecting the Systems about to be deleted, not null.
+     *****************************************************************************************************************/
+    public void recordDeletions(Criteria criteria) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            template.aggregate(Aggregation.newAggregation(Aggregation.match(criteria), markDeleted(),
+                    Aggregation.merge().intoCollection(template.getCollectionName(SystemRevision.class))
+                            .whenMatched(MergeOperation.WhenDocumentsMatch.keepExistingDocument())
+                            .whenDocumentsDontMatch(MergeOperation.WhenDocumentsDontMatch.insertNewDocument()).build()),
+                    template.getCollectionName(System.class), Document.class);
+        } catch (Exception e) {
+            log.error("Failed to record the deletion of Systems in their history: {}", e.getMessage());
+        }
+    }
+
+    /******************************************************************************************************************
+     * Method that reconstructs the state of a System at a past date, by replaying the changes recorded after the
+     * nearest snapshot up to the latest version written until that date.
+     *
+     * @param databaseID The UUID of the System, not null.
+     * @param asOf The date and time of interest, not null.
+     * @return The System as it was at the requested date, or null if it did not exist then (or its history is
+     * incomplete).
+     *****************************************************************************************************************/
+    public System reconstruct(String databaseID, LocalDateTime asOf) {
+
+        // Finding the latest version written until the requested date.
+        SystemRevision target = template.findOne(new Query(Criteria.where("systemId").is(databaseID).and("validFrom").lte(asOf))
+                .with(Sort.by(Sort.Direction.DESC, "version")).limit(1), SystemRevision.class);
+        if (target == null || target.isDeleted()) {
+            return null;
+        }
+
+        // Collecting the revisions since the snapshot preceding that version (a snapshot is taken every n versions).
+        long earliest = target.getVersion() - Math.floorMod(target.getVersion(), snapshotInterval);
+        List<SystemRevision> revisions = template.find(new Query(Criteria.where("systemId").is(databaseID)
+                        .and("version").gte(earliest).lte(target.getVersion()))
+                .with(Sort.by(Sort.Direction.ASC, "version")), SystemRevision.class);
+        int start = -1;
+        for (int i = revisions.size() - 1; i >= 0 && start < 0; i--) {
+            if (revisions.get(i).isSnapshot()) {
+                start = i;
+            }
+        }
+        if (start < 0 || revisions.size() - start != target.getVersion() - revisions.get(start).getVersion() + 1) {
+            log.warn("The history of System with ID '{}' is incomplete up to version {}.", databaseID, target.getVersion());
+            return null;
+        }
+
+        // Replaying the changes on top of the snapshot.
+        Document state = new Document(revisions.get(start).getState());
+        for (SystemRevision revision : revisions.subList(start + 1, revisions.size())) {
+            apply(state, revision);
+        }
+        state.put("_id", databaseID);
+        state.put("version", target.getVersion());
+        return template.getConverter().read(System.class, state);
+    }
+
+    /******************************************************************************************************************
+     * Method that produces the identifier of a revision.
+     *
+     * @param databaseID The UUID of the System, not null.
+     * @param version The version of the System, not null.
+     * @return The identifier of the revision.
+     *****************************************************************************************************************/
+    private static String revisionId(String databaseID, long version) {
+        return databaseID + ":" + version;
+    }
+
+    /******************************************************************************************************************
+     * Method that produces the aggregation stage turning each System into the marker of its deletion, as produced by
+     * recordDeletion() (i.e. with the version following that of the System, valid from the current date and time).
+     *
+     * @return The aggregation stage.
+     *****************************************************************************************************************/
+    private static AggregationOperation markDeleted() {
+        Document version = new Document("$add", List.of(new Document("$ifNull", Arrays.asList("$version", 0L)), 1L));
+        return context -> new Document("$project", new Document("_id", new Document("$concat", List.of("$_id", ":", new Document("$toString", version))))
+                .append("systemId", "$_id")
+                .append("version", version)
+                .append("validFrom", "$$NOW")
+                .append("snapshot", false)
+                .append("deleted", true));
+    }
+
+    /******************************************************************************************************************
+     * Method that produces the date and time from which the state of a System holds.
+     *
+     * @param entity The System, not null.
+     * @return Its latest update date, else its creation date, else the current date and time.
+     *****************************************************************************************************************/
+    private static LocalDateTime validFrom(System entity) {
+        if (entity.getLatestUpdateDate() != null) {
+            return entity.getLatestUpdateDate();
+        }
+        return (entity.getCreationDate() != null) ? entity.getCreationDate() : LocalDateTime.now();
+    }
+
+    /******************************************************************************************************************
+     * Method that produces the state of a System as stored in the database, without the attributes not revised.
+     *
+     * @param entity The System, not null.
+     * @return The state of the System.
+     *****************************************************************************************************************/
+    private Document toState(System entity) {
+        Document state = new Document();
+        template.getConverter().write(entity, state);
+        EXCLUDED_ATTRIBUTES.forEach(state::remove);
+        return state;
+    }
+
+    /******************************************************************************************************************
+     * Method that produces a revision holding the full state of a System.
+     *
+     * @param databaseID The UUID of the System, not null.
+     * @param version The version of the System that the revision produces.
+     * @param validFrom The date and time from which the revision holds, not null.
+     * @param state The state of the System, not null.
+     * @return The revision.
+     *****************************************************************************************************************/
+    private static SystemRevision snapshot(String databaseID, long version, LocalDateTime validFrom, Document state) {
+        return new SystemRevision(revisionId(databaseID, version), databaseID, version, validFrom, true, false,
+                state, null, null, null, null);
+    }
+
+    /******************************************************************************************************************
+     * Method that produces a revision holding the changes of a System since its prior version.
+     *
+     * @param databaseID The UUID of the System, not null.
+     * @param version The version of the System that the revision produces.
+     * @param validFrom The date and time from which the revision holds, not null.
+     * @param before The state of the System at the prior version, not null.
+     * @param after The state of the System at the version produced, not null.
+     * @return The revision.
+     *****************************************************************************************************************/
+    private static SystemRevision changes(String databaseID, long version, LocalDateTime validFrom, Document before, Document after) {
+
+        Document changes = new Document();
+        List<String> removals = new ArrayList<>();
+        Set<String> attributes = new HashSet<>(before.keySet());
+        attributes.addAll(after.keySet());
+        attributes.remove(INFORMATION);
+        for (String attribute : attributes) {
+            if (!after.containsKey(attribute)) {
+                removals.add(attribute);
+            } else if (!Objects.equals(after.get(attribute), before.get(attribute))) {
+                changes.put(attribute, after.get(attribute));
+            }
+        }
+
+        List<?> informationBefore = before.get(INFORMATION, List.class) != null ? before.get(INFORMATION, List.class) : List.of();
+        List<?> informationAfter = after.get(INFORMATION, List.class) != null ? after.get(INFORMATION, List.class) : List.of();
+        List<Object> added = informationAfter.stream().filter(entry -> !informationBefore.contains(entry)).map(Object.class::cast).toList();
+        List<Object> removed = informationBefore.stream().filter(entry -> !informationAfter.contains(entry)).map(Object.class::cast).toList();
+
+        return new SystemRevision(revisionId(databaseID, version), databaseID, version, validFrom, false, false,
+                null, changes, removals, added, removed);
+    }
+
+    /******************************************************************************************************************
+     * Method that applies the changes of a revision to the state of a System.
+     *
+     * @param state The state of the System at the prior version, modified in place, not null.
+     * @param revision The revision to apply, not null.
+     *****************************************************************************************************************/
+    private static void apply(Document state, SystemRevision revision) {
+
+        if (revision.getChanges() != null) {
+            state.putAll(revision.getChanges());
+        }
+        if (revision.getRemovals() != null) {
+            revision.getRemovals().forEach(state::remove);
+        }
+
+        List<Object> information = new ArrayList<>(state.get(INFORMATION, List.class) != null ? state.get(INFORMATION, List.class) : List.of());
+        if (revision.getRemovedInformation() != null) {
+            information.removeAll(revision.getRemovedInformation());
+        }
+        if (revision.getAddedInformation() != null) {
+            information.addAll(revision.getAddedInformation());
+        }
+        state.put(INFORMATION, information);
+    }
+}
@@ -0,0 +1,187 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import eu.datacrop.maize.model_repository.commons.dtos.requests.SystemRequestDto;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**********************************************************************************************************************
+ * This class merges rapid successive updates of the same IoT System into a single write (last writer wins). The first
+ * update of a System opens a short window, during which further updates of the same System only replace the values
+ * to be written. Once the window closes, the latest values are written once and every caller of the window receives
+ * the resulting state. Writes of the same System never overlap, so the windows are applied in the order they close.
+ * Opt-in, since callers observe the outcome of the latest update rather than their own.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemUpdateCoalescer {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    /******************************************************************************************************************
+     * Whether the updates of Systems are coalesced.
+     *****************************************************************************************************************/
+    @Value("${model-repository.update-coalescing.enabled:false}")
+    private boolean enabled;
+
+    /******************************************************************************************************************
+     * The duration (in milliseconds) of the window during which the updates of a System are merged.
+     *****************************************************************************************************************/
+    @Value("${model-repository.update-coalescing.window-ms:20}")
+    private long windowMillis;
+
+    /******************************************************************************************************************
+     * The open windows, by databaseID (guarded by their own monitor).
+     *****************************************************************************************************************/
+    private final Map<String, Window> windows = new HashMap<>();
+
+    /******************************************************************************************************************
+     * Locks serializing the writes of the same System (each lock covers the Systems whose identifiers hash to it).
+     *****************************************************************************************************************/
+    private final ReentrantLock[] stripes = new ReentrantLock[64];
+
+    /******************************************************************************************************************
+     * The number of updates merged into the write of another update.
+     *****************************************************************************************************************/
+    private Counter coalesced;
+
+    /******************************************************************************************************************
+     * The number of writes performed on behalf of windows.
+     *****************************************************************************************************************/
+    private Counter flushes;
+
+    /******************************************************************************************************************
+     * The updates of a System collected during a window.
+     *****************************************************************************************************************/
+    private static class Window {
+
+        /**************************************************************************************************************
+         * The latest values of the System, to be written once the window closes.
+         *************************************************************************************************************/
+        private SystemRequestDto latest;
+
+        /**************************************************************************************************************
+         * The number of updates collected.
+         *************************************************************************************************************/
+        private int updates;
+
+        /**************************************************************************************************************
+         * The outcome of the write, shared by all callers of the window.
+         *************************************************************************************************************/
+        private final CompletableFuture<SystemResponseWrapper> result = new CompletableFuture<>();
+    }
+
+    /******************************************************************************************************************
+     * Method that initializes the locks and registers the metrics.
+     *****************************************************************************************************************/
+    @PostConstruct
+    public void initialize() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        coalesced = Counter.builder("model_repository.system.update.coalesced")
+                .description("The number of System updates merged into the write of a later update.")
+                .register(meterRegistry);
+        flushes = Counter.builder("model_repository.system.update.flushes")
+                .description("The number of writes performed for windows of coalesced System updates.")
+                .register(meterRegistry);
+    }
+
+    /******************************************************************************************************************
+     * Method that reports whether the updates of Systems are coalesced (and should therefore be submitted here).
+     *
+     * @return TRUE if coalescing is enabled, FALSE otherwise.
+     *****************************************************************************************************************/
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /******************************************************************************************************************
+     * Method that submits an update of a System, blocking until the window it joined has been written. The caller
+     * that opened the window performs the write, using the values of the latest update of the window.
+     *
+     * @param databaseID The UUID of the updated System, not null.
+     * @param requestDto The new values of the System, not null.
+     * @param writer The function writing the latest values of the System and reporting the outcome, not null.
+     * @return The outcome of the write of the window, shared by all of its callers.
+     *****************************************************************************************************************/
+    public SystemResponseWrapper update(String databaseID, SystemRequestDto requestDto,
+                                        Function<SystemRequestDto, SystemResponseWrapper> writer) {
+
+        // Joining the open window of the System, or opening a new one.
+        Window window;
+        boolean opened = false;
+        synchronized (windows) {
+            window = windows.get(databaseID);
+            if (window == null) {
+                window = new Window();
+                windows.put(databaseID, window);
+                opened = true;
+            }
+            window.latest = requestDto;
+            window.updates++;
+        }
+
+        if (!opened) {
+            try {
+                return window.result.join();
+            } catch (CompletionException e) {
+                throw (e.getCause() instanceof RuntimeException cause) ? cause : e;
+            }
+        }
+
+        // Letting further updates join the window.
+        try {
+            Thread.sleep(windowMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Closing the window while holding the lock of the System, so that the next window is written after this one.
+        ReentrantLock lock = stripes[Math.floorMod(databaseID.hashCode(), stripes.length)];
+        lock.lock();
+        try {
+            SystemRequestDto latest;
+            int updates;
+            synchronized (windows) {
+                windows.remove(databaseID);
+                latest = window.latest;
+                updates = window.updates;
+            }
+
+            SystemResponseWrapper wrapper;
+            try {
+                wrapper = writer.apply(latest);
+            } catch (RuntimeException e) {
+                window.result.completeExceptionally(e);
+                throw e;
+            }
+            window.result.complete(wrapper);
+
+            flushes.increment();
+            coalesced.increment(updates - 1);
+            log.debug("Wrote {} coalesced update(s) of System with ID: '{}'.", updates, databaseID);
+            return wrapper;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import com.mongodb.WriteConcern;
+import eu.datacrop.maize.model_repository.commons.util.WriteConcernOverride;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoAction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.WriteConcernResolver;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Locale;
+
+/**********************************************************************************************************************
+ * This class decides the write concern (acknowledgement mode) of every write performed through the MongoTemplate,
+ * so that durability may be traded for latency per type of operation: creations (inserts), updates (writes of a
+ * single existing document), deletions (removals of a single document) and bulk operations (writes of many
+ * documents at once). A write concern requested by the client for the current thread (see WriteConcernOverride)
+ * takes precedence over the configuration.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Component
+@Profile("devmongo")
+public class SystemWriteConcernResolver implements WriteConcernResolver {
+
+    @Autowired
+    MongoTemplate template;
+
+    /******************************************************************************************************************
+     * The name of the write concern of creations.
+     *****************************************************************************************************************/
+    @Value("${model-repository.write-concern.create:acknowledged}")
+    private String create;
+
+    /******************************************************************************************************************
+     * The name of the write concern of updates.
+     *****************************************************************************************************************/
+    @Value("${model-repository.write-concern.update:acknowledged}")
+    private String update;
+
+    /******************************************************************************************************************
+     * The name of the write concern of deletions.
+     *****************************************************************************************************************/
+    @Value("${model-repository.write-concern.delete:acknowledged}")
+    private String delete;
+
+    /******************************************************************************************************************
+     * The name of the write concern of bulk operations.
+     *****************************************************************************************************************/
+    @Value("${model-repository.write-concern.bulk:acknowledged}")
+    private String bulk;
+
+    /******************************************************************************************************************
+     * The write concerns per type of operation, resolved from their names.
+     *****************************************************************************************************************/
+    private WriteConcern createConcern;
+    private WriteConcern updateConcern;
+    private WriteConcern deleteConcern;
+    private WriteConcern bulkConcern;
+
+    /******************************************************************************************************************
+     * Method that resolves the configured write concerns and registers the resolver to the MongoTemplate.
+     *
+     * @throws IllegalStateException if a configured write concern is unknown.
+     *****************************************************************************************************************/
+    @PostConstruct
+    public void initialize() throws IllegalStateException {
+        createConcern = toWriteConcern(create);
+        updateConcern = toWriteConcern(update);
+        deleteConcern = toWriteConcern(delete);
+        bulkConcern = toWriteConcern(bulk);
+        template.setWriteConcernResolver(this);
+        log.info("Write concerns configured: create '{}', update '{}', delete '{}', bulk '{}'.", create, update, delete, bulk);
+    }
+
+    /******************************************************************************************************************
+     * Method that decides the write concern of a write.
+     *
+     * @param action The write about to be performed, not null.
+     * @return The write concern of the write.
+     *****************************************************************************************************************/
+    @Override
+    public WriteConcern resolve(MongoAction action) {
+
+        // A write concern requested by the client prevails.
+        String override = WriteConcernOverride.get();
+        if (override != null) {
+            WriteConcern requested = WriteConcern.valueOf(override);
+            if (requested != null) {
+                return requested;
+            }
+        }
+
+        return switch (action.getMongoActionOperation()) {
+            case INSERT, INSERT_LIST -> createConcern;
+            case SAVE -> updateConcern;
+            case UPDATE -> targetsSingleDocument(action.getQuery()) ? updateConcern : bulkConcern;
+            case REMOVE -> targetsSingleDocument(action.getQuery()) ? deleteConcern : bulkConcern;
+            case BULK -> bulkConcern;
+        };
+    }
+
+    /******************************************************************************************************************
+     * Method that checks whether the filter of a write selects a single document by its identifier.
+     *
+     * @param query The filter of the write, may be null.
+     * @return TRUE if the filter selects a document by an exact identifier, FALSE otherwise.
+     *****************************************************************************************************************/
+    private static boolean targetsSingleDocument(Document query) {
+        return query != null && query.get("_id") != null && !(query.get("_id") instanceof Document);
+    }
+
+    /******************************************************************************************************************
+     * Method that resolves the name of a write concern (acknowledged, unacknowledged, w1, w2, w3, journaled or
+     * majority, case-insensitive).
+     *
+     * @param name The name of the write concern, not null.
+     * @return The write concern.
+     *
+     * @throws IllegalStateException if the name is unknown.
+     *****************************************************************************************************************/
+    private static WriteConcern toWriteConcern(String name) throws IllegalStateException {
+        WriteConcern writeConcern = WriteConcernOverride.isValidWriteConcern(name) ? WriteConcern.valueOf(name.trim().toUpperCase(Locale.ROOT)) : null;
+        if (writeConcern == null) {
+            throw new IllegalStateException("Unknown write concern configured: '" + name + "'.");
+        }
+        return writeConcern;
+    }
+}
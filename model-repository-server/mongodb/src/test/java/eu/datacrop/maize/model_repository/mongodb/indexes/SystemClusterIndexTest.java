@@ -0,0 +1,135 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.Location;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+
+class SystemClusterIndexTest {
+
+    SystemClusterIndex index;
+
+    List<System> systems;
+
+    @BeforeEach
+    void setUp() {
+        // Creating a few thousand Systems around Greece, plus a purely virtual one.
+        Random random = new Random(42);
+        systems = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            systems.add(createSystem("System" + i, 34.0 + random.nextDouble() * 8.0, 19.0 + random.nextDouble() * 10.0));
+        }
+        System virtual = createSystem("Virtual", 0.0, 0.0);
+        virtual.getLocation().setVirtualLocation("127.00.00.01:8080");
+        systems.add(virtual);
+
+        index = new SystemClusterIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.rebuild(systems);
+    }
+
+    @Test
+    void findClusters() {
+
+        // Testing that every zoom level accounts for all Systems within a world-wide viewport.
+        for (int zoom = 0; zoom <= ClusterGrid.MAX_ZOOM; zoom++) {
+            List<ClusterGrid.Cluster> clusters = index.findClusters(zoom, -85.0, -180.0, 85.0, 180.0);
+            Assertions.assertEquals(5000, count(clusters), "The clusters do not account for all Systems at zoom level " + zoom + ":");
+        }
+
+        // Testing that clusters get finer as the zoom level increases.
+        Assertions.assertEquals(1, index.findClusters(0, -85.0, -180.0, 85.0, 180.0).size(), "Zoom level 0 has not produced a single cluster:");
+        Assertions.assertTrue(index.findClusters(10, -85.0, -180.0, 85.0, 180.0).size() > index.findClusters(5, -85.0, -180.0, 85.0, 180.0).size(),
+                "Higher zoom levels have not produced finer clusters:");
+
+        // Testing that the centroid of a single cluster is the mean of its Systems.
+        ClusterGrid.Cluster cluster = index.findClusters(0, -85.0, -180.0, 85.0, 180.0).get(0);
+        double meanLongitude = systems.stream().filter(s -> s.getLocation().hasGeoLocation())
+                .mapToDouble(s -> s.getLocation().getLongitude()).average().orElse(0.0);
+        Assertions.assertEquals(meanLongitude, cluster.getLongitude(), 1.0e-6, "The centroid of the cluster is erroneous:");
+
+        // Testing the viewport filtering (viewport away from the Systems).
+        Assertions.assertTrue(index.findClusters(10, -40.0, -70.0, -30.0, -60.0).isEmpty(), "Clusters have been retrieved outside the viewport:");
+    }
+
+    @Test
+    void clustersOfDatabaseCells() {
+
+        // Testing that grouping per cell of the projection (as the database does) yields the clusters of the index.
+        for (int zoom = 0; zoom <= ClusterGrid.MAX_ZOOM; zoom += 4) {
+            long cells = ClusterGrid.cellsPerSide(zoom);
+            Map<List<Long>, double[]> groups = new TreeMap<>(Comparator.<List<Long>, Long>comparing(cell -> cell.get(0)).thenComparing(cell -> cell.get(1)));
+            for (System system : systems) {
+                if (system.getLocation().hasGeoLocation()) {
+                    double x = (system.getLocation().getLongitude() + 180.0) / 360.0;
+                    double sin = Math.sin(Math.toRadians(system.getLocation().getLatitude()));
+                    double y = 0.5 - Math.log((1.0 + sin) / (1.0 - sin)) / (4.0 * Math.PI);
+                    double[] group = groups.computeIfAbsent(List.of((long) Math.floor(x * cells), (long) Math.floor(y * cells)), cell -> new double[3]);
+                    group[0]++;
+                    group[1] += x;
+                    group[2] += y;
+                }
+            }
+            List<ClusterGrid.Cluster> expected = index.findClusters(zoom, -85.0, -180.0, 85.0, 180.0);
+            Assertions.assertEquals(expected.size(), groups.size(), "The cells do not match the clusters at zoom level " + zoom + ":");
+            int i = 0;
+            for (double[] group : groups.values()) {
+                ClusterGrid.Cluster cluster = ClusterGrid.toCluster(group[1] / group[0], group[2] / group[0], (int) group[0], null);
+                Assertions.assertEquals(expected.get(i).getCount(), cluster.getCount(), "The cell has not counted the Systems of the cluster:");
+                Assertions.assertEquals(expected.get(i).getLatitude(), cluster.getLatitude(), 1.0e-6, "The centroid of the cell is erroneous:");
+                Assertions.assertEquals(expected.get(i).getLongitude(), cluster.getLongitude(), 1.0e-6, "The centroid of the cell is erroneous:");
+                i++;
+            }
+        }
+
+        // Testing that a cell of a single System carries its identifier.
+        Assertions.assertEquals("id", ClusterGrid.toCluster(0.5, 0.5, 1, "id").getId(), "The cell does not carry the identifier of the System:");
+        Assertions.assertNull(ClusterGrid.toCluster(0.5, 0.5, 2, "id").getId(), "The cell carries an identifier despite holding many Systems:");
+    }
+
+    @Test
+    void incrementalUpdates() {
+
+        // Inserting a System far from all others: it forms a cluster of its own, carrying its identifier.
+        System inserted = createSystem("Inserted", -30.0, -60.0);
+        index.onSaved(inserted);
+        List<ClusterGrid.Cluster> clusters = index.findClusters(8, -31.0, -61.0, -29.0, -59.0);
+        Assertions.assertEquals(1, clusters.size(), "The inserted System has not been clustered:");
+        Assertions.assertEquals(inserted.getId(), clusters.get(0).getId(), "The cluster does not carry the identifier of the System:");
+
+        // Moving an indexed System next to the inserted one.
+        System moved = systems.get(0);
+        moved.getLocation().setGeoLocation(-30.0001, -60.0, "");
+        index.onSaved(moved);
+        clusters = index.findClusters(8, -31.0, -61.0, -29.0, -59.0);
+        Assertions.assertEquals(1, clusters.size(), "The moved System has not joined the cluster:");
+        Assertions.assertEquals(2, clusters.get(0).getCount(), "The cluster has not counted the moved System:");
+        Assertions.assertNull(clusters.get(0).getId(), "The cluster carries an identifier despite holding many Systems:");
+        Assertions.assertEquals(5001, count(index.findClusters(3, -85.0, -180.0, 85.0, 180.0)), "The Systems have been counted twice:");
+
+        // Deleting the inserted System and turning the moved one into a virtual one.
+        index.onDeleted(inserted.getId());
+        moved.getLocation().setVirtualLocation("127.00.00.01:8080");
+        index.onSaved(moved);
+        Assertions.assertTrue(index.findClusters(8, -31.0, -61.0, -29.0, -59.0).isEmpty(), "Clusters of removed Systems have been retrieved:");
+        Assertions.assertEquals(4999, count(index.findClusters(3, -85.0, -180.0, 85.0, 180.0)), "The removed Systems have been counted:");
+
+        // Deleting everything.
+        index.onCleared();
+        Assertions.assertTrue(index.findClusters(0, -85.0, -180.0, 85.0, 180.0).isEmpty(), "Clusters of cleared Systems have been retrieved:");
+    }
+
+    private System createSystem(String name, double latitude, double longitude) {
+        System system = new System(name, "", "");
+        system.setLocation(new Location(latitude, longitude, ""));
+        return system;
+    }
+
+    private int count(List<ClusterGrid.Cluster> clusters) {
+        return clusters.stream().mapToInt(ClusterGrid.Cluster::getCount).sum();
+    }
+}
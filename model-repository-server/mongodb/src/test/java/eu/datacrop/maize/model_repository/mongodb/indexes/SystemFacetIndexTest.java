@@ -0,0 +1,96 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.Location;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+class SystemFacetIndexTest {
+
+    SystemFacetIndex index;
+
+    List<System> systems;
+
+    Random random;
+
+    @BeforeEach
+    void setUp() {
+        // Creating a few thousand Systems of a handful of organizations (or none), either geolocated or virtual.
+        random = new Random(42);
+        systems = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            systems.add(createSystem("System" + i));
+        }
+
+        index = new SystemFacetIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.rebuild(systems);
+    }
+
+    @Test
+    void getCounts() {
+
+        // Testing the counts against an exhaustive count.
+        assertCounts("The index has not counted the Systems:");
+    }
+
+    @Test
+    void incrementalUpdates() {
+
+        // Inserting, updating and deleting Systems at random, comparing against an exhaustive count after each batch.
+        for (int batch = 0; batch < 20; batch++) {
+            for (int i = 0; i < 100; i++) {
+                int operation = random.nextInt(3);
+                if (operation == 0) {
+                    System inserted = createSystem("Inserted" + batch + "-" + i);
+                    systems.add(inserted);
+                    index.onSaved(inserted);
+                } else if (operation == 1) {
+                    System updated = systems.get(random.nextInt(systems.size()));
+                    System changed = createSystem(updated.getName());
+                    updated.setOrganization(changed.getOrganization());
+                    updated.setLocation(changed.getLocation());
+                    index.onSaved(updated);
+                } else {
+                    index.onDeleted(systems.remove(random.nextInt(systems.size())).getId());
+                }
+            }
+            assertCounts("The index has not counted the Systems after incremental updates:");
+        }
+
+        // Deleting everything.
+        index.onCleared();
+        Assertions.assertEquals(0L, index.getCounts().getTotal(), "The index has counted cleared Systems:");
+        Assertions.assertTrue(index.getCounts().getOrganizations().isEmpty(), "The index has counted cleared Systems:");
+    }
+
+    private System createSystem(String name) {
+        System system = new System(name, "", random.nextInt(6) == 0 ? null : "Organization" + random.nextInt(5));
+        if (random.nextBoolean()) {
+            system.setLocation(new Location(34.0 + random.nextDouble() * 8.0, 19.0 + random.nextDouble() * 10.0, ""));
+        } else {
+            system.setLocation(new Location(0.0, 0.0, "127.00.00.01:8080"));
+        }
+        return system;
+    }
+
+    private void assertCounts(String message) {
+        FacetCounts counts = index.getCounts();
+        Map<String, Long> organizations = systems.stream()
+                .filter(s -> s.getOrganization() != null)
+                .collect(Collectors.groupingBy(System::getOrganization, Collectors.counting()));
+        long geoLocated = systems.stream().filter(s -> s.getLocation().hasGeoLocation()).count();
+
+        Assertions.assertEquals(organizations, counts.getOrganizations(), message);
+        Assertions.assertEquals(systems.size() - organizations.values().stream().mapToLong(Long::longValue).sum(),
+                counts.getWithoutOrganization(), message);
+        Assertions.assertEquals(geoLocated, counts.getGeoLocated(), message);
+        Assertions.assertEquals(systems.size() - geoLocated, counts.getVirtualLocated(), message);
+        Assertions.assertEquals(systems.size(), counts.getTotal(), message);
+    }
+}
@@ -0,0 +1,143 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.Location;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+class SystemGeohashIndexTest {
+
+    SystemGeohashIndex index;
+
+    List<System> systems;
+
+    @BeforeEach
+    void setUp() {
+        // Creating a few thousand Systems around Greece, plus a purely virtual one.
+        Random random = new Random(42);
+        systems = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            systems.add(createSystem("System" + i, 34.0 + random.nextDouble() * 8.0, 19.0 + random.nextDouble() * 10.0));
+        }
+        System virtual = createSystem("Virtual", 0.0, 0.0);
+        virtual.getLocation().setVirtualLocation("127.00.00.01:8080");
+        systems.add(virtual);
+
+        index = new SystemGeohashIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.rebuild(systems);
+    }
+
+    @Test
+    void encodeAndDecode() {
+
+        // Testing against a well-known geohash.
+        Assertions.assertEquals("u4pruydq", GeohashCounter.encode(57.64911, 10.40744, 8), "The geohash has not been properly encoded:");
+
+        double[] bounds = GeohashCounter.decodeBounds("u4pruydq");
+        Assertions.assertTrue(bounds[0] <= 57.64911 && 57.64911 <= bounds[2], "The latitude bounds have not been properly decoded:");
+        Assertions.assertTrue(bounds[1] <= 10.40744 && 10.40744 <= bounds[3], "The longitude bounds have not been properly decoded:");
+    }
+
+    @Test
+    void findBuckets() {
+
+        // Testing the results against an exhaustive count, for every precision.
+        for (int precision = 1; precision <= GeohashCounter.MAX_PRECISION; precision++) {
+            Map<String, Integer> expected = bruteForceCount(precision, 37.0, 22.0, 38.0, 24.0);
+            Map<String, Integer> retrieved = toMap(index.findBuckets(precision, 37.0, 22.0, 38.0, 24.0));
+            Assertions.assertEquals(expected, retrieved, "The index has not counted the Systems at precision " + precision + ":");
+        }
+
+        // Testing that a world-wide box accounts for all Systems.
+        int total = index.findBuckets(3, -90.0, -180.0, 90.0, 180.0).stream().mapToInt(GeohashCounter.Bucket::getCount).sum();
+        Assertions.assertEquals(5000, total, "The counts do not account for all Systems:");
+
+        // Testing also the "Not Found" scenario (box away from the Systems).
+        Assertions.assertTrue(index.findBuckets(5, -40.0, -70.0, -30.0, -60.0).isEmpty(), "Counts have been retrieved outside the box:");
+    }
+
+    @Test
+    void bucketsOfGridCells() {
+
+        // Testing that counting per cell of the regular grid (as the database does) yields the buckets of the index.
+        for (int precision = 1; precision <= GeohashCounter.MAX_PRECISION; precision++) {
+            long columns = GeohashCounter.columns(precision);
+            long rows = GeohashCounter.rows(precision);
+            Map<List<Long>, Integer> cells = new HashMap<>();
+            for (System system : systems) {
+                if (system.getLocation().hasGeoLocation()) {
+                    long column = Math.min(columns - 1, (long) Math.floor((system.getLocation().getLongitude() + 180.0) * columns / 360.0));
+                    long row = Math.min(rows - 1, (long) Math.floor((system.getLocation().getLatitude() + 90.0) * rows / 180.0));
+                    cells.merge(List.of(column, row), 1, Integer::sum);
+                }
+            }
+            List<GeohashCounter.Bucket> buckets = new ArrayList<>();
+            for (Map.Entry<List<Long>, Integer> cell : cells.entrySet()) {
+                buckets.add(GeohashCounter.toBucket(precision, cell.getKey().get(0), cell.getKey().get(1), cell.getValue()));
+            }
+            Assertions.assertEquals(toMap(index.findBuckets(precision, -90.0, -180.0, 90.0, 180.0)), toMap(buckets),
+                    "The cells of the grid do not match the geohashes at precision " + precision + ":");
+        }
+    }
+
+    @Test
+    void incrementalUpdates() {
+
+        // Inserting a System far from all others.
+        System inserted = createSystem("Inserted", -30.0, -60.0);
+        index.onSaved(inserted);
+        List<GeohashCounter.Bucket> buckets = index.findBuckets(6, -31.0, -61.0, -29.0, -59.0);
+        Assertions.assertEquals(1, buckets.size(), "The inserted System has not been counted:");
+        Assertions.assertEquals(GeohashCounter.encode(-30.0, -60.0, 6), buckets.get(0).getGeohash(), "The inserted System has been counted in the wrong cell:");
+
+        // Moving an indexed System next to the inserted one.
+        System moved = systems.get(0);
+        moved.getLocation().setGeoLocation(-30.0, -60.0, "");
+        index.onSaved(moved);
+        buckets = index.findBuckets(6, -31.0, -61.0, -29.0, -59.0);
+        Assertions.assertEquals(2, buckets.get(0).getCount(), "The moved System has not been counted:");
+        Assertions.assertEquals(bruteForceCount(4, 37.0, 22.0, 38.0, 24.0), toMap(index.findBuckets(4, 37.0, 22.0, 38.0, 24.0)),
+                "The moved System is still counted in its previous cell:");
+
+        // Deleting the inserted System and turning the moved one into a virtual one.
+        index.onDeleted(inserted.getId());
+        moved.getLocation().setVirtualLocation("127.00.00.01:8080");
+        index.onSaved(moved);
+        Assertions.assertTrue(index.findBuckets(6, -31.0, -61.0, -29.0, -59.0).isEmpty(), "Removed Systems have been counted:");
+
+        // Deleting everything.
+        index.onCleared();
+        Assertions.assertTrue(index.findBuckets(1, -90.0, -180.0, 90.0, 180.0).isEmpty(), "Cleared Systems have been counted:");
+    }
+
+    private System createSystem(String name, double latitude, double longitude) {
+        System system = new System(name, "", "");
+        system.setLocation(new Location(latitude, longitude, ""));
+        return system;
+    }
+
+    private Map<String, Integer> bruteForceCount(int precision, double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        return systems.stream()
+                .filter(s -> s.getLocation().hasGeoLocation())
+                .map(s -> GeohashCounter.encode(s.getLocation().getLatitude(), s.getLocation().getLongitude(), precision))
+                .filter(geohash -> {
+                    double[] bounds = GeohashCounter.decodeBounds(geohash);
+                    return bounds[0] <= maxLatitude && bounds[2] >= minLatitude && bounds[1] <= maxLongitude && bounds[3] >= minLongitude;
+                })
+                .collect(Collectors.toMap(geohash -> geohash, geohash -> 1, Integer::sum, TreeMap::new));
+    }
+
+    private Map<String, Integer> toMap(List<GeohashCounter.Bucket> buckets) {
+        Map<String, Integer> map = new TreeMap<>();
+        for (GeohashCounter.Bucket bucket : buckets) {
+            map.put(bucket.getGeohash(), bucket.getCount());
+        }
+        return map;
+    }
+}
@@ -0,0 +1,108 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+class SystemNameIndexTest {
+
+    SystemNameIndex index;
+
+    List<System> systems;
+
+    Random random;
+
+    @BeforeEach
+    void setUp() {
+        // Creating a few thousand Systems with random names over a small alphabet, so that prefixes are shared.
+        random = new Random(42);
+        systems = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            systems.add(new System(randomName(), "", ""));
+        }
+
+        index = new SystemNameIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.rebuild(systems);
+    }
+
+    @Test
+    void findByPrefix() {
+
+        // Testing the results against an exhaustive search.
+        for (int i = 0; i < 200; i++) {
+            String prefix = randomName().substring(0, 1 + random.nextInt(3));
+            if (random.nextBoolean()) {
+                prefix = prefix.toUpperCase(Locale.ROOT);
+            }
+            Assertions.assertEquals(bruteForce(prefix, 10), names(index.findByPrefix(prefix, 10)),
+                    "The index has not retrieved the matching names for prefix '" + prefix + "':");
+        }
+
+        // Testing also the "Not Found" scenario (prefix outside the alphabet).
+        Assertions.assertTrue(index.findByPrefix("z", 10).isEmpty(), "The index has retrieved non-matching names:");
+    }
+
+    @Test
+    void incrementalUpdates() {
+
+        // Inserting a System with a distinct name.
+        System inserted = new System("Zephyr Station", "", "");
+        index.onSaved(inserted);
+        List<NameTrie.Match> retrieved = index.findByPrefix("zeph", 10);
+        Assertions.assertEquals(1, retrieved.size(), "The index has not retrieved the inserted System:");
+        Assertions.assertEquals(inserted.getId(), retrieved.get(0).getId(), "The index has not retrieved the inserted System:");
+        Assertions.assertEquals("Zephyr Station", retrieved.get(0).getName(), "The index has not preserved the original name:");
+
+        // Renaming the inserted System.
+        inserted.setName("Zenith Station");
+        index.onSaved(inserted);
+        Assertions.assertTrue(index.findByPrefix("zeph", 10).isEmpty(), "The index has retrieved the former name:");
+        Assertions.assertEquals(inserted.getId(), index.findByPrefix("ZEN", 10).get(0).getId(), "The index has not retrieved the renamed System:");
+
+        // Deleting the inserted System and a few thousand others, then comparing against an exhaustive search.
+        index.onDeleted(inserted.getId());
+        Assertions.assertTrue(index.findByPrefix("z", 10).isEmpty(), "The index has retrieved a deleted System:");
+        for (int i = 0; i < 3000; i++) {
+            index.onDeleted(systems.remove(systems.size() - 1).getId());
+        }
+        for (String prefix : List.of("a", "ab", "cab", "d")) {
+            Assertions.assertEquals(bruteForce(prefix, 25), names(index.findByPrefix(prefix, 25)),
+                    "The index has not retrieved the matching names after deletions:");
+        }
+
+        // Deleting everything.
+        index.onCleared();
+        Assertions.assertTrue(index.findByPrefix("a", 10).isEmpty(), "The index has retrieved cleared Systems:");
+    }
+
+    private String randomName() {
+        StringBuilder builder = new StringBuilder();
+        int length = 3 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            char c = (char) ('a' + random.nextInt(4));
+            builder.append(random.nextInt(5) == 0 ? Character.toUpperCase(c) : c);
+        }
+        return builder.toString();
+    }
+
+    private List<String> bruteForce(String prefix, int limit) {
+        String lower = prefix.toLowerCase(Locale.ROOT);
+        return systems.stream()
+                .map(System::getName)
+                .filter(name -> name.toLowerCase(Locale.ROOT).startsWith(lower))
+                .sorted(Comparator.comparing((String name) -> name.toLowerCase(Locale.ROOT)).thenComparing(name -> name))
+                .limit(limit)
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+    }
+
+    private List<String> names(List<NameTrie.Match> matches) {
+        return matches.stream().map(match -> match.getName().toLowerCase(Locale.ROOT)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,162 @@
+package eu.datacrop.maize.model_repository.mongodb.indexes;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.Location;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+class SystemSpatialIndexTest {
+
+    SystemSpatialIndex index;
+
+    List<System> systems;
+
+    Random random;
+
+    @BeforeEach
+    void setUp() {
+        // Creating a few thousand Systems around Greece, plus a purely virtual one.
+        random = new Random(42);
+        systems = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            systems.add(createSystem("System" + i, 34.0 + random.nextDouble() * 8.0, 19.0 + random.nextDouble() * 10.0));
+        }
+        System virtual = createSystem("Virtual", 0.0, 0.0);
+        virtual.getLocation().setVirtualLocation("127.00.00.01:8080");
+        systems.add(virtual);
+
+        index = new SystemSpatialIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.rebuild(systems);
+    }
+
+    @Test
+    void findNearest() {
+
+        // Testing the results against an exhaustive search.
+        for (int i = 0; i < 50; i++) {
+            double latitude = 34.0 + random.nextDouble() * 8.0;
+            double longitude = 19.0 + random.nextDouble() * 10.0;
+
+            List<System> expected = bruteForceNearest(latitude, longitude, 50000.0, 10);
+            List<System> retrieved = index.findNearest(latitude, longitude, 50000.0, 10);
+
+            Assertions.assertEquals(ids(expected), ids(retrieved), "The index has not retrieved the nearest Systems:");
+        }
+
+        // Testing also the "Not Found" scenario (reference point far from all Systems).
+        Assertions.assertTrue(index.findNearest(-30.0, -60.0, 100000.0, 10).isEmpty(), "The index has retrieved distant Systems:");
+    }
+
+    @Test
+    void findWithinBox() {
+
+        // Testing the results against an exhaustive search.
+        List<String> expected = systems.stream()
+                .filter(s -> s.getLocation().hasGeoLocation())
+                .filter(s -> s.getLocation().getLatitude() >= 37.0 && s.getLocation().getLatitude() <= 38.0)
+                .filter(s -> s.getLocation().getLongitude() >= 22.0 && s.getLocation().getLongitude() <= 24.0)
+                .map(System::getId).sorted().collect(Collectors.toList());
+
+        Page<System> page = index.findWithinBox(37.0, 22.0, 38.0, 24.0, PageRequest.of(0, 10000));
+        Assertions.assertEquals(expected, ids(page.getContent()), "The index has not retrieved the Systems within the box:");
+        Assertions.assertEquals(expected.size(), page.getTotalElements(), "The index has not counted the Systems within the box:");
+
+        // Testing the pagination.
+        page = index.findWithinBox(37.0, 22.0, 38.0, 24.0, PageRequest.of(1, 5));
+        Assertions.assertEquals(expected.subList(5, 10), ids(page.getContent()), "The index has not retrieved the correct page:");
+    }
+
+    @Test
+    void incrementalUpdates() {
+
+        // Inserting a System far from all others.
+        System inserted = createSystem("Inserted", -30.0, -60.0);
+        index.onSaved(inserted);
+        List<System> retrieved = index.findNearest(-30.0, -60.0, 1000.0, 10);
+        Assertions.assertEquals(List.of(inserted.getId()), ids(retrieved), "The index has not retrieved the inserted System:");
+
+        // Moving an indexed System next to the inserted one.
+        System moved = systems.get(0);
+        moved.getLocation().setGeoLocation(-30.001, -60.0, "");
+        index.onSaved(moved);
+        retrieved = index.findNearest(-30.0, -60.0, 1000.0, 10);
+        Assertions.assertEquals(List.of(inserted.getId(), moved.getId()), ids(retrieved), "The index has not retrieved the moved System:");
+
+        // Deleting the inserted System and turning the moved one into a virtual one.
+        index.onDeleted(inserted.getId());
+        moved.getLocation().setVirtualLocation("127.00.00.01:8080");
+        index.onSaved(moved);
+        Assertions.assertTrue(index.findNearest(-30.0, -60.0, 1000.0, 10).isEmpty(), "The index has retrieved removed Systems:");
+
+        // Deleting enough Systems to trigger the packing of a new tree, then comparing against an exhaustive search.
+        List<System> remaining = new ArrayList<>(systems.subList(1, systems.size()));
+        for (int i = 0; i < 1000; i++) {
+            index.onDeleted(remaining.remove(remaining.size() - 1).getId());
+        }
+        systems = remaining;
+        Assertions.assertEquals(ids(bruteForceNearest(37.5, 23.0, 50000.0, 20)), ids(index.findNearest(37.5, 23.0, 50000.0, 20)),
+                "The index has not retrieved the nearest Systems after packing:");
+
+        // Deleting everything.
+        index.onCleared();
+        Assertions.assertTrue(index.findNearest(37.5, 23.0, 1.0e7, 10).isEmpty(), "The index has retrieved cleared Systems:");
+    }
+
+    @Test
+    void ignoreOutdatedReports() {
+        System indexed = createSystem("Reported", -30.0, -60.0);
+        indexed.setVersion(2L);
+        indexed.setLatestUpdateDate(LocalDateTime.of(2023, 1, 31, 12, 0));
+        index.onSaved(indexed);
+
+        // A report of an earlier version must be ignored, even though its date is later (drifting clocks).
+        System outdated = createSystem("Reported", 10.0, 10.0);
+        outdated.setId(indexed.getId());
+        outdated.setVersion(1L);
+        outdated.setLatestUpdateDate(indexed.getLatestUpdateDate().plusMinutes(1));
+        index.onSaved(outdated);
+        Assertions.assertEquals(List.of(indexed.getId()), ids(index.findNearest(-30.0, -60.0, 1000.0, 10)), "The index has applied an outdated report:");
+
+        // Without version numbers, a report dated at the same time as the indexed one must not be deemed newer.
+        indexed.setVersion(null);
+        outdated.setVersion(null);
+        outdated.setLatestUpdateDate(indexed.getLatestUpdateDate());
+        Assertions.assertTrue(SystemSpatialIndex.isOlder(outdated, indexed));
+        outdated.setLatestUpdateDate(null);
+        Assertions.assertTrue(SystemSpatialIndex.isOlder(outdated, indexed));
+        outdated.setLatestUpdateDate(indexed.getLatestUpdateDate().plusNanos(1000000));
+        Assertions.assertFalse(SystemSpatialIndex.isOlder(outdated, indexed));
+    }
+
+    private System createSystem(String name, double latitude, double longitude) {
+        System system = new System(name, "", "");
+        system.setLocation(new Location(latitude, longitude, ""));
+        return system;
+    }
+
+    private List<System> bruteForceNearest(double latitude, double longitude, double maxDistance, int limit) {
+        return systems.stream()
+                .filter(s -> s.getLocation().hasGeoLocation())
+                .filter(s -> distance(s, latitude, longitude) <= maxDistance)
+                .sorted(Comparator.comparingDouble(s -> distance(s, latitude, longitude)))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private double distance(System system, double latitude, double longitude) {
+        return RTree.distance(latitude, longitude, system.getLocation().getLatitude(), system.getLocation().getLongitude());
+    }
+
+    private List<String> ids(List<System> list) {
+        return list.stream().map(System::getId).collect(Collectors.toList());
+    }
+}
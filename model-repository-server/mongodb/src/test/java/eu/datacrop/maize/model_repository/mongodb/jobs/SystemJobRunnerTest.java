@@ -0,0 +1,168 @@
+package eu.datacrop.maize.model_repository.mongodb.jobs;
+
+import eu.datacrop.maize.model_repository.commons.enums.JobStatus;
+import eu.datacrop.maize.model_repository.mongodb.model.SystemJob;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemJobType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class SystemJobRunnerTest {
+
+    SystemJobRunner runner;
+
+    SimpleMeterRegistry meterRegistry;
+
+    SystemJob job;
+
+    Map<String, Object> stored;
+
+    List<String> checkpoints;
+
+    FakeTask task;
+
+    @BeforeEach
+    void setUp() {
+        // Preparing a template that keeps the attributes written to the Job in memory.
+        stored = new HashMap<>();
+        checkpoints = new ArrayList<>();
+        MongoTemplate template = Mockito.mock(MongoTemplate.class);
+        Mockito.when(template.updateFirst(any(Query.class), any(Update.class), eq(SystemJob.class))).thenAnswer(invocation -> {
+            Document set = ((Update) invocation.getArgument(1)).getUpdateObject().get("$set", Document.class);
+            stored.putAll(set);
+            if (set.containsKey("checkpoint")) {
+                checkpoints.add(set.getString("checkpoint"));
+            }
+            return null;
+        });
+        Mockito.when(template.exists(any(Query.class), eq(SystemJob.class)))
+                .thenAnswer(invocation -> Boolean.TRUE.equals(stored.get("cancellationRequested")));
+
+        meterRegistry = new SimpleMeterRegistry();
+        task = new FakeTask(25);
+
+        runner = new SystemJobRunner();
+        ReflectionTestUtils.setField(runner, "template", template);
+        ReflectionTestUtils.setField(runner, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(runner, "tasks", List.of(task));
+        ReflectionTestUtils.setField(runner, "enabled", false);
+        ReflectionTestUtils.setField(runner, "chunkSize", 10);
+        ReflectionTestUtils.setField(runner, "intervalMillis", 0L);
+        runner.start();
+        ReflectionTestUtils.setField(runner, "running", true);
+
+        job = new SystemJob(UUID.randomUUID().toString(), SystemJobType.DELETE_ALL_SYSTEMS, null);
+        job.setStatus(JobStatus.RUNNING);
+    }
+
+    @Test
+    void executeInChunksWithCheckpoints() {
+
+        runner.execute(job);
+
+        // All items must have been processed in chunks of limited size, each followed by a checkpoint.
+        Assertions.assertEquals(25L, stored.get("total"));
+        Assertions.assertEquals(25L, stored.get("processed"));
+        Assertions.assertEquals(List.of("item-09", "item-19", "item-24"), checkpoints);
+        Assertions.assertEquals(List.of("<start>", "item-09", "item-19"), task.resumedFrom);
+        Assertions.assertTrue(task.completed);
+        Assertions.assertEquals(JobStatus.SUCCEEDED, stored.get("status"));
+        Assertions.assertNotNull(stored.get("endDate"));
+
+        // The progress must have been reported as metrics.
+        Assertions.assertEquals(25.0, meterRegistry.get("model_repository.system.job.processed").counter().count());
+        Assertions.assertEquals(3L, meterRegistry.get("model_repository.system.job.chunk").timer().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("model_repository.system.job.finished").tag("status", "SUCCEEDED").counter().count());
+        Assertions.assertEquals(0.0, meterRegistry.get("model_repository.system.job.progress").gauge().value());
+    }
+
+    @Test
+    void resumeFromCheckpointAndCancel() {
+
+        // A Job resumed after a restart must continue from its latest checkpoint, keeping its progress.
+        job.setCheckpoint("item-09");
+        job.setProcessed(10L);
+        job.setTotal(25L);
+        task.onChunk = () -> stored.put("cancellationRequested", true);
+
+        runner.execute(job);
+
+        // The cancellation must have been honoured before the next chunk, leaving the operation incomplete.
+        Assertions.assertEquals(List.of("item-09"), task.resumedFrom);
+        Assertions.assertEquals(List.of("item-19"), checkpoints);
+        Assertions.assertEquals(20L, stored.get("processed"));
+        Assertions.assertFalse(stored.containsKey("total"));
+        Assertions.assertFalse(task.completed);
+        Assertions.assertEquals(JobStatus.CANCELLED, stored.get("status"));
+    }
+
+    @Test
+    void failOnError() {
+
+        task.onChunk = () -> {
+            throw new IllegalStateException("Database unavailable.");
+        };
+
+        runner.execute(job);
+
+        Assertions.assertEquals(JobStatus.FAILED, stored.get("status"));
+        Assertions.assertTrue(((String) stored.get("message")).contains("Database unavailable."));
+        Assertions.assertFalse(task.completed);
+        Assertions.assertEquals(1.0, meterRegistry.get("model_repository.system.job.finished").tag("status", "FAILED").counter().count());
+    }
+
+    private static class FakeTask implements SystemJobTask {
+
+        final List<String> items = new ArrayList<>();
+
+        final List<String> resumedFrom = new ArrayList<>();
+
+        Runnable onChunk = () -> {
+        };
+
+        boolean completed;
+
+        FakeTask(int count) {
+            for (int i = 0; i < count; i++) {
+                items.add(String.format("item-%02d", i));
+            }
+        }
+
+        @Override
+        public SystemJobType getType() {
+            return SystemJobType.DELETE_ALL_SYSTEMS;
+        }
+
+        @Override
+        public long estimate() {
+            return items.size();
+        }
+
+        @Override
+        public Chunk executeChunk(String checkpoint, int chunkSize) {
+            resumedFrom.add(checkpoint != null ? checkpoint : "<start>");
+            onChunk.run();
+            List<String> chunk = items.stream().filter(item -> checkpoint == null || item.compareTo(checkpoint) > 0)
+                    .limit(chunkSize).toList();
+            String last = chunk.isEmpty() ? checkpoint : chunk.get(chunk.size() - 1);
+            return new Chunk(chunk.size(), last, chunk.size() < chunkSize);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package eu.datacrop.maize.model_repository.mongodb.outbox;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.SystemChangeRecord;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class SystemOutboxRelayTest {
+
+    SystemOutboxRelay relay;
+
+    QueueSystemChangeSink queueSink;
+
+    Map<String, List<Document>> pending;
+
+    AtomicInteger failuresLeft;
+
+    Runnable onDelivery;
+
+    @BeforeEach
+    void setUp() {
+        // Preparing a template that keeps the pending changes of the System documents in memory.
+        pending = Collections.synchronizedMap(new LinkedHashMap<>());
+        MongoTemplate template = Mockito.mock(MongoTemplate.class);
+        Mockito.when(template.getCollectionName(System.class)).thenReturn("System");
+        Mockito.when(template.find(any(Query.class), eq(Document.class), eq("System"))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            synchronized (pending) {
+                return pending.entrySet().stream()
+                        .filter(entry -> !entry.getValue().isEmpty())
+                        .sorted(Comparator.comparing(entry -> entry.getValue().get(0).getDate("occurredAt")))
+                        .limit(query.getLimit())
+                        .map(entry -> new Document("_id", entry.getKey()).append(SystemOutbox.PENDING_CHANGES, new ArrayList<>(entry.getValue())))
+                        .toList();
+            }
+        });
+        BulkOperations bulk = Mockito.mock(BulkOperations.class);
+        Mockito.when(template.bulkOps(any(BulkOperations.BulkMode.class), eq("System"))).thenReturn(bulk);
+        Mockito.when(bulk.updateOne(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+            String id = (String) ((Query) invocation.getArgument(0)).getQueryObject().get("_id");
+            Document pullAll = ((Update) invocation.getArgument(1)).getUpdateObject().get("$pullAll", Document.class);
+            List<?> delivered = (List<?>) pullAll.get(SystemOutbox.PENDING_CHANGES);
+            synchronized (pending) {
+                pending.get(id).removeIf(delivered::contains);
+            }
+            return bulk;
+        });
+
+        // Preparing a sink that rejects the first batches, then forwards them to a queue.
+        failuresLeft = new AtomicInteger();
+        onDelivery = () -> {
+        };
+        queueSink = new QueueSystemChangeSink(100);
+        SystemChangeSink flakySink = new SystemChangeSink() {
+            @Override
+            public String getName() {
+                return "flaky";
+            }
+
+            @Override
+            public void deliver(List<SystemChangeRecord> batch) {
+                onDelivery.run();
+                if (failuresLeft.getAndDecrement() > 0) {
+                    throw new IllegalStateException("Sink unavailable.");
+                }
+                queueSink.deliver(batch);
+            }
+        };
+
+        relay = new SystemOutboxRelay();
+        ReflectionTestUtils.setField(relay, "template", template);
+        ReflectionTestUtils.setField(relay, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "sinks", List.of(queueSink, flakySink));
+        ReflectionTestUtils.setField(relay, "enabled", true);
+        ReflectionTestUtils.setField(relay, "relayEnabled", true);
+        ReflectionTestUtils.setField(relay, "sinkName", "flaky");
+        ReflectionTestUtils.setField(relay, "batchSize", 1);
+        ReflectionTestUtils.setField(relay, "pollMillis", 50L);
+        ReflectionTestUtils.setField(relay, "settleMillis", 0L);
+        ReflectionTestUtils.setField(relay, "maxBackoffMillis", 200L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.shutdown();
+    }
+
+    @Test
+    void relayAtLeastOnceInOrder() throws Exception {
+
+        // Recording the changes of two Systems, while the sink rejects the first two batches.
+        failuresLeft.set(2);
+        record("b", SystemChangeType.CREATED, 0L);
+        for (long version = 0; version < 7; version++) {
+            record("a", version == 0 ? SystemChangeType.CREATED : SystemChangeType.UPDATED, version);
+        }
+        record("a", SystemChangeType.DELETED, 6L);
+        relay.start();
+
+        // Every change must be delivered, in order, and removed from its System once delivered.
+        List<String> ids = new ArrayList<>();
+        while (ids.size() < 9) {
+            SystemChangeRecord delivered = queueSink.getQueue().poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(delivered, "Not all changes have been delivered:");
+            ids.add(delivered.getId());
+        }
+        Assertions.assertEquals(List.of("b:CREATED:0", "a:CREATED:0", "a:UPDATED:1", "a:UPDATED:2", "a:UPDATED:3", "a:UPDATED:4",
+                "a:UPDATED:5", "a:UPDATED:6", "a:DELETED:6"), ids, "The changes have not been delivered in order:");
+        Assertions.assertTrue(failuresLeft.get() < 0, "The rejected batches have not been delivered again:");
+        awaitDrained();
+    }
+
+    @Test
+    void keepChangesRecordedDuringDelivery() throws Exception {
+
+        // Recording a change of a System while its earlier change is being delivered (and rejected once).
+        failuresLeft.set(1);
+        AtomicInteger deliveries = new AtomicInteger();
+        onDelivery = () -> {
+            if (deliveries.getAndIncrement() == 1) {
+                record("a", SystemChangeType.UPDATED, 1L);
+            }
+        };
+        record("a", SystemChangeType.CREATED, 0L);
+        relay.start();
+
+        // The later change must survive the removal of the earlier one, and follow it.
+        List<String> ids = new ArrayList<>();
+        while (ids.size() < 2) {
+            SystemChangeRecord delivered = queueSink.getQueue().poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(delivered, "Not all changes have been delivered:");
+            ids.add(delivered.getId());
+        }
+        Assertions.assertEquals(List.of("a:CREATED:0", "a:UPDATED:1"), ids, "The changes have not been delivered in order:");
+        awaitDrained();
+    }
+
+    private void record(String systemId, SystemChangeType type, Long version) {
+        synchronized (pending) {
+            pending.computeIfAbsent(systemId, key -> new ArrayList<>()).add(SystemOutbox.pendingChange(type, version, new Date()));
+        }
+    }
+
+    private void awaitDrained() throws InterruptedException {
+        long deadline = java.lang.System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pending.values().stream().anyMatch(changes -> !changes.isEmpty()) && java.lang.System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        synchronized (pending) {
+            Assertions.assertTrue(pending.values().stream().allMatch(List::isEmpty), "Delivered changes have remained pending:");
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package eu.datacrop.maize.model_repository.mongodb.repositories;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.result.UpdateResult;
+import eu.datacrop.maize.model_repository.commons.util.WriteConcernOverride;
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.SystemAdditionalInformation;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemChangeType;
+import eu.datacrop.maize.model_repository.mongodb.outbox.SystemOutbox;
+import eu.datacrop.maize.model_repository.mongodb.storage.SystemWriteConcernResolver;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+
+class SystemRepositoryCustomImplTest {
+
+    SystemRepositoryCustomImpl repository;
+
+    MongoTemplate template;
+
+    MongoCollection<Document> collection;
+
+    MongoCollection<Document> concerned;
+
+    SystemOutbox outbox;
+
+    String id;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Preparing a template with a real converter, whose collection records the write concern of every write.
+        MongoCustomConversions conversions = new MongoCustomConversions(Collections.emptyList());
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        id = UUID.randomUUID().toString();
+        Document stored = new Document("_id", id).append("name", "System").append("version", 3L);
+        collection = Mockito.mock(MongoCollection.class);
+        concerned = Mockito.mock(MongoCollection.class);
+        Mockito.when(collection.getWriteConcern()).thenReturn(WriteConcern.ACKNOWLEDGED);
+        Mockito.when(collection.withWriteConcern(any(WriteConcern.class))).thenReturn(concerned);
+        Mockito.when(concerned.findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class))).thenReturn(stored);
+        Mockito.when(concerned.findOneAndUpdate(any(Bson.class), anyList(), any(FindOneAndUpdateOptions.class))).thenReturn(stored);
+        Mockito.when(concerned.findOneAndDelete(any(Bson.class))).thenReturn(stored);
+        Mockito.when(concerned.updateMany(any(Bson.class), anyList())).thenReturn(UpdateResult.acknowledged(2L, 2L, null));
+
+        template = Mockito.mock(MongoTemplate.class);
+        Mockito.when(template.getConverter()).thenReturn(converter);
+        Mockito.when(template.getCollectionName(System.class)).thenReturn("System");
+        Mockito.when(template.getCollection("System")).thenReturn(collection);
+        Mockito.when(template.getCollectionName(SystemAdditionalInformation.class)).thenReturn("SystemAdditionalInformation");
+
+        SystemWriteConcernResolver resolver = new SystemWriteConcernResolver();
+        ReflectionTestUtils.setField(resolver, "template", template);
+        ReflectionTestUtils.setField(resolver, "create", "acknowledged");
+        ReflectionTestUtils.setField(resolver, "update", "majority");
+        ReflectionTestUtils.setField(resolver, "delete", "journaled");
+        ReflectionTestUtils.setField(resolver, "bulk", "unacknowledged");
+        resolver.initialize();
+
+        repository = new SystemRepositoryCustomImpl();
+        ReflectionTestUtils.setField(repository, "template", template);
+        ReflectionTestUtils.setField(repository, "eventPublisher", Mockito.mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(repository, "writeConcernResolver", resolver);
+        outbox = new SystemOutbox();
+        ReflectionTestUtils.setField(repository, "outbox", outbox);
+    }
+
+    @AfterEach
+    void tearDown() {
+        WriteConcernOverride.clear();
+    }
+
+    @Test
+    void updateConditionallyWithResolvedWriteConcern() {
+        System entity = new System("System", "", "");
+        entity.setId(id);
+
+        System previous = repository.updateConditionally(entity, 3L, null);
+        Assertions.assertEquals(3L, previous.getVersion(), "The previous System has not been read back:");
+        Assertions.assertEquals(4L, entity.getVersion(), "The version has not been incremented:");
+        Mockito.verify(collection).withWriteConcern(WriteConcern.MAJORITY);
+        ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+        ArgumentCaptor<Bson> update = ArgumentCaptor.forClass(Bson.class);
+        Mockito.verify(concerned).findOneAndUpdate(filter.capture(), update.capture(), any(FindOneAndUpdateOptions.class));
+        Assertions.assertEquals(id, ((Document) filter.getValue()).get("_id"), "The filter has not been mapped:");
+        Assertions.assertEquals(3L, ((Document) filter.getValue()).get("version"), "The filter has not been mapped:");
+        Assertions.assertEquals("System", ((Document) update.getValue()).get("$set", Document.class).get("name"), "The update has not been mapped:");
+        Assertions.assertEquals(1L, ((Document) update.getValue()).get("$inc", Document.class).get("version"), "The update has not been mapped:");
+
+        // A write concern requested by the client must prevail.
+        WriteConcernOverride.set("w2");
+        repository.updateConditionally(entity, null, null);
+        Mockito.verify(collection).withWriteConcern(WriteConcern.W2);
+    }
+
+    @Test
+    void deleteConditionallyWithResolvedWriteConcern() {
+        Assertions.assertNotNull(repository.deleteConditionally(id, 3L), "The deleted System has not been read back:");
+        Mockito.verify(collection).withWriteConcern(WriteConcern.JOURNALED);
+        Mockito.verify(concerned).findOneAndDelete(any(Bson.class));
+
+        // Soft deletions are updates of a single System.
+        Assertions.assertNotNull(repository.softDeleteConditionally(id, null, LocalDateTime.now()), "The deleted System has not been read back:");
+        Mockito.verify(collection).withWriteConcern(WriteConcern.MAJORITY);
+
+        WriteConcernOverride.set("w3");
+        repository.deleteConditionally(id, null);
+        Mockito.verify(collection).withWriteConcern(WriteConcern.W3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordChangesWithinTheWrites() {
+        ReflectionTestUtils.setField(outbox, "enabled", true);
+        System entity = new System("System", "", "");
+        entity.setId(id);
+
+        // The update must write the same contents and append the change, with the version as updated.
+        repository.updateConditionally(entity, 3L, null);
+        ArgumentCaptor<List<Document>> pipeline = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(concerned).findOneAndUpdate(any(Bson.class), pipeline.capture(), any(FindOneAndUpdateOptions.class));
+        Document contents = pipeline.getValue().get(0).get("$set", Document.class);
+        Assertions.assertEquals(new Document("$literal", "System"), contents.get("name"), "The contents have not been set literally:");
+        Assertions.assertEquals(new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0L)), 1L)), contents.get("version"),
+                "The version has not been incremented:");
+        Document recorded = pipeline.getValue().get(1).get("$set", Document.class).get(SystemOutbox.PENDING_CHANGES, Document.class);
+        Assertions.assertEquals(List.of(SystemOutbox.pendingChange(SystemChangeType.UPDATED, "$version", "$$NOW")),
+                recorded.getList("$concatArrays", Object.class).get(1), "The change has not been appended:");
+
+        // Deletions in bulk must record the deletion of every System within the same update.
+        Assertions.assertEquals(2L, repository.softDeleteAll(List.of(id, UUID.randomUUID().toString()), LocalDateTime.now()));
+        Mockito.verify(concerned).updateMany(any(Bson.class), pipeline.capture());
+        Assertions.assertTrue(pipeline.getValue().get(0).get("$set", Document.class).containsKey("deletedAt"), "The Systems have not been marked:");
+        Assertions.assertTrue(pipeline.getValue().get(1).toJson().contains("DELETED"), "The deletions have not been recorded:");
+    }
+
+    @Test
+    void findByAdditionalInformationInSingleAggregation() {
+        Mockito.when(template.aggregate(any(Aggregation.class), eq("System"), eq(System.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+        Mockito.when(template.aggregate(any(Aggregation.class), eq("System"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(new Document("count", 12)), new Document()));
+
+        Assertions.assertEquals(12L, repository.findByAdditionalInformation(Map.of("crop", "maize"), PageRequest.of(1, 10)).getTotalElements());
+
+        // The detached additional information must be matched by the database, not loaded as a list of identifiers.
+        Mockito.verify(template, Mockito.never()).find(any(Query.class), eq(SystemAdditionalInformation.class));
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        Mockito.verify(template).aggregate(aggregation.capture(), eq("System"), eq(System.class));
+        List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        Document unionWith = pipeline.get(1).get("$unionWith", Document.class);
+        Assertions.assertEquals("SystemAdditionalInformation", unionWith.get("coll"));
+        Document detachedMatch = unionWith.getList("pipeline", Document.class).get(0).get("$match", Document.class);
+        Assertions.assertTrue(detachedMatch.toJson().contains("additionalInformation.crop"), "The detached information has not been matched:");
+        Assertions.assertEquals(10L, ((Number) pipeline.get(3).get("$skip")).longValue());
+        Assertions.assertEquals(10L, ((Number) pipeline.get(4).get("$limit")).longValue());
+    }
+}
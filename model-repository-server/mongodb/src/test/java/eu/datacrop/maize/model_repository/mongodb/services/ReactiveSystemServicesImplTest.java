@@ -0,0 +1,132 @@
+package eu.datacrop.maize.model_repository.mongodb.services;
+
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
+import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
+import eu.datacrop.maize.model_repository.commons.error.messages.SystemErrorMessages;
+import eu.datacrop.maize.model_repository.commons.wrappers.PaginationInfo;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
+import eu.datacrop.maize.model_repository.mongodb.converters.SystemConverters;
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.repositories.reactive.ReactiveSystemRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class ReactiveSystemServicesImplTest {
+
+    ReactiveSystemServicesImpl services;
+
+    ReactiveSystemRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // Preparing converters that merely carry the identifiers, codes and pagination information over.
+        SystemConverters converters = Mockito.mock(SystemConverters.class);
+        Mockito.when(converters.convertEntityToResponseWrapper(any(System.class))).thenAnswer(invocation -> {
+            SystemResponseDto dto = new SystemResponseDto();
+            dto.setId(((System) invocation.getArgument(0)).getId());
+            return new SystemResponseWrapper(ResponseCode.SUCCESS, null, dto, null);
+        });
+        Mockito.when(converters.convertEntitiesToResponseWrapper(anyList(), any(PaginationInfo.class)))
+                .thenAnswer(invocation -> new SystemResponsesWrapper(ResponseCode.SUCCESS, null, invocation.getArgument(1), null));
+        Mockito.when(converters.synthesizeResponseWrapperForError(any(ResponseCode.class), anyString(), any(SystemErrorMessages.class)))
+                .thenAnswer(invocation -> new SystemResponseWrapper(invocation.getArgument(0), invocation.getArgument(1), null, invocation.getArgument(2)));
+        Mockito.when(converters.synthesizeResponsesWrapperForError(any(ResponseCode.class), anyString(), any(SystemErrorMessages.class)))
+                .thenAnswer(invocation -> new SystemResponsesWrapper(invocation.getArgument(0), invocation.getArgument(1), null, invocation.getArgument(2)));
+
+        repository = Mockito.mock(ReactiveSystemRepository.class);
+
+        services = new ReactiveSystemServicesImpl();
+        ReflectionTestUtils.setField(services, "repository", repository);
+        ReflectionTestUtils.setField(services, "converters", converters);
+        ReflectionTestUtils.setField(services, "batchSize", 4);
+    }
+
+    @Test
+    void retrieveSystemByDatabaseID() {
+        String found = UUID.randomUUID().toString();
+        String missing = UUID.randomUUID().toString();
+        String failing = UUID.randomUUID().toString();
+        Mockito.when(repository.findByIdAndDeletedAtIsNull(found)).thenReturn(Mono.just(system(found)));
+        Mockito.when(repository.findByIdAndDeletedAtIsNull(missing)).thenReturn(Mono.empty());
+        Mockito.when(repository.findByIdAndDeletedAtIsNull(failing)).thenReturn(Mono.error(new IllegalStateException("Timeout.")));
+
+        SystemResponseWrapper wrapper = services.retrieveSystemByDatabaseID(found).block();
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode());
+        Assertions.assertEquals(found, wrapper.getResponse().getId());
+
+        wrapper = services.retrieveSystemByDatabaseID(missing).block();
+        Assertions.assertEquals(ResponseCode.NOT_FOUND, wrapper.getCode());
+        Assertions.assertEquals(SystemErrorMessages.SYSTEM_NOT_FOUND_ID, wrapper.getErrorCode());
+
+        // Failures of the database must be reported within the wrapper, rather than propagated.
+        wrapper = services.retrieveSystemByDatabaseID(failing).block();
+        Assertions.assertEquals(ResponseCode.ERROR, wrapper.getCode());
+        Assertions.assertEquals(SystemErrorMessages.ERROR_ON_RETRIEVAL_ID, wrapper.getErrorCode());
+
+        // Invalid identifiers must be rejected before querying the database.
+        Assertions.assertThrows(IllegalArgumentException.class, () -> services.retrieveSystemByDatabaseID(" "));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> services.retrieveSystemByDatabaseID("not-a-uuid"));
+    }
+
+    @Test
+    void retrieveAllSystems() {
+        Mockito.when(repository.countByDeletedAtIsNull()).thenReturn(Mono.just(25L));
+        Mockito.when(repository.findAllByDeletedAtIsNull(any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            return Flux.range((int) pageable.getOffset(), pageable.getPageSize()).filter(i -> i < 25).map(i -> system("id-" + i));
+        });
+
+        SystemResponsesWrapper wrapper = services.retrieveAllSystems(2, 10).block();
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode());
+        Assertions.assertEquals(25L, wrapper.getPaginationInfo().getTotalItems());
+        Assertions.assertEquals(3, wrapper.getPaginationInfo().getTotalPages());
+        Assertions.assertEquals(2, wrapper.getPaginationInfo().getCurrentPage());
+
+        wrapper = services.retrieveAllSystems(3, 10).block();
+        Assertions.assertEquals(ResponseCode.NOT_FOUND, wrapper.getCode());
+        Assertions.assertEquals(SystemErrorMessages.EXCEEDED_PAGE_LIMIT, wrapper.getErrorCode());
+
+        Mockito.when(repository.countByDeletedAtIsNull()).thenReturn(Mono.just(0L));
+        Mockito.when(repository.findAllByDeletedAtIsNull(any(Pageable.class))).thenReturn(Flux.empty());
+        wrapper = services.retrieveAllSystems(0, 10).block();
+        Assertions.assertEquals(ResponseCode.NOT_FOUND, wrapper.getCode());
+        Assertions.assertEquals(SystemErrorMessages.NO_SYSTEMS_FOUND, wrapper.getErrorCode());
+    }
+
+    @Test
+    void streamAllSystemsWithBackpressure() {
+        // Recording the demand that reaches the database cursor.
+        List<Long> requests = new ArrayList<>();
+        Mockito.when(repository.findAllByDeletedAtIsNull(any(Sort.class))).thenReturn(
+                Flux.range(0, 10).map(i -> system("id-" + i)).doOnRequest(requests::add));
+
+        // Although the subscriber requests everything, the cursor must be asked for one batch at a time.
+        List<SystemResponseDto> exported = services.streamAllSystems().collectList().block();
+        Assertions.assertEquals(10, exported.size());
+        Assertions.assertEquals("id-9", exported.get(9).getId());
+        Assertions.assertFalse(requests.isEmpty());
+        Assertions.assertTrue(requests.stream().allMatch(request -> request <= 4), "Unbounded demand: " + requests);
+    }
+
+    private static System system(String id) {
+        System system = new System();
+        system.setId(id);
+        return system;
+    }
+}
@@ -1,18 +1,25 @@
 package eu.datacrop.maize.model_repository.mongodb.services;
 
 import eu.datacrop.maize.model_repository.commons.dtos.requests.LocationRequestDto;
+import eu.datacrop.maize.model_repository.commons.dtos.requests.PolygonRequestDto;
 import eu.datacrop.maize.model_repository.commons.dtos.requests.SystemRequestDto;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemFacetsResponseDto;
 import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
 import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
 import eu.datacrop.maize.model_repository.commons.error.exceptions.NonUuidArgumentException;
 import eu.datacrop.maize.model_repository.commons.error.messages.SystemErrorMessages;
 import eu.datacrop.maize.model_repository.commons.util.DateFormatter;
 import eu.datacrop.maize.model_repository.commons.wrappers.PaginationInfo;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.ClusterResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.GeohashCountResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemNameResponsesWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemFacetsResponseWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
 import eu.datacrop.maize.model_repository.mongodb.model.System;
 import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.Location;
 import eu.datacrop.maize.model_repository.mongodb.repositories.SystemRepository;
+import eu.datacrop.maize.model_repository.mongodb.storage.SystemPurger;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -26,6 +33,7 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -52,11 +60,15 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
         "eu.datacrop.maize.model_repository.mongodb.converters",
         "eu.datacrop.maize.model_repository.mongodb.converters.auxiliary",
         "eu.datacrop.maize.model_repository.mongodb.daos",
+        "eu.datacrop.maize.model_repository.mongodb.indexes",
+        "eu.datacrop.maize.model_repository.mongodb.jobs",
         "eu.datacrop.maize.model_repository.mongodb.listeners",
         "eu.datacrop.maize.model_repository.mongodb.model",
         "eu.datacrop.maize.model_repository.mongodb.model.auxiliary",
+        "eu.datacrop.maize.model_repository.mongodb.outbox",
         "eu.datacrop.maize.model_repository.mongodb.repositories",
         "eu.datacrop.maize.model_repository.mongodb.services",
+        "eu.datacrop.maize.model_repository.mongodb.storage",
         "org.springframework.data.annotation"
 })
 @EntityScan(basePackages = {
@@ -73,6 +85,9 @@ class SystemServicesImplTest {
     @Autowired
     SystemServices systemServices;
 
+    @Autowired
+    SystemPurger purger;
+
     System system1;
     System system2;
 
@@ -261,6 +276,294 @@ class SystemServicesImplTest {
         Assertions.assertEquals(0, wrapper.getPaginationInfo().getTotalItems(), "Wrapper has not received proper NOT_FOUND PaginationInfo:");
     }
 
+    @Test
+    void retrieveSystemsNear() {
+
+        // Testing the retrieval of both Systems (located ~1km away from the reference point).
+        SystemResponsesWrapper wrapper = systemServices.retrieveSystemsNear(37.577180, 22.808661, 5000.0, 10);
+
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals("Database transaction successfully concluded.", wrapper.getMessage(), "Wrapper has not received proper SUCCESS message:");
+        Assertions.assertNotNull(wrapper.getListOfResponses(), "Wrapper has not received proper SUCCESS ListOfResponses:");
+        Assertions.assertEquals(2, wrapper.getListOfResponses().size(), "Wrapper contains erroneous number of retrieved items:");
+
+        SystemResponseDto retrieved = wrapper.getListOfResponses().get(0);
+        Assertions.assertEquals(system1.getLocation().getLatitude(), retrieved.getLocation().getLatitude(), "The retrieved System has incorrect latitude:");
+        Assertions.assertEquals(system1.getLocation().getLongitude(), retrieved.getLocation().getLongitude(), "The retrieved System has incorrect longitude:");
+
+        // Testing the limit.
+        wrapper = systemServices.retrieveSystemsNear(37.577180, 22.808661, 5000.0, 1);
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals(1, wrapper.getListOfResponses().size(), "Wrapper contains erroneous number of retrieved items:");
+
+        // Testing also the "Not Found" scenario (maximum distance shorter than the actual one).
+        wrapper = systemServices.retrieveSystemsNear(37.577180, 22.808661, 500.0, 10);
+        Assertions.assertEquals(ResponseCode.NOT_FOUND, wrapper.getCode(), "Wrapper has not received proper NOT_FOUND ResponseCode:");
+        Assertions.assertEquals(SystemErrorMessages.NO_SYSTEMS_FOUND_IN_AREA.toString(), wrapper.getMessage(), "Wrapper has not received proper NOT_FOUND message:");
+
+        // Testing also the "Invalid Parameter" scenario.
+        IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> systemServices.retrieveSystemsNear(91.0, 22.808661, 5000.0, 10),
+                "Invalid input parameter has not been detected."
+        );
+        Assertions.assertTrue(thrown.getMessage().contains("Invalid parameter detected for method retrieveSystemsNear()."));
+
+        thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> systemServices.retrieveSystemsNear(37.577180, 22.808661, -1.0, 10),
+                "Invalid input parameter has not been detected."
+        );
+        Assertions.assertTrue(thrown.getMessage().contains("Invalid parameter detected for method retrieveSystemsNear()."));
+    }
+
+    @Test
+    void retrieveSystemsWithinBox() {
+
+        // Testing the retrieval of both Systems (the box surrounds their common location).
+        SystemResponsesWrapper wrapper = systemServices.retrieveSystemsWithinBox(37.5, 22.7, 37.6, 22.9, 0, 10);
+
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals("Database transaction successfully concluded.", wrapper.getMessage(), "Wrapper has not received proper SUCCESS message:");
+        Assertions.assertNotNull(wrapper.getListOfResponses(), "Wrapper has not received proper SUCCESS ListOfResponses:");
+        Assertions.assertEquals(2, wrapper.getListOfResponses().size(), "Wrapper contains erroneous number of retrieved items:");
+        Assertions.assertEquals(2, wrapper.getPaginationInfo().getTotalItems(), "Wrapper has not received proper SUCCESS PaginationInfo:");
+
+        // Testing a box wide enough to be split into multiple parts.
+        wrapper = systemServices.retrieveSystemsWithinBox(-60.0, -170.0, 60.0, 170.0, 0, 10);
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals(2, wrapper.getListOfResponses().size(), "Wrapper contains erroneous number of retrieved items:");
+
+        // Testing the pagination.
+        wrapper = systemServices.retrieveSystemsWithinBox(37.5, 22.7, 37.6, 22.9, 1, 1);
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals(1, wrapper.getListOfResponses().size(), "Wrapper contains erroneous number of retrieved items:");
+        Assertions.assertEquals(2, wrapper.getPaginationInfo().getTotalPages(), "Wrapper has not received proper SUCCESS PaginationInfo:");
+
+        wrapper = systemServices.retrieveSystemsWithinBox(37.5, 22.7, 37.6, 22.9, 5, 1);
+        Assertions.assertEquals(ResponseCode.NOT_FOUND, wrapper.getCode(), "Wrapper has not received proper NOT_FOUND ResponseCode:");
+        Assertions.assertEquals(SystemErrorMessages.EXCEEDED_PAGE_LIMIT.toString().concat(" Total Pages: 2"), wrapper.getMessage(), "Wrapper has not received proper NOT_FOUND message:");
+
+        // Testing also the "Not Found" scenario (box away from the Systems).
+        wrapper = systemServices.retrieveSystemsWithinBox(40.0, 22.7, 41.0, 22.9, 0, 10);
+        Assertions.assertEquals(ResponseCode.NOT_FOUND, wrapper.getCode(), "Wrapper has not received proper NOT_FOUND ResponseCode:");
+        Assertions.assertEquals(SystemErrorMessages.NO_SYSTEMS_FOUND_IN_AREA.toString(), wrapper.getMessage(), "Wrapper has not received proper NOT_FOUND message:");
+
+        // Testing also the "Invalid Parameter" scenario (inverted corners).
+        IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> systemServices.retrieveSystemsWithinBox(37.6, 22.7, 37.5, 22.9, 0, 10),
+                "Invalid input parameter has not been detected."
+        );
+        Assertions.assertTrue(thrown.getMessage().contains("Invalid parameter detected for method retrieveSystemsWithinBox()."));
+    }
+
+    @Test
+    void retrieveSystemsWithinPolygon() {
+
+        // Testing the retrieval of both Systems (the triangle surrounds their common location).
+        PolygonRequestDto polygon = new PolygonRequestDto(Arrays.asList(
+                new PolygonRequestDto.VertexRequestDto(37.5, 22.7),
+                new PolygonRequestDto.VertexRequestDto(37.5, 22.9),
+                new PolygonRequestDto.VertexRequestDto(37.7, 22.8)));
+        SystemResponsesWrapper wrapper = systemServices.retrieveSystemsWithinPolygon(polygon, 0, 10);
+
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals("Database transaction successfully concluded.", wrapper.getMessage(), "Wrapper has not received proper SUCCESS message:");
+        Assertions.assertNotNull(wrapper.getListOfResponses(), "Wrapper has not received proper SUCCESS ListOfResponses:");
+        Assertions.assertEquals(2, wrapper.getListOfResponses().size(), "Wrapper contains erroneous number of retrieved items:");
+
+        // Testing also the "Not Found" scenario (triangle away from the Systems).
+        polygon = new PolygonRequestDto(Arrays.asList(
+                new PolygonRequestDto.VertexRequestDto(40.0, 22.7),
+                new PolygonRequestDto.VertexRequestDto(40.0, 22.9),
+                new PolygonRequestDto.VertexRequestDto(40.2, 22.8)));
+        wrapper = systemServices.retrieveSystemsWithinPolygon(polygon, 0, 10);
+        Assertions.assertEquals(ResponseCode.NOT_FOUND, wrapper.getCode(), "Wrapper has not received proper NOT_FOUND ResponseCode:");
+        Assertions.assertEquals(SystemErrorMessages.NO_SYSTEMS_FOUND_IN_AREA.toString(), wrapper.getMessage(), "Wrapper has not received proper NOT_FOUND message:");
+
+        // Testing also the "Invalid Parameter" scenario (too few vertices).
+        PolygonRequestDto degenerate = new PolygonRequestDto(Arrays.asList(
+                new PolygonRequestDto.VertexRequestDto(37.5, 22.7),
+                new PolygonRequestDto.VertexRequestDto(37.5, 22.9)));
+        IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> systemServices.retrieveSystemsWithinPolygon(degenerate, 0, 10),
+                "Invalid input parameter has not been detected."
+        );
+        Assertions.assertTrue(thrown.getMessage().contains("Invalid parameter detected for method retrieveSystemsWithinPolygon()."));
+    }
+
+    @Test
+    void retrieveSystemClusters() {
+
+        // Testing that both Systems (sharing a common location) form a single cluster at a low zoom level.
+        ClusterResponsesWrapper wrapper = systemServices.retrieveSystemClusters(5, 37.0, 22.0, 38.0, 23.0);
+
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals("Database transaction successfully concluded.", wrapper.getMessage(), "Wrapper has not received proper SUCCESS message:");
+        Assertions.assertEquals(1, wrapper.getListOfResponses().size(), "Wrapper contains erroneous number of retrieved items:");
+        Assertions.assertEquals(2, wrapper.getListOfResponses().get(0).getCount(), "Wrapper contains erroneous cluster size:");
+        Assertions.assertNull(wrapper.getListOfResponses().get(0).getSystemId(), "Wrapper contains erroneous cluster identifier:");
+
+        // Testing also the "Not Found" scenario (viewport away from the Systems).
+        wrapper = systemServices.retrieveSystemClusters(5, 40.0, 22.7, 41.0, 22.9);
+        Assertions.assertEquals(ResponseCode.NOT_FOUND, wrapper.getCode(), "Wrapper has not received proper NOT_FOUND ResponseCode:");
+        Assertions.assertEquals(SystemErrorMessages.NO_SYSTEMS_FOUND_IN_AREA.toString(), wrapper.getMessage(), "Wrapper has not received proper NOT_FOUND message:");
+
+        // Testing also the "Invalid Parameter" scenario (unsupported zoom level).
+        IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> systemServices.retrieveSystemClusters(17, 37.0, 22.0, 38.0, 23.0),
+                "Invalid input parameter has not been detected."
+        );
+        Assertions.assertTrue(thrown.getMessage().contains("Invalid parameter detected for method retrieveSystemClusters()."));
+    }
+
+    @Test
+    void retrieveSystemCountsByGeohash() {
+
+        // Testing that both Systems (sharing a common location) are counted in a single cell.
+        GeohashCountResponsesWrapper wrapper = systemServices.retrieveSystemCountsByGeohash(5, 37.0, 22.0, 38.0, 23.0);
+
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals("Database transaction successfully concluded.", wrapper.getMessage(), "Wrapper has not received proper SUCCESS message:");
+        Assertions.assertEquals(1, wrapper.getListOfResponses().size(), "Wrapper contains erroneous number of retrieved items:");
+        Assertions.assertEquals(2, wrapper.getListOfResponses().get(0).getCount(), "Wrapper contains erroneous count:");
+        Assertions.assertEquals(5, wrapper.getListOfResponses().get(0).getGeohash().length(), "Wrapper contains geohash of erroneous precision:");
+
+        // Testing also the "Not Found" scenario (box away from the Systems).
+        wrapper = systemServices.retrieveSystemCountsByGeohash(5, 40.0, 22.7, 41.0, 22.9);
+        Assertions.assertEquals(ResponseCode.NOT_FOUND, wrapper.getCode(), "Wrapper has not received proper NOT_FOUND ResponseCode:");
+        Assertions.assertEquals(SystemErrorMessages.NO_SYSTEMS_FOUND_IN_AREA.toString(), wrapper.getMessage(), "Wrapper has not received proper NOT_FOUND message:");
+
+        // Testing also the "Invalid Parameter" scenario (unsupported precision).
+        IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> systemServices.retrieveSystemCountsByGeohash(0, 37.0, 22.0, 38.0, 23.0),
+                "Invalid input parameter has not been detected."
+        );
+        Assertions.assertTrue(thrown.getMessage().contains("Invalid parameter detected for method retrieveSystemCountsByGeohash()."));
+    }
+
+    @Test
+    void searchSystems() {
+
+        // Testing the retrieval of both Systems (each one matches one of the search terms).
+        SystemResponsesWrapper wrapper = systemServices.searchSystems("System1 System2", null, 0, 10);
+
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals("Database transaction successfully concluded.", wrapper.getMessage(), "Wrapper has not received proper SUCCESS message:");
+        Assertions.assertEquals(2, wrapper.getListOfResponses().size(), "Wrapper contains erroneous number of retrieved items:");
+        Assertions.assertNotNull(wrapper.getListOfResponses().get(0).getScore(), "Wrapper has not received the relevance of retrieved items:");
+
+        // Testing the organization filter.
+        wrapper = systemServices.searchSystems("System1 System2", system1.getOrganization(), 0, 10);
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals(1, wrapper.getListOfResponses().size(), "Wrapper contains erroneous number of retrieved items:");
+        Assertions.assertEquals(system1.getId(), wrapper.getListOfResponses().get(0).getId(), "Wrapper contains erroneous item:");
+
+        // Testing also the "Not Found" scenario (search terms matching no System of the organization).
+        wrapper = systemServices.searchSystems("System1", system2.getOrganization(), 0, 10);
+        Assertions.assertEquals(ResponseCode.NOT_FOUND, wrapper.getCode(), "Wrapper has not received proper NOT_FOUND ResponseCode:");
+        Assertions.assertEquals(SystemErrorMessages.NO_SYSTEMS_MATCHING_SEARCH.toString(), wrapper.getMessage(), "Wrapper has not received proper NOT_FOUND message:");
+
+        // Testing also the "Invalid Parameter" scenario (no search terms).
+        IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> systemServices.searchSystems(" ", null, 0, 10),
+                "Invalid input parameter has not been detected."
+        );
+        Assertions.assertTrue(thrown.getMessage().contains("Invalid parameter detected for method searchSystems()."));
+    }
+
+    @Test
+    void retrieveSystemNamesByPrefix() {
+
+        // Testing the retrieval of both Systems (ignoring case), in alphabetical order.
+        SystemNameResponsesWrapper wrapper = systemServices.retrieveSystemNamesByPrefix("sys", 10);
+
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals("Database transaction successfully concluded.", wrapper.getMessage(), "Wrapper has not received proper SUCCESS message:");
+        Assertions.assertEquals(2, wrapper.getListOfResponses().size(), "Wrapper contains erroneous number of retrieved items:");
+        Assertions.assertEquals(system1.getId(), wrapper.getListOfResponses().get(0).getId(), "Wrapper contains erroneous item:");
+        Assertions.assertEquals(system1.getName(), wrapper.getListOfResponses().get(0).getName(), "Wrapper contains erroneous item:");
+
+        // Testing the limit.
+        wrapper = systemServices.retrieveSystemNamesByPrefix("System2", 1);
+        Assertions.assertEquals(1, wrapper.getListOfResponses().size(), "Wrapper contains erroneous number of retrieved items:");
+        Assertions.assertEquals(system2.getId(), wrapper.getListOfResponses().get(0).getId(), "Wrapper contains erroneous item:");
+
+        // Testing also the "Not Found" scenario (prefix matching no System).
+        wrapper = systemServices.retrieveSystemNamesByPrefix("Device", 10);
+        Assertions.assertEquals(ResponseCode.NOT_FOUND, wrapper.getCode(), "Wrapper has not received proper NOT_FOUND ResponseCode:");
+        Assertions.assertEquals(SystemErrorMessages.NO_SYSTEMS_MATCHING_PREFIX.toString().concat("'Device'."), wrapper.getMessage(), "Wrapper has not received proper NOT_FOUND message:");
+
+        // Testing also the "Invalid Parameter" scenario (no prefix).
+        IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> systemServices.retrieveSystemNamesByPrefix(" ", 10),
+                "Invalid input parameter has not been detected."
+        );
+        Assertions.assertTrue(thrown.getMessage().contains("Invalid parameter detected for method retrieveSystemNamesByPrefix()."));
+    }
+
+    @Test
+    void retrieveSystemFacets() {
+
+        // Testing the counts of the two Systems (each one owned by a distinct organization, both geolocated).
+        SystemFacetsResponseWrapper wrapper = systemServices.retrieveSystemFacets();
+
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals("Database transaction successfully concluded.", wrapper.getMessage(), "Wrapper has not received proper SUCCESS message:");
+        SystemFacetsResponseDto facets = wrapper.getResponse();
+        Assertions.assertEquals(1L, facets.getOrganizations().get(system1.getOrganization()), "Wrapper contains erroneous organization count:");
+        Assertions.assertEquals(1L, facets.getOrganizations().get(system2.getOrganization()), "Wrapper contains erroneous organization count:");
+        Assertions.assertTrue(facets.getGeoLocated() >= 2L, "Wrapper contains erroneous location count:");
+        Assertions.assertEquals(facets.getTotal(), facets.getGeoLocated() + facets.getVirtualLocated(), "Wrapper contains erroneous total count:");
+    }
+
+    @Test
+    void retrieveSystemsByAdditionalInformation() {
+
+        // Preparing a third System whose additional information contains key/value pairs.
+        System syst = new System();
+        syst.setName("System3");
+        syst.setDescription(RandomStringUtils.randomAlphabetic(10));
+        syst.setLocation(new Location(37.568180, 22.808661, ""));
+        syst.setOrganization(RandomStringUtils.randomAlphabetic(10));
+        String serial = RandomStringUtils.randomAlphabetic(10);
+        syst.setAdditionalInformation(new HashSet<>(List.of(Map.of("serial", serial, "channels", 8), "tag")));
+        System system3 = systemRepository.save(syst);
+
+        try {
+            // Testing the retrieval by a string and a numeric value.
+            SystemResponsesWrapper wrapper = systemServices.retrieveSystemsByAdditionalInformation(
+                    Map.of("serial", serial, "channels", "8"), 0, 10);
+
+            Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+            Assertions.assertEquals("Database transaction successfully concluded.", wrapper.getMessage(), "Wrapper has not received proper SUCCESS message:");
+            Assertions.assertEquals(1, wrapper.getListOfResponses().size(), "Wrapper contains erroneous number of retrieved items:");
+            Assertions.assertEquals(system3.getId(), wrapper.getListOfResponses().get(0).getId(), "Wrapper contains erroneous item:");
+            Assertions.assertEquals(2, wrapper.getListOfResponses().get(0).getAdditionalInformation().size(), "The retrieved System has incorrect info size:");
+
+            // Testing also the "Not Found" scenario (one of the pairs does not match).
+            wrapper = systemServices.retrieveSystemsByAdditionalInformation(Map.of("serial", serial, "channels", "16"), 0, 10);
+            Assertions.assertEquals(ResponseCode.NOT_FOUND, wrapper.getCode(), "Wrapper has not received proper NOT_FOUND ResponseCode:");
+            Assertions.assertEquals(SystemErrorMessages.NO_SYSTEMS_MATCHING_FILTERS.toString(), wrapper.getMessage(), "Wrapper has not received proper NOT_FOUND message:");
+        } finally {
+            systemRepository.delete(system3);
+        }
+
+        // Testing also the "Invalid Parameter" scenario (key containing an operator).
+        IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> systemServices.retrieveSystemsByAdditionalInformation(Map.of("$where", "1"), 0, 10),
+                "Invalid input parameter has not been detected."
+        );
+        Assertions.assertTrue(thrown.getMessage().contains("Invalid parameter detected for method retrieveSystemsByAdditionalInformation()."));
+    }
+
     @Test
     void createSystem() {
         // Preparing a third System to be inserted.
@@ -323,10 +626,94 @@ class SystemServicesImplTest {
         systemRepository.deleteById(created.getId());
     }
 
+    @Test
+    void createSystemIdempotently() {
+        // Preparing a third System to be inserted under an idempotency key.
+        SystemRequestDto system3 = new SystemRequestDto();
+        system3.setName("System3");
+        system3.setDescription(RandomStringUtils.randomAlphabetic(10));
+        system3.setLocation(new LocationRequestDto(37.568180, 22.808661, ""));
+        system3.setOrganization(RandomStringUtils.randomAlphabetic(10));
+        String key = UUID.randomUUID().toString();
+
+        // Testing that the first request creates the System and its replay receives the same outcome.
+        Long beforeInsertion = systemRepository.count();
+        SystemResponseWrapper createdWrapper = systemServices.createSystemIdempotently(system3, key);
+        SystemResponseWrapper replayedWrapper = systemServices.createSystemIdempotently(system3, key);
+        Long afterInsertion = systemRepository.count();
+
+        Assertions.assertEquals(ResponseCode.SUCCESS, createdWrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals(ResponseCode.SUCCESS, replayedWrapper.getCode(), "Replay has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals(createdWrapper.getResponse().getId(), replayedWrapper.getResponse().getId(), "Replay has not received the created System:");
+        Assertions.assertEquals(Long.valueOf(beforeInsertion + 1L), afterInsertion, "The number of entities has not increased by one:");
+
+        // Testing that reusing the key with different contents is rejected.
+        system3.setDescription(RandomStringUtils.randomAlphabetic(12));
+        SystemResponseWrapper mismatchWrapper = systemServices.createSystemIdempotently(system3, key);
+        Assertions.assertEquals(ResponseCode.BAD_REQUEST, mismatchWrapper.getCode(), "Wrapper has not received proper BAD_REQUEST ResponseCode:");
+        Assertions.assertEquals(SystemErrorMessages.IDEMPOTENCY_KEY_MISMATCH, mismatchWrapper.getErrorCode(), "Wrapper has not received proper error code:");
+
+        // Testing also the "Invalid Parameter" scenario.
+        IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> systemServices.createSystemIdempotently(system3, " "),
+                "Invalid input parameter has not been detected."
+        );
+        Assertions.assertTrue(thrown.getMessage().contains("Invalid parameter detected for method createSystemIdempotently()."));
+
+        // Cleaning up.
+        systemRepository.deleteById(createdWrapper.getResponse().getId());
+    }
+
+    @Test
+    void retrieveSystemAdditionalInformation() {
+        // Preparing a third System with additional information too large to be embedded.
+        Set<Object> info = new HashSet<Object>();
+        info.add(RandomStringUtils.randomAlphabetic(10));
+        info.add(RandomStringUtils.randomAlphabetic(32768));
+
+        SystemRequestDto system3 = new SystemRequestDto();
+        system3.setName("System3");
+        system3.setDescription(RandomStringUtils.randomAlphabetic(10));
+        system3.setLocation(new LocationRequestDto(0.0, 0.0, "127.00.00.01:8080"));
+        system3.setOrganization(RandomStringUtils.randomAlphabetic(10));
+        system3.setAdditionalInformation(info);
+
+        // Testing that the created and retrieved System omit the oversized information.
+        SystemResponseWrapper createdWrapper = systemServices.createSystem(system3);
+        Assertions.assertEquals(ResponseCode.SUCCESS, createdWrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        String databaseID = createdWrapper.getResponse().getId();
+
+        SystemResponseWrapper wrapper = systemServices.retrieveSystemByDatabaseID(databaseID);
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals(Boolean.TRUE, wrapper.getResponse().getAdditionalInformationDetached(), "The retrieved System is not flagged as detached:");
+        Assertions.assertTrue(wrapper.getResponse().getAdditionalInformation().isEmpty(), "The retrieved System includes oversized info:");
+
+        // Testing the retrieval of the System along with all of its additional information.
+        wrapper = systemServices.retrieveSystemAdditionalInformation(databaseID);
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals("Database transaction successfully concluded.", wrapper.getMessage(), "Wrapper has not received proper SUCCESS message:");
+        Assertions.assertNull(wrapper.getResponse().getAdditionalInformationDetached(), "The retrieved System is flagged as detached:");
+        Assertions.assertEquals(info, wrapper.getResponse().getAdditionalInformation(), "The retrieved System has incorrect info:");
+
+        // Testing also the "Not Found" scenario, once the System (and its detached information) is deleted.
+        systemServices.deleteSystem(databaseID, null);
+        wrapper = systemServices.retrieveSystemAdditionalInformation(databaseID);
+        Assertions.assertEquals(ResponseCode.NOT_FOUND, wrapper.getCode(), "Wrapper has not received proper NOT_FOUND ResponseCode:");
+
+        // Testing also the "Invalid Parameter" scenario.
+        IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> systemServices.retrieveSystemAdditionalInformation(""),
+                "Invalid input parameter has not been detected."
+        );
+        Assertions.assertTrue(thrown.getMessage().contains("Invalid parameter detected for method retrieveSystemAdditionalInformation()."));
+    }
+
     @Test
     void updateSystem() {
         // Preparing to update the second System.
-        System retrievedSystem2 = systemRepository.findFirstByName("System2");
+        System retrievedSystem2 = systemRepository.findFirstByNameAndDeletedAtIsNull("System2");
 
         SystemRequestDto updateRequest = new SystemRequestDto();
         updateRequest.setName("System2"); // Unchanged.
@@ -340,7 +727,7 @@ class SystemServicesImplTest {
 
         // Testing the update.
         Long beforeUpdate = systemRepository.count();
-        SystemResponseWrapper updatedWrapper = systemServices.updateSystem(updateRequest, retrievedSystem2.getId());
+        SystemResponseWrapper updatedWrapper = systemServices.updateSystem(updateRequest, retrievedSystem2.getId(), null);
         Long afterUpdate = systemRepository.count();
 
         Assertions.assertEquals(ResponseCode.SUCCESS, updatedWrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
@@ -366,7 +753,7 @@ class SystemServicesImplTest {
 
         // Testing also the "Conflict" scenario by attempting to update the second system with a name that already exists.
         updateRequest.setName("System1");
-        SystemResponseWrapper updatedWrapper2 = systemServices.updateSystem(updateRequest, retrievedSystem2.getId());
+        SystemResponseWrapper updatedWrapper2 = systemServices.updateSystem(updateRequest, retrievedSystem2.getId(), null);
 
         Assertions.assertEquals(ResponseCode.CONFLICT, updatedWrapper2.getCode(), "Wrapper has not received proper CONFLICT ResponseCode:");
         Assertions.assertNull(updatedWrapper2.getResponse(), "Wrapper has not received proper CONFLICT Response:");
@@ -374,7 +761,7 @@ class SystemServicesImplTest {
 
         // Testing also the "Not Found" scenario.
         String random = UUID.randomUUID().toString();
-        SystemResponseWrapper updatedWrapper3 = systemServices.updateSystem(updateRequest, random);
+        SystemResponseWrapper updatedWrapper3 = systemServices.updateSystem(updateRequest, random, null);
         Assertions.assertEquals(ResponseCode.NOT_FOUND, updatedWrapper3.getCode(), "Wrapper has not received proper NOT_FOUND ResponseCode:");
         Assertions.assertEquals(SystemErrorMessages.SYSTEM_NOT_FOUND_ID.toString().concat("'" + random + "'."), updatedWrapper3.getMessage(), "Wrapper has not received proper NOT_FOUND message:");
         Assertions.assertNull(updatedWrapper3.getResponse(), "Wrapper has not received proper NOT_FOUND Response:");
@@ -382,38 +769,121 @@ class SystemServicesImplTest {
         // Testing also the "Invalid Parameter" scenario.
         IllegalArgumentException thrown = assertThrows(
                 IllegalArgumentException.class,
-                () -> systemServices.updateSystem(updateRequest, " "),
+                () -> systemServices.updateSystem(updateRequest, " ", null),
                 "Invalid input parameter has not been detected."
         );
         Assertions.assertTrue(thrown.getMessage().contains("Invalid parameter detected for method updateSystem()."));
 
         thrown = assertThrows(
                 IllegalArgumentException.class,
-                () -> systemServices.updateSystem(updateRequest, null),
+                () -> systemServices.updateSystem(updateRequest, null, null),
                 "Invalid input parameter has not been detected."
         );
         Assertions.assertTrue(thrown.getMessage().contains("Invalid parameter detected for method updateSystem()."));
 
         NonUuidArgumentException thrown2 = assertThrows(
                 NonUuidArgumentException.class,
-                () -> systemServices.updateSystem(updateRequest, RandomStringUtils.randomAlphabetic(10)),
+                () -> systemServices.updateSystem(updateRequest, RandomStringUtils.randomAlphabetic(10), null),
                 "Invalid input parameter has not been detected."
         );
         Assertions.assertTrue(thrown2.getMessage().contains("Non-UUID parameter detected for method updateSystem()."));
 
         thrown = assertThrows(
                 IllegalArgumentException.class,
-                () -> systemServices.updateSystem(null, retrievedSystem2.getId()),
+                () -> systemServices.updateSystem(null, retrievedSystem2.getId(), null),
                 "Invalid input parameter has not been detected."
         );
         Assertions.assertTrue(thrown.getMessage().contains("Invalid parameter detected for method updateSystem()."));
     }
 
+
+    @Test
+    void updateSystemUnchanged() {
+        // Preparing a System and an update identical to its stored contents.
+        SystemRequestDto requestDto = new SystemRequestDto();
+        requestDto.setName("SystemUnchanged");
+        requestDto.setDescription(RandomStringUtils.randomAlphabetic(10));
+        requestDto.setLocation(new LocationRequestDto(37.568180, 22.808661, ""));
+        requestDto.setOrganization(RandomStringUtils.randomAlphabetic(10));
+        SystemResponseDto created = systemServices.createSystem(requestDto).getResponse();
+
+        // Testing that the update is acknowledged without a write.
+        SystemResponseWrapper wrapper = systemServices.updateSystem(requestDto, created.getId(), null);
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals(created.getLatestUpdateDate(), wrapper.getResponse().getLatestUpdateDate(), "The unchanged System has been rewritten:");
+
+        // Testing that an actual change is still written.
+        requestDto.setDescription(RandomStringUtils.randomAlphabetic(12));
+        wrapper = systemServices.updateSystem(requestDto, created.getId(), null);
+        Assertions.assertEquals(requestDto.getDescription(), wrapper.getResponse().getDescription(), "The changed System has not been written:");
+
+        // Cleaning up.
+        systemRepository.deleteById(created.getId());
+    }
+
+    @Test
+    void updateAndDeleteSystemWithExpectedVersion() {
+        // Preparing a System, whose first version is zero.
+        SystemRequestDto requestDto = new SystemRequestDto();
+        requestDto.setName("SystemVersioned");
+        requestDto.setDescription(RandomStringUtils.randomAlphabetic(10));
+        requestDto.setLocation(new LocationRequestDto(37.568180, 22.808661, ""));
+        requestDto.setOrganization(RandomStringUtils.randomAlphabetic(10));
+        SystemResponseDto created = systemServices.createSystem(requestDto).getResponse();
+        Assertions.assertEquals(0L, created.getVersion(), "The created System has not received the first version:");
+
+        // Testing that an update expecting the current version succeeds and increments it.
+        requestDto.setDescription(RandomStringUtils.randomAlphabetic(12));
+        SystemResponseWrapper wrapper = systemServices.updateSystem(requestDto, created.getId(), 0L);
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertEquals(1L, wrapper.getResponse().getVersion(), "The updated System has not received the next version:");
+
+        // Testing that an update expecting a stale version is rejected (lost update).
+        requestDto.setDescription(RandomStringUtils.randomAlphabetic(14));
+        wrapper = systemServices.updateSystem(requestDto, created.getId(), 0L);
+        Assertions.assertEquals(ResponseCode.PRECONDITION_FAILED, wrapper.getCode(), "Wrapper has not received proper PRECONDITION_FAILED ResponseCode:");
+        Assertions.assertEquals(SystemErrorMessages.VERSION_MISMATCH, wrapper.getErrorCode(), "Wrapper has not received proper VERSION_MISMATCH ErrorCode:");
+
+        // Testing that a deletion expecting a stale version is rejected, while one expecting the current version succeeds.
+        wrapper = systemServices.deleteSystem(created.getId(), 0L);
+        Assertions.assertEquals(ResponseCode.PRECONDITION_FAILED, wrapper.getCode(), "Wrapper has not received proper PRECONDITION_FAILED ResponseCode:");
+        Assertions.assertTrue(systemRepository.existsById(created.getId()), "The System has been deleted despite the version mismatch:");
+
+        wrapper = systemServices.deleteSystem(created.getId(), 1L);
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+        Assertions.assertFalse(systemRepository.existsById(created.getId()), "The System has not been deleted:");
+    }
+
+    @Test
+    void deleteSystemSoftly() {
+        // Switching to soft deletions, purged on demand (without the background thread) and without delay.
+        ReflectionTestUtils.setField(purger, "enabled", true);
+        ReflectionTestUtils.setField(purger, "purgeEnabled", false);
+        ReflectionTestUtils.setField(purger, "delayMillis", 0L);
+        purger.start();
+        try {
+            // Testing that the deleted System is merely marked, yet hidden from every read.
+            SystemResponseWrapper wrapper = systemServices.deleteSystem(system1.getId(), null);
+            Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
+            Assertions.assertNotNull(systemRepository.findById(system1.getId()).orElseThrow().getDeletedAt(), "The System has not been marked as deleted:");
+            Assertions.assertEquals(ResponseCode.NOT_FOUND, systemServices.retrieveSystemByDatabaseID(system1.getId()).getCode(), "The deleted System has been retrieved by ID:");
+            Assertions.assertEquals(ResponseCode.NOT_FOUND, systemServices.retrieveSystemByName(system1.getName()).getCode(), "The deleted System has been retrieved by name:");
+            Assertions.assertEquals(ResponseCode.NOT_FOUND, systemServices.deleteSystem(system1.getId(), null).getCode(), "The deleted System has been deleted again:");
+
+            // Testing that the purger removes the deleted System, but not the other one.
+            Assertions.assertTrue(purger.purgeBatch() >= 1, "No deleted System has been purged:");
+            Assertions.assertFalse(systemRepository.existsById(system1.getId()), "The deleted System has not been purged:");
+            Assertions.assertTrue(systemRepository.existsById(system2.getId()), "A System not deleted has been purged:");
+        } finally {
+            ReflectionTestUtils.setField(purger, "enabled", false);
+        }
+    }
+
     @Test
     void deleteSystem() {
         // Testing the deletion of the first System.
         Long beforeDeletion = systemRepository.count();
-        SystemResponseWrapper wrapper = systemServices.deleteSystem(system1.getId());
+        SystemResponseWrapper wrapper = systemServices.deleteSystem(system1.getId(), null);
         Long afterDeletion = systemRepository.count();
 
         Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Wrapper has not received proper SUCCESS ResponseCode:");
@@ -437,12 +907,12 @@ class SystemServicesImplTest {
         Assertions.assertEquals(Long.valueOf(beforeDeletion - 1L), afterDeletion, "The number of entities has not decreased by one:");
 
         // Testing the retrieval of the first System. It must return nothing.
-        System retrieved = systemRepository.findFirstByName("System1");
+        System retrieved = systemRepository.findFirstByNameAndDeletedAtIsNull("System1");
         Assertions.assertNull(retrieved, "The supposedly deleted System can still be retrieved:");
 
         // Testing also the "Not Found" scenario.
         String random = UUID.randomUUID().toString();
-        wrapper = systemServices.deleteSystem(random);
+        wrapper = systemServices.deleteSystem(random, null);
         Assertions.assertEquals(ResponseCode.NOT_FOUND, wrapper.getCode(), "Wrapper has not received proper NOT_FOUND ResponseCode:");
         Assertions.assertEquals(SystemErrorMessages.SYSTEM_NOT_FOUND_ID.toString().concat("'" + random + "'."), wrapper.getMessage(), "Wrapper has not received proper NOT_FOUND message:");
         Assertions.assertNull(wrapper.getResponse(), "Wrapper has not received proper NOT_FOUND Response:");
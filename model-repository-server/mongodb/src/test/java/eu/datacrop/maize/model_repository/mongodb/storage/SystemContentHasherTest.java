@@ -0,0 +1,62 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.Location;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+class SystemContentHasherTest {
+
+    @Test
+    void hashEqualContents() {
+
+        // Preparing two Systems with the same contents, but distinct identifiers, timestamps and orderings.
+        System first = createSystem(List.of("a", "b", "c"), List.of("firmware", "channels"));
+        System second = createSystem(List.of("c", "a", "b"), List.of("channels", "firmware"));
+        second.setCreationDate(LocalDateTime.now().minusDays(1));
+
+        Assertions.assertNotEquals(first.getId(), second.getId(), "The Systems share an identifier:");
+        Assertions.assertEquals(SystemContentHasher.hash(first), SystemContentHasher.hash(second), "Equal contents hash differently:");
+    }
+
+    @Test
+    void hashDistinctContents() {
+
+        // Testing that a change to any of the contents changes the hash.
+        System reference = createSystem(List.of("a", "b"), List.of("firmware"));
+        String hash = SystemContentHasher.hash(reference);
+
+        System changed = createSystem(List.of("a", "b"), List.of("firmware"));
+        changed.setDescription("Another description");
+        Assertions.assertNotEquals(hash, SystemContentHasher.hash(changed), "A changed description has not changed the hash:");
+
+        changed = createSystem(List.of("a", "b"), List.of("firmware"));
+        changed.setLocation(new Location(37.568180, 22.808662, ""));
+        Assertions.assertNotEquals(hash, SystemContentHasher.hash(changed), "A changed Location has not changed the hash:");
+
+        changed = createSystem(List.of("a", "ab"), List.of("firmware"));
+        Assertions.assertNotEquals(hash, SystemContentHasher.hash(changed), "A changed entry has not changed the hash:");
+
+        changed = createSystem(List.of("ab"), List.of("firmware"));
+        Assertions.assertNotEquals(hash, SystemContentHasher.hash(changed), "Merged entries have not changed the hash:");
+
+        changed = createSystem(List.of("a", "b"), List.of());
+        Assertions.assertNotEquals(hash, SystemContentHasher.hash(changed), "A removed object entry has not changed the hash:");
+    }
+
+    private System createSystem(List<String> tags, List<String> keys) {
+        System system = new System("System", "Description", "Organization");
+        system.setLocation(new Location(37.568180, 22.808661, ""));
+        Set<Object> info = new LinkedHashSet<>(tags);
+        if (!keys.isEmpty()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            keys.forEach(key -> entry.put(key, key.length()));
+            info.add(entry);
+        }
+        system.setAdditionalInformation(info);
+        return system;
+    }
+}
@@ -0,0 +1,125 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.repositories.SystemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+
+class SystemCreateBatcherTest {
+
+    SystemCreateBatcher batcher;
+
+    SystemRepository repository;
+
+    SimpleMeterRegistry meterRegistry;
+
+    List<Integer> insertedBatches;
+
+    System existing;
+
+    @BeforeEach
+    void setUp() {
+        // Preparing a repository that already holds one System and records the sizes of the inserted batches.
+        existing = new System("Existing", "", "");
+        insertedBatches = Collections.synchronizedList(new ArrayList<>());
+
+        repository = Mockito.mock(SystemRepository.class);
+        Mockito.when(repository.findNamesIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> names = invocation.getArgument(0);
+            return names.contains(existing.getName()) ? List.of(existing) : List.of();
+        });
+        Mockito.when(repository.insert(anyList())).thenAnswer(invocation -> {
+            List<System> entities = invocation.getArgument(0);
+            insertedBatches.add(entities.size());
+            return new ArrayList<>(entities);
+        });
+
+        meterRegistry = new SimpleMeterRegistry();
+        batcher = new SystemCreateBatcher();
+        ReflectionTestUtils.setField(batcher, "repository", repository);
+        ReflectionTestUtils.setField(batcher, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(batcher, "enabled", true);
+        ReflectionTestUtils.setField(batcher, "lingerMillis", 50L);
+        ReflectionTestUtils.setField(batcher, "maxBatchSize", 16);
+        batcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void submitConcurrently() throws Exception {
+
+        // Submitting many creations concurrently.
+        int count = 100;
+        ExecutorService clients = Executors.newFixedThreadPool(16);
+        List<CompletableFuture<SystemCreateBatcher.Outcome>> outcomes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            System entity = new System("System" + i, "", "");
+            outcomes.add(CompletableFuture.supplyAsync(() -> batcher.submit(entity), clients).thenCompose(future -> future));
+        }
+        CompletableFuture.allOf(outcomes.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        clients.shutdown();
+
+        // Testing that every creation succeeded in batches that respect the maximum size.
+        for (int i = 0; i < count; i++) {
+            SystemCreateBatcher.Outcome outcome = outcomes.get(i).get();
+            Assertions.assertNotNull(outcome.created(), "A creation has not succeeded:");
+            Assertions.assertEquals("System" + i, outcome.created().getName(), "A creation received another outcome:");
+        }
+        Assertions.assertEquals(count, insertedBatches.stream().mapToInt(Integer::intValue).sum(), "Not all Systems have been inserted:");
+        Assertions.assertTrue(insertedBatches.stream().allMatch(size -> size <= 16), "A batch exceeded its maximum size:");
+        Assertions.assertTrue(insertedBatches.size() < count, "The creations have not been batched:");
+        Assertions.assertEquals(count, meterRegistry.timer("model_repository.system.create.batch.latency").count(), "The latency of creations has not been recorded:");
+    }
+
+    @Test
+    void submitConflicting() throws Exception {
+
+        // Submitting creations within the same linger window, two of which conflict.
+        System first = new System("Twin", "", "");
+        CompletableFuture<SystemCreateBatcher.Outcome> firstOutcome = batcher.submit(first);
+        CompletableFuture<SystemCreateBatcher.Outcome> secondOutcome = batcher.submit(new System("Twin", "", ""));
+        CompletableFuture<SystemCreateBatcher.Outcome> existingOutcome = batcher.submit(new System("Existing", "", ""));
+
+        // Testing that conflicts with the database and within the batch are both reported.
+        Assertions.assertEquals(first, firstOutcome.get(10, TimeUnit.SECONDS).created(), "The first creation has not succeeded:");
+        Assertions.assertEquals(first, secondOutcome.get(10, TimeUnit.SECONDS).conflicting(), "The conflict within the batch has not been detected:");
+        Assertions.assertEquals(existing, existingOutcome.get(10, TimeUnit.SECONDS).conflicting(), "The conflict with the database has not been detected:");
+        Assertions.assertEquals(List.of(1), insertedBatches, "The batch has not been inserted at once:");
+    }
+
+    @Test
+    void shutdown() throws Exception {
+
+        // Submitting creations and shutting down before their linger window closes.
+        List<CompletableFuture<SystemCreateBatcher.Outcome>> outcomes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            outcomes.add(batcher.submit(new System("System" + i, "", "")));
+        }
+        batcher.shutdown();
+
+        // Testing that the submitted creations have been drained, while new ones are rejected.
+        for (CompletableFuture<SystemCreateBatcher.Outcome> outcome : outcomes) {
+            Assertions.assertTrue(outcome.isDone(), "A submitted creation has not been drained:");
+            Assertions.assertNotNull(outcome.get().created(), "A submitted creation has not succeeded:");
+        }
+        Assertions.assertTrue(batcher.submit(new System("Late", "", "")).isCompletedExceptionally(), "A late creation has been accepted:");
+    }
+}
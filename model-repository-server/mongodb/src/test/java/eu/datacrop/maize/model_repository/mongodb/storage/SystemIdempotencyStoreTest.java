@@ -0,0 +1,233 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import com.mongodb.client.result.UpdateResult;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.LocationResponseDto;
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
+import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
+import eu.datacrop.maize.model_repository.commons.error.messages.SystemErrorMessages;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
+import eu.datacrop.maize.model_repository.mongodb.model.SystemIdempotencyRecord;
+import eu.datacrop.maize.model_repository.mongodb.model.auxiliary.SystemIdempotencyOutcome;
+import org.bson.Document;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+class SystemIdempotencyStoreTest {
+
+    SystemIdempotencyStore store;
+
+    MongoTemplate template;
+
+    Map<String, SystemIdempotencyRecord> records;
+
+    @BeforeEach
+    void setUp() {
+        // Preparing a template that keeps the records in memory, rejecting duplicate keys as a unique index would.
+        records = new ConcurrentHashMap<>();
+        template = Mockito.mock(MongoTemplate.class);
+        Mockito.when(template.insert(any(SystemIdempotencyRecord.class))).thenAnswer(invocation -> {
+            SystemIdempotencyRecord record = invocation.getArgument(0);
+            if (records.putIfAbsent(record.getKey(), record) != null) {
+                throw new DuplicateKeyException("Duplicate key: " + record.getKey());
+            }
+            return record;
+        });
+        Mockito.when(template.findById(anyString(), eq(SystemIdempotencyRecord.class)))
+                .thenAnswer(invocation -> records.get((String) invocation.getArgument(0)));
+        Mockito.when(template.updateFirst(any(Query.class), any(Update.class), eq(SystemIdempotencyRecord.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            Update update = invocation.getArgument(1);
+            SystemIdempotencyRecord record = records.get((String) query.getQueryObject().get("_id"));
+            if (!matches(record, query)) {
+                return UpdateResult.acknowledged(0L, 0L, null);
+            }
+            record.setOutcome((SystemIdempotencyOutcome) update.getUpdateObject().get("$set", Document.class).get("outcome"));
+            record.setCompleted(true);
+            return UpdateResult.acknowledged(1L, 1L, null);
+        });
+        Mockito.when(template.remove(any(Query.class), eq(SystemIdempotencyRecord.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            records.computeIfPresent((String) query.getQueryObject().get("_id"), (key, record) -> matches(record, query) ? null : record);
+            return null;
+        });
+
+        store = new SystemIdempotencyStore();
+        ReflectionTestUtils.setField(store, "template", template);
+        ReflectionTestUtils.setField(store, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(store, "waitMillis", 2000L);
+        ReflectionTestUtils.setField(store, "leaseMillis", 30000L);
+    }
+
+    @Test
+    void executeConcurrentDuplicates() throws Exception {
+
+        // Submitting the same request concurrently: the creation must be performed exactly once.
+        String key = UUID.randomUUID().toString();
+        AtomicInteger creations = new AtomicInteger();
+        Callable<SystemResponseWrapper> request = () -> store.execute(key, "fingerprint", () -> {
+            creations.incrementAndGet();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return success();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SystemResponseWrapper>> futures = executor.invokeAll(Collections.nCopies(8, request));
+            String id = null;
+            for (Future<SystemResponseWrapper> future : futures) {
+                SystemResponseWrapper wrapper = future.get(5, TimeUnit.SECONDS);
+                Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "Duplicate has not received the outcome:");
+                id = (id == null) ? wrapper.getResponse().getId() : id;
+                Assertions.assertEquals(id, wrapper.getResponse().getId(), "Duplicates have received distinct outcomes:");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(1, creations.get(), "The creation has not been performed exactly once:");
+
+        // Testing that a later replay is served from the record, and that other contents are rejected.
+        SystemResponseWrapper replayed = store.execute(key, "fingerprint", () -> Assertions.fail("The creation has been repeated."));
+        Assertions.assertEquals(ResponseCode.SUCCESS, replayed.getCode(), "Replay has not received the outcome:");
+        SystemResponseWrapper mismatch = store.execute(key, "other", () -> Assertions.fail("The creation has been repeated."));
+        Assertions.assertEquals(SystemErrorMessages.IDEMPOTENCY_KEY_MISMATCH, mismatch.getErrorCode(), "Reused key has not been rejected:");
+    }
+
+    @Test
+    void executeReleasesFailures() {
+
+        // Testing that server errors are not recorded, so that the request may be retried.
+        String key = UUID.randomUUID().toString();
+        SystemResponseWrapper failed = store.execute(key, "fingerprint",
+                () -> new SystemResponseWrapper(ResponseCode.ERROR, "Failure", null, SystemErrorMessages.INTERNAL_SERVER_ERROR));
+        Assertions.assertEquals(ResponseCode.ERROR, failed.getCode(), "The failure has not been reported:");
+        Assertions.assertFalse(records.containsKey(key), "The key has not been released:");
+
+        SystemResponseWrapper retried = store.execute(key, "fingerprint", this::success);
+        Assertions.assertEquals(ResponseCode.SUCCESS, retried.getCode(), "The retry has not been performed:");
+    }
+
+    @Test
+    void executeTakesOverAbandonedClaims() {
+
+        // Leaving a claim without outcome past its lease, as a crashed request would.
+        String key = UUID.randomUUID().toString();
+        records.put(key, new SystemIdempotencyRecord(key, "fingerprint", false, null, LocalDateTime.now().minusMinutes(5)));
+        Mockito.when(template.findAndModify(any(Query.class), any(Update.class), any(), eq(SystemIdempotencyRecord.class)))
+                .thenAnswer(invocation -> records.get(key));
+
+        SystemResponseWrapper wrapper = store.execute(key, "fingerprint", this::success);
+        Assertions.assertEquals(ResponseCode.SUCCESS, wrapper.getCode(), "The abandoned claim has not been taken over:");
+        Assertions.assertTrue(records.get(key).isCompleted(), "The outcome has not been recorded:");
+        Assertions.assertNotNull(records.get(key).getOutcome(), "The outcome has not been recorded:");
+    }
+
+    @Test
+    void executeDoesNotOverwriteTakenOverClaims() {
+
+        // Taking the claim over (as another request would, past the lease) while the creation is being performed.
+        String key = UUID.randomUUID().toString();
+        SystemResponseWrapper wrapper = store.execute(key, "fingerprint", () -> {
+            records.put(key, new SystemIdempotencyRecord(key, "fingerprint", false, null, LocalDateTime.now().plusSeconds(1)));
+            return success();
+        });
+        Assertions.assertEquals(ResponseCode.CONFLICT, wrapper.getCode(), "The lost claim has been reported as successful:");
+        Assertions.assertFalse(records.get(key).isCompleted(), "The outcome of the new holder has been overwritten:");
+
+        // A failing holder must not release the claim of the new holder either.
+        String other = UUID.randomUUID().toString();
+        Assertions.assertThrows(IllegalStateException.class, () -> store.execute(other, "fingerprint", () -> {
+            records.put(other, new SystemIdempotencyRecord(other, "fingerprint", false, null, LocalDateTime.now().plusSeconds(1)));
+            throw new IllegalStateException("Failure");
+        }));
+        Assertions.assertTrue(records.containsKey(other), "The claim of the new holder has been released:");
+    }
+
+    @Test
+    void executeWaitsBetweenAttempts() {
+
+        // Letting the key vanish before every read, as if it were released each time: attempts must be paced.
+        String key = UUID.randomUUID().toString();
+        records.put(key, new SystemIdempotencyRecord(key, "fingerprint", false, null, LocalDateTime.now()));
+        Mockito.when(template.insert(any(SystemIdempotencyRecord.class))).thenThrow(new DuplicateKeyException("Duplicate key: " + key));
+        Mockito.when(template.findById(anyString(), eq(SystemIdempotencyRecord.class))).thenReturn(null);
+        ReflectionTestUtils.setField(store, "waitMillis", 200L);
+
+        SystemResponseWrapper wrapper = store.execute(key, "fingerprint", () -> Assertions.fail("The creation has been performed."));
+        Assertions.assertEquals(SystemErrorMessages.IDEMPOTENCY_KEY_IN_PROGRESS, wrapper.getErrorCode(), "The deadline has not been enforced:");
+        Mockito.verify(template, Mockito.atMost(20)).findById(anyString(), eq(SystemIdempotencyRecord.class));
+    }
+
+    @Test
+    void outcomeIsMappedToDocument() {
+
+        // Testing that the recorded outcome is stored as a document of its own fields, and read back intact.
+        MongoCustomConversions conversions = new MongoCustomConversions(Collections.emptyList());
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        SystemResponseWrapper outcome = success();
+        Set<Object> additionalInformation = new HashSet<>();
+        additionalInformation.add(Map.of("key", "value"));
+        outcome.getResponse().setAdditionalInformation(additionalInformation);
+        outcome.getResponse().setLocation(new LocationResponseDto(37.98, 23.72, "127.00.00.01:8080"));
+        SystemIdempotencyRecord record = new SystemIdempotencyRecord("key", "fingerprint", true,
+                SystemIdempotencyOutcome.of(outcome), LocalDateTime.now());
+
+        Document document = new Document();
+        converter.write(record, document);
+        Document stored = document.get("outcome", Document.class);
+        Assertions.assertEquals("SUCCESS", stored.get("code"), "The outcome has not been mapped:");
+        Assertions.assertEquals(outcome.getResponse().getId(), stored.get("response", Document.class).get("_id"), "The System has not been mapped:");
+
+        SystemResponseWrapper replayed = converter.read(SystemIdempotencyRecord.class, document).getOutcome().toWrapper();
+        Assertions.assertEquals(ResponseCode.SUCCESS, replayed.getCode(), "The outcome has not been read back:");
+        Assertions.assertEquals(outcome.getResponse().getId(), replayed.getResponse().getId(), "The System has not been read back:");
+        Assertions.assertEquals(outcome.getResponse().getLocation().getVirtualLocation(), replayed.getResponse().getLocation().getVirtualLocation(), "The location has not been read back:");
+        Assertions.assertEquals(outcome.getResponse().getLocation().getLatitude(), replayed.getResponse().getLocation().getLatitude(), "The location has not been read back:");
+        Assertions.assertEquals(1, replayed.getResponse().getAdditionalInformation().size(), "The additional information has not been read back:");
+    }
+
+    private static boolean matches(SystemIdempotencyRecord record, Query query) {
+        Document criteria = query.getQueryObject();
+        return record != null
+                && (!criteria.containsKey("completed") || criteria.get("completed").equals(record.isCompleted()))
+                && (!criteria.containsKey("creationDate") || criteria.get("creationDate").equals(record.getCreationDate()));
+    }
+
+    private SystemResponseWrapper success() {
+        SystemResponseDto response = new SystemResponseDto(UUID.randomUUID().toString(), "System", "", "",
+                LocalDateTime.now(), LocalDateTime.now());
+        return new SystemResponseWrapper(ResponseCode.SUCCESS, "", response, null);
+    }
+}
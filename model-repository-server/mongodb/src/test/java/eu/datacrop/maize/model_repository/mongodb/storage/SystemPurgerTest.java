@@ -0,0 +1,147 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.result.DeleteResult;
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.outbox.SystemOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+class SystemPurgerTest {
+
+    SystemPurger purger;
+
+    SimpleMeterRegistry meterRegistry;
+
+    IndexOperations indexOperations;
+
+    SystemAdditionalInformationStore additionalInformationStore;
+
+    Map<String, LocalDateTime> systems;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Preparing a template that keeps the deletion dates of the Systems in memory (null for Systems not deleted).
+        systems = new TreeMap<>();
+        MongoTemplate template = Mockito.mock(MongoTemplate.class);
+        Mockito.when(template.find(any(Query.class), eq(System.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            LocalDateTime cutoff = (LocalDateTime) query.getQueryObject().get("deletedAt", Document.class).get("$lte");
+            return systems.entrySet().stream()
+                    .filter(entry -> entry.getValue() != null && !entry.getValue().isAfter(cutoff))
+                    .sorted(Map.Entry.comparingByValue())
+                    .limit(query.getLimit())
+                    .map(entry -> {
+                        System system = new System();
+                        system.setId(entry.getKey());
+                        return system;
+                    }).toList();
+        });
+        MongoCollection<Document> collection = Mockito.mock(MongoCollection.class);
+        Mockito.when(template.getCollectionName(System.class)).thenReturn("System");
+        Mockito.when(template.getCollection(anyString())).thenReturn(collection);
+        Mockito.when(collection.deleteMany(any(Bson.class))).thenAnswer(invocation -> {
+            BsonDocument filter = ((Bson) invocation.getArgument(0)).toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry());
+            long removed = 0;
+            for (BsonValue id : filter.getArray("$and").get(0).asDocument().getDocument("_id").getArray("$in")) {
+                if (systems.get(id.asString().getValue()) != null) {
+                    systems.remove(id.asString().getValue());
+                    removed++;
+                }
+            }
+            return DeleteResult.acknowledged(removed);
+        });
+        indexOperations = Mockito.mock(IndexOperations.class);
+        Mockito.when(template.indexOps(System.class)).thenReturn(indexOperations);
+
+        additionalInformationStore = Mockito.mock(SystemAdditionalInformationStore.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        purger = new SystemPurger();
+        ReflectionTestUtils.setField(purger, "template", template);
+        ReflectionTestUtils.setField(purger, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(purger, "additionalInformationStore", additionalInformationStore);
+        ReflectionTestUtils.setField(purger, "enabled", true);
+        ReflectionTestUtils.setField(purger, "purgeEnabled", false);
+        ReflectionTestUtils.setField(purger, "delayMillis", 60000L);
+        ReflectionTestUtils.setField(purger, "batchSize", 3);
+        purger.start();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void purgeInBatches() {
+
+        // The deleted Systems must be found through a partial index holding the deleted Systems only.
+        ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+        Mockito.verify(indexOperations).ensureIndex(index.capture());
+        Assertions.assertEquals(new Document("deletedAt", 1), index.getValue().getIndexKeys());
+        Assertions.assertEquals(new Document("deletedAt", new Document("$exists", true)),
+                index.getValue().getIndexOptions().get("partialFilterExpression"));
+
+        // Preparing Systems deleted long ago, Systems deleted just now and Systems not deleted.
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            String id = UUID.randomUUID().toString();
+            systems.put(id, LocalDateTime.now().minusHours(1).plusSeconds(i));
+            expired.add(id);
+        }
+        for (int i = 0; i < 2; i++) {
+            systems.put(UUID.randomUUID().toString(), LocalDateTime.now());
+        }
+        for (int i = 0; i < 3; i++) {
+            systems.put(UUID.randomUUID().toString(), null);
+        }
+
+        // Only the Systems deleted long ago must be purged, in batches of limited size, along with their information.
+        Assertions.assertEquals(3, purger.purgeBatch());
+        Assertions.assertEquals(3, purger.purgeBatch());
+        Assertions.assertEquals(1, purger.purgeBatch());
+        Assertions.assertEquals(0, purger.purgeBatch());
+        Assertions.assertEquals(5, systems.size());
+        Assertions.assertTrue(expired.stream().noneMatch(systems::containsKey));
+        Assertions.assertEquals(7.0, meterRegistry.get("model_repository.system.purged").counter().count());
+
+        ArgumentCaptor<Collection<String>> discarded = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(additionalInformationStore, Mockito.times(3)).deleteAll(discarded.capture());
+        Assertions.assertEquals(expired, discarded.getAllValues().stream().flatMap(Collection::stream).toList());
+    }
+
+    @Test
+    void keepSystemsWithPendingChanges() {
+
+        // Deletions must be soft while the outbox is enabled, even if soft deletion is not.
+        ReflectionTestUtils.setField(purger, "enabled", false);
+        ReflectionTestUtils.setField(purger, "outboxEnabled", true);
+        Assertions.assertTrue(purger.isEnabled(), "Deletions are not soft while the outbox is enabled:");
+
+        // Deleted Systems must not be purged before their changes have been relayed.
+        purger.purgeBatch();
+        MongoTemplate template = (MongoTemplate) ReflectionTestUtils.getField(purger, "template");
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        Mockito.verify(template).find(query.capture(), eq(System.class));
+        Assertions.assertEquals(new Document("$exists", false), query.getValue().getQueryObject().get(SystemOutbox.OCCURRED_AT));
+    }
+}
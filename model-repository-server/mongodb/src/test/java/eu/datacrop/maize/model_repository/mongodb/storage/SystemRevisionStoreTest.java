@@ -0,0 +1,170 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import eu.datacrop.maize.model_repository.mongodb.model.SystemRevision;
+import org.bson.Document;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class SystemRevisionStoreTest {
+
+    SystemRevisionStore store;
+
+    Map<String, SystemRevision> revisions;
+
+    @BeforeEach
+    void setUp() {
+        // Preparing a template that keeps the revisions in memory, with a real converter for the states of Systems.
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        revisions = new TreeMap<>();
+        MongoTemplate template = Mockito.mock(MongoTemplate.class);
+        Mockito.when(template.getConverter()).thenReturn(converter);
+        Mockito.when(template.insert(any(SystemRevision.class))).thenAnswer(invocation -> {
+            SystemRevision revision = invocation.getArgument(0);
+            revisions.put(revision.getId(), revision);
+            return revision;
+        });
+        Mockito.when(template.exists(any(Query.class), eq(SystemRevision.class)))
+                .thenAnswer(invocation -> revisions.containsKey((String) ((Query) invocation.getArgument(0)).getQueryObject().get("_id")));
+        Mockito.when(template.findOne(any(Query.class), eq(SystemRevision.class))).thenAnswer(invocation -> {
+            Document query = ((Query) invocation.getArgument(0)).getQueryObject();
+            LocalDateTime asOf = (LocalDateTime) query.get("validFrom", Document.class).get("$lte");
+            return revisions.values().stream()
+                    .filter(revision -> revision.getSystemId().equals(query.get("systemId")) && !revision.getValidFrom().isAfter(asOf))
+                    .max(Comparator.comparing(SystemRevision::getVersion)).orElse(null);
+        });
+        Mockito.when(template.find(any(Query.class), eq(SystemRevision.class))).thenAnswer(invocation -> {
+            Document query = ((Query) invocation.getArgument(0)).getQueryObject();
+            long from = (Long) query.get("version", Document.class).get("$gte");
+            long to = (Long) query.get("version", Document.class).get("$lte");
+            return revisions.values().stream()
+                    .filter(revision -> revision.getSystemId().equals(query.get("systemId"))
+                            && revision.getVersion() >= from && revision.getVersion() <= to)
+                    .sorted(Comparator.comparing(SystemRevision::getVersion)).toList();
+        });
+
+        store = new SystemRevisionStore();
+        ReflectionTestUtils.setField(store, "template", template);
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "snapshotInterval", 5);
+    }
+
+    @Test
+    void reconstructEveryVersion() {
+
+        // Recording a creation and twelve updates, each changing the description and the additional information.
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        String id = UUID.randomUUID().toString();
+        List<System> versions = new ArrayList<>();
+        versions.add(system(id, 0L, start));
+        store.recordCreation(versions.get(0));
+        for (long version = 1; version <= 12; version++) {
+            System current = system(id, version, start.plusHours(version));
+            store.recordUpdate(versions.get(versions.size() - 1), current);
+            versions.add(current);
+        }
+
+        // Only the creation and every fifth version must have been recorded in full.
+        Assertions.assertEquals(13, revisions.size());
+        Assertions.assertEquals(List.of(0L, 5L, 10L), revisions.values().stream()
+                .filter(SystemRevision::isSnapshot).map(SystemRevision::getVersion).sorted().toList());
+
+        // Every version must be reconstructed as it was, both at and right after the date of its writing.
+        for (System expected : versions) {
+            for (LocalDateTime asOf : List.of(expected.getLatestUpdateDate(), expected.getLatestUpdateDate().plusMinutes(30))) {
+                System reconstructed = store.reconstruct(id, asOf);
+                Assertions.assertNotNull(reconstructed);
+                Assertions.assertEquals(id, reconstructed.getId());
+                Assertions.assertEquals(expected.getVersion(), reconstructed.getVersion());
+                Assertions.assertEquals(expected.getDescription(), reconstructed.getDescription());
+                Assertions.assertEquals(expected.getAdditionalInformation(), reconstructed.getAdditionalInformation());
+            }
+        }
+
+        // The System did not exist before its creation.
+        Assertions.assertNull(store.reconstruct(id, start.minusSeconds(1)));
+    }
+
+    @Test
+    void reconstructAroundDeletionAndMissingHistory() {
+
+        // Recording an update of a System whose prior versions were written before the history was enabled.
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        String id = UUID.randomUUID().toString();
+        System previous = system(id, 7L, start);
+        System current = system(id, 8L, start.plusHours(1));
+        store.recordUpdate(previous, current);
+
+        // The prior version must have been recorded in full, so that the update can be replayed on top of it.
+        Assertions.assertTrue(revisions.get(id + ":7").isSnapshot());
+        Assertions.assertEquals(previous.getDescription(), store.reconstruct(id, start.plusMinutes(30)).getDescription());
+        Assertions.assertEquals(current.getDescription(), store.reconstruct(id, start.plusHours(1)).getDescription());
+
+        // After its deletion the System must not be reconstructed, while its past states remain available.
+        store.recordDeletion(current);
+        Assertions.assertNull(store.reconstruct(id, LocalDateTime.now().plusSeconds(1)));
+        Assertions.assertEquals(current.getDescription(), store.reconstruct(id, start.plusHours(2)).getDescription());
+    }
+
+    @Test
+    void recordDeletionsInSingleAggregation() {
+
+        MongoTemplate template = (MongoTemplate) ReflectionTestUtils.getField(store, "template");
+        Mockito.when(template.getCollectionName(System.class)).thenReturn("System");
+        Mockito.when(template.getCollectionName(SystemRevision.class)).thenReturn("SystemRevision");
+        store.recordDeletions(Criteria.where("deletedAt").is(null));
+
+        // The markers must be written by the database, never discarding the history recorded so far.
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        Mockito.verify(template).aggregate(aggregation.capture(), eq("System"), eq(Document.class));
+        Mockito.verify(template, Mockito.never()).dropCollection(SystemRevision.class);
+        List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        Assertions.assertEquals(new Document("deletedAt", null), pipeline.get(0).get("$match"));
+        Document marker = pipeline.get(1).get("$project", Document.class);
+        Assertions.assertEquals(true, marker.get("deleted"));
+        Assertions.assertEquals("$_id", marker.get("systemId"));
+        Document merge = pipeline.get(2).get("$merge", Document.class);
+        Assertions.assertEquals("SystemRevision", merge.get("into"));
+        Assertions.assertEquals("keepExisting", merge.get("whenMatched"));
+
+        // Nothing must be written while the history is disabled.
+        ReflectionTestUtils.setField(store, "enabled", false);
+        store.recordDeletions(Criteria.where("deletedAt").is(null));
+        Mockito.verify(template).aggregate(any(Aggregation.class), eq("System"), eq(Document.class));
+    }
+
+    private static System system(String id, long version, LocalDateTime date) {
+        Set<Object> information = new HashSet<>();
+        information.add(Map.of("sensor", "sensor-" + version));
+        information.add(Map.of("stable", "true"));
+        if (version % 3 == 0) {
+            information.add(Map.of("calibrated", version));
+        }
+        return new System(id, "System", "Description of version " + version, null, "Organization", information,
+                false, null, version, date, date, null, null);
+    }
+}
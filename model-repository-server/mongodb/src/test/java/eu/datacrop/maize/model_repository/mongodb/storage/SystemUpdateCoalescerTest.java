@@ -0,0 +1,115 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import eu.datacrop.maize.model_repository.commons.dtos.requests.SystemRequestDto;
+import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SystemUpdateCoalescerTest {
+
+    SystemUpdateCoalescer coalescer;
+
+    SimpleMeterRegistry meterRegistry;
+
+    AtomicInteger writes;
+
+    Function<SystemRequestDto, SystemResponseWrapper> writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new SystemUpdateCoalescer();
+        ReflectionTestUtils.setField(coalescer, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "windowMillis", 200L);
+        coalescer.initialize();
+
+        // A writer that counts its invocations and reports the name it has written.
+        writes = new AtomicInteger();
+        writer = requestDto -> {
+            writes.incrementAndGet();
+            SystemResponseWrapper wrapper = new SystemResponseWrapper();
+            wrapper.setCode(ResponseCode.SUCCESS);
+            wrapper.setMessage(requestDto.getName());
+            return wrapper;
+        };
+    }
+
+    @Test
+    void updateConcurrently() throws Exception {
+
+        // Submitting many updates of the same System at once.
+        int count = 20;
+        String databaseID = UUID.randomUUID().toString();
+        ExecutorService clients = Executors.newFixedThreadPool(count);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<SystemResponseWrapper>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SystemRequestDto requestDto = new SystemRequestDto();
+            requestDto.setName("System" + i);
+            results.add(clients.submit(() -> {
+                start.await();
+                return coalescer.update(databaseID, requestDto, writer);
+            }));
+        }
+        start.countDown();
+
+        // Testing that a single write took place and that all callers received its outcome.
+        Set<SystemResponseWrapper> outcomes = new HashSet<>();
+        for (Future<SystemResponseWrapper> result : results) {
+            outcomes.add(result.get(10, TimeUnit.SECONDS));
+        }
+        clients.shutdown();
+
+        Assertions.assertEquals(1, writes.get(), "The updates have not been merged into a single write:");
+        Assertions.assertEquals(1, outcomes.size(), "The callers have not received the same outcome:");
+        Assertions.assertEquals(count - 1, meterRegistry.counter("model_repository.system.update.coalesced").count(), "The merged updates have not been counted:");
+    }
+
+    @Test
+    void updateDistinctSystems() {
+
+        // Testing that updates of different Systems (or of later windows) are not merged.
+        SystemRequestDto requestDto = new SystemRequestDto();
+        requestDto.setName("System");
+        coalescer.update(UUID.randomUUID().toString(), requestDto, writer);
+        coalescer.update(UUID.randomUUID().toString(), requestDto, writer);
+
+        String databaseID = UUID.randomUUID().toString();
+        coalescer.update(databaseID, requestDto, writer);
+        SystemResponseWrapper wrapper = coalescer.update(databaseID, requestDto, writer);
+
+        Assertions.assertEquals(4, writes.get(), "Distinct updates have been merged:");
+        Assertions.assertEquals("System", wrapper.getMessage(), "The outcome of the write has not been returned:");
+    }
+
+    @Test
+    void updateFailing() throws Exception {
+
+        // Submitting two updates of the same System to a writer that fails.
+        String databaseID = UUID.randomUUID().toString();
+        SystemRequestDto requestDto = new SystemRequestDto();
+        Function<SystemRequestDto, SystemResponseWrapper> failingWriter = latest -> {
+            throw new IllegalStateException("Failure");
+        };
+        CompletableFuture<SystemResponseWrapper> leader = CompletableFuture.supplyAsync(() -> coalescer.update(databaseID, requestDto, failingWriter));
+        Thread.sleep(50);
+
+        // Testing that the failure reaches the caller that joined the window too.
+        assertThrows(IllegalStateException.class, () -> coalescer.update(databaseID, requestDto, failingWriter),
+                "The failure of the write has not been reported:");
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(IllegalStateException.class, thrown.getCause());
+    }
+}
@@ -0,0 +1,82 @@
+package eu.datacrop.maize.model_repository.mongodb.storage;
+
+import com.mongodb.WriteConcern;
+import eu.datacrop.maize.model_repository.commons.util.WriteConcernOverride;
+import eu.datacrop.maize.model_repository.mongodb.model.System;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoAction;
+import org.springframework.data.mongodb.core.MongoActionOperation;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+class SystemWriteConcernResolverTest {
+
+    private SystemWriteConcernResolver resolver;
+
+    private MongoTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        template = Mockito.mock(MongoTemplate.class);
+        resolver = new SystemWriteConcernResolver();
+        ReflectionTestUtils.setField(resolver, "template", template);
+        ReflectionTestUtils.setField(resolver, "create", "majority");
+        ReflectionTestUtils.setField(resolver, "update", "w1");
+        ReflectionTestUtils.setField(resolver, "delete", "journaled");
+        ReflectionTestUtils.setField(resolver, "bulk", "unacknowledged");
+        resolver.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        WriteConcernOverride.clear();
+    }
+
+    @Test
+    void resolvePerOperation() {
+
+        Mockito.verify(template).setWriteConcernResolver(resolver);
+        Document byId = new Document("_id", UUID.randomUUID().toString());
+        Document byIds = new Document("_id", new Document("$in", List.of(UUID.randomUUID().toString())));
+
+        Assertions.assertEquals(WriteConcern.MAJORITY, resolve(MongoActionOperation.INSERT, null), "Insert has incorrect write concern:");
+        Assertions.assertEquals(WriteConcern.MAJORITY, resolve(MongoActionOperation.INSERT_LIST, null), "Batch insert has incorrect write concern:");
+        Assertions.assertEquals(WriteConcern.W1, resolve(MongoActionOperation.SAVE, byId), "Save has incorrect write concern:");
+        Assertions.assertEquals(WriteConcern.W1, resolve(MongoActionOperation.UPDATE, byId), "Update by ID has incorrect write concern:");
+        Assertions.assertEquals(WriteConcern.JOURNALED, resolve(MongoActionOperation.REMOVE, byId), "Removal by ID has incorrect write concern:");
+        Assertions.assertEquals(WriteConcern.UNACKNOWLEDGED, resolve(MongoActionOperation.REMOVE, new Document()), "Removal of all has incorrect write concern:");
+        Assertions.assertEquals(WriteConcern.UNACKNOWLEDGED, resolve(MongoActionOperation.REMOVE, byIds), "Removal by IDs has incorrect write concern:");
+        Assertions.assertEquals(WriteConcern.UNACKNOWLEDGED, resolve(MongoActionOperation.UPDATE, new Document("name", "System")), "Multi-update has incorrect write concern:");
+        Assertions.assertEquals(WriteConcern.UNACKNOWLEDGED, resolve(MongoActionOperation.BULK, null), "Bulk write has incorrect write concern:");
+    }
+
+    @Test
+    void resolveOverride() {
+
+        // Testing that a requested write concern prevails over the configured ones.
+        WriteConcernOverride.set("Acknowledged");
+        Assertions.assertEquals(WriteConcern.ACKNOWLEDGED, resolve(MongoActionOperation.INSERT, null), "Override has been ignored on insert:");
+        Assertions.assertEquals(WriteConcern.ACKNOWLEDGED, resolve(MongoActionOperation.REMOVE, new Document()), "Override has been ignored on bulk removal:");
+
+        // Testing that the configured ones apply again once the override is cleared.
+        WriteConcernOverride.clear();
+        Assertions.assertEquals(WriteConcern.MAJORITY, resolve(MongoActionOperation.INSERT, null), "Override has not been cleared:");
+
+        // Testing that unknown names are rejected, whether requested or configured.
+        Assertions.assertFalse(WriteConcernOverride.isValidWriteConcern("w9"), "Unknown write concern has been accepted:");
+        ReflectionTestUtils.setField(resolver, "bulk", "w9");
+        Assertions.assertThrows(IllegalStateException.class, () -> resolver.initialize(), "Unknown configured write concern has been accepted:");
+    }
+
+    private WriteConcern resolve(MongoActionOperation operation, Document query) {
+        return resolver.resolve(new MongoAction(WriteConcern.ACKNOWLEDGED, operation, "System", System.class, new Document(), query));
+    }
+}
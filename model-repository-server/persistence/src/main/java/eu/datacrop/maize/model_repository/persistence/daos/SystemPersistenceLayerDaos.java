@@ -1,9 +1,18 @@
 package eu.datacrop.maize.model_repository.persistence.daos;
 
+import eu.datacrop.maize.model_repository.commons.dtos.requests.PolygonRequestDto;
 import eu.datacrop.maize.model_repository.commons.dtos.requests.SystemRequestDto;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.ClusterResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.GeohashCountResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemNameResponsesWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemFacetsResponseWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemJobResponseWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 /**********************************************************************************************************************
  * This interface defines the services offered by the persistence layer pertaining to IoT Systems.
  *
@@ -22,6 +31,15 @@ public interface SystemPersistenceLayerDaos {
      *****************************************************************************************************************/
     SystemResponseWrapper retrieveSystemByDatabaseID(String databaseID) throws IllegalArgumentException;
 
+    /******************************************************************************************************************
+     * Method to reconstruct the state of an existing System, as it was at a past date, from its revision history.
+     *
+     * @param databaseID A UUID that uniquely identifies a System in the database, not null.
+     * @param asOf The date at which the state of the System is requested, not null.
+     * @return A wrapped data transfer object with either information on the reconstructed System or failure messages.
+     *****************************************************************************************************************/
+    SystemResponseWrapper retrieveSystemAsOf(String databaseID, LocalDateTime asOf);
+
     /******************************************************************************************************************
      * Method to retrieve an existing System using its name as unique identifier.
      *
@@ -41,6 +59,115 @@ public interface SystemPersistenceLayerDaos {
      *****************************************************************************************************************/
     SystemResponsesWrapper retrieveAllSystems(int page, int size);
 
+    /******************************************************************************************************************
+     * Method to retrieve the Systems located within a maximum distance from a point, sorted by distance.
+     *
+     * @param latitude The latitude of the reference point, in decimal degrees.
+     * @param longitude The longitude of the reference point, in decimal degrees.
+     * @param maxDistance The maximum distance from the reference point in meters.
+     * @param limit The maximum number of Systems to retrieve.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    SystemResponsesWrapper retrieveSystemsNear(double latitude, double longitude, double maxDistance, int limit);
+
+    /******************************************************************************************************************
+     * Method to retrieve the Systems located within a bounding box, paginated.
+     *
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    SystemResponsesWrapper retrieveSystemsWithinBox(double minLatitude, double minLongitude, double maxLatitude,
+                                                    double maxLongitude, int page, int size);
+
+    /******************************************************************************************************************
+     * Method to retrieve the Systems located within a Polygon, paginated.
+     *
+     * @param polygon A data transfer object with the vertices of the Polygon, not null.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    SystemResponsesWrapper retrieveSystemsWithinPolygon(PolygonRequestDto polygon, int page, int size);
+
+    /******************************************************************************************************************
+     * Method to retrieve the clusters of Systems displayed on a map viewport at a given zoom level.
+     *
+     * @param zoom The zoom level of the map.
+     * @param minLatitude The latitude of the south-west corner of the viewport, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner of the viewport, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner of the viewport, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner of the viewport, in decimal degrees.
+     * @return A wrapped data transfer object with either information on the retrieved clusters or failure messages.
+     *****************************************************************************************************************/
+    ClusterResponsesWrapper retrieveSystemClusters(int zoom, double minLatitude, double minLongitude, double maxLatitude,
+                                                   double maxLongitude);
+
+    /******************************************************************************************************************
+     * Method to retrieve the number of Systems per geohash cell within a bounding box, e.g. for density maps.
+     *
+     * @param precision The geohash precision (i.e. length of the geohashes).
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @return A wrapped data transfer object with either the counts per geohash cell or failure messages.
+     *****************************************************************************************************************/
+    GeohashCountResponsesWrapper retrieveSystemCountsByGeohash(int precision, double minLatitude, double minLongitude,
+                                                               double maxLatitude, double maxLongitude);
+
+    /******************************************************************************************************************
+     * Method to search Systems by keywords in their name and description, ordered by relevance and paginated.
+     *
+     * @param text The search terms (any of which may match), not null.
+     * @param organization The organization owning the Systems, null for all organizations.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    SystemResponsesWrapper searchSystems(String text, String organization, int page, int size);
+
+    /******************************************************************************************************************
+     * Method to retrieve the names of the Systems starting with a prefix (ignoring case), for autocompletion.
+     *
+     * @param prefix The prefix of the names, not null.
+     * @param limit The maximum number of names to retrieve.
+     * @return A wrapped data transfer object with either the databaseIDs and names of the matched Systems or failure
+     * messages.
+     *****************************************************************************************************************/
+    SystemNameResponsesWrapper retrieveSystemNamesByPrefix(String prefix, int limit);
+
+    /******************************************************************************************************************
+     * Method to count the Systems per organization and per type of location (Geographical or Virtual).
+     *
+     * @return A wrapped data transfer object with either the summary of the Systems or failure messages.
+     *****************************************************************************************************************/
+    SystemFacetsResponseWrapper retrieveSystemFacets();
+
+    /******************************************************************************************************************
+     * Method to retrieve the Systems whose additional information contains all of the given key/value pairs,
+     * paginated.
+     *
+     * @param filters The key/value pairs to match, not null.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    SystemResponsesWrapper retrieveSystemsByAdditionalInformation(Map<String, String> filters, int page, int size);
+
+    /******************************************************************************************************************
+     * Method to retrieve an existing System along with all of its additional information, using its databaseID as
+     * unique identifier. Unlike the rest of the retrievals, oversized (detached) additional information is included.
+     *
+     * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @return A wrapped data transfer object with either information on the retrieved System or failure messages.
+     *****************************************************************************************************************/
+    SystemResponseWrapper retrieveSystemAdditionalInformation(String databaseID);
+
     /******************************************************************************************************************
      * Method to persist a new System.
      *
@@ -51,27 +178,39 @@ public interface SystemPersistenceLayerDaos {
      *****************************************************************************************************************/
     SystemResponseWrapper createSystem(SystemRequestDto requestDto) throws IllegalArgumentException;
 
+    /******************************************************************************************************************
+     * Method that creates a new System at most once per idempotency key. Replays of a request receive
+     * the outcome of its first processing.
+     *
+     * @param requestDto A data transfer object with values for the attributes of the System, not null.
+     * @param idempotencyKey A key provided by the client that identifies the request among its retries, not null.
+     * @return A wrapped data transfer object with either information on the created System or failure messages.
+     *****************************************************************************************************************/
+    SystemResponseWrapper createSystemIdempotently(SystemRequestDto requestDto, String idempotencyKey);
+
     /******************************************************************************************************************
      * Method to update an existing System using its databaseID as unique identifier.
      *
      * @param requestDto A data transfer object with values for the attributes of the System, not null.
      * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param expectedVersion The version that the System must have (as per If-Match), null to accept any version.
      * @return A wrapped data transfer object with either information on the updated System or failure messages.
      *
      * @throws IllegalArgumentException - if requestDto is null.
      * @throws IllegalArgumentException - if databaseID is null or empty string.
      *****************************************************************************************************************/
-    SystemResponseWrapper updateSystem(SystemRequestDto requestDto, String databaseID) throws IllegalArgumentException;
+    SystemResponseWrapper updateSystem(SystemRequestDto requestDto, String databaseID, Long expectedVersion) throws IllegalArgumentException;
 
     /******************************************************************************************************************
      * Method to delete an existing System using its databaseID as unique identifier.
      *
      * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param expectedVersion The version that the System must have (as per If-Match), null to accept any version.
      * @return A wrapped data transfer object with either information on the deleted System or failure messages.
      *
      * @throws IllegalArgumentException - if databaseID is null or empty string.
      *****************************************************************************************************************/
-    SystemResponseWrapper deleteSystem(String databaseID) throws IllegalArgumentException;
+    SystemResponseWrapper deleteSystem(String databaseID, Long expectedVersion) throws IllegalArgumentException;
 
     /******************************************************************************************************************
      * Method to delete all existing Systems.
@@ -80,4 +219,27 @@ public interface SystemPersistenceLayerDaos {
      *****************************************************************************************************************/
     SystemResponseWrapper deleteAllSystems();
 
+    /******************************************************************************************************************
+     * Method to submit a Job deleting all existing Systems in the background, in chunks.
+     *
+     * @return A wrapped data transfer object with either information on the submitted Job or failure messages.
+     *****************************************************************************************************************/
+    SystemJobResponseWrapper submitDeleteAllSystemsJob();
+
+    /******************************************************************************************************************
+     * Method to retrieve the status and progress of a Job.
+     *
+     * @param jobID A UUID that uniquely identifies an existing Job in the database, not null.
+     * @return A wrapped data transfer object with either information on the Job or failure messages.
+     *****************************************************************************************************************/
+    SystemJobResponseWrapper retrieveSystemJob(String jobID) throws IllegalArgumentException;
+
+    /******************************************************************************************************************
+     * Method to cancel a Job that has not finished yet.
+     *
+     * @param jobID A UUID that uniquely identifies an existing Job in the database, not null.
+     * @return A wrapped data transfer object with either information on the cancelled Job or failure messages.
+     *****************************************************************************************************************/
+    SystemJobResponseWrapper cancelSystemJob(String jobID) throws IllegalArgumentException;
+
 }
@@ -1,9 +1,15 @@
 package eu.datacrop.maize.model_repository.persistence.mongo_implementation;
 
+import eu.datacrop.maize.model_repository.commons.dtos.requests.PolygonRequestDto;
 import eu.datacrop.maize.model_repository.commons.dtos.requests.SystemRequestDto;
 import eu.datacrop.maize.model_repository.commons.enums.ResponseCode;
 import eu.datacrop.maize.model_repository.commons.error.messages.SystemErrorMessages;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.ClusterResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.GeohashCountResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemNameResponsesWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemFacetsResponseWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemJobResponseWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
 import eu.datacrop.maize.model_repository.mongodb.services.SystemServices;
 import eu.datacrop.maize.model_repository.persistence.daos.SystemPersistenceLayerDaos;
@@ -13,6 +19,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 /**********************************************************************************************************************
  * This class redirects enquires to the persistence layer pertaining to IoT Systems. Implementation for MongoDB.
  *
@@ -51,6 +60,25 @@ public class SystemMongoDaos implements SystemPersistenceLayerDaos {
         return services.retrieveSystemByDatabaseID(databaseID);
     }
 
+    /******************************************************************************************************************
+     * Method to reconstruct the state of an existing System, as it was at a past date, from its revision history.
+     *
+     * @param databaseID A UUID that uniquely identifies a System in the database, not null.
+     * @param asOf The date at which the state of the System is requested, not null.
+     * @return A wrapped data transfer object with either information on the reconstructed System or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponseWrapper retrieveSystemAsOf(String databaseID, LocalDateTime asOf) throws IllegalArgumentException {
+
+        // Checking input parameters.
+        if (databaseID.isBlank() || asOf == null) {
+            throw new IllegalArgumentException("Invalid parameter detected for method SystemMongoDaos.retrieveSystemAsOf().");
+        }
+
+        log.info("Persistence layer (MongoDB) received request for retrieval of System with ID: '{}' as of '{}'.", databaseID, asOf);
+        return services.retrieveSystemAsOf(databaseID, asOf);
+    }
+
     /******************************************************************************************************************
      * Method to retrieve an existing System using its name as unique identifier.
      *
@@ -84,6 +112,155 @@ public class SystemMongoDaos implements SystemPersistenceLayerDaos {
         return services.retrieveAllSystems(page, size);
     }
 
+    /******************************************************************************************************************
+     * Method to retrieve the Systems located within a maximum distance from a point, sorted by distance.
+     *
+     * @param latitude The latitude of the reference point, in decimal degrees.
+     * @param longitude The longitude of the reference point, in decimal degrees.
+     * @param maxDistance The maximum distance from the reference point in meters.
+     * @param limit The maximum number of Systems to retrieve.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponsesWrapper retrieveSystemsNear(double latitude, double longitude, double maxDistance, int limit) {
+        log.info("Persistence layer (MongoDB) received request for retrieval of Systems near ({}, {}).", latitude, longitude);
+        return services.retrieveSystemsNear(latitude, longitude, maxDistance, limit);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the Systems located within a bounding box, paginated.
+     *
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponsesWrapper retrieveSystemsWithinBox(double minLatitude, double minLongitude, double maxLatitude,
+                                                           double maxLongitude, int page, int size) {
+        log.info("Persistence layer (MongoDB) received request for retrieval of Systems within box.");
+        return services.retrieveSystemsWithinBox(minLatitude, minLongitude, maxLatitude, maxLongitude, page, size);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the Systems located within a Polygon, paginated.
+     *
+     * @param polygon A data transfer object with the vertices of the Polygon, not null.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponsesWrapper retrieveSystemsWithinPolygon(PolygonRequestDto polygon, int page, int size) {
+        log.info("Persistence layer (MongoDB) received request for retrieval of Systems within polygon.");
+        return services.retrieveSystemsWithinPolygon(polygon, page, size);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the clusters of Systems displayed on a map viewport at a given zoom level.
+     *
+     * @param zoom The zoom level of the map.
+     * @param minLatitude The latitude of the south-west corner of the viewport, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner of the viewport, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner of the viewport, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner of the viewport, in decimal degrees.
+     * @return A wrapped data transfer object with either information on the retrieved clusters or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public ClusterResponsesWrapper retrieveSystemClusters(int zoom, double minLatitude, double minLongitude,
+                                                          double maxLatitude, double maxLongitude) {
+        log.info("Persistence layer (MongoDB) received request for retrieval of System clusters.");
+        return services.retrieveSystemClusters(zoom, minLatitude, minLongitude, maxLatitude, maxLongitude);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the number of Systems per geohash cell within a bounding box, e.g. for density maps.
+     *
+     * @param precision The geohash precision (i.e. length of the geohashes).
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @return A wrapped data transfer object with either the counts per geohash cell or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public GeohashCountResponsesWrapper retrieveSystemCountsByGeohash(int precision, double minLatitude, double minLongitude,
+                                                                      double maxLatitude, double maxLongitude) {
+        log.info("Persistence layer (MongoDB) received request for counting Systems per geohash cell.");
+        return services.retrieveSystemCountsByGeohash(precision, minLatitude, minLongitude, maxLatitude, maxLongitude);
+    }
+
+    /******************************************************************************************************************
+     * Method to search Systems by keywords in their name and description, ordered by relevance and paginated.
+     *
+     * @param text The search terms (any of which may match), not null.
+     * @param organization The organization owning the Systems, null for all organizations.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponsesWrapper searchSystems(String text, String organization, int page, int size) {
+        log.info("Persistence layer (MongoDB) received request for full-text search of Systems.");
+        return services.searchSystems(text, organization, page, size);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the names of the Systems starting with a prefix (ignoring case), for autocompletion.
+     *
+     * @param prefix The prefix of the names, not null.
+     * @param limit The maximum number of names to retrieve.
+     * @return A wrapped data transfer object with either the databaseIDs and names of the matched Systems or failure
+     * messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemNameResponsesWrapper retrieveSystemNamesByPrefix(String prefix, int limit) {
+        log.info("Persistence layer (MongoDB) received request for autocompletion of System names.");
+        return services.retrieveSystemNamesByPrefix(prefix, limit);
+    }
+
+    /******************************************************************************************************************
+     * Method to count the Systems per organization and per type of location (Geographical or Virtual).
+     *
+     * @return A wrapped data transfer object with either the summary of the Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemFacetsResponseWrapper retrieveSystemFacets() {
+        log.info("Persistence layer (MongoDB) received request for facet counts of Systems.");
+        return services.retrieveSystemFacets();
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the Systems whose additional information contains all of the given key/value pairs,
+     * paginated.
+     *
+     * @param filters The key/value pairs to match, not null.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponsesWrapper retrieveSystemsByAdditionalInformation(Map<String, String> filters, int page, int size) {
+        log.info("Persistence layer (MongoDB) received request for Systems filtered by additional information.");
+        return services.retrieveSystemsByAdditionalInformation(filters, page, size);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve an existing System along with all of its additional information, using its databaseID as
+     * unique identifier. Unlike the rest of the retrievals, oversized (detached) additional information is included.
+     *
+     * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @return A wrapped data transfer object with either information on the retrieved System or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponseWrapper retrieveSystemAdditionalInformation(String databaseID) {
+        log.info("Persistence layer (MongoDB) received request for retrieval of additional information of System with ID: '{}'.", databaseID);
+        return services.retrieveSystemAdditionalInformation(databaseID);
+    }
+
     /******************************************************************************************************************
      * Method to persist a new System.
      *
@@ -117,18 +294,33 @@ public class SystemMongoDaos implements SystemPersistenceLayerDaos {
         return services.createSystem(requestDto);
     }
 
+    /******************************************************************************************************************
+     * Method that creates a new System at most once per idempotency key. Replays of a request receive
+     * the outcome of its first processing.
+     *
+     * @param requestDto A data transfer object with values for the attributes of the System, not null.
+     * @param idempotencyKey A key provided by the client that identifies the request among its retries, not null.
+     * @return A wrapped data transfer object with either information on the created System or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponseWrapper createSystemIdempotently(SystemRequestDto requestDto, String idempotencyKey) {
+        log.info("Persistence layer (MongoDB) received request for idempotent creation of new System.");
+        return services.createSystemIdempotently(requestDto, idempotencyKey);
+    }
+
     /******************************************************************************************************************
      * Method to update an existing System using its databaseID as unique identifier.
      *
      * @param requestDto A data transfer object with values for the attributes of the System, not null.
      * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param expectedVersion The version that the System must have (as per If-Match), null to accept any version.
      * @return A wrapped data transfer object with either information on the updated System or failure messages.
      *
      * @throws IllegalArgumentException - if requestDto is null.
      * @throws IllegalArgumentException - if databaseID is null or empty string.
      *****************************************************************************************************************/
     @Override
-    public SystemResponseWrapper updateSystem(SystemRequestDto requestDto, String databaseID) throws IllegalArgumentException {
+    public SystemResponseWrapper updateSystem(SystemRequestDto requestDto, String databaseID, Long expectedVersion) throws IllegalArgumentException {
 
         // Checking input parameters.
         if (requestDto == null || databaseID.isBlank()) {
@@ -149,19 +341,20 @@ public class SystemMongoDaos implements SystemPersistenceLayerDaos {
         }
 
         // Continuing if issues have not been discovered.
-        return services.updateSystem(requestDto, databaseID);
+        return services.updateSystem(requestDto, databaseID, expectedVersion);
     }
 
     /******************************************************************************************************************
      * Method to delete an existing System using its databaseID as unique identifier.
      *
      * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param expectedVersion The version that the System must have (as per If-Match), null to accept any version.
      * @return A wrapped data transfer object with either information on the deleted System or failure messages.
      *
      * @throws IllegalArgumentException - if databaseID is null or empty string.
      *****************************************************************************************************************/
     @Override
-    public SystemResponseWrapper deleteSystem(String databaseID) throws IllegalArgumentException {
+    public SystemResponseWrapper deleteSystem(String databaseID, Long expectedVersion) throws IllegalArgumentException {
 
         // Checking input parameters.
         if (databaseID.isBlank()) {
@@ -169,7 +362,7 @@ public class SystemMongoDaos implements SystemPersistenceLayerDaos {
         }
 
         log.info("Persistence layer (MongoDB) received request for deletion of System with ID: '{}'.", databaseID);
-        return services.deleteSystem(databaseID);
+        return services.deleteSystem(databaseID, expectedVersion);
     }
 
     /******************************************************************************************************************
@@ -183,6 +376,53 @@ public class SystemMongoDaos implements SystemPersistenceLayerDaos {
         return services.deleteAllSystems();
     }
 
+    /******************************************************************************************************************
+     * Method to submit a Job deleting all existing Systems in the background, in chunks.
+     *
+     * @return A wrapped data transfer object with either information on the submitted Job or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemJobResponseWrapper submitDeleteAllSystemsJob() {
+        log.info("Persistence layer (MongoDB) received request for the deletion of all Systems as a Job.");
+        return services.submitDeleteAllSystemsJob();
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the status and progress of a Job.
+     *
+     * @param jobID A UUID that uniquely identifies an existing Job in the database, not null.
+     * @return A wrapped data transfer object with either information on the Job or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemJobResponseWrapper retrieveSystemJob(String jobID) throws IllegalArgumentException {
+
+        // Checking input parameters.
+        if (jobID.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method SystemMongoDaos.retrieveSystemJob().");
+        }
+
+        log.info("Persistence layer (MongoDB) received request for retrieval of Job with ID: '{}'.", jobID);
+        return services.retrieveSystemJob(jobID);
+    }
+
+    /******************************************************************************************************************
+     * Method to cancel a Job that has not finished yet.
+     *
+     * @param jobID A UUID that uniquely identifies an existing Job in the database, not null.
+     * @return A wrapped data transfer object with either information on the cancelled Job or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemJobResponseWrapper cancelSystemJob(String jobID) throws IllegalArgumentException {
+
+        // Checking input parameters.
+        if (jobID.isBlank()) {
+            throw new IllegalArgumentException("Invalid parameter detected for method SystemMongoDaos.cancelSystemJob().");
+        }
+
+        log.info("Persistence layer (MongoDB) received request for cancellation of Job with ID: '{}'.", jobID);
+        return services.cancelSystemJob(jobID);
+    }
+
     /******************************************************************************************************************
      * Method that creates an error report.
      *
@@ -0,0 +1,40 @@
+package eu.datacrop.maize.model_repository.services.persistence;
+
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**********************************************************************************************************************
+ * This interface defines the non-blocking services offered that pertain to the retrieval of IoT Systems.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+public interface ReactiveSystemPersistenceServicesDao {
+
+    /******************************************************************************************************************
+     * Method to retrieve an existing System using its databaseID as unique identifier.
+     *
+     * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @return A wrapped data transfer object with either information on the retrieved System or failure messages.
+     *****************************************************************************************************************/
+    Mono<SystemResponseWrapper> retrieveSystemByDatabaseID(String databaseID);
+
+    /******************************************************************************************************************
+     * Method to retrieve all Systems paginated.
+     *
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    Mono<SystemResponsesWrapper> retrieveAllSystems(int page, int size);
+
+    /******************************************************************************************************************
+     * Method to stream all Systems in the order of their identifiers.
+     *
+     * @return The data transfer objects of the Systems, terminated with an error if the retrieval fails midway.
+     *****************************************************************************************************************/
+    Flux<SystemResponseDto> streamAllSystems();
+}
@@ -0,0 +1,63 @@
+package eu.datacrop.maize.model_repository.services.persistence;
+
+import eu.datacrop.maize.model_repository.commons.dtos.responses.SystemResponseDto;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
+import eu.datacrop.maize.model_repository.persistence.daos.ReactiveSystemPersistenceLayerDaos;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**********************************************************************************************************************
+ * This class redirects non-blocking enquires to the persistence layer pertaining to IoT Systems.
+ *
+ * @author Angela-Maria Despotopoulou [Athens, Greece]
+ * @since version 0.3.0
+ *********************************************************************************************************************/
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactiveSystemPersistenceServicesDaoImpl implements ReactiveSystemPersistenceServicesDao {
+
+    @Autowired
+    ReactiveSystemPersistenceLayerDaos persistenceLayer;
+
+    /******************************************************************************************************************
+     * Method to retrieve an existing System using its databaseID as unique identifier.
+     *
+     * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @return A wrapped data transfer object with either information on the retrieved System or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public Mono<SystemResponseWrapper> retrieveSystemByDatabaseID(String databaseID) {
+        log.info("Services layer received non-blocking request for retrieval of System with ID: '{}'.", databaseID);
+        return persistenceLayer.retrieveSystemByDatabaseID(databaseID);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve all Systems paginated.
+     *
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public Mono<SystemResponsesWrapper> retrieveAllSystems(int page, int size) {
+        log.info("Services layer received non-blocking request for retrieval of all Systems.");
+        return persistenceLayer.retrieveAllSystems(page, size);
+    }
+
+    /******************************************************************************************************************
+     * Method to stream all Systems in the order of their identifiers.
+     *
+     * @return The data transfer objects of the Systems, terminated with an error if the retrieval fails midway.
+     *****************************************************************************************************************/
+    @Override
+    public Flux<SystemResponseDto> streamAllSystems() {
+        log.info("Services layer received request for streaming of all Systems.");
+        return persistenceLayer.streamAllSystems();
+    }
+}
@@ -1,13 +1,22 @@
 package eu.datacrop.maize.model_repository.services.persistence;
 
+import eu.datacrop.maize.model_repository.commons.dtos.requests.PolygonRequestDto;
 import eu.datacrop.maize.model_repository.commons.dtos.requests.SystemRequestDto;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.ClusterResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.GeohashCountResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemNameResponsesWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.collection.SystemResponsesWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemFacetsResponseWrapper;
+import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemJobResponseWrapper;
 import eu.datacrop.maize.model_repository.commons.wrappers.single.SystemResponseWrapper;
 import eu.datacrop.maize.model_repository.persistence.daos.SystemPersistenceLayerDaos;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+
 /**********************************************************************************************************************
  * This class redirects enquires to the persistence layer pertaining to IoT Systems.
  *
@@ -33,6 +42,19 @@ public class SystemPersistenceServicesDaoImpl implements SystemPersistenceServic
         return persistenceLayer.retrieveSystemByDatabaseID(databaseID);
     }
 
+    /******************************************************************************************************************
+     * Method to reconstruct the state of an existing System, as it was at a past date, from its revision history.
+     *
+     * @param databaseID A UUID that uniquely identifies a System in the database, not null.
+     * @param asOf The date at which the state of the System is requested, not null.
+     * @return A wrapped data transfer object with either information on the reconstructed System or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponseWrapper retrieveSystemAsOf(String databaseID, LocalDateTime asOf) {
+        log.info("Services layer received request for retrieval of System as of a past date.");
+        return persistenceLayer.retrieveSystemAsOf(databaseID, asOf);
+    }
+
     /******************************************************************************************************************
      * Method to retrieve an existing System using its name as unique identifier.
      *
@@ -58,6 +80,155 @@ public class SystemPersistenceServicesDaoImpl implements SystemPersistenceServic
         return persistenceLayer.retrieveAllSystems(page, size);
     }
 
+    /******************************************************************************************************************
+     * Method to retrieve the Systems located within a maximum distance from a point, sorted by distance.
+     *
+     * @param latitude The latitude of the reference point, in decimal degrees.
+     * @param longitude The longitude of the reference point, in decimal degrees.
+     * @param maxDistance The maximum distance from the reference point in meters.
+     * @param limit The maximum number of Systems to retrieve.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponsesWrapper retrieveSystemsNear(double latitude, double longitude, double maxDistance, int limit) {
+        log.info("Services layer received request for retrieval of Systems near ({}, {}).", latitude, longitude);
+        return persistenceLayer.retrieveSystemsNear(latitude, longitude, maxDistance, limit);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the Systems located within a bounding box, paginated.
+     *
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponsesWrapper retrieveSystemsWithinBox(double minLatitude, double minLongitude, double maxLatitude,
+                                                           double maxLongitude, int page, int size) {
+        log.info("Services layer received request for retrieval of Systems within box.");
+        return persistenceLayer.retrieveSystemsWithinBox(minLatitude, minLongitude, maxLatitude, maxLongitude, page, size);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the Systems located within a Polygon, paginated.
+     *
+     * @param polygon A data transfer object with the vertices of the Polygon, not null.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponsesWrapper retrieveSystemsWithinPolygon(PolygonRequestDto polygon, int page, int size) {
+        log.info("Services layer received request for retrieval of Systems within polygon.");
+        return persistenceLayer.retrieveSystemsWithinPolygon(polygon, page, size);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the clusters of Systems displayed on a map viewport at a given zoom level.
+     *
+     * @param zoom The zoom level of the map.
+     * @param minLatitude The latitude of the south-west corner of the viewport, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner of the viewport, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner of the viewport, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner of the viewport, in decimal degrees.
+     * @return A wrapped data transfer object with either information on the retrieved clusters or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public ClusterResponsesWrapper retrieveSystemClusters(int zoom, double minLatitude, double minLongitude,
+                                                          double maxLatitude, double maxLongitude) {
+        log.info("Services layer received request for retrieval of System clusters.");
+        return persistenceLayer.retrieveSystemClusters(zoom, minLatitude, minLongitude, maxLatitude, maxLongitude);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the number of Systems per geohash cell within a bounding box, e.g. for density maps.
+     *
+     * @param precision The geohash precision (i.e. length of the geohashes).
+     * @param minLatitude The latitude of the south-west corner, in decimal degrees.
+     * @param minLongitude The longitude of the south-west corner, in decimal degrees.
+     * @param maxLatitude The latitude of the north-east corner, in decimal degrees.
+     * @param maxLongitude The longitude of the north-east corner, in decimal degrees.
+     * @return A wrapped data transfer object with either the counts per geohash cell or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public GeohashCountResponsesWrapper retrieveSystemCountsByGeohash(int precision, double minLatitude, double minLongitude,
+                                                                      double maxLatitude, double maxLongitude) {
+        log.info("Services layer received request for counting Systems per geohash cell.");
+        return persistenceLayer.retrieveSystemCountsByGeohash(precision, minLatitude, minLongitude, maxLatitude, maxLongitude);
+    }
+
+    /******************************************************************************************************************
+     * Method to search Systems by keywords in their name and description, ordered by relevance and paginated.
+     *
+     * @param text The search terms (any of which may match), not null.
+     * @param organization The organization owning the Systems, null for all organizations.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponsesWrapper searchSystems(String text, String organization, int page, int size) {
+        log.info("Services layer received request for full-text search of Systems.");
+        return persistenceLayer.searchSystems(text, organization, page, size);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the names of the Systems starting with a prefix (ignoring case), for autocompletion.
+     *
+     * @param prefix The prefix of the names, not null.
+     * @param limit The maximum number of names to retrieve.
+     * @return A wrapped data transfer object with either the databaseIDs and names of the matched Systems or failure
+     * messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemNameResponsesWrapper retrieveSystemNamesByPrefix(String prefix, int limit) {
+        log.info("Services layer received request for autocompletion of System names.");
+        return persistenceLayer.retrieveSystemNamesByPrefix(prefix, limit);
+    }
+
+    /******************************************************************************************************************
+     * Method to count the Systems per organization and per type of location (Geographical or Virtual).
+     *
+     * @return A wrapped data transfer object with either the summary of the Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemFacetsResponseWrapper retrieveSystemFacets() {
+        log.info("Services layer received request for facet counts of Systems.");
+        return persistenceLayer.retrieveSystemFacets();
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the Systems whose additional information contains all of the given key/value pairs,
+     * paginated.
+     *
+     * @param filters The key/value pairs to match, not null.
+     * @param page The page to retrieve.
+     * @param size The intended size of pages.
+     * @return A wrapped data transfer object with either information on the retrieved Systems or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponsesWrapper retrieveSystemsByAdditionalInformation(Map<String, String> filters, int page, int size) {
+        log.info("Services layer received request for Systems filtered by additional information.");
+        return persistenceLayer.retrieveSystemsByAdditionalInformation(filters, page, size);
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve an existing System along with all of its additional information, using its databaseID as
+     * unique identifier. Unlike the rest of the retrievals, oversized (detached) additional information is included.
+     *
+     * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @return A wrapped data transfer object with either information on the retrieved System or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponseWrapper retrieveSystemAdditionalInformation(String databaseID) {
+        log.info("Services layer received request for retrieval of additional information of System with ID: '{}'.", databaseID);
+        return persistenceLayer.retrieveSystemAdditionalInformation(databaseID);
+    }
+
     /******************************************************************************************************************
      * Method to persist a new System.
      *
@@ -70,29 +241,45 @@ public class SystemPersistenceServicesDaoImpl implements SystemPersistenceServic
         return persistenceLayer.createSystem(requestDto);
     }
 
+    /******************************************************************************************************************
+     * Method that creates a new System at most once per idempotency key. Replays of a request receive
+     * the outcome of its first processing.
+     *
+     * @param requestDto A data transfer object with values for the attributes of the System, not null.
+     * @param idempotencyKey A key provided by the client that identifies the request among its retries, not null.
+     * @return A wrapped data transfer object with either information on the created System or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemResponseWrapper createSystemIdempotently(SystemRequestDto requestDto, String idempotencyKey) {
+        log.info("Services layer received request for idempotent creation of new System.");
+        return persistenceLayer.createSystemIdempotently(requestDto, idempotencyKey);
+    }
+
     /******************************************************************************************************************
      * Method to update an existing System using its databaseID as unique identifier.
      *
      * @param requestDto A data transfer object with values for the attributes of the System, not null.
      * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param expectedVersion The version that the System must have (as per If-Match), null to accept any version.
      * @return A wrapped data transfer object with either information on the updated System or failure messages.
      *****************************************************************************************************************/
     @Override
-    public SystemResponseWrapper updateSystem(SystemRequestDto requestDto, String databaseID) {
+    public SystemResponseWrapper updateSystem(SystemRequestDto requestDto, String databaseID, Long expectedVersion) {
         log.info("Services layer received request for update of System with ID: '{}'.", databaseID);
-        return persistenceLayer.updateSystem(requestDto, databaseID);
+        return persistenceLayer.updateSystem(requestDto, databaseID, expectedVersion);
     }
 
     /******************************************************************************************************************
      * Method to delete an existing System using its databaseID as unique identifier.
      *
      * @param databaseID A UUID that uniquely identifies an existing System in the database, not null.
+     * @param expectedVersion The version that the System must have (as per If-Match), null to accept any version.
      * @return A wrapped data transfer object with either information on the deleted System or failure messages.
      *****************************************************************************************************************/
     @Override
-    public SystemResponseWrapper deleteSystem(String databaseID) {
+    public SystemResponseWrapper deleteSystem(String databaseID, Long expectedVersion) {
         log.info("Services layer received request for deletion of System with ID: '{}'.", databaseID);
-        return persistenceLayer.deleteSystem(databaseID);
+        return persistenceLayer.deleteSystem(databaseID, expectedVersion);
     }
 
     /******************************************************************************************************************
@@ -105,4 +292,39 @@ public class SystemPersistenceServicesDaoImpl implements SystemPersistenceServic
         log.info("Services layer received request for deletion of all Systems.");
         return persistenceLayer.deleteAllSystems();
     }
+
+    /******************************************************************************************************************
+     * Method to submit a Job deleting all existing Systems in the background, in chunks.
+     *
+     * @return A wrapped data transfer object with either information on the submitted Job or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemJobResponseWrapper submitDeleteAllSystemsJob() {
+        log.info("Services layer received request for the deletion of all Systems as a Job.");
+        return persistenceLayer.submitDeleteAllSystemsJob();
+    }
+
+    /******************************************************************************************************************
+     * Method to retrieve the status and progress of a Job.
+     *
+     * @param jobID A UUID that uniquely identifies an existing Job in the database, not null.
+     * @return A wrapped data transfer object with either information on the Job or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemJobResponseWrapper retrieveSystemJob(String jobID) throws IllegalArgumentException {
+        log.info("Services layer received request for retrieval of Job with ID: '{}'.", jobID);
+        return persistenceLayer.retrieveSystemJob(jobID);
+    }
+
+    /******************************************************************************************************************
+     * Method to cancel a Job that has not finished yet.
+     *
+     * @param jobID A UUID that uniquely identifies an existing Job in the database, not null.
+     * @return A wrapped data transfer object with either information on the cancelled Job or failure messages.
+     *****************************************************************************************************************/
+    @Override
+    public SystemJobResponseWrapper cancelSystemJob(String jobID) throws IllegalArgumentException {
+        log.info("Services layer received request for cancellation of Job with ID: '{}'.", jobID);
+        return persistenceLayer.cancelSystemJob(jobID);
+    }
 }